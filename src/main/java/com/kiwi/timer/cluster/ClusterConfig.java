@@ -0,0 +1,38 @@
+package com.kiwi.timer.cluster;
+
+import com.kiwi.timer.multi.TimerPoolProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * timer.cluster.enabled=true时启用集群模式，默认使用应用的DataSource保存租约，
+ * 也可以自行定义{@link LeaseStore}的Bean换用其它存储
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "timer.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(LeaseStore.class)
+    public JdbcLeaseStore leaseStore(DataSource dataSource, TimerPoolProperties properties) {
+        TimerPoolProperties.Cluster config = properties.getCluster();
+        JdbcLeaseStore store = new JdbcLeaseStore(dataSource, config.getTableName());
+        if (config.isCreateTable()) {
+            store.createTableIfNotExists();
+        }
+        return store;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ClusterCoordinator clusterCoordinator(LeaseStore leaseStore, TimerPoolProperties properties) {
+        TimerPoolProperties.Cluster config = properties.getCluster();
+        return new ClusterCoordinator(leaseStore, config.getNodeId(), config.getLeaseMillis());
+    }
+}
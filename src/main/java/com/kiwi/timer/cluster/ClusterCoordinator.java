@@ -0,0 +1,245 @@
+package com.kiwi.timer.cluster;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本节点在集群中的租约：任务租约决定哪个节点执行任务，节点租约用于发现存活节点以分配分片
+ * <p>
+ * 取得的任务租约在后台每leaseMillis/3续期一次，持有者持续执行该任务，直到它停止续期(宕机、与存储断开)，
+ * 租约过期后其他节点在下一次触发时接手，故障转移时间不超过租约时长加一个触发周期。
+ * <p>
+ * 分片任务的每个分片是一个单独的租约，按存活节点做rendezvous哈希分配；节点增减时只有变动部分的分片迁移，
+ * 原持有者在下一次执行时释放不再属于自己的分片，新持有者在此之后取得，迁移期间不会重复执行。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+public class ClusterCoordinator {
+    public static final String NODE_PREFIX = "node/";
+
+    private final LeaseStore store;
+    private final String nodeId;
+    private final long leaseMillis;
+    /**
+     * 本节点持有的租约和本地认为的到期时间
+     */
+    private final ConcurrentMap<String, Long> held = new ConcurrentHashMap<>();
+    private volatile List<String> liveNodes = Collections.emptyList();
+    private final LongAdder renewals = new LongAdder();
+    private final LongAdder renewalNanos = new LongAdder();
+    private final AtomicLong maxRenewalNanos = new AtomicLong();
+    private ScheduledExecutorService heartbeat;
+
+    /**
+     * @param nodeId      节点标识，为空时使用"进程号@主机名"
+     * @param leaseMillis 租约时长
+     */
+    public ClusterCoordinator(LeaseStore store, String nodeId, long leaseMillis) {
+        if (leaseMillis < 3) {
+            throw new IllegalArgumentException("leaseMillis must be at least 3: " + leaseMillis);
+        }
+        this.store = store;
+        this.nodeId = nodeId == null || nodeId.isEmpty() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.leaseMillis = leaseMillis;
+    }
+
+    public synchronized void start() {
+        if (heartbeat != null) {
+            return;
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cluster-lease-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat();
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, leaseMillis / 3, leaseMillis / 3, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止续期并释放持有的租约，其他节点不必等待过期
+     */
+    public void stop() {
+        shutdown(true);
+    }
+
+    synchronized void shutdown(boolean release) {
+        if (heartbeat == null) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        heartbeat = null;
+        if (release) {
+            for (String name : new ArrayList<>(held.keySet())) {
+                release(name);
+            }
+            release(NODE_PREFIX + nodeId);
+        }
+        held.clear();
+    }
+
+    /**
+     * 续期节点租约和持有的任务租约，刷新存活节点
+     */
+    void heartbeat() {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        try {
+            store.tryAcquire(NODE_PREFIX + nodeId, nodeId, now, leaseMillis);
+            for (String name : held.keySet()) {
+                if (store.renew(name, nodeId, now, leaseMillis)) {
+                    held.put(name, now + leaseMillis);
+                } else {
+                    log.warn("Lease {} on node {} was lost", name, nodeId);
+                    held.remove(name);
+                }
+            }
+            liveNodes = new ArrayList<>(new TreeSet<>(store.owners(NODE_PREFIX, now).values()));
+        } catch (RuntimeException e) {
+            // 持有的租约在本地到期后不再执行对应任务
+            log.warn("Lease heartbeat failed on node {}", nodeId, e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            renewals.increment();
+            renewalNanos.add(elapsed);
+            maxRenewalNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    /**
+     * 本节点是否应执行该任务：已持有且剩余时间超过一半时直接返回，否则尝试取得
+     */
+    public boolean lead(String name) {
+        long now = System.currentTimeMillis();
+        Long validUntil = held.get(name);
+        if (validUntil != null && validUntil - now > leaseMillis / 2) {
+            return true;
+        }
+        try {
+            if (store.tryAcquire(name, nodeId, now, leaseMillis)) {
+                held.put(name, now + leaseMillis);
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to acquire lease {} on node {}", name, nodeId, e);
+        }
+        held.remove(name);
+        return false;
+    }
+
+    /**
+     * 分配给本节点且取得了租约的分片，释放不再分配给本节点的分片
+     *
+     * @param name  任务名
+     * @param count 分片数
+     * @return 本次应执行的分片序号，升序
+     */
+    public List<Integer> shards(String name, int count) {
+        List<String> nodes = liveNodes;
+        if (nodes.isEmpty()) {
+            nodes = Collections.singletonList(nodeId);
+        }
+        List<Integer> owned = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String shard = shardName(name, i);
+            if (nodeId.equals(assign(shard, nodes))) {
+                if (lead(shard)) {
+                    owned.add(i);
+                }
+            } else if (held.containsKey(shard)) {
+                release(shard);
+            }
+        }
+        return owned;
+    }
+
+    static String shardName(String name, int shard) {
+        return name + "#" + shard;
+    }
+
+    /**
+     * rendezvous哈希：得分最高的节点
+     */
+    static String assign(String shard, List<String> nodes) {
+        String best = null;
+        long bestScore = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = mix(((long) shard.hashCode() << 32) ^ (node.hashCode() & 0xFFFFFFFFL));
+            if (best == null || score > bestScore) {
+                best = node;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * SplitMix64的终结函数
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void release(String name) {
+        held.remove(name);
+        try {
+            store.release(name, nodeId, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Failed to release lease {} on node {}", name, nodeId, e);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    /**
+     * @return 最近一次心跳时存活的节点
+     */
+    public List<String> getLiveNodes() {
+        return liveNodes;
+    }
+
+    /**
+     * @return 本节点持有的任务和分片租约
+     */
+    public List<String> getHeldLeases() {
+        return new ArrayList<>(new TreeSet<>(held.keySet()));
+    }
+
+    public long getRenewalCount() {
+        return renewals.sum();
+    }
+
+    /**
+     * @return 每次心跳(续期节点租约和所有持有的租约、查询存活节点)的平均耗时
+     */
+    public long getAverageRenewalNanos() {
+        long count = renewals.sum();
+        return count == 0 ? 0 : renewalNanos.sum() / count;
+    }
+
+    public long getMaxRenewalNanos() {
+        return maxRenewalNanos.get();
+    }
+}
@@ -0,0 +1,114 @@
+package com.kiwi.timer.cluster;
+
+import com.kiwi.timer.monitor.NamedTask;
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 集群模式的TaskScheduler包装：@Scheduled方法在每个节点照常触发，只有持有租约的节点执行，
+ * 标注了{@link Sharded}的方法按分片分散到各节点
+ * <p>
+ * 任务名与/timers一致，为"类名.方法名"或{@link NamedTask}的名称；其它Runnable(代码中直接提交的任务)不做处理，需要时直接使用{@link ClusterCoordinator}。
+ * 包装后的任务仍是{@link ScheduledMethodRunnable}，外层的统计按原方法命名；未取得租约的触发在统计中表现为耗时接近0的执行。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class ClusterTaskScheduler implements TaskScheduler {
+    private final TaskScheduler delegate;
+    private final ClusterCoordinator coordinator;
+
+    public ClusterTaskScheduler(TaskScheduler delegate, ClusterCoordinator coordinator) {
+        this.delegate = delegate;
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return delegate.schedule(lease(task), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return delegate.schedule(lease(task), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return delegate.scheduleAtFixedRate(lease(task), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return delegate.scheduleAtFixedRate(lease(task), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return delegate.scheduleWithFixedDelay(lease(task), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return delegate.scheduleWithFixedDelay(lease(task), delay);
+    }
+
+    private Runnable lease(Runnable task) {
+        if (!(task instanceof ScheduledMethodRunnable) || task instanceof LeasedMethodRunnable) {
+            return task;
+        }
+        return new LeasedMethodRunnable((ScheduledMethodRunnable) task, coordinator);
+    }
+
+    /**
+     * 取得租约后执行传入的任务本身(可能是外层的子类，如JobRegistry.Job)，不另行反射调用方法
+     */
+    private static final class LeasedMethodRunnable extends ScheduledMethodRunnable implements NamedTask {
+        private final ScheduledMethodRunnable delegate;
+        private final ClusterCoordinator coordinator;
+        private final String name;
+        private final int shards;
+
+        LeasedMethodRunnable(ScheduledMethodRunnable delegate, ClusterCoordinator coordinator) {
+            super(delegate.getTarget(), delegate.getMethod());
+            Method method = delegate.getMethod();
+            this.delegate = delegate;
+            this.coordinator = coordinator;
+            this.name = TaskMetricsRegistry.nameOf(delegate);
+            Sharded sharded = method.getAnnotation(Sharded.class);
+            this.shards = sharded == null ? 0 : sharded.value();
+            if (sharded != null && shards <= 0) {
+                throw new IllegalArgumentException("@Sharded value must be positive on " + name);
+            }
+        }
+
+        @Override
+        public String getTaskName() {
+            return name;
+        }
+
+        @Override
+        public boolean recoversMisfires() {
+            return NamedTask.recoversMisfires(delegate);
+        }
+
+        @Override
+        public void run() {
+            if (shards == 0) {
+                if (coordinator.lead(name)) {
+                    delegate.run();
+                }
+                return;
+            }
+            for (int shard : coordinator.shards(name, shards)) {
+                ShardContext.run(shard, shards, delegate::run);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.kiwi.timer.cluster;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基于一张表的{@link LeaseStore}，每个租约一行，只用标准SQL的条件UPDATE和INSERT，依赖数据库的行锁和主键保证互斥
+ * <pre>
+ * CREATE TABLE timer_lease (
+ *     name       VARCHAR(200) NOT NULL PRIMARY KEY,
+ *     owner      VARCHAR(200) NOT NULL,
+ *     expires_at BIGINT       NOT NULL
+ * )
+ * </pre>
+ * 取得租约先UPDATE空闲或过期的行，行不存在时INSERT，主键冲突说明被其他节点抢先；释放只把过期时间改为当前时间，不删除行。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class JdbcLeaseStore implements LeaseStore {
+    public static final String DEFAULT_TABLE_NAME = "timer_lease";
+
+    private final DataSource dataSource;
+    private final String tableName;
+    private final String acquireSql;
+    private final String insertSql;
+    private final String renewSql;
+    private final String releaseSql;
+    private final String ownersSql;
+
+    public JdbcLeaseStore(DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE_NAME);
+    }
+
+    public JdbcLeaseStore(DataSource dataSource, String tableName) {
+        this.dataSource = dataSource;
+        this.tableName = tableName;
+        this.acquireSql = "UPDATE " + tableName + " SET owner = ?, expires_at = ? WHERE name = ? AND (owner = ? OR expires_at <= ?)";
+        this.insertSql = "INSERT INTO " + tableName + " (name, owner, expires_at) VALUES (?, ?, ?)";
+        this.renewSql = "UPDATE " + tableName + " SET expires_at = ? WHERE name = ? AND owner = ? AND expires_at > ?";
+        this.releaseSql = "UPDATE " + tableName + " SET expires_at = ? WHERE name = ? AND owner = ? AND expires_at > ?";
+        this.ownersSql = "SELECT name, owner FROM " + tableName + " WHERE name LIKE ? AND expires_at > ?";
+    }
+
+    /**
+     * 表不存在时创建
+     */
+    public void createTableIfNotExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (tableExists(connection)) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + tableName + " (name VARCHAR(200) NOT NULL PRIMARY KEY, "
+                        + "owner VARCHAR(200) NOT NULL, expires_at BIGINT NOT NULL)");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create lease table " + tableName, e);
+        }
+    }
+
+    private boolean tableExists(Connection connection) throws SQLException {
+        // 不同数据库保存未加引号的表名时大小写不同
+        for (String name : new String[]{tableName, tableName.toUpperCase(), tableName.toLowerCase()}) {
+            try (ResultSet tables = connection.getMetaData().getTables(null, null, name, null)) {
+                if (tables.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryAcquire(String name, String owner, long now, long leaseMillis) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement update = connection.prepareStatement(acquireSql)) {
+                update.setString(1, owner);
+                update.setLong(2, now + leaseMillis);
+                update.setString(3, name);
+                update.setString(4, owner);
+                update.setLong(5, now);
+                if (update.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                insert.setString(1, name);
+                insert.setString(2, owner);
+                insert.setLong(3, now + leaseMillis);
+                return insert.executeUpdate() > 0;
+            } catch (SQLException e) {
+                if (isDuplicateKey(e)) {
+                    // 行已存在：被其他节点持有，或刚被其他节点插入
+                    return false;
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to acquire lease " + name, e);
+        }
+    }
+
+    /**
+     * SQLState 23xxx为完整性约束冲突
+     */
+    private static boolean isDuplicateKey(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("23");
+    }
+
+    @Override
+    public boolean renew(String name, String owner, long now, long leaseMillis) {
+        return update(renewSql, now + leaseMillis, name, owner, now) > 0;
+    }
+
+    @Override
+    public void release(String name, String owner, long now) {
+        update(releaseSql, now, name, owner, now);
+    }
+
+    private int update(String sql, long expiresAt, String name, String owner, long now) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, expiresAt);
+            statement.setString(2, name);
+            statement.setString(3, owner);
+            statement.setLong(4, now);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to update lease " + name, e);
+        }
+    }
+
+    @Override
+    public Map<String, String> owners(String prefix, long now) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(ownersSql)) {
+            statement.setString(1, escapeLike(prefix) + "%");
+            statement.setLong(2, now);
+            Map<String, String> owners = new TreeMap<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    // LIKE的转义字符各数据库不同，这里不转义，取回后再按前缀过滤
+                    if (name.startsWith(prefix)) {
+                        owners.put(name, rs.getString(2));
+                    }
+                }
+            }
+            return owners;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query leases " + prefix, e);
+        }
+    }
+
+    /**
+     * 把LIKE的通配符替换为单字符通配，结果是前缀匹配的超集
+     */
+    private static String escapeLike(String prefix) {
+        return prefix.replace('%', '_');
+    }
+}
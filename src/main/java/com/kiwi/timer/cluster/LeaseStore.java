@@ -0,0 +1,42 @@
+package com.kiwi.timer.cluster;
+
+import java.util.Map;
+
+/**
+ * 集群租约存储SPI，多个节点共享同一份存储，同一名称的租约同一时刻只有一个持有者
+ * <p>
+ * 时间由调用方传入(各节点的System.currentTimeMillis)，实现不依赖存储端的时钟；
+ * 节点间的时钟偏差需远小于租约时长。存储不可用时抛出{@link IllegalStateException}。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public interface LeaseStore {
+    /**
+     * 租约空闲、已过期或已由owner持有时取得(续期)租约
+     *
+     * @param name        租约名称
+     * @param owner       节点标识
+     * @param now         当前时间
+     * @param leaseMillis 租约时长
+     * @return 取得后owner持有到now + leaseMillis
+     */
+    boolean tryAcquire(String name, String owner, long now, long leaseMillis);
+
+    /**
+     * 只在owner仍持有且未过期时续期
+     *
+     * @return false表示租约已过期或被其他节点取得
+     */
+    boolean renew(String name, String owner, long now, long leaseMillis);
+
+    /**
+     * owner持有时立即释放，其他节点不必等待过期
+     */
+    void release(String name, String owner, long now);
+
+    /**
+     * @return 名称以prefix开头、未过期的租约及其持有者
+     */
+    Map<String, String> owners(String prefix, long now);
+}
@@ -0,0 +1,55 @@
+package com.kiwi.timer.cluster;
+
+/**
+ * 当前执行的分片，只在{@link Sharded}方法执行期间可用
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class ShardContext {
+    private static final ThreadLocal<ShardContext> CURRENT = new ThreadLocal<>();
+
+    private final int index;
+    private final int total;
+
+    ShardContext(int index, int total) {
+        this.index = index;
+        this.total = total;
+    }
+
+    /**
+     * @return 当前分片，不在分片任务中时为null
+     */
+    public static ShardContext current() {
+        return CURRENT.get();
+    }
+
+    static void run(int index, int total, Runnable task) {
+        CURRENT.set(new ShardContext(index, total));
+        try {
+            task.run();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * 按分片键取模，判断数据是否属于当前分片
+     */
+    public boolean owns(long shardKey) {
+        return Math.floorMod(shardKey, (long) total) == index;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
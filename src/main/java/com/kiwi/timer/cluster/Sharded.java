@@ -0,0 +1,34 @@
+package com.kiwi.timer.cluster;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 集群模式下把@Scheduled方法分成若干分片，分散到各节点执行
+ * <p>
+ * 每次触发时，方法对本节点持有的每个分片各执行一次，方法内通过{@link ShardContext#current()}取得当前分片，
+ * 只处理{@link ShardContext#owns(long)}为true的数据。
+ * <pre>
+ * &#64;Sharded(16)
+ * &#64;Scheduled(cron = "0 * * * * ?")
+ * public void settle() {
+ *     ShardContext shard = ShardContext.current();
+ *     orders.stream().filter(o -&gt; shard.owns(o.getUserId())).forEach(this::settle);
+ * }
+ * </pre>
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Sharded {
+    /**
+     * 分片数，应不少于节点数
+     */
+    int value();
+}
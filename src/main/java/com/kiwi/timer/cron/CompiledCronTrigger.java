@@ -0,0 +1,66 @@
+package com.kiwi.timer.cron;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * 基于{@link CronExpression}的Trigger，可替换Spring的CronTrigger，计算规则相同
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class CompiledCronTrigger implements Trigger {
+    private final CronExpression cron;
+
+    public CompiledCronTrigger(String expression) {
+        this(expression, TimeZone.getDefault());
+    }
+
+    public CompiledCronTrigger(String expression, TimeZone timeZone) {
+        this.cron = CronExpression.parse(expression, timeZone);
+    }
+
+    public String getExpression() {
+        return cron.getExpression();
+    }
+
+    public CronExpression getCronExpression() {
+        return cron;
+    }
+
+    /**
+     * 从上次完成时间开始计算；上次执行提前完成(时钟回调等)时从上次计划时间开始，避免同一时间触发两次
+     */
+    @Override
+    public Date nextExecutionTime(TriggerContext triggerContext) {
+        Date date = triggerContext.lastCompletionTime();
+        if (date != null) {
+            Date scheduled = triggerContext.lastScheduledExecutionTime();
+            if (scheduled != null && date.before(scheduled)) {
+                date = scheduled;
+            }
+        } else {
+            date = new Date();
+        }
+        long next = cron.next(date.getTime());
+        return next == CronExpression.NONE ? null : new Date(next);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof CompiledCronTrigger && cron.equals(((CompiledCronTrigger) other).cron));
+    }
+
+    @Override
+    public int hashCode() {
+        return cron.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return cron.getExpression();
+    }
+}
@@ -0,0 +1,74 @@
+package com.kiwi.timer.cron;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 把提交的CronTrigger(包括@Scheduled(cron=...)生成的)替换为{@link CompiledCronTrigger}，其余调用直接转发
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+public class CronCompilingTaskScheduler implements TaskScheduler {
+    private final TaskScheduler delegate;
+
+    public CronCompilingTaskScheduler(TaskScheduler delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return delegate.schedule(task, compile(trigger));
+    }
+
+    /**
+     * CronTrigger不公开时区，从内部的CronSequenceGenerator中读取；读取失败时保留原Trigger
+     */
+    static Trigger compile(Trigger trigger) {
+        if (!(trigger instanceof CronTrigger)) {
+            return trigger;
+        }
+        CronTrigger cronTrigger = (CronTrigger) trigger;
+        try {
+            TimeZone timeZone = (TimeZone) new DirectFieldAccessor(trigger).getPropertyValue("sequenceGenerator.timeZone");
+            return new CompiledCronTrigger(cronTrigger.getExpression(), timeZone);
+        } catch (BeansException | ClassCastException ex) {
+            log.debug("Keeping {} as is: {}", cronTrigger.getExpression(), ex.getMessage());
+            return trigger;
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return delegate.schedule(task, startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return delegate.scheduleAtFixedRate(task, startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return delegate.scheduleAtFixedRate(task, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return delegate.scheduleWithFixedDelay(task, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return delegate.scheduleWithFixedDelay(task, delay);
+    }
+}
@@ -0,0 +1,553 @@
+package com.kiwi.timer.cron;
+
+import com.kiwi.timer.util.EpochMillis;
+import com.kiwi.timer.util.ZoneOffsets;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 预编译的cron表达式，语法和语义与Spring的CronSequenceGenerator相同
+ * <p>
+ * 6个字段"秒 分 时 日 月 周"编译为位图，日与周同时满足才匹配，周的0和7都是周日，?等同*。
+ * 下次/上次触发时间在本地时间的秒数上按字段逐级跳转计算，不使用Calendar；
+ * 与CronSequenceGenerator相同，夏令时跳过的本地时间不触发，重复的本地时间只在后一次触发。
+ * <p>
+ * 每个表达式缓存一段连续的触发时间，按顺序取下次触发时间时直接二分查找，同一表达式的多个任务共享。
+ * 共享的实例最多{@link #MAX_CACHED}个，先用到的(启动时的@Scheduled)优先；之后运行中注册的表达式各自新建，随任务一起回收。
+ * 时区切换前后本地时间不连续，一个窗口不跨越切换。
+ * <p>
+ * 与CronSequenceGenerator的一处不同：秒(或分)已经前进到非首个取值、随后分(或时)又进位时，
+ * CronSequenceGenerator不会把秒重置为首个取值，得到的不是最早的匹配；这里总是返回最早的匹配。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class CronExpression {
+    /**
+     * 不再触发
+     */
+    public static final long NONE = Long.MIN_VALUE;
+    /**
+     * 每次预先计算的触发次数
+     */
+    private static final int WINDOW_SIZE = 64;
+    /**
+     * 日和周的组合每400年(146097天，正好整周)循环一次，400年内没有匹配则永远不会匹配
+     */
+    private static final int MAX_YEARS = 400;
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    static final int MAX_CACHED = 256;
+    private static final ConcurrentMap<String, CronExpression> CACHE = new ConcurrentHashMap<>();
+
+    private final String expression;
+    private final TimeZone timeZone;
+    private final ZoneOffsets zone;
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    /**
+     * 1-31
+     */
+    private final long daysOfMonth;
+    /**
+     * 1-12
+     */
+    private final long months;
+    /**
+     * 0-6，0为周日
+     */
+    private final long daysOfWeek;
+    private volatile Window window;
+
+    private CronExpression(String expression, TimeZone timeZone) {
+        String[] fields = StringUtils.tokenizeToStringArray(expression, " ");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException(String.format(
+                    "Cron expression must consist of 6 fields (found %d in \"%s\")", fields.length, expression));
+        }
+        this.expression = expression;
+        this.timeZone = timeZone;
+        this.zone = ZoneOffsets.of(timeZone.toZoneId());
+        this.seconds = bits(fields[0], 0, 60);
+        this.minutes = bits(fields[1], 0, 60);
+        this.hours = bits(fields[2], 0, 24);
+        this.daysOfMonth = bits(days(fields[3]), 0, 32) & ~1L;
+        this.months = bits(replaceOrdinals(fields[4], "FOO,JAN,FEB,MAR,APR,MAY,JUN,JUL,AUG,SEP,OCT,NOV,DEC"), 1, 13);
+        long dow = bits(days(replaceOrdinals(fields[5], "SUN,MON,TUE,WED,THU,FRI,SAT")), 0, 8);
+        this.daysOfWeek = (dow & 0x7F) | (dow >>> 7);
+    }
+
+    /**
+     * 按JVM默认时区解析
+     *
+     * @throws IllegalArgumentException 表达式不合法
+     */
+    public static CronExpression parse(String expression) {
+        return parse(expression, TimeZone.getDefault());
+    }
+
+    /**
+     * 相同表达式和时区返回同一实例，缓存已满时返回新实例
+     *
+     * @throws IllegalArgumentException 表达式不合法
+     */
+    public static CronExpression parse(String expression, TimeZone timeZone) {
+        String key = timeZone.getID() + '|' + expression;
+        CronExpression cron = CACHE.get(key);
+        if (cron == null) {
+            cron = new CronExpression(expression, timeZone);
+            if (CACHE.size() < MAX_CACHED) {
+                CronExpression existing = CACHE.putIfAbsent(key, cron);
+                if (existing != null) {
+                    cron = existing;
+                }
+            }
+        }
+        return cron;
+    }
+
+    static int cachedCount() {
+        return CACHE.size();
+    }
+
+    /**
+     * 测试用，清空共享的实例
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * 晚于epochMillis所在秒的第一个触发时间，同CronSequenceGenerator.next
+     *
+     * @return 不再触发时返回{@link #NONE}
+     */
+    public long next(long epochMillis) {
+        long base = Math.floorDiv(epochMillis, 1000) * 1000;
+        Window current = window;
+        if (current != null) {
+            if (base == current.base) {
+                return current.times.length == 0 ? NONE : current.times[0];
+            }
+            if (current.times.length > 1 && base >= current.times[0] && base < current.last()) {
+                int index = Arrays.binarySearch(current.times, base);
+                return current.times[index >= 0 ? index + 1 : -index - 1];
+            }
+        }
+        // 紧接着窗口末尾往后取视为顺序取值，预先算出一个窗口；任意时间点的查询只算一次
+        int size = current != null && current.times.length > 0 && base >= current.last()
+                && base - current.last() <= current.last() - current.base ? WINDOW_SIZE : 1;
+        Window computed = compute(base, size);
+        window = computed;
+        return computed.times.length == 0 ? NONE : computed.times[0];
+    }
+
+    /**
+     * 第一个结果完整计算，之后到下一次时区切换之前偏移不变，直接在本地时间上连续往后取
+     */
+    private Window compute(long base, int windowSize) {
+        long first = computeNext(base);
+        if (first == NONE) {
+            return new Window(base, new long[0]);
+        }
+        long[] times = new long[windowSize];
+        times[0] = first;
+        int size = 1;
+        if (windowSize > 1) {
+            int offset = zone.offsetAt(first);
+            long limit = zone.nextTransition(first);
+            long local = Math.floorDiv(first + offset, 1000);
+            long day = Math.floorDiv(local, SECONDS_PER_DAY);
+            while (size < windowSize) {
+                // 当天还有匹配时不必重新检查日期
+                int secondOfDay = (int) (local - day * SECONDS_PER_DAY) + 1;
+                int time = secondOfDay < SECONDS_PER_DAY ? nextTimeOfDay(secondOfDay) : -1;
+                if (time >= 0) {
+                    local = day * SECONDS_PER_DAY + time;
+                } else {
+                    local = nextLocal(local + 1);
+                    if (local == NONE) {
+                        break;
+                    }
+                    day = Math.floorDiv(local, SECONDS_PER_DAY);
+                }
+                long next = local * 1000 - offset;
+                if (next >= limit) {
+                    break;
+                }
+                times[size++] = next;
+            }
+        }
+        return new Window(base, size == windowSize ? times : Arrays.copyOf(times, size));
+    }
+
+    private long computeNext(long base) {
+        long local = Math.floorDiv(zone.toLocalMillis(base), 1000) + 1;
+        while (true) {
+            local = nextLocal(local);
+            if (local == NONE) {
+                return NONE;
+            }
+            long time = zone.toEpochMillis(local * 1000);
+            if (zone.toLocalMillis(time) != local * 1000) {
+                // 落在夏令时跳过的时段，从切换后的第一秒继续
+                long transition = zone.nextTransition(time - EpochMillis.MILLIS_PER_DAY);
+                local = Math.max(local + 1, Math.floorDiv(zone.toLocalMillis(transition), 1000));
+                continue;
+            }
+            if (time > base) {
+                return time;
+            }
+            local++;
+        }
+    }
+
+    /**
+     * 早于epochMillis的最后一个触发时间
+     *
+     * @return 没有时返回{@link #NONE}
+     */
+    public long previous(long epochMillis) {
+        long local = Math.floorDiv(zone.toLocalMillis(epochMillis) - 1, 1000);
+        while (true) {
+            local = previousLocal(local);
+            if (local == NONE) {
+                return NONE;
+            }
+            long time = zone.toEpochMillis(local * 1000);
+            if (zone.toLocalMillis(time) != local * 1000) {
+                // 落在夏令时跳过的时段，从切换前的最后一秒继续
+                long transition = zone.nextTransition(time - EpochMillis.MILLIS_PER_DAY);
+                local = Math.min(local - 1, Math.floorDiv(zone.toLocalMillis(transition - 1), 1000));
+                continue;
+            }
+            if (time < epochMillis) {
+                return time;
+            }
+            local--;
+        }
+    }
+
+    /**
+     * 不早于localSecond(本地时间的秒数)的第一个匹配
+     */
+    private long nextLocal(long localSecond) {
+        long day = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) (localSecond - day * SECONDS_PER_DAY);
+        int maxYear = Integer.MIN_VALUE;
+        while (true) {
+            long date = EpochMillis.civilDate(day);
+            int year = (int) (date / 10000);
+            int month = (int) (date / 100 % 100);
+            int dayOfMonth = (int) (date % 100);
+            if (maxYear == Integer.MIN_VALUE) {
+                maxYear = year + MAX_YEARS;
+            } else if (year > maxYear) {
+                return NONE;
+            }
+            if ((months & (1L << month)) == 0) {
+                int next = nextBit(months, month + 1);
+                if (next < 0) {
+                    year++;
+                    next = nextBit(months, 1);
+                }
+                day = EpochMillis.epochDay(year, next, 1);
+                secondOfDay = 0;
+                continue;
+            }
+            if ((daysOfMonth & (1L << dayOfMonth)) == 0) {
+                int next = nextBit(daysOfMonth, dayOfMonth + 1);
+                int length = EpochMillis.lengthOfMonth(year, month);
+                day += (next < 0 || next > length ? length + 1 : next) - dayOfMonth;
+                secondOfDay = 0;
+                continue;
+            }
+            if ((daysOfWeek & (1L << dayOfWeek(day))) != 0) {
+                int time = nextTimeOfDay(secondOfDay);
+                if (time >= 0) {
+                    return day * SECONDS_PER_DAY + time;
+                }
+            }
+            day++;
+            secondOfDay = 0;
+        }
+    }
+
+    private long previousLocal(long localSecond) {
+        long day = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) (localSecond - day * SECONDS_PER_DAY);
+        int minYear = Integer.MAX_VALUE;
+        while (true) {
+            long date = EpochMillis.civilDate(day);
+            int year = (int) (date / 10000);
+            int month = (int) (date / 100 % 100);
+            int dayOfMonth = (int) (date % 100);
+            if (minYear == Integer.MAX_VALUE) {
+                minYear = year - MAX_YEARS;
+            } else if (year < minYear) {
+                return NONE;
+            }
+            if ((months & (1L << month)) == 0) {
+                int previous = previousBit(months, month - 1);
+                if (previous < 0) {
+                    year--;
+                    previous = previousBit(months, 12);
+                }
+                day = EpochMillis.epochDay(year, previous, EpochMillis.lengthOfMonth(year, previous));
+                secondOfDay = SECONDS_PER_DAY - 1;
+                continue;
+            }
+            if ((daysOfMonth & (1L << dayOfMonth)) == 0) {
+                int previous = previousBit(daysOfMonth, Math.min(dayOfMonth - 1, 31));
+                day -= dayOfMonth - (previous < 0 ? 0 : previous);
+                secondOfDay = SECONDS_PER_DAY - 1;
+                continue;
+            }
+            if ((daysOfWeek & (1L << dayOfWeek(day))) != 0) {
+                int time = previousTimeOfDay(secondOfDay);
+                if (time >= 0) {
+                    return day * SECONDS_PER_DAY + time;
+                }
+            }
+            day--;
+            secondOfDay = SECONDS_PER_DAY - 1;
+        }
+    }
+
+    /**
+     * 当天不早于secondOfDay的第一个匹配时间，没有时返回-1
+     */
+    private int nextTimeOfDay(int secondOfDay) {
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+        while (true) {
+            int next = nextBit(hours, hour);
+            if (next < 0) {
+                return -1;
+            }
+            if (next != hour) {
+                hour = next;
+                minute = 0;
+                second = 0;
+            }
+            next = nextBit(minutes, minute);
+            if (next < 0) {
+                hour++;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (next != minute) {
+                minute = next;
+                second = 0;
+            }
+            next = nextBit(seconds, second);
+            if (next < 0) {
+                minute++;
+                second = 0;
+                continue;
+            }
+            return hour * 3600 + minute * 60 + next;
+        }
+    }
+
+    private int previousTimeOfDay(int secondOfDay) {
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+        while (true) {
+            int previous = previousBit(hours, hour);
+            if (previous < 0) {
+                return -1;
+            }
+            if (previous != hour) {
+                hour = previous;
+                minute = 59;
+                second = 59;
+            }
+            previous = previousBit(minutes, minute);
+            if (previous < 0) {
+                hour--;
+                minute = 59;
+                second = 59;
+                continue;
+            }
+            if (previous != minute) {
+                minute = previous;
+                second = 59;
+            }
+            previous = previousBit(seconds, second);
+            if (previous < 0) {
+                minute--;
+                second = 59;
+                continue;
+            }
+            return hour * 3600 + minute * 60 + previous;
+        }
+    }
+
+    /**
+     * 0为周日，1970-01-01是周四
+     */
+    private static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 4, 7);
+    }
+
+    /**
+     * 不小于from的最低位，没有时返回-1
+     */
+    private static int nextBit(long bits, int from) {
+        if (from >= Long.SIZE) {
+            return -1;
+        }
+        long masked = bits & (-1L << from);
+        return masked == 0 ? -1 : Long.numberOfTrailingZeros(masked);
+    }
+
+    /**
+     * 不大于from的最高位，没有时返回-1
+     */
+    private static int previousBit(long bits, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        long masked = bits & ((2L << from) - 1);
+        return masked == 0 ? -1 : Long.SIZE - 1 - Long.numberOfLeadingZeros(masked);
+    }
+
+    private static String days(String field) {
+        return field.contains("?") ? "*" : field;
+    }
+
+    private static String replaceOrdinals(String value, String commaSeparatedList) {
+        String[] list = StringUtils.commaDelimitedListToStringArray(commaSeparatedList);
+        for (int i = 0; i < list.length; i++) {
+            value = StringUtils.replace(value.toUpperCase(), list[i], Integer.toString(i));
+        }
+        return value;
+    }
+
+    /**
+     * 字段编译为位图，max不含
+     */
+    private long bits(String value, int min, int max) {
+        long bits = 0;
+        for (String field : StringUtils.delimitedListToStringArray(value, ",")) {
+            if (!field.contains("/")) {
+                int[] range = range(field, min, max);
+                for (int i = range[0]; i <= range[1]; i++) {
+                    bits |= 1L << i;
+                }
+            } else {
+                String[] split = StringUtils.delimitedListToStringArray(field, "/");
+                if (split.length > 2) {
+                    throw new IllegalArgumentException("Incrementer has more than two fields: '" + field
+                            + "' in expression \"" + expression + "\"");
+                }
+                int[] range = range(split[0], min, max);
+                if (!split[0].contains("-")) {
+                    range[1] = max - 1;
+                }
+                int delta = Integer.parseInt(split[1]);
+                if (delta <= 0) {
+                    throw new IllegalArgumentException("Incrementer delta must be 1 or higher: '" + field
+                            + "' in expression \"" + expression + "\"");
+                }
+                for (int i = range[0]; i <= range[1]; i += delta) {
+                    bits |= 1L << i;
+                }
+            }
+        }
+        return bits;
+    }
+
+    private int[] range(String field, int min, int max) {
+        int[] result = new int[2];
+        if (field.contains("*")) {
+            result[0] = min;
+            result[1] = max - 1;
+            return result;
+        }
+        if (!field.contains("-")) {
+            result[0] = result[1] = Integer.parseInt(field);
+        } else {
+            String[] split = StringUtils.delimitedListToStringArray(field, "-");
+            if (split.length > 2) {
+                throw new IllegalArgumentException("Range has more than two fields: '" + field
+                        + "' in expression \"" + expression + "\"");
+            }
+            result[0] = Integer.parseInt(split[0]);
+            result[1] = Integer.parseInt(split[1]);
+        }
+        if (result[0] >= max || result[1] >= max) {
+            throw new IllegalArgumentException("Range exceeds maximum (" + max + "): '" + field
+                    + "' in expression \"" + expression + "\"");
+        }
+        if (result[0] < min || result[1] < min) {
+            throw new IllegalArgumentException("Range less than minimum (" + min + "): '" + field
+                    + "' in expression \"" + expression + "\"");
+        }
+        if (result[0] > result[1]) {
+            throw new IllegalArgumentException("Invalid inverted range: '" + field
+                    + "' in expression \"" + expression + "\"");
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CronExpression)) {
+            return false;
+        }
+        CronExpression that = (CronExpression) other;
+        return seconds == that.seconds && minutes == that.minutes && hours == that.hours
+                && daysOfMonth == that.daysOfMonth && months == that.months && daysOfWeek == that.daysOfWeek
+                && timeZone.getID().equals(that.timeZone.getID());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(seconds, minutes, hours, daysOfMonth, months, daysOfWeek, timeZone.getID());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + expression;
+    }
+
+    /**
+     * base之后连续的触发时间，times[0]是晚于base的第一个，其余都在times[0]之后的下一次时区切换之前
+     * <p>
+     * 查询时间等于base，或在times[0]与最后一个之间时，结果在窗口内
+     */
+    private static final class Window {
+        private final long base;
+        private final long[] times;
+
+        Window(long base, long[] times) {
+            this.base = base;
+            this.times = times;
+        }
+
+        long last() {
+            return times.length == 0 ? Long.MIN_VALUE : times[times.length - 1];
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kiwi.timer.lane;
+
+/**
+ * 定时任务的优先级，每个优先级一条独立的执行通道
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public enum JobPriority {
+    /**
+     * 对触发延迟敏感的任务
+     */
+    HIGH,
+    /**
+     * 没有标注的任务
+     */
+    NORMAL,
+    /**
+     * 清理、归档等可以延后的批量任务
+     */
+    LOW
+}
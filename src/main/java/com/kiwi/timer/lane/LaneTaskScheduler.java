@@ -0,0 +1,71 @@
+package com.kiwi.timer.lane;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.util.Assert;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 按{@link Priority}把@Scheduled方法分到不同通道的TaskScheduler
+ * <p>
+ * 每条通道是完整的一套调度器包装，通常共用计时线程，在各自的{@link PriorityLanes}线程池中执行。
+ * 其它Runnable(代码中直接提交的任务)和没有标注的方法走{@link JobPriority#NORMAL}。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class LaneTaskScheduler implements TaskScheduler {
+    private final Map<JobPriority, TaskScheduler> lanes;
+
+    public LaneTaskScheduler(Map<JobPriority, TaskScheduler> lanes) {
+        for (JobPriority priority : JobPriority.values()) {
+            Assert.notNull(lanes.get(priority), "Missing lane " + priority);
+        }
+        this.lanes = new EnumMap<>(lanes);
+    }
+
+    private TaskScheduler lane(Runnable task) {
+        if (task instanceof ScheduledMethodRunnable) {
+            Priority priority = ((ScheduledMethodRunnable) task).getMethod().getAnnotation(Priority.class);
+            if (priority != null) {
+                return lanes.get(priority.value());
+            }
+        }
+        return lanes.get(JobPriority.NORMAL);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return lane(task).schedule(task, trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return lane(task).schedule(task, startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return lane(task).scheduleAtFixedRate(task, startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return lane(task).scheduleAtFixedRate(task, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return lane(task).scheduleWithFixedDelay(task, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return lane(task).scheduleWithFixedDelay(task, delay);
+    }
+}
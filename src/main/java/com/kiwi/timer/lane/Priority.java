@@ -0,0 +1,20 @@
+package com.kiwi.timer.lane;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定@Scheduled方法在哪条通道执行，没有标注的为{@link JobPriority#NORMAL}，见{@link LaneTaskScheduler}
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Priority {
+    JobPriority value();
+}
@@ -0,0 +1,59 @@
+package com.kiwi.timer.lane;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.util.Assert;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个优先级一个ForkJoinPool
+ * <p>
+ * 各通道的线程互不共用，低优先级任务占满自己的线程时不影响高优先级任务；
+ * 通道内为FIFO模式的工作窃取，空闲线程从其它线程和提交队列中取任务，不争用同一个队列锁。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+public class PriorityLanes {
+    private final Map<JobPriority, ForkJoinPool> pools = new EnumMap<>(JobPriority.class);
+    private final int awaitTerminationSeconds;
+
+    /**
+     * @param parallelism 各通道的线程数
+     */
+    public PriorityLanes(Map<JobPriority, Integer> parallelism, String threadNamePrefix, int awaitTerminationSeconds) {
+        for (JobPriority priority : JobPriority.values()) {
+            Integer threads = parallelism.get(priority);
+            Assert.isTrue(threads != null && threads > 0, "Parallelism of lane " + priority + " must be positive");
+            String prefix = threadNamePrefix + priority.name().toLowerCase() + "-";
+            pools.put(priority, new ForkJoinPool(threads, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(prefix + thread.getPoolIndex());
+                return thread;
+            }, null, true));
+        }
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    public ForkJoinPool get(JobPriority priority) {
+        return pools.get(priority);
+    }
+
+    public void shutdown() {
+        pools.values().forEach(ForkJoinPool::shutdown);
+        try {
+            for (Map.Entry<JobPriority, ForkJoinPool> entry : pools.entrySet()) {
+                if (!entry.getValue().awaitTermination(awaitTerminationSeconds, TimeUnit.SECONDS)) {
+                    log.warn("Lane {} did not terminate in {} seconds", entry.getKey(), awaitTerminationSeconds);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
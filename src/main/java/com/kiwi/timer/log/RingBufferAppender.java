@@ -0,0 +1,252 @@
+package com.kiwi.timer.log;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 无垃圾的异步Appender：日志事件复制到预先分配的环形缓冲区，由后台线程批量写入引用的Appender
+ * <p>
+ * log4j2自带的AsyncAppender每条日志都要创建一个不可变的事件副本放入BlockingQueue，
+ * AsyncLogger则依赖LMAX Disruptor。这里的槽位是启动时创建的{@link MutableLogEvent}，
+ * 记录时把消息格式化进槽位自带的StringBuilder并交换参数数组，调用线程不分配对象。
+ * <p>
+ * 缓冲区满时blocking=true等待后台线程腾出空间，否则丢弃并计数。后台线程每次取走当前所有事件，
+ * 最后一条标记endOfBatch，immediateFlush=false的Appender按批刷新。
+ * 槽位不计算调用位置，Logger需配置includeLocation="false"，否则调用线程仍会为位置信息遍历调用栈。
+ * <pre>
+ * &lt;RingBuffer name="Async" bufferSize="1024" blocking="true"&gt;
+ *     &lt;AppenderRef ref="Console"/&gt;
+ * &lt;/RingBuffer&gt;
+ * </pre>
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Plugin(name = "RingBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class RingBufferAppender extends AbstractAppender {
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private final MutableLogEvent[] ring;
+    private final int mask;
+    private final boolean blocking;
+    private final AppenderRef[] appenderRefs;
+    private final Configuration configuration;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final LongAdder dropped = new LongAdder();
+    /**
+     * 下一条待写出和下一条待写入的序号，由lock保护
+     */
+    private long head;
+    private long tail;
+    private boolean shutdown;
+    /**
+     * start()之前为null，此前记录的事件留在缓冲区中，启动后写出
+     */
+    private volatile AppenderControl[] appenders;
+    private volatile Thread consumer;
+
+    private RingBufferAppender(String name, Filter filter, int bufferSize, boolean blocking, AppenderRef[] appenderRefs,
+                               Configuration configuration, boolean ignoreExceptions) {
+        super(name, filter, null, ignoreExceptions);
+        int capacity = Integer.highestOneBit(Math.max(bufferSize - 1, 1)) << 1;
+        this.ring = new MutableLogEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new MutableLogEvent();
+        }
+        this.mask = capacity - 1;
+        this.blocking = blocking;
+        this.appenderRefs = appenderRefs;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @param bufferSize 槽位数，向上取2的幂
+     * @param blocking   缓冲区满时是否等待，false时丢弃
+     */
+    @PluginFactory
+    public static RingBufferAppender createAppender(@PluginAttribute("name") String name,
+                                                    @PluginAttribute(value = "bufferSize", defaultInt = DEFAULT_BUFFER_SIZE) int bufferSize,
+                                                    @PluginAttribute(value = "blocking", defaultBoolean = true) boolean blocking,
+                                                    @PluginAttribute(value = "ignoreExceptions", defaultBoolean = true) boolean ignoreExceptions,
+                                                    @PluginElement("AppenderRef") AppenderRef[] appenderRefs,
+                                                    @PluginElement("Filter") Filter filter,
+                                                    @PluginConfiguration Configuration configuration) {
+        if (name == null) {
+            LOGGER.error("No name provided for RingBufferAppender");
+            return null;
+        }
+        if (appenderRefs == null || appenderRefs.length == 0) {
+            LOGGER.error("No appender references provided to RingBufferAppender {}", name);
+            return null;
+        }
+        return new RingBufferAppender(name, filter, bufferSize, blocking, appenderRefs, configuration, ignoreExceptions);
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        AppenderControl[] controls = new AppenderControl[appenderRefs.length];
+        int count = 0;
+        for (AppenderRef ref : appenderRefs) {
+            Appender appender = configuration.getAppender(ref.getRef());
+            if (appender == null) {
+                LOGGER.error("No appender named {} was configured", ref.getRef());
+            } else {
+                controls[count++] = new AppenderControl(appender, ref.getLevel(), ref.getFilter());
+            }
+        }
+        if (count == 0) {
+            LOGGER.error("No appenders are available for RingBufferAppender {}", getName());
+        }
+        appenders = Arrays.copyOf(controls, count);
+        consumer = new Thread(this::drain, "RingBufferAppender-" + getName());
+        consumer.setDaemon(true);
+        consumer.start();
+        super.start();
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        setStopping();
+        super.stop(timeout, timeUnit, false);
+        lock.lock();
+        try {
+            shutdown = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = consumer;
+        // 未启动时没有后台线程
+        if (thread != null) {
+            try {
+                // 写完缓冲区中剩余的事件
+                thread.join(timeout > 0 ? timeUnit.toMillis(timeout) : 0);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        setStopped();
+        return true;
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        if (Thread.currentThread() == consumer) {
+            // 被引用的Appender自己记录日志时直接写出，避免在满缓冲区上等待自己
+            callAppenders(event);
+            return;
+        }
+        lock.lock();
+        try {
+            while (tail - head == ring.length) {
+                if (!blocking || shutdown) {
+                    dropped.increment();
+                    return;
+                }
+                notFull.awaitUninterruptibly();
+            }
+            ring[(int) tail & mask].initFrom(event);
+            // 后台线程只在缓冲区为空时等待
+            if (tail++ == head) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            long from;
+            long to;
+            lock.lock();
+            try {
+                while (head == tail) {
+                    if (shutdown) {
+                        return;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                }
+                from = head;
+                to = tail;
+            } finally {
+                lock.unlock();
+            }
+            // [from, to)的槽位在head前移之前不会被写入，可以在锁外处理
+            for (long i = from; i < to; i++) {
+                MutableLogEvent event = ring[(int) i & mask];
+                event.setEndOfBatch(i == to - 1);
+                callAppenders(event);
+                event.clear();
+            }
+            lock.lock();
+            try {
+                head = to;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void callAppenders(LogEvent event) {
+        AppenderControl[] controls = appenders;
+        if (controls == null) {
+            return;
+        }
+        for (AppenderControl control : controls) {
+            try {
+                control.callAppender(event);
+            } catch (RuntimeException ex) {
+                getHandler().error("An exception occurred processing Appender " + control.getAppenderName(), event, ex);
+            }
+        }
+    }
+
+    public int getBufferSize() {
+        return ring.length;
+    }
+
+    /**
+     * @return 尚未写出的事件数
+     */
+    public int getQueueSize() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return blocking=false时因缓冲区满丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package com.kiwi.timer.monitor;
+
+import lombok.Getter;
+
+/**
+ * 直方图快照，单位与记录时相同(纳秒)，输出时换算为微秒
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+public final class HistogramSnapshot {
+    private final long count;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p90Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+
+    public HistogramSnapshot(long count, long mean, long p50, long p90, long p99, long p999, long max) {
+        this.count = count;
+        this.meanMicros = mean / 1000;
+        this.p50Micros = p50 / 1000;
+        this.p90Micros = p90 / 1000;
+        this.p99Micros = p99 / 1000;
+        this.p999Micros = p999 / 1000;
+        this.maxMicros = max / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + meanMicros + "us, p50=" + p50Micros + "us, p90=" + p90Micros
+                + "us, p99=" + p99Micros + "us, p999=" + p999Micros + "us, max=" + maxMicros + "us";
+    }
+}
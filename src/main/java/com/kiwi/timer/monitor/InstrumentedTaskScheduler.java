@@ -0,0 +1,205 @@
+package com.kiwi.timer.monitor;
+
+import com.kiwi.timer.cron.CompiledCronTrigger;
+import com.kiwi.timer.cron.CronExpression;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 为提交的每个任务记录触发延迟和执行耗时的TaskScheduler包装
+ * <p>
+ * 计划开始时间按System.nanoTime换算后存在任务包装对象上，每次执行只读写其字段并更新直方图，不分配对象。
+ * 周期任务按fixedRate/fixedDelay推算下次计划时间；Trigger任务在计算下次时间时记录，cron任务同时统计被跳过的触发：
+ * 预编译的cron直接在毫秒数上逐个推算，Spring的CronTrigger只在上次执行越过了下一个触发时间时才逐个计算。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class InstrumentedTaskScheduler implements TaskScheduler {
+    /**
+     * 一次统计的跳过次数上限，避免每秒触发的cron长时间阻塞后逐个计算
+     */
+    private static final int MAX_MISSED = 1000;
+
+    private final TaskScheduler delegate;
+    private final TaskMetricsRegistry registry;
+
+    public InstrumentedTaskScheduler(TaskScheduler delegate, TaskMetricsRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        InstrumentedTask instrumented = instrument(task, 0);
+        return delegate.schedule(instrumented, new RecordingTrigger(trigger, instrumented));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        InstrumentedTask instrumented = instrument(task, 0);
+        instrumented.expect(startTime);
+        return delegate.schedule(instrumented, startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        InstrumentedTask instrumented = instrument(task, TimeUnit.MILLISECONDS.toNanos(period));
+        instrumented.expect(startTime);
+        return delegate.scheduleAtFixedRate(instrumented, startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        InstrumentedTask instrumented = instrument(task, TimeUnit.MILLISECONDS.toNanos(period));
+        instrumented.expectedNanos = System.nanoTime();
+        return delegate.scheduleAtFixedRate(instrumented, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        InstrumentedTask instrumented = instrument(task, -TimeUnit.MILLISECONDS.toNanos(delay));
+        instrumented.expect(startTime);
+        return delegate.scheduleWithFixedDelay(instrumented, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        InstrumentedTask instrumented = instrument(task, -TimeUnit.MILLISECONDS.toNanos(delay));
+        instrumented.expectedNanos = System.nanoTime();
+        return delegate.scheduleWithFixedDelay(instrumented, delay);
+    }
+
+    private InstrumentedTask instrument(Runnable task, long periodNanos) {
+        return new InstrumentedTask(task, registry.metrics(TaskMetricsRegistry.nameOf(task)), periodNanos);
+    }
+
+    private static final class InstrumentedTask implements Runnable {
+        private final Runnable task;
+        private final TaskMetrics metrics;
+        /**
+         * 大于0为fixedRate，小于0为fixedDelay(取反)，0为一次性或trigger
+         */
+        private final long periodNanos;
+        private volatile long expectedNanos;
+        private long lastEndNanos = Long.MIN_VALUE;
+
+        InstrumentedTask(Runnable task, TaskMetrics metrics, long periodNanos) {
+            this.task = task;
+            this.metrics = metrics;
+            this.periodNanos = periodNanos;
+        }
+
+        void expect(Date time) {
+            expectedNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(time.getTime() - System.currentTimeMillis());
+        }
+
+        @Override
+        public void run() {
+            long expected = expectedNanos;
+            long start = System.nanoTime();
+            metrics.started(start - expected, lastEndNanos != Long.MIN_VALUE && expected - lastEndNanos < 0);
+            boolean failed = true;
+            try {
+                task.run();
+                failed = false;
+            } finally {
+                long end = System.nanoTime();
+                metrics.finished(end - start, failed);
+                lastEndNanos = end;
+                if (periodNanos > 0) {
+                    expectedNanos = expected + periodNanos;
+                } else if (periodNanos < 0) {
+                    expectedNanos = end - periodNanos;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    /**
+     * 记录trigger给出的下次时间；cron任务若因执行过长越过了原本的触发时间，计入missed
+     */
+    private static final class RecordingTrigger implements Trigger {
+        private final Trigger trigger;
+        private final InstrumentedTask task;
+        private final boolean cron;
+        /**
+         * 预编译的cron，其它Trigger为null
+         */
+        private final CronExpression expression;
+        /**
+         * 逐个推算CronTrigger时复用，同一任务的触发依次计算，不会并发
+         */
+        private final SimpleTriggerContext idealContext = new SimpleTriggerContext();
+
+        RecordingTrigger(Trigger trigger, InstrumentedTask task) {
+            this.trigger = trigger;
+            this.task = task;
+            this.expression = trigger instanceof CompiledCronTrigger ? ((CompiledCronTrigger) trigger).getCronExpression() : null;
+            this.cron = expression != null || trigger instanceof CronTrigger;
+        }
+
+        @Override
+        public Date nextExecutionTime(TriggerContext triggerContext) {
+            Date next = trigger.nextExecutionTime(triggerContext);
+            if (next == null) {
+                return null;
+            }
+            task.expect(next);
+            Date scheduled = triggerContext.lastScheduledExecutionTime();
+            if (cron && scheduled != null) {
+                long missed = expression != null ? countMissed(scheduled.getTime(), next.getTime())
+                        : countMissed(scheduled, triggerContext.lastCompletionTime(), next);
+                if (missed > 0) {
+                    task.metrics.missed(missed);
+                }
+            }
+            return next;
+        }
+
+        /**
+         * 上次计划时间与下次触发之间本应触发的次数，不分配对象
+         */
+        private long countMissed(long scheduled, long next) {
+            long missed = 0;
+            for (long ideal = expression.next(scheduled); ideal != CronExpression.NONE && ideal < next && missed < MAX_MISSED;
+                 ideal = expression.next(ideal)) {
+                missed++;
+            }
+            return missed;
+        }
+
+        /**
+         * 其它cron Trigger：上次执行在下一个本应触发的时间之前完成时不可能跳过，只算这一次
+         */
+        private long countMissed(Date scheduled, Date completion, Date next) {
+            if (completion == null) {
+                return 0;
+            }
+            idealContext.update(scheduled, scheduled, scheduled);
+            Date ideal = trigger.nextExecutionTime(idealContext);
+            if (ideal == null || completion.before(ideal)) {
+                return 0;
+            }
+            long missed = 0;
+            while (ideal != null && ideal.before(next) && missed < MAX_MISSED) {
+                missed++;
+                idealContext.update(ideal, ideal, ideal);
+                ideal = trigger.nextExecutionTime(idealContext);
+            }
+            return missed;
+        }
+    }
+}
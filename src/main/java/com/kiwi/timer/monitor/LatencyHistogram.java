@@ -0,0 +1,101 @@
+package com.kiwi.timer.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 对数-线性分桶的直方图，与HdrHistogram的分桶方式相同，相对误差不超过1/64
+ * <p>
+ * 小于128的值每个值一个桶；更大的值按最高位分组，每组64个等宽的桶。
+ * 记录只是数组元素的原子自增，不分配对象，可在任务执行路径上使用；读取时再计算分位数。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT >> 1;
+    private static final int BUCKETS = SUB_COUNT + (Long.SIZE - SUB_BITS) * HALF_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 负值按0记录
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(index(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // 重试
+        }
+    }
+
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + (int) (value >>> shift) - HALF_COUNT;
+    }
+
+    /**
+     * 桶内的最大值，分位数按它报告，不会低估
+     */
+    static long highestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / HALF_COUNT + 1;
+        long sub = (index - SUB_COUNT) % HALF_COUNT + HALF_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * 各分位数的快照，quantiles取值0到1
+     */
+    public long[] percentiles(double... quantiles) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        long[] result = new long[quantiles.length];
+        if (count == 0) {
+            return result;
+        }
+        long maxValue = max.get();
+        for (int q = 0; q < quantiles.length; q++) {
+            long rank = Math.max(1, (long) Math.ceil(quantiles[q] * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    result[q] = Math.min(highestValue(i), maxValue);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public HistogramSnapshot snapshot() {
+        long count = total.get();
+        long[] percentiles = percentiles(0.5, 0.9, 0.99, 0.999);
+        return new HistogramSnapshot(count, count == 0 ? 0 : sum.get() / count, percentiles[0], percentiles[1],
+                percentiles[2], percentiles[3], max.get());
+    }
+}
@@ -0,0 +1,31 @@
+package com.kiwi.timer.monitor;
+
+/**
+ * 自带任务名的任务，统计(/timers)、JobStore记录和集群租约都按这个名称区分任务
+ * <p>
+ * 未实现时@Scheduled方法按"类名.方法名"命名；运行中注册的任务(JobRegistry)命名为"job:名称"，
+ * 与同一方法上的@Scheduled任务及其它注册任务互不混淆。包装任务的各层(重叠控制、持久化、集群)也实现本接口，
+ * 把外层得到的名称传给内层。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public interface NamedTask {
+    String getTaskName();
+
+    /**
+     * 开启持久化时，重新计划本任务是否按JobStore中的记录补执行错过的触发
+     * <p>
+     * 注册任务(JobRegistry)的启动、恢复和修改都是显式调用，暂停期间或取消后重新注册前的触发不算错过，返回false
+     */
+    default boolean recoversMisfires() {
+        return true;
+    }
+
+    /**
+     * 未实现本接口的任务都补执行
+     */
+    static boolean recoversMisfires(Runnable task) {
+        return !(task instanceof NamedTask) || ((NamedTask) task).recoversMisfires();
+    }
+}
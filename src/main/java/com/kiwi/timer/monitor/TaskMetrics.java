@@ -0,0 +1,104 @@
+package com.kiwi.timer.monitor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个定时任务的统计
+ * <p>
+ * lag为计划开始时间到实际开始的延迟，duration为执行耗时，均按纳秒记录；
+ * missed为cron任务因上次执行过长而跳过的触发次数，overlapped为fixedRate任务到点时上次执行还没结束的次数；
+ * skipped、coalesced为按@Overlap跳过和合并的触发次数。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class TaskMetrics {
+    private final String name;
+    private final LatencyHistogram lag = new LatencyHistogram();
+    private final LatencyHistogram duration = new LatencyHistogram();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final AtomicLong overlapped = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile long lastStartMillis;
+
+    TaskMetrics(String name) {
+        this.name = name;
+    }
+
+    void started(long lagNanos, boolean overlap) {
+        running.incrementAndGet();
+        lastStartMillis = System.currentTimeMillis();
+        lag.record(lagNanos);
+        if (overlap) {
+            overlapped.incrementAndGet();
+        }
+    }
+
+    void finished(long durationNanos, boolean failed) {
+        running.decrementAndGet();
+        duration.record(durationNanos);
+        if (failed) {
+            failures.incrementAndGet();
+        }
+    }
+
+    void missed(long count) {
+        missed.addAndGet(count);
+    }
+
+    public void skipped() {
+        skipped.incrementAndGet();
+    }
+
+    public void coalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRuns() {
+        return duration.getCount();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getMissed() {
+        return missed.get();
+    }
+
+    public long getOverlapped() {
+        return overlapped.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public int getRunning() {
+        return running.get();
+    }
+
+    public long getLastStartMillis() {
+        return lastStartMillis;
+    }
+
+    public HistogramSnapshot getLag() {
+        return lag.snapshot();
+    }
+
+    public HistogramSnapshot getDuration() {
+        return duration.snapshot();
+    }
+}
@@ -0,0 +1,50 @@
+package com.kiwi.timer.monitor;
+
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按任务名汇总{@link TaskMetrics}，@Scheduled方法以"类名.方法名"命名，{@link NamedTask}以自身的名称命名
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Component
+public class TaskMetricsRegistry {
+    private final ConcurrentMap<String, TaskMetrics> metrics = new ConcurrentHashMap<>();
+
+    public TaskMetrics metrics(String name) {
+        return metrics.computeIfAbsent(name, TaskMetrics::new);
+    }
+
+    /**
+     * 不再运行的任务(如取消的注册任务)不再出现在统计中；执行中的一次仍更新已取出的TaskMetrics，不会重新加入
+     */
+    public void remove(String name) {
+        metrics.remove(name);
+    }
+
+    /**
+     * 按名称排序的所有任务
+     */
+    public Map<String, TaskMetrics> all() {
+        return new TreeMap<>(metrics);
+    }
+
+    public static String nameOf(Runnable task) {
+        if (task instanceof NamedTask) {
+            return ((NamedTask) task).getTaskName();
+        }
+        if (task instanceof ScheduledMethodRunnable) {
+            Method method = ((ScheduledMethodRunnable) task).getMethod();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return task.getClass().getName();
+    }
+}
@@ -0,0 +1,48 @@
+package com.kiwi.timer.monitor;
+
+import com.kiwi.timer.multi.PoolTuner;
+import com.kiwi.timer.wheel.WheelStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 定时任务的触发延迟、执行耗时，线程池的队列长度和活动线程数，以及时间轮的唤醒次数和触发延迟
+ * <pre>
+ * GET /timers
+ * GET /timers/{name}，如/timers/SingleDemo.cronJob
+ * </pre>
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RestController
+@RequestMapping("/timers")
+public class TimerMetricsController {
+    @Autowired
+    private TaskMetricsRegistry registry;
+    @Autowired
+    private PoolTuner poolTuner;
+
+    @GetMapping
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("tasks", registry.all());
+        result.put("pools", poolTuner.metrics());
+        WheelStats wheel = poolTuner.wheelStats();
+        if (wheel != null) {
+            result.put("wheel", wheel);
+        }
+        return result;
+    }
+
+    @GetMapping("/{name:.+}")
+    public TaskMetrics task(@PathVariable String name) {
+        return registry.all().get(name);
+    }
+}
@@ -0,0 +1,258 @@
+package com.kiwi.timer.multi;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 只负责计时的TaskScheduler：到期时把任务交给另一个Executor执行，计时线程不执行业务代码
+ * <p>
+ * 配合虚拟线程使用时，计时用很小的平台线程池，每次执行一个虚拟线程，阻塞的任务不占用平台线程，也不影响其他任务按时触发。
+ * <p>
+ * 所有任务都按一次性任务逐次计划：本次执行结束后再计划下一次，与ThreadPoolTaskScheduler语义一致——
+ * 同一任务不会并发执行，fixedRate在上次执行超时后立即补执行，fixedDelay从上次结束开始计算。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class HandoffTaskScheduler implements TaskScheduler {
+    private final TaskScheduler timer;
+    private final Executor executor;
+    private ErrorHandler errorHandler;
+
+    /**
+     * @param timer    负责计时的调度器
+     * @param executor 执行任务的Executor
+     */
+    public HandoffTaskScheduler(TaskScheduler timer, Executor executor) {
+        Assert.notNull(timer, "'timer' must not be null");
+        Assert.notNull(executor, "'executor' must not be null");
+        this.timer = timer;
+        this.executor = executor;
+    }
+
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return new HandoffTask(decorate(task, true), trigger).start();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return new HandoffTask(decorate(task, false), new PeriodTrigger(startTime, 0, false)).start();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        Assert.isTrue(period > 0, "'period' must be positive");
+        return new HandoffTask(decorate(task, true), new PeriodTrigger(startTime, period, true)).start();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return scheduleAtFixedRate(task, new Date(), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        Assert.isTrue(delay > 0, "'delay' must be positive");
+        return new HandoffTask(decorate(task, true), new PeriodTrigger(startTime, delay, false)).start();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return scheduleWithFixedDelay(task, new Date(), delay);
+    }
+
+    private Runnable decorate(Runnable task, boolean repeating) {
+        return TaskUtils.decorateTaskWithErrorHandler(task, errorHandler, repeating);
+    }
+
+    /**
+     * 第一次在startTime执行；period为0时只执行一次，
+     * fixedRate按上次计划时间、fixedDelay按上次结束时间加period
+     */
+    private static final class PeriodTrigger implements Trigger {
+        private final Date startTime;
+        private final long period;
+        private final boolean fixedRate;
+
+        PeriodTrigger(Date startTime, long period, boolean fixedRate) {
+            this.startTime = startTime;
+            this.period = period;
+            this.fixedRate = fixedRate;
+        }
+
+        @Override
+        public Date nextExecutionTime(TriggerContext triggerContext) {
+            Date last = triggerContext.lastScheduledExecutionTime();
+            if (last == null) {
+                return startTime;
+            }
+            if (period == 0) {
+                return null;
+            }
+            return new Date((fixedRate ? last : triggerContext.lastCompletionTime()).getTime() + period);
+        }
+    }
+
+    private final class HandoffTask implements ScheduledFuture<Object>, Runnable {
+        private final Runnable runnable;
+        private final Trigger trigger;
+        private final SimpleTriggerContext triggerContext = new SimpleTriggerContext();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile ScheduledFuture<?> current;
+        private volatile Date scheduledTime;
+        private volatile Thread runner;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+
+        HandoffTask(Runnable runnable, Trigger trigger) {
+            this.runnable = runnable;
+            this.trigger = trigger;
+        }
+
+        /**
+         * @return trigger不再触发时返回null，与ThreadPoolTaskScheduler相同
+         */
+        HandoffTask start() {
+            return next() ? this : null;
+        }
+
+        private synchronized boolean next() {
+            if (cancelled) {
+                return false;
+            }
+            Date time = trigger.nextExecutionTime(triggerContext);
+            if (time == null) {
+                done.countDown();
+                return false;
+            }
+            scheduledTime = time;
+            current = timer.schedule(this, time);
+            return true;
+        }
+
+        /**
+         * 在计时线程中执行，只做转交
+         */
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                executor.execute(this::execute);
+            } catch (RejectedExecutionException ex) {
+                failure = ex;
+                done.countDown();
+                throw ex;
+            }
+        }
+
+        private void execute() {
+            if (cancelled) {
+                return;
+            }
+            Date actualTime = new Date();
+            runner = Thread.currentThread();
+            try {
+                runnable.run();
+            } catch (Throwable ex) {
+                // 只有一次性任务会抛到这里，周期任务的异常已由ErrorHandler处理
+                failure = ex;
+                done.countDown();
+                return;
+            } finally {
+                runner = null;
+            }
+            triggerContext.update(scheduledTime, actualTime, new Date());
+            next();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (this) {
+                if (cancelled || done.getCount() == 0) {
+                    return false;
+                }
+                cancelled = true;
+            }
+            ScheduledFuture<?> future = current;
+            if (future != null) {
+                future.cancel(false);
+            }
+            Thread thread = runner;
+            if (mayInterruptIfRunning && thread != null) {
+                thread.interrupt();
+            }
+            done.countDown();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            done.await();
+            return report();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            return report();
+        }
+
+        private Object report() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+            return null;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return current.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (this == other) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kiwi.timer.multi;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带统计的ThreadPoolTaskExecutor，用于@Async
+ * <p>
+ * 记录提交、拒绝、完成的任务数以及任务在队列中的等待时间，{@link #metrics()}取当前快照。
+ * 拒绝策略可以照常设置，统计在外层完成。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class MeteredTaskExecutor extends ThreadPoolTaskExecutor {
+    private static final long serialVersionUID = 1L;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private TaskDecorator taskDecorator;
+
+    public MeteredTaskExecutor() {
+        super.setTaskDecorator(this::measure);
+        setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 业务的TaskDecorator在统计之内执行
+     */
+    @Override
+    public void setTaskDecorator(TaskDecorator taskDecorator) {
+        this.taskDecorator = taskDecorator;
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler rejectedExecutionHandler) {
+        super.setRejectedExecutionHandler((task, executor) -> {
+            rejected.increment();
+            rejectedExecutionHandler.rejectedExecution(task, executor);
+        });
+    }
+
+    private Runnable measure(Runnable task) {
+        Runnable runnable = taskDecorator == null ? task : taskDecorator.decorate(task);
+        long enqueued = System.nanoTime();
+        submitted.increment();
+        return () -> {
+            long wait = System.nanoTime() - enqueued;
+            queueWaitNanos.add(wait);
+            long max;
+            while (wait > (max = maxQueueWaitNanos.get()) && !maxQueueWaitNanos.compareAndSet(max, wait)) {
+                // 重试
+            }
+            try {
+                runnable.run();
+            } finally {
+                completed.increment();
+            }
+        };
+    }
+
+    public PoolMetrics metrics() {
+        ThreadPoolExecutor executor = getThreadPoolExecutor();
+        long started = completed.sum() + executor.getActiveCount();
+        return new PoolMetrics(getThreadNamePrefix(), executor.getCorePoolSize(), executor.getMaximumPoolSize(),
+                executor.getPoolSize(), executor.getLargestPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), executor.getQueue().remainingCapacity(), submitted.sum(), rejected.sum(),
+                completed.sum(), started == 0 ? 0 : queueWaitNanos.sum() / started, maxQueueWaitNanos.get());
+    }
+}
@@ -1,10 +1,29 @@
 package com.kiwi.timer.multi;
 
+import com.kiwi.timer.cluster.ClusterCoordinator;
+import com.kiwi.timer.cluster.ClusterTaskScheduler;
+import com.kiwi.timer.cron.CronCompilingTaskScheduler;
+import com.kiwi.timer.lane.JobPriority;
+import com.kiwi.timer.lane.LaneTaskScheduler;
+import com.kiwi.timer.lane.PriorityLanes;
+import com.kiwi.timer.monitor.InstrumentedTaskScheduler;
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import com.kiwi.timer.overlap.OverlapTaskScheduler;
+import com.kiwi.timer.registry.JobRegistry;
+import com.kiwi.timer.store.JobStore;
+import com.kiwi.timer.store.PersistentTaskScheduler;
+import com.kiwi.timer.util.CachedClock;
+import com.kiwi.timer.util.TimerClock;
+import com.kiwi.timer.wheel.TimingWheelTaskScheduler;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -12,38 +31,226 @@ import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  *
  */
 @Configuration
 @EnableAsync
+@EnableConfigurationProperties(TimerPoolProperties.class)
 @Log4j2
 public class MultiDemo implements SchedulingConfigurer, AsyncConfigurer {
+    @Autowired
+    private TimerPoolProperties properties;
+    @Autowired
+    private TaskMetricsRegistry taskMetricsRegistry;
+    @Autowired
+    private JobRegistry jobRegistry;
+    /**
+     * 只在timer.cluster.enabled=true时存在
+     */
+    @Autowired(required = false)
+    private ClusterCoordinator clusterCoordinator;
+    /**
+     * 只在timer.store.enabled=true时存在
+     */
+    @Autowired(required = false)
+    private JobStore jobStore;
+    private Boolean virtualThreads;
+    private Boolean lanes;
+
     @Override
     public void configureTasks(ScheduledTaskRegistrar scheduledTaskRegistrar) {
-        TaskScheduler taskScheduler = taskScheduler();
+        boolean wheel = "wheel".equals(properties.getScheduler().getType());
+        TaskScheduler timer = wheel ? timingWheelScheduler() : taskScheduler();
+        TaskScheduler taskScheduler;
+        if (useLanes()) {
+            Map<JobPriority, TaskScheduler> lanes = new EnumMap<>(JobPriority.class);
+            for (JobPriority priority : JobPriority.values()) {
+                ForkJoinPool pool = priorityLanes().get(priority);
+                lanes.put(priority, decorate(new HandoffTaskScheduler(timer, pool), pool));
+            }
+            taskScheduler = new LaneTaskScheduler(lanes);
+        } else if (useVirtualThreads()) {
+            taskScheduler = decorate(new HandoffTaskScheduler(timer, virtualThreadExecutor()), virtualThreadExecutor());
+        } else {
+            taskScheduler = decorate(timer, wheel ? timingWheelScheduler().getThreadPoolExecutor() : taskScheduler());
+        }
+        if (clusterCoordinator != null) {
+            // 最外层，才能拿到@Scheduled方法本身
+            taskScheduler = new ClusterTaskScheduler(taskScheduler, clusterCoordinator);
+        }
         scheduledTaskRegistrar.setTaskScheduler(taskScheduler);
+        jobRegistry.bind(scheduledTaskRegistrar);
+    }
+
+    /**
+     * 统计、持久化、cron预编译和重叠控制
+     *
+     * @param executor @Overlap任务转交执行的线程池
+     */
+    private TaskScheduler decorate(TaskScheduler taskScheduler, Executor executor) {
+        if (properties.getScheduler().isInstrumented()) {
+            taskScheduler = new InstrumentedTaskScheduler(taskScheduler, taskMetricsRegistry);
+        }
+        if (jobStore != null) {
+            TimerPoolProperties.Store config = properties.getStore();
+            taskScheduler = new PersistentTaskScheduler(taskScheduler, jobStore, config.getMisfirePolicy(), config.getMaxCatchUp(), timerClock());
+        }
+        if (properties.getScheduler().isCompiledCron()) {
+            taskScheduler = new CronCompilingTaskScheduler(taskScheduler);
+        }
+        return new OverlapTaskScheduler(taskScheduler, executor, taskMetricsRegistry);
+    }
+
+    private boolean useLanes() {
+        if (lanes == null) {
+            boolean enabled = properties.getLanes().isEnabled();
+            if (enabled && useVirtualThreads()) {
+                log.warn("Both timer.lanes.enabled and timer.virtual.enabled are set, scheduled jobs run on virtual threads");
+                enabled = false;
+            }
+            lanes = enabled;
+        }
+        return lanes;
+    }
+
+    private boolean useVirtualThreads() {
+        if (virtualThreads == null) {
+            boolean enabled = properties.getVirtual().isEnabled();
+            if (enabled && !VirtualThreads.isSupported()) {
+                log.warn("timer.virtual.enabled is set but virtual threads are not supported on JDK {}, using platform thread pools",
+                        System.getProperty("java.version"));
+                enabled = false;
+            }
+            virtualThreads = enabled;
+        }
+        return virtualThreads;
     }
 
     @Bean(destroyMethod = "shutdown")
     public ThreadPoolTaskScheduler taskScheduler() {
+        TimerPoolProperties.Scheduler config = properties.getScheduler();
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(20);
+        // 虚拟线程和通道模式下只负责计时
+        scheduler.setPoolSize(timerPoolSize());
         // 设置线程名前缀
-        scheduler.setThreadNamePrefix("multiTask-");
+        scheduler.setThreadNamePrefix(config.getThreadNamePrefix());
         // 线程内容执行完后60秒停在
-        scheduler.setAwaitTerminationSeconds(60);
+        scheduler.setAwaitTerminationSeconds(config.getAwaitTerminationSeconds());
         // 等待所有线程执行完
-        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setWaitForTasksToCompleteOnShutdown(config.isWaitForTasksToCompleteOnShutdown());
+        // 动态任务暂停、修改和取消时立即从队列中移除
+        scheduler.setRemoveOnCancelPolicy(true);
         return scheduler;
     }
 
+    /**
+     * 只在timer.scheduler.type=wheel时创建
+     */
+    @Lazy
+    @Bean(destroyMethod = "shutdown")
+    public TimingWheelTaskScheduler timingWheelScheduler() {
+        TimerPoolProperties.Scheduler config = properties.getScheduler();
+        TimingWheelTaskScheduler scheduler = new TimingWheelTaskScheduler();
+        scheduler.setPoolSize(timerPoolSize());
+        scheduler.setThreadNamePrefix("wheelTask-");
+        scheduler.setBatchWindowMillis(config.getBatchWindowMillis());
+        scheduler.setTimerSlackMillis(config.getTimerSlackMillis());
+        scheduler.setAwaitTerminationSeconds(config.getAwaitTerminationSeconds());
+        scheduler.setWaitForTasksToCompleteOnShutdown(config.isWaitForTasksToCompleteOnShutdown());
+        return scheduler;
+    }
+
+    private int timerPoolSize() {
+        if (useVirtualThreads()) {
+            return properties.getVirtual().getTimerPoolSize();
+        }
+        return useLanes() ? properties.getLanes().getTimerPoolSize() : properties.getScheduler().getPoolSize();
+    }
+
+    /**
+     * 每个优先级一个ForkJoinPool，只在通道模式下创建
+     */
+    @Lazy
+    @Bean(destroyMethod = "shutdown")
+    public PriorityLanes priorityLanes() {
+        TimerPoolProperties.Lanes config = properties.getLanes();
+        Map<JobPriority, Integer> parallelism = new EnumMap<>(JobPriority.class);
+        parallelism.put(JobPriority.HIGH, config.getHighParallelism());
+        parallelism.put(JobPriority.NORMAL, config.getNormalParallelism());
+        parallelism.put(JobPriority.LOW, config.getLowParallelism());
+        return new PriorityLanes(parallelism, config.getThreadNamePrefix(), properties.getScheduler().getAwaitTerminationSeconds());
+    }
+
+    /**
+     * @Async专用线程池，与定时任务的线程池分开，异步任务积压时不影响定时任务按时触发
+     */
+    @Bean(destroyMethod = "shutdown")
+    public MeteredTaskExecutor asyncExecutor() {
+        TimerPoolProperties.Async config = properties.getAsync();
+        MeteredTaskExecutor executor = new MeteredTaskExecutor();
+        executor.setCorePoolSize(config.getCorePoolSize());
+        executor.setMaxPoolSize(config.getMaxPoolSize());
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setKeepAliveSeconds(config.getKeepAliveSeconds());
+        executor.setRejectedExecutionHandler(rejectionPolicy(config.getRejectionPolicy()));
+        executor.setThreadNamePrefix(config.getThreadNamePrefix());
+        executor.setAwaitTerminationSeconds(config.getAwaitTerminationSeconds());
+        executor.setWaitForTasksToCompleteOnShutdown(config.isWaitForTasksToCompleteOnShutdown());
+        return executor;
+    }
+
+    /**
+     * 每个任务一个虚拟线程，只在虚拟线程模式下创建
+     */
+    @Lazy
+    @Bean
+    public SimpleAsyncTaskExecutor virtualThreadExecutor() {
+        TimerPoolProperties.Virtual config = properties.getVirtual();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(VirtualThreads.threadFactory(config.getThreadNamePrefix()));
+        executor.setConcurrencyLimit(config.getConcurrencyLimit());
+        return executor;
+    }
+
+    /**
+     * resolution-millis大于0时使用后台线程更新的{@link CachedClock}并设为DateTimeUtil等的默认时钟，关闭时恢复系统时钟
+     */
+    @Bean
+    public TimerClock timerClock() {
+        long resolution = properties.getClock().getResolutionMillis();
+        if (resolution <= 0) {
+            return TimerClock.system();
+        }
+        TimerClock clock = new CachedClock(resolution);
+        TimerClock.setDefault(clock);
+        return clock;
+    }
+
+    private static RejectedExecutionHandler rejectionPolicy(String name) {
+        switch (name) {
+            case "abort":
+                return new ThreadPoolExecutor.AbortPolicy();
+            case "caller-runs":
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case "discard":
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case "discard-oldest":
+                return new ThreadPoolExecutor.DiscardOldestPolicy();
+            default:
+                throw new IllegalArgumentException("Unknown rejection policy: " + name);
+        }
+    }
+
     @Override
     public Executor getAsyncExecutor() {
-        Executor executor = taskScheduler();
-        return executor;
+        return useVirtualThreads() ? virtualThreadExecutor() : asyncExecutor();
     }
 
     @Override
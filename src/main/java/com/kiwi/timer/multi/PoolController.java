@@ -0,0 +1,53 @@
+package com.kiwi.timer.multi;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 线程池状态查看和运行中调整
+ * <pre>
+ * GET /pools
+ * PUT /pools/scheduler?poolSize=32
+ * PUT /pools/async?corePoolSize=16&amp;maxPoolSize=64
+ * </pre>
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RestController
+@RequestMapping("/pools")
+public class PoolController {
+    @Autowired
+    private PoolTuner poolTuner;
+
+    @GetMapping
+    public Map<String, PoolMetrics> metrics() {
+        return poolTuner.metrics();
+    }
+
+    @PutMapping("/scheduler")
+    public Map<String, PoolMetrics> resizeScheduler(@RequestParam int poolSize) {
+        poolTuner.resizeScheduler(poolSize);
+        return poolTuner.metrics();
+    }
+
+    @PutMapping("/async")
+    public Map<String, PoolMetrics> resizeAsync(@RequestParam(required = false) Integer corePoolSize,
+                                                @RequestParam(required = false) Integer maxPoolSize) {
+        poolTuner.resizeAsync(corePoolSize, maxPoolSize);
+        return poolTuner.metrics();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
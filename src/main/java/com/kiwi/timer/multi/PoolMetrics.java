@@ -0,0 +1,70 @@
+package com.kiwi.timer.multi;
+
+import lombok.Getter;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 线程池统计快照
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+public final class PoolMetrics {
+    private final String name;
+    private final int corePoolSize;
+    private final int maxPoolSize;
+    private final int poolSize;
+    private final int largestPoolSize;
+    private final int activeCount;
+    private final int queueSize;
+    private final int queueRemainingCapacity;
+    /**
+     * 提交的任务数(含被拒绝的)
+     */
+    private final long submittedCount;
+    private final long rejectedCount;
+    private final long completedCount;
+    /**
+     * 已开始执行的任务在队列中的平均/最长等待时间
+     */
+    private final long averageQueueWaitNanos;
+    private final long maxQueueWaitNanos;
+
+    public PoolMetrics(String name, int corePoolSize, int maxPoolSize, int poolSize, int largestPoolSize, int activeCount,
+                       int queueSize, int queueRemainingCapacity, long submittedCount, long rejectedCount,
+                       long completedCount, long averageQueueWaitNanos, long maxQueueWaitNanos) {
+        this.name = name;
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.poolSize = poolSize;
+        this.largestPoolSize = largestPoolSize;
+        this.activeCount = activeCount;
+        this.queueSize = queueSize;
+        this.queueRemainingCapacity = queueRemainingCapacity;
+        this.submittedCount = submittedCount;
+        this.rejectedCount = rejectedCount;
+        this.completedCount = completedCount;
+        this.averageQueueWaitNanos = averageQueueWaitNanos;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+    }
+
+    /**
+     * 未经统计包装的线程池，只有ThreadPoolExecutor自身的计数，没有拒绝数和排队时间
+     */
+    public static PoolMetrics of(String name, ThreadPoolExecutor executor) {
+        return new PoolMetrics(name, executor.getCorePoolSize(), executor.getMaximumPoolSize(), executor.getPoolSize(),
+                executor.getLargestPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                executor.getQueue().remainingCapacity(), executor.getTaskCount(), 0,
+                executor.getCompletedTaskCount(), 0, 0);
+    }
+
+    @Override
+    public String toString() {
+        return name + "[pool=" + poolSize + "/" + corePoolSize + "-" + maxPoolSize + ", active=" + activeCount
+                + ", queue=" + queueSize + "(+" + queueRemainingCapacity + "), submitted=" + submittedCount
+                + ", rejected=" + rejectedCount + ", completed=" + completedCount
+                + ", queueWait(avg/max us)=" + averageQueueWaitNanos / 1000 + "/" + maxQueueWaitNanos / 1000 + "]";
+    }
+}
@@ -0,0 +1,97 @@
+package com.kiwi.timer.multi;
+
+import com.kiwi.timer.wheel.TimingWheelTaskScheduler;
+import com.kiwi.timer.wheel.WheelStats;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 运行中调整定时任务线程池和@Async线程池的线程数
+ * <p>
+ * 只改ThreadPoolExecutor的core/max，不重建线程池，队列中的任务和已计划的定时任务都保留；
+ * 线程数减少时，多余的线程在执行完当前任务后退出。队列容量在创建后不可调整。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+@Component
+public class PoolTuner {
+    @Autowired
+    private TimerPoolProperties properties;
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+    @Autowired
+    private MeteredTaskExecutor asyncExecutor;
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    public Map<String, PoolMetrics> metrics() {
+        Map<String, PoolMetrics> metrics = new LinkedHashMap<>();
+        metrics.put("scheduler", PoolMetrics.of(taskScheduler.getThreadNamePrefix(),
+                taskScheduler.getScheduledThreadPoolExecutor()));
+        TimingWheelTaskScheduler wheel = wheelScheduler();
+        if (wheel != null) {
+            metrics.put("wheel", PoolMetrics.of("wheelTask-", wheel.getThreadPoolExecutor()));
+        }
+        metrics.put("async", asyncExecutor.metrics());
+        return metrics;
+    }
+
+    public synchronized void resizeScheduler(int poolSize) {
+        Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+        taskScheduler.setPoolSize(poolSize);
+        TimingWheelTaskScheduler wheel = wheelScheduler();
+        if (wheel != null) {
+            wheel.setPoolSize(poolSize);
+        }
+        properties.getScheduler().setPoolSize(poolSize);
+        log.info("Scheduler pool resized to {}", poolSize);
+    }
+
+    /**
+     * 参数为null时保持原值
+     */
+    public synchronized void resizeAsync(Integer corePoolSize, Integer maxPoolSize) {
+        int core = corePoolSize == null ? asyncExecutor.getCorePoolSize() : corePoolSize;
+        int max = maxPoolSize == null ? asyncExecutor.getMaxPoolSize() : maxPoolSize;
+        Assert.isTrue(core >= 0, "'corePoolSize' must not be negative");
+        Assert.isTrue(max > 0 && max >= core, "'maxPoolSize' must be positive and not less than 'corePoolSize'");
+        // 先扩大的一端，保证任何时刻core不超过max
+        if (max >= asyncExecutor.getMaxPoolSize()) {
+            asyncExecutor.setMaxPoolSize(max);
+            asyncExecutor.setCorePoolSize(core);
+        } else {
+            asyncExecutor.setCorePoolSize(core);
+            asyncExecutor.setMaxPoolSize(max);
+        }
+        properties.getAsync().setCorePoolSize(core);
+        properties.getAsync().setMaxPoolSize(max);
+        log.info("Async pool resized to core={}, max={}", core, max);
+    }
+
+    /**
+     * 未使用时间轮时返回null
+     */
+    public WheelStats wheelStats() {
+        TimingWheelTaskScheduler wheel = wheelScheduler();
+        return wheel == null ? null : wheel.stats();
+    }
+
+    /**
+     * 时间轮调度器是@Lazy的，未使用时不在这里创建
+     */
+    private TimingWheelTaskScheduler wheelScheduler() {
+        if (!"wheel".equals(properties.getScheduler().getType())) {
+            return null;
+        }
+        return applicationContext.getBean(TimingWheelTaskScheduler.class);
+    }
+}
@@ -0,0 +1,170 @@
+package com.kiwi.timer.multi;
+
+import com.kiwi.timer.store.MisfirePolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 定时任务线程池和@Async线程池的配置，前缀timer
+ * <p>
+ * 运行中通过{@link PoolTuner}调整线程数时会同步更新这里的值。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "timer")
+public class TimerPoolProperties {
+    private final Scheduler scheduler = new Scheduler();
+    private final Async async = new Async();
+    private final Virtual virtual = new Virtual();
+    private final Cluster cluster = new Cluster();
+    private final Store store = new Store();
+    private final Lanes lanes = new Lanes();
+    private final Clock clock = new Clock();
+
+    @Getter
+    @Setter
+    public static class Scheduler {
+        /**
+         * pool: ThreadPoolTaskScheduler；wheel: 时间轮，适合大量短期延迟任务
+         */
+        private String type = "pool";
+        private int poolSize = 20;
+        private String threadNamePrefix = "multiTask-";
+        /**
+         * 关闭时等待执行中任务结束的秒数
+         */
+        private int awaitTerminationSeconds = 60;
+        private boolean waitForTasksToCompleteOnShutdown = true;
+        /**
+         * cron任务使用预编译的CronExpression计算触发时间
+         */
+        private boolean compiledCron = true;
+        /**
+         * 记录每个任务的触发延迟和执行耗时，见GET /timers
+         */
+        private boolean instrumented = true;
+        /**
+         * type=wheel时，到期时间向上对齐到这个窗口，窗口内到期的任务一起触发；0为不对齐
+         */
+        private long batchWindowMillis = 0;
+        /**
+         * type=wheel时，tick线程最多晚醒多久，用于合并空闲时的唤醒；0为准时唤醒
+         */
+        private long timerSlackMillis = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        private int corePoolSize = 8;
+        private int maxPoolSize = 16;
+        /**
+         * 有界队列，队列满且线程数达到上限后按拒绝策略处理；运行中不可调整
+         */
+        private int queueCapacity = 1000;
+        private int keepAliveSeconds = 60;
+        /**
+         * abort、caller-runs、discard、discard-oldest
+         */
+        private String rejectionPolicy = "abort";
+        private String threadNamePrefix = "asyncTask-";
+        private int awaitTerminationSeconds = 60;
+        private boolean waitForTasksToCompleteOnShutdown = true;
+    }
+
+    /**
+     * 虚拟线程模式：定时任务和@Async任务每次执行一个虚拟线程，调度器只负责计时。JDK不支持时回退到上面的线程池
+     */
+    @Getter
+    @Setter
+    public static class Virtual {
+        private boolean enabled = false;
+        /**
+         * 虚拟线程模式下负责计时的平台线程数，代替scheduler.pool-size
+         */
+        private int timerPoolSize = 2;
+        /**
+         * 同时执行的任务数上限，-1不限
+         */
+        private int concurrencyLimit = -1;
+        private String threadNamePrefix = "virtualTask-";
+    }
+
+    /**
+     * 集群模式：多个实例共享租约表，每个@Scheduled任务只在持有租约的节点执行，@Sharded任务按分片分散到各节点
+     */
+    @Getter
+    @Setter
+    public static class Cluster {
+        private boolean enabled = false;
+        /**
+         * 节点标识，为空时使用"进程号@主机名"
+         */
+        private String nodeId;
+        /**
+         * 租约时长，持有者宕机后其他节点最迟在这之后接手；各节点时钟偏差需远小于该值
+         */
+        private long leaseMillis = 30000;
+        private String tableName = "timer_lease";
+        /**
+         * 启动时租约表不存在则创建
+         */
+        private boolean createTable = true;
+    }
+
+    /**
+     * 定时任务状态的持久化，重启后按misfire-policy补执行停机期间错过的触发
+     */
+    @Getter
+    @Setter
+    public static class Store {
+        private boolean enabled = false;
+        private String path = "data/timer-jobs.log";
+        /**
+         * 内存映射区的初始字节数，写满时压缩并按需加倍
+         */
+        private int initialCapacity = 1 << 20;
+        /**
+         * 成组写盘的等待时间
+         */
+        private long commitIntervalMillis = 5;
+        private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
+        /**
+         * fire-all最多补执行的次数
+         */
+        private int maxCatchUp = 100;
+    }
+
+    /**
+     * 优先级通道：@Scheduled方法按@Priority在各自的ForkJoinPool中执行，调度器只负责计时。与虚拟线程模式同时开启时使用虚拟线程
+     */
+    @Getter
+    @Setter
+    public static class Lanes {
+        private boolean enabled = false;
+        /**
+         * 通道模式下负责计时的线程数，代替scheduler.pool-size
+         */
+        private int timerPoolSize = 2;
+        private int highParallelism = 4;
+        private int normalParallelism = 8;
+        private int lowParallelism = 4;
+        private String threadNamePrefix = "lane-";
+    }
+
+    /**
+     * 取当前时间的时钟
+     */
+    @Getter
+    @Setter
+    public static class Clock {
+        /**
+         * 大于0时由后台线程按此间隔更新当前时间，DateTimeUtil取当前时间、日志时间字符串等只读缓存的值；0为直接读系统时间
+         */
+        private long resolutionMillis = 0;
+    }
+}
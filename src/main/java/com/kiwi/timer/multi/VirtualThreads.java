@@ -0,0 +1,62 @@
+package com.kiwi.timer.multi;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持检测
+ * <p>
+ * 项目按1.8编译，这里通过反射调用Thread.ofVirtual()，在JDK 21及以上运行时可用，否则{@link #isSupported()}为false，
+ * 调用方回退到平台线程池。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class VirtualThreads {
+    private static final Object BUILDER;
+    private static final Method NAME;
+    private static final Method FACTORY;
+
+    static {
+        Object builder = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // JDK低于21，或19/20未开启预览
+            builder = null;
+        }
+        BUILDER = builder;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return BUILDER != null;
+    }
+
+    /**
+     * 创建虚拟线程的ThreadFactory，线程名为prefix加从0开始的序号
+     *
+     * @throws IllegalStateException 当前JDK不支持虚拟线程
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require JDK 21+, running on " + System.getProperty("java.version"));
+        }
+        try {
+            // Thread.Builder是可变的，每次从新的builder开始
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(builder, prefix, 0L));
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Failed to create virtual thread factory", ex);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kiwi.timer.overlap;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定fixedRate或cron任务执行超时、下次已经到点时的处理方式，见{@link OverlapTaskScheduler}
+ * <pre>
+ * &#64;Overlap(OverlapPolicy.SKIP)
+ * &#64;Overlap(value = OverlapPolicy.CONCURRENT, limit = 4)
+ * </pre>
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Overlap {
+    OverlapPolicy value();
+
+    /**
+     * QUEUE的最大排队数，CONCURRENT的最大并发数，其它策略忽略
+     */
+    int limit() default 1;
+}
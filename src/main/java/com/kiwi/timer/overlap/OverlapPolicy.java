@@ -0,0 +1,26 @@
+package com.kiwi.timer.overlap;
+
+/**
+ * 到点时上次执行还没结束的处理方式
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public enum OverlapPolicy {
+    /**
+     * 跳过本次触发
+     */
+    SKIP,
+    /**
+     * 执行期间到点的触发合并为一次，在本次结束后立即执行
+     */
+    COALESCE,
+    /**
+     * 最多排队limit次，依次执行，超出的触发跳过
+     */
+    QUEUE,
+    /**
+     * 最多limit个同时执行，超出的触发跳过
+     */
+    CONCURRENT
+}
@@ -0,0 +1,196 @@
+package com.kiwi.timer.overlap;
+
+import com.kiwi.timer.monitor.NamedTask;
+import com.kiwi.timer.monitor.TaskMetrics;
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.scheduling.support.TaskUtils;
+
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按{@link Overlap}控制fixedRate和cron任务的重叠执行
+ * <p>
+ * 不加控制时，执行超过周期的fixedRate任务在结束后连续补执行，形成突发。标注了@Overlap的任务到点时只做判断和转交：
+ * 允许执行就交给executor，否则按策略排队、合并或跳过，计时线程不被执行阻塞，每次触发都按时处理。
+ * 每个任务的执行数和排队数放在一个AtomicLong中以CAS更新，不加锁。跳过和合并的触发计入/timers的skipped、coalesced。
+ * <p>
+ * fixedDelay任务不会重叠，一次性任务和没有标注的任务原样交给下层。包装后的任务仍是{@link ScheduledMethodRunnable}，
+ * 内层的统计和持久化记录的是触发，lag为触发延迟，duration只含转交，不含执行。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class OverlapTaskScheduler implements TaskScheduler {
+    private static final long PENDING_ONE = 1L << 32;
+    private static final long RUNNING_MASK = PENDING_ONE - 1;
+
+    private final TaskScheduler delegate;
+    private final Executor executor;
+    private final TaskMetricsRegistry registry;
+
+    /**
+     * @param executor 执行任务的Executor，可以与计时共用线程池
+     */
+    public OverlapTaskScheduler(TaskScheduler delegate, Executor executor, TaskMetricsRegistry registry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.registry = registry;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return delegate.schedule(control(task), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return delegate.schedule(task, startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return delegate.scheduleAtFixedRate(control(task), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return delegate.scheduleAtFixedRate(control(task), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return delegate.scheduleWithFixedDelay(task, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return delegate.scheduleWithFixedDelay(task, delay);
+    }
+
+    private Runnable control(Runnable task) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return task;
+        }
+        ScheduledMethodRunnable scheduled = (ScheduledMethodRunnable) task;
+        Overlap overlap = scheduled.getMethod().getAnnotation(Overlap.class);
+        if (overlap == null) {
+            return task;
+        }
+        return new OverlapControlledTask(scheduled, overlap.value(), overlap.limit());
+    }
+
+    /**
+     * state低32位为执行中的个数，高32位为排队数
+     */
+    private final class OverlapControlledTask extends ScheduledMethodRunnable implements NamedTask {
+        private final Runnable execution;
+        private final TaskMetrics metrics;
+        private final String name;
+        private final boolean recoversMisfires;
+        private final boolean coalesce;
+        private final int maxRunning;
+        private final int maxPending;
+        private final AtomicLong state = new AtomicLong();
+
+        OverlapControlledTask(ScheduledMethodRunnable task, OverlapPolicy policy, int limit) {
+            super(task.getTarget(), task.getMethod());
+            this.name = TaskMetricsRegistry.nameOf(task);
+            this.recoversMisfires = NamedTask.recoversMisfires(task);
+            if (limit <= 0 && (policy == OverlapPolicy.QUEUE || policy == OverlapPolicy.CONCURRENT)) {
+                throw new IllegalArgumentException("@Overlap limit must be positive on " + name);
+            }
+            this.execution = TaskUtils.decorateTaskWithErrorHandler(task, null, true);
+            this.metrics = registry.metrics(name);
+            this.coalesce = policy == OverlapPolicy.COALESCE;
+            this.maxRunning = policy == OverlapPolicy.CONCURRENT ? limit : 1;
+            this.maxPending = policy == OverlapPolicy.QUEUE ? limit : coalesce ? 1 : 0;
+        }
+
+        @Override
+        public String getTaskName() {
+            return name;
+        }
+
+        @Override
+        public boolean recoversMisfires() {
+            return recoversMisfires;
+        }
+
+        /**
+         * 到点时调用，只做判断和转交
+         */
+        @Override
+        public void run() {
+            while (true) {
+                long current = state.get();
+                int running = (int) (current & RUNNING_MASK);
+                int pending = (int) (current >>> 32);
+                if (running < maxRunning) {
+                    if (state.compareAndSet(current, current + 1)) {
+                        dispatch();
+                        return;
+                    }
+                } else if (pending < maxPending) {
+                    if (state.compareAndSet(current, current + PENDING_ONE)) {
+                        return;
+                    }
+                } else {
+                    if (coalesce) {
+                        metrics.coalesced();
+                    } else {
+                        metrics.skipped();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void dispatch() {
+            try {
+                executor.execute(this::execute);
+            } catch (RuntimeException ex) {
+                state.addAndGet(-1);
+                metrics.skipped();
+                throw ex;
+            }
+        }
+
+        /**
+         * 执行完后若有排队，在同一线程继续执行，保持串行
+         */
+        private void execute() {
+            boolean again = true;
+            while (again) {
+                try {
+                    execution.run();
+                } finally {
+                    again = finish();
+                }
+            }
+        }
+
+        /**
+         * @return 有排队时取出一个，返回true；否则执行数减一
+         */
+        private boolean finish() {
+            while (true) {
+                long current = state.get();
+                boolean again = current >>> 32 > 0;
+                if (state.compareAndSet(current, again ? current - PENDING_ONE : current - 1)) {
+                    return again;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kiwi.timer.registry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注可以在运行中通过{@link JobRegistry}注册为定时任务的无参方法，标注了@Scheduled的方法也可以注册
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DynamicJob {
+}
@@ -0,0 +1,88 @@
+package com.kiwi.timer.registry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 运行中管理动态定时任务
+ * <pre>
+ * GET    /jobs?after=&amp;limit=100
+ * GET    /jobs/{name}
+ * POST   /jobs                  {"name":"report","bean":"singleDemo","method":"cronJob","schedule":{"cron":"0 0/5 * * * ?"}}
+ * PUT    /jobs/{name}/schedule  {"fixedRate":30000}
+ * POST   /jobs/{name}/pause
+ * POST   /jobs/{name}/resume
+ * DELETE /jobs/{name}
+ * </pre>
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobController {
+    @Autowired
+    private JobRegistry registry;
+
+    @GetMapping
+    public Map<String, Object> list(@RequestParam(required = false) String after,
+                                    @RequestParam(defaultValue = "100") int limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", registry.size());
+        result.put("jobs", registry.list(after, limit));
+        return result;
+    }
+
+    @GetMapping("/{name:.+}")
+    public ResponseEntity<JobInfo> get(@PathVariable String name) {
+        return found(registry.get(name));
+    }
+
+    @PostMapping
+    public ResponseEntity<JobInfo> register(@RequestBody JobDefinition definition) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(registry.register(definition));
+    }
+
+    @PutMapping("/{name:.+}/schedule")
+    public ResponseEntity<JobInfo> reschedule(@PathVariable String name, @RequestBody JobSchedule schedule) {
+        return found(registry.reschedule(name, schedule));
+    }
+
+    @PostMapping("/{name:.+}/pause")
+    public ResponseEntity<JobInfo> pause(@PathVariable String name) {
+        return found(registry.pause(name));
+    }
+
+    @PostMapping("/{name:.+}/resume")
+    public ResponseEntity<JobInfo> resume(@PathVariable String name) {
+        return found(registry.resume(name));
+    }
+
+    @DeleteMapping("/{name:.+}")
+    public ResponseEntity<Void> cancel(@PathVariable String name) {
+        return registry.cancel(name) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private static ResponseEntity<JobInfo> found(JobInfo info) {
+        return info == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(info);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
@@ -0,0 +1,19 @@
+package com.kiwi.timer.registry;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 注册动态任务的请求：执行哪个bean的哪个方法，以及触发方式
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class JobDefinition {
+    private String name;
+    private String bean;
+    private String method;
+    private JobSchedule schedule;
+}
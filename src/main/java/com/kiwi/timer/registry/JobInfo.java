@@ -0,0 +1,39 @@
+package com.kiwi.timer.registry;
+
+import lombok.Getter;
+
+/**
+ * 动态任务的状态快照
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+public final class JobInfo {
+    private final String name;
+    /**
+     * 执行的方法，"类名.方法名"
+     */
+    private final String target;
+    private final String schedule;
+    private final boolean paused;
+    private final long runs;
+    /**
+     * 最近一次执行结束的时间，未执行过为0
+     */
+    private final long lastRunMillis;
+
+    public JobInfo(String name, String target, String schedule, boolean paused, long runs, long lastRunMillis) {
+        this.name = name;
+        this.target = target;
+        this.schedule = schedule;
+        this.paused = paused;
+        this.runs = runs;
+        this.lastRunMillis = lastRunMillis;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + target + ", " + schedule + (paused ? ", paused" : "") + ", runs=" + runs + "]";
+    }
+}
@@ -0,0 +1,286 @@
+package com.kiwi.timer.registry;
+
+import com.kiwi.timer.monitor.NamedTask;
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import com.kiwi.timer.store.JobStore;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 运行中注册、暂停、恢复、修改触发方式和取消定时任务
+ * <p>
+ * 任务交给{@link ScheduledTaskRegistrar}中的TaskScheduler，与@Scheduled任务经过同样的包装(统计、集群等)。
+ * 任务按名称存在无锁的跳表中，查找、注册、取消都是O(log n)；同一任务的修改只锁该任务自身，
+ * 不同任务的管理操作互不阻塞，执行线程只更新计数，不取任何锁。
+ * 暂停和修改触发方式时取消原来的计划(调度器需设置removeOnCancelPolicy，否则取消的任务留在队列中直到到期)，
+ * 执行中的一次不中断。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+@Component
+public class JobRegistry {
+    /**
+     * 注册任务在/timers、JobStore和集群租约中的名称前缀
+     */
+    public static final String TASK_NAME_PREFIX = "job:";
+    private final BeanFactory beanFactory;
+    private final ConcurrentNavigableMap<String, Job> jobs = new ConcurrentSkipListMap<>();
+    /**
+     * 取消任务时删除其统计和JobStore中的状态；JobStore只在timer.store.enabled=true时存在
+     */
+    @Autowired(required = false)
+    private TaskMetricsRegistry taskMetricsRegistry;
+    @Autowired(required = false)
+    private JobStore jobStore;
+    private volatile ScheduledTaskRegistrar registrar;
+
+    public JobRegistry(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * 在registrar设置好TaskScheduler后调用，见MultiDemo.configureTasks
+     */
+    public void bind(ScheduledTaskRegistrar registrar) {
+        this.registrar = registrar;
+    }
+
+    private TaskScheduler scheduler() {
+        ScheduledTaskRegistrar current = registrar;
+        TaskScheduler scheduler = current == null ? null : current.getScheduler();
+        if (scheduler == null) {
+            throw new IllegalStateException("Job registry is not bound to a task scheduler");
+        }
+        return scheduler;
+    }
+
+    public JobInfo register(JobDefinition definition) {
+        Assert.hasText(definition.getName(), "'name' must not be empty");
+        Assert.notNull(definition.getSchedule(), "'schedule' must not be null");
+        definition.getSchedule().validate();
+        Object target = bean(definition.getBean());
+        Job job = new Job(definition.getName(), target, method(target, definition.getMethod()), definition.getSchedule());
+        if (jobs.putIfAbsent(job.name, job) != null) {
+            throw new IllegalArgumentException("Job already registered: " + job.name);
+        }
+        try {
+            job.start();
+        } catch (RuntimeException ex) {
+            jobs.remove(job.name, job);
+            throw ex;
+        }
+        log.info("Registered job {}", job.name);
+        return job.info();
+    }
+
+    private Object bean(String name) {
+        Assert.hasText(name, "'bean' must not be empty");
+        try {
+            return beanFactory.getBean(name);
+        } catch (BeansException ex) {
+            throw new IllegalArgumentException("Unknown bean: " + name, ex);
+        }
+    }
+
+    /**
+     * 只接受标注了@Scheduled或@DynamicJob的公开无参方法，避免通过接口调用任意bean方法
+     */
+    private static Method method(Object target, String name) {
+        Assert.hasText(name, "'method' must not be empty");
+        Method method = ClassUtils.getMethodIfAvailable(ClassUtils.getUserClass(target), name);
+        if (method == null || !(AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(method, DynamicJob.class))) {
+            throw new IllegalArgumentException("No @Scheduled or @DynamicJob method '" + name + "' without arguments on "
+                    + ClassUtils.getUserClass(target).getSimpleName());
+        }
+        return AopUtils.selectInvocableMethod(method, target.getClass());
+    }
+
+    /**
+     * @return 任务不存在时返回null
+     */
+    public JobInfo pause(String name) {
+        Job job = jobs.get(name);
+        if (job == null) {
+            return null;
+        }
+        job.pause();
+        return job.info();
+    }
+
+    public JobInfo resume(String name) {
+        Job job = jobs.get(name);
+        if (job == null) {
+            return null;
+        }
+        job.resume();
+        return job.info();
+    }
+
+    /**
+     * 暂停中的任务只更新触发方式，恢复后生效
+     */
+    public JobInfo reschedule(String name, JobSchedule schedule) {
+        Assert.notNull(schedule, "'schedule' must not be null");
+        schedule.validate();
+        Job job = jobs.get(name);
+        if (job == null) {
+            return null;
+        }
+        job.reschedule(schedule);
+        return job.info();
+    }
+
+    /**
+     * @return 任务不存在时返回false
+     */
+    public boolean cancel(String name) {
+        Job job = jobs.remove(name);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        log.info("Cancelled job {}", name);
+        return true;
+    }
+
+    public JobInfo get(String name) {
+        Job job = jobs.get(name);
+        return job == null ? null : job.info();
+    }
+
+    /**
+     * 按名称分页列出任务
+     *
+     * @param after 从这个名称之后开始，null为从头开始
+     */
+    public List<JobInfo> list(String after, int limit) {
+        Assert.isTrue(limit > 0, "'limit' must be positive");
+        List<JobInfo> result = new ArrayList<>(Math.min(limit, 1024));
+        for (Job job : (after == null ? jobs : jobs.tailMap(after, false)).values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(job.info());
+        }
+        return result;
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    /**
+     * 仍是ScheduledMethodRunnable，外层的包装按方法读取注解；统计、JobStore和集群租约按{@link #getTaskName()}区分，
+     * 不与同一方法上的@Scheduled任务或其它注册任务共用
+     */
+    private final class Job extends ScheduledMethodRunnable implements NamedTask {
+        private final String name;
+        private final AtomicLong runs = new AtomicLong();
+        private volatile long lastRunMillis;
+        /**
+         * 以下的修改由this保护
+         */
+        private volatile JobSchedule schedule;
+        private volatile boolean paused;
+        private boolean cancelled;
+        private ScheduledFuture<?> future;
+
+        Job(String name, Object target, Method method, JobSchedule schedule) {
+            super(target, method);
+            this.name = name;
+            this.schedule = schedule;
+        }
+
+        @Override
+        public String getTaskName() {
+            return TASK_NAME_PREFIX + name;
+        }
+
+        @Override
+        public boolean recoversMisfires() {
+            return false;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                runs.incrementAndGet();
+                lastRunMillis = System.currentTimeMillis();
+            }
+        }
+
+        synchronized void start() {
+            if (!cancelled && !paused) {
+                future = schedule.schedule(scheduler(), this);
+            }
+        }
+
+        private void stop() {
+            if (future != null) {
+                future.cancel(false);
+                future = null;
+            }
+        }
+
+        synchronized void pause() {
+            if (!paused) {
+                paused = true;
+                stop();
+            }
+        }
+
+        synchronized void resume() {
+            if (paused) {
+                paused = false;
+                start();
+            }
+        }
+
+        synchronized void reschedule(JobSchedule schedule) {
+            stop();
+            this.schedule = schedule;
+            start();
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            stop();
+            if (taskMetricsRegistry != null) {
+                taskMetricsRegistry.remove(getTaskName());
+            }
+            if (jobStore != null) {
+                jobStore.remove(getTaskName());
+            }
+        }
+
+        JobInfo info() {
+            Method method = getMethod();
+            return new JobInfo(name, ClassUtils.getUserClass(method.getDeclaringClass()).getSimpleName() + "." + method.getName(),
+                    schedule.toString(), paused, runs.get(), lastRunMillis);
+        }
+    }
+}
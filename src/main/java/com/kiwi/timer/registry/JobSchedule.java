@@ -0,0 +1,85 @@
+package com.kiwi.timer.registry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.util.StringUtils;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 动态任务的触发方式，cron、fixedRate、fixedDelay三选一，含义与@Scheduled相同
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class JobSchedule {
+    private String cron;
+    /**
+     * cron的时区，默认为系统时区
+     */
+    private String zone;
+    private Long fixedRate;
+    private Long fixedDelay;
+    /**
+     * fixedRate/fixedDelay第一次执行前的等待毫秒数
+     */
+    private long initialDelay;
+
+    public void validate() {
+        int kinds = (StringUtils.hasText(cron) ? 1 : 0) + (fixedRate != null ? 1 : 0) + (fixedDelay != null ? 1 : 0);
+        if (kinds != 1) {
+            throw new IllegalArgumentException("Exactly one of 'cron', 'fixedRate' and 'fixedDelay' is required");
+        }
+        if (fixedRate != null && fixedRate <= 0 || fixedDelay != null && fixedDelay <= 0) {
+            throw new IllegalArgumentException("'fixedRate' and 'fixedDelay' must be positive");
+        }
+        if (initialDelay < 0) {
+            throw new IllegalArgumentException("'initialDelay' must not be negative");
+        }
+        if (cron != null) {
+            // 表达式有误时抛出IllegalArgumentException
+            new CronTrigger(cron, timeZone());
+        }
+    }
+
+    private TimeZone timeZone() {
+        if (zone == null) {
+            return TimeZone.getDefault();
+        }
+        try {
+            return TimeZone.getTimeZone(ZoneId.of(zone));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid zone: " + zone, e);
+        }
+    }
+
+    /**
+     * @return cron不再触发时返回null
+     */
+    ScheduledFuture<?> schedule(TaskScheduler scheduler, Runnable task) {
+        if (StringUtils.hasText(cron)) {
+            return scheduler.schedule(task, new CronTrigger(cron, timeZone()));
+        }
+        Date start = new Date(System.currentTimeMillis() + initialDelay);
+        if (fixedRate != null) {
+            return scheduler.scheduleAtFixedRate(task, start, fixedRate);
+        }
+        return scheduler.scheduleWithFixedDelay(task, start, fixedDelay);
+    }
+
+    @Override
+    public String toString() {
+        if (StringUtils.hasText(cron)) {
+            return "cron=" + cron + (zone == null ? "" : " " + zone);
+        }
+        return fixedRate != null ? "fixedRate=" + fixedRate : "fixedDelay=" + fixedDelay;
+    }
+}
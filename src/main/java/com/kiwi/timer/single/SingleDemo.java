@@ -1,12 +1,12 @@
 package com.kiwi.timer.single;
 
-import com.kiwi.timer.util.DateTimeUtil;
+import com.kiwi.timer.overlap.Overlap;
+import com.kiwi.timer.overlap.OverlapPolicy;
+import com.kiwi.timer.util.CachedDateTime;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
-
 /**
  * 单线程定时器demo
  *
@@ -20,16 +20,20 @@ public class SingleDemo {
 
     @Scheduled(fixedDelay = ONE_Minute)
     public void fixedDelayJob() {
-        log.info(DateTimeUtil.toDateTimeStr(new Date()) + " >>fixedDelay执行....");
+        log.info("{} >>fixedDelay执行....", CachedDateTime.now());
     }
 
+    /**
+     * 执行超过一分钟时跳过到点的触发，不在结束后连续补执行
+     */
+    @Overlap(OverlapPolicy.SKIP)
     @Scheduled(fixedRate = ONE_Minute)
     public void fixedRateJob() {
-        log.info(DateTimeUtil.toDateTimeStr(new Date()) + " >>fixedRate执行....");
+        log.info("{} >>fixedRate执行....", CachedDateTime.now());
     }
 
     @Scheduled(cron = "0/5 * * * * ?")
     public void cronJob() {
-        log.info("----" + DateTimeUtil.toDateTimeStr(new Date()) + " >>cron执行....");
+        log.info("----{} >>cron执行....", CachedDateTime.now());
     }
 }
@@ -0,0 +1,48 @@
+package com.kiwi.timer.store;
+
+import lombok.Getter;
+
+/**
+ * 一个定时任务的持久化状态，时间均为epoch毫秒，{@link #NONE}表示没有
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+public final class JobState {
+    public static final long NONE = Long.MIN_VALUE;
+
+    private final String name;
+    /**
+     * 计划描述，如fixedRate=60000、cron=0/5 * * * * ?
+     */
+    private final String schedule;
+    /**
+     * 最近一次执行的计划时间
+     */
+    private final long lastScheduled;
+    private final long lastCompleted;
+    /**
+     * 按计划的下一次触发时间
+     */
+    private final long nextFire;
+    /**
+     * 累计执行次数
+     */
+    private final long runs;
+
+    public JobState(String name, String schedule, long lastScheduled, long lastCompleted, long nextFire, long runs) {
+        this.name = name;
+        this.schedule = schedule;
+        this.lastScheduled = lastScheduled;
+        this.lastCompleted = lastCompleted;
+        this.nextFire = nextFire;
+        this.runs = runs;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + schedule + ", lastScheduled=" + lastScheduled + ", lastCompleted=" + lastCompleted
+                + ", nextFire=" + nextFire + ", runs=" + runs + "]";
+    }
+}
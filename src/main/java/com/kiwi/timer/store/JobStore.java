@@ -0,0 +1,488 @@
+package com.kiwi.timer.store;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 定时任务状态的持久化存储：只追加的内存映射日志，重启后按日志恢复每个任务的最新状态
+ * <p>
+ * {@link #record}只更新内存中的状态并放入队列，不等待写盘；后台线程把队列中的状态成组写入映射区，
+ * 每组只force一次，执行任务的线程不承担fsync的延迟。需要确认写盘时调用{@link #flush()}。
+ * 写盘失败后flush()抛出该异常，直到下一组把内存中的全部状态重写(压缩)成功为止。
+ * <p>
+ * 文件格式：8字节文件头(魔数、版本)，之后每条记录为长度、CRC32和内容，内容是一个任务的完整状态，后写的覆盖先写的；
+ * 计划描述的长度为-1的记录是{@link #remove}写入的删除标记，只有任务名，压缩时与被删除的任务一起丢弃。
+ * 恢复时读到长度为0或校验不通过的记录即停止，崩溃时写了一半的记录被丢弃。
+ * 映射区写满或日志中的记录数超过任务数的{@link #COMPACT_RATIO}倍时，把最新状态写入新文件再原子替换(压缩)。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+public class JobStore implements Closeable {
+    private static final int MAGIC = 0x4B4A4F42;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    /**
+     * 日志中的记录数超过任务数的这个倍数，且已用过半时压缩
+     */
+    private static final int COMPACT_RATIO = 4;
+    /**
+     * 任务名和计划描述的最大字符数，UTF-8编码后不超过记录中的short长度
+     */
+    private static final int MAX_CHARS = Short.MAX_VALUE / 3;
+    /**
+     * 删除标记的计划描述长度
+     */
+    private static final short REMOVED = -1;
+
+    private final Path file;
+    private final long commitIntervalNanos;
+    private final ConcurrentMap<String, JobState> states = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    /**
+     * 以下由lock保护
+     */
+    private List<JobState> queue = new ArrayList<>();
+    private long enqueued;
+    private long synced;
+    /**
+     * 最近一次写盘已处理到的序号，成功时等于synced
+     */
+    private long attempted;
+    /**
+     * 最近一次写盘失败，重写成功后清除
+     */
+    private IOException lastFailure;
+    private boolean closed;
+    /**
+     * 以下只在构造和写线程中访问
+     */
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int position;
+    private int records;
+    private volatile long syncCount;
+    private volatile long compactionCount;
+    private final Thread writer;
+
+    /**
+     * @param file                 日志文件，不存在时创建
+     * @param initialCapacity      映射区初始大小，不够时压缩并按需加倍
+     * @param commitIntervalMillis 收到第一条状态后再等待多久一起写盘，0为立即写
+     */
+    public JobStore(Path file, int initialCapacity, long commitIntervalMillis) {
+        this.file = file.toAbsolutePath();
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(commitIntervalMillis);
+        try {
+            open(Math.max(initialCapacity, 4096));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open job store " + this.file, e);
+        }
+        writer = new Thread(this::writeLoop, "job-store-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void open(int minCapacity) throws IOException {
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Job store too large: " + size);
+        }
+        capacity = (int) Math.max(size, minCapacity);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        if (size < FILE_HEADER || buffer.getInt(0) == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            position = FILE_HEADER;
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a job store file: " + file);
+        } else {
+            position = replay();
+        }
+    }
+
+    private int replay() {
+        int pos = FILE_HEADER;
+        while (pos + RECORD_HEADER <= capacity) {
+            int length = buffer.getInt(pos);
+            if (length <= 0 || length > capacity - pos - RECORD_HEADER || buffer.getInt(pos + 4) != crc(buffer, pos + RECORD_HEADER, length)) {
+                break;
+            }
+            JobState state = decode(buffer, pos + RECORD_HEADER);
+            if (state.getSchedule() == null) {
+                states.remove(state.getName());
+            } else {
+                states.put(state.getName(), state);
+            }
+            records++;
+            pos += RECORD_HEADER + length;
+        }
+        // 崩溃时写了一半的记录：清零，之后的追加从这里开始
+        boolean torn = false;
+        for (int i = pos; i < capacity; i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                torn = true;
+            }
+        }
+        if (torn) {
+            log.warn("Discarded incomplete records at offset {} of job store {}", pos, file);
+        }
+        return pos;
+    }
+
+    /**
+     * 更新任务状态，由后台线程成组写盘
+     */
+    public void record(JobState state) {
+        if (state.getName().length() > MAX_CHARS || state.getSchedule().length() > MAX_CHARS) {
+            throw new IllegalArgumentException("Job name or schedule too long: " + state.getName());
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                log.warn("Job store {} is closed, state of {} not saved", file, state.getName());
+                return;
+            }
+            states.put(state.getName(), state);
+            enqueue(state);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除任务的状态(如取消的注册任务)，日志中写入删除标记，重启后不再恢复
+     */
+    public void remove(String name) {
+        lock.lock();
+        try {
+            if (closed || states.remove(name) == null) {
+                return;
+            }
+            enqueue(new JobState(name, null, JobState.NONE, JobState.NONE, JobState.NONE, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(JobState state) {
+        queue.add(state);
+        enqueued++;
+        // 写线程只在队列为空时等待
+        if (queue.size() == 1) {
+            pending.signal();
+        }
+    }
+
+    /**
+     * 等待此前记录的状态全部写盘
+     *
+     * @throws UncheckedIOException 写盘失败，此前记录的状态不一定在文件中
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            long target = enqueued;
+            while (synced < target) {
+                // 写线程还没处理到target时，等它重写的结果
+                if (lastFailure != null && attempted >= target) {
+                    throw new UncheckedIOException("Failed to write job store " + file, lastFailure);
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public JobState get(String name) {
+        return states.get(name);
+    }
+
+    /**
+     * 按任务名排序的所有状态
+     */
+    public Map<String, JobState> all() {
+        return new TreeMap<>(states);
+    }
+
+    private void writeLoop() {
+        List<JobState> batch = new ArrayList<>();
+        while (true) {
+            long upTo;
+            boolean rewrite;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closed) {
+                    pending.awaitUninterruptibly();
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                // 再等一会儿，与随后的状态一起写盘
+                long nanos = commitIntervalNanos;
+                while (nanos > 0 && !closed) {
+                    try {
+                        nanos = pending.awaitNanos(nanos);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                List<JobState> swap = queue;
+                queue = batch;
+                batch = swap;
+                upTo = enqueued;
+                rewrite = lastFailure != null;
+            } finally {
+                lock.unlock();
+            }
+            IOException failure = null;
+            try {
+                if (rewrite) {
+                    // 上次失败的记录不一定在日志中，内存中的状态包含它们，全部重写
+                    compact();
+                } else {
+                    append(batch);
+                }
+                buffer.force();
+                syncCount++;
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new IOException(e);
+            }
+            if (failure != null) {
+                log.error("Failed to write job store {}", file, failure);
+            }
+            batch.clear();
+            lock.lock();
+            try {
+                if (failure == null) {
+                    synced = upTo;
+                }
+                attempted = upTo;
+                lastFailure = failure;
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void append(List<JobState> batch) throws IOException {
+        for (JobState state : batch) {
+            byte[] name = state.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] schedule = state.getSchedule() == null ? null : state.getSchedule().getBytes(StandardCharsets.UTF_8);
+            if (position + RECORD_HEADER + length(name, schedule) > capacity) {
+                // 内存中的状态已包含本组及之前的所有更新，压缩后本组不必再写
+                compact();
+                return;
+            }
+            position = write(buffer, position, name, schedule, state);
+            records++;
+        }
+        if (records > COMPACT_RATIO * states.size() && position > capacity / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * 把当前所有任务的最新状态写入新文件，替换原文件；映射区至少留一半空闲
+     */
+    void compact() throws IOException {
+        List<JobState> live = new ArrayList<>(states.values());
+        List<byte[]> names = new ArrayList<>(live.size());
+        List<byte[]> schedules = new ArrayList<>(live.size());
+        long required = FILE_HEADER;
+        for (JobState state : live) {
+            byte[] name = state.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] schedule = state.getSchedule().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            schedules.add(schedule);
+            required += RECORD_HEADER + length(name, schedule);
+        }
+        long newCapacity = capacity;
+        while (required > newCapacity / 2) {
+            newCapacity *= 2;
+        }
+        if (newCapacity > Integer.MAX_VALUE) {
+            throw new IOException("Job store too large: " + required);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".compact");
+        int pos = FILE_HEADER;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer target = out.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+            target.putInt(0, MAGIC);
+            target.putInt(4, VERSION);
+            for (int i = 0; i < live.size(); i++) {
+                pos = write(target, pos, names.get(i), schedules.get(i), live.get(i));
+            }
+            target.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        // 原映射区在GC时释放
+        channel.close();
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        capacity = (int) newCapacity;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        position = pos;
+        records = live.size();
+        compactionCount++;
+    }
+
+    /**
+     * 让rename写盘，不支持打开目录的平台(Windows)上跳过
+     */
+    private void syncDirectory() {
+        Path dir = file.getParent();
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            log.debug("Cannot sync directory {}", dir, e);
+        }
+    }
+
+    /**
+     * @param schedule 删除标记为null
+     */
+    private static int length(byte[] name, byte[] schedule) {
+        return schedule == null ? 2 + name.length + 2 : 2 + name.length + 2 + schedule.length + 4 * 8;
+    }
+
+    /**
+     * 先写内容和CRC，最后写长度；schedule为null时写删除标记
+     *
+     * @return 下一条记录的位置
+     */
+    private static int write(ByteBuffer target, int pos, byte[] name, byte[] schedule, JobState state) {
+        int length = length(name, schedule);
+        int p = pos + RECORD_HEADER;
+        target.putShort(p, (short) name.length);
+        p += 2;
+        for (byte b : name) {
+            target.put(p++, b);
+        }
+        if (schedule == null) {
+            target.putShort(p, REMOVED);
+        } else {
+            target.putShort(p, (short) schedule.length);
+            p += 2;
+            for (byte b : schedule) {
+                target.put(p++, b);
+            }
+            target.putLong(p, state.getLastScheduled());
+            target.putLong(p + 8, state.getLastCompleted());
+            target.putLong(p + 16, state.getNextFire());
+            target.putLong(p + 24, state.getRuns());
+        }
+        target.putInt(pos + 4, crc(target, pos + RECORD_HEADER, length));
+        target.putInt(pos, length);
+        return pos + RECORD_HEADER + length;
+    }
+
+    private static JobState decode(ByteBuffer source, int pos) {
+        int nameLength = source.getShort(pos);
+        String name = string(source, pos + 2, nameLength);
+        int p = pos + 2 + nameLength;
+        int scheduleLength = source.getShort(p);
+        if (scheduleLength == REMOVED) {
+            return new JobState(name, null, JobState.NONE, JobState.NONE, JobState.NONE, 0);
+        }
+        String schedule = string(source, p + 2, scheduleLength);
+        p += 2 + scheduleLength;
+        return new JobState(name, schedule, source.getLong(p), source.getLong(p + 8), source.getLong(p + 16), source.getLong(p + 24));
+    }
+
+    private static String string(ByteBuffer source, int pos, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = source.get(pos + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer source, int pos, int length) {
+        ByteBuffer slice = source.duplicate();
+        slice.limit(pos + length).position(pos);
+        CRC32 crc = new CRC32();
+        crc.update(slice);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 写完队列中的状态后关闭
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Failed to close job store {}", file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return 写盘(force)的次数
+     */
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    public long getCompactionCount() {
+        return compactionCount;
+    }
+}
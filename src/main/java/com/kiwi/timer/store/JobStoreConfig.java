@@ -0,0 +1,25 @@
+package com.kiwi.timer.store;
+
+import com.kiwi.timer.multi.TimerPoolProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * timer.store.enabled=true时把定时任务的状态保存到本地文件，重启后补执行停机期间错过的触发
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "timer.store", name = "enabled", havingValue = "true")
+public class JobStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public JobStore jobStore(TimerPoolProperties properties) {
+        TimerPoolProperties.Store config = properties.getStore();
+        return new JobStore(Paths.get(config.getPath()), config.getInitialCapacity(), config.getCommitIntervalMillis());
+    }
+}
@@ -0,0 +1,20 @@
+package com.kiwi.timer.store;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定@Scheduled方法的{@link MisfirePolicy}，未标注时使用timer.store.misfire-policy
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Misfire {
+    MisfirePolicy value();
+}
@@ -0,0 +1,22 @@
+package com.kiwi.timer.store;
+
+/**
+ * 停机期间错过的触发在启动时如何处理
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public enum MisfirePolicy {
+    /**
+     * 有错过的触发时补执行一次
+     */
+    FIRE_ONCE,
+    /**
+     * 每个错过的触发各补执行一次，按时间先后依次执行，数量受timer.store.max-catch-up限制
+     */
+    FIRE_ALL,
+    /**
+     * 不补执行，等下一次正常触发
+     */
+    SKIP
+}
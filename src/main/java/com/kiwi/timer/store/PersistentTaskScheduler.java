@@ -0,0 +1,281 @@
+package com.kiwi.timer.store;
+
+import com.kiwi.timer.cron.CompiledCronTrigger;
+import com.kiwi.timer.monitor.NamedTask;
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import com.kiwi.timer.util.TimerClock;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 把@Scheduled方法的计划、最近执行时间和下次触发时间记录到{@link JobStore}，启动时按{@link MisfirePolicy}补执行停机期间错过的触发
+ * <p>
+ * 错过的触发指上次记录的下次触发时间起、到本次启动后第一次触发之前的各个计划时间；
+ * fixedDelay的下次时间取决于上次结束时间，最多算错过一次。补执行在启动时立即开始，与正常触发互斥，不会并发执行。
+ * {@link NamedTask#recoversMisfires()}为false的任务(如恢复、修改后的注册任务)只记录，不补执行。
+ * <p>
+ * 计划时间按与Spring相同的规则另行推算，不包装Trigger，内层对cron的统计和预编译不受影响；
+ * 包装后的任务仍是{@link ScheduledMethodRunnable}，内层的统计按原方法命名。其它Runnable不做记录。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+public class PersistentTaskScheduler implements TaskScheduler {
+    private final TaskScheduler delegate;
+    private final JobStore store;
+    private final MisfirePolicy defaultPolicy;
+    private final int maxCatchUp;
+    private final TimerClock clock;
+
+    /**
+     * @param defaultPolicy 方法未标注{@link Misfire}时的策略
+     * @param maxCatchUp    FIRE_ALL最多补执行的次数
+     */
+    public PersistentTaskScheduler(TaskScheduler delegate, JobStore store, MisfirePolicy defaultPolicy, int maxCatchUp) {
+        this(delegate, store, defaultPolicy, maxCatchUp, TimerClock.system());
+    }
+
+    /**
+     * @param clock 判断错过的触发和记录执行时间使用的时钟，测试中可传入{@link com.kiwi.timer.util.FakeClock}
+     */
+    public PersistentTaskScheduler(TaskScheduler delegate, JobStore store, MisfirePolicy defaultPolicy, int maxCatchUp, TimerClock clock) {
+        this.delegate = delegate;
+        this.store = store;
+        this.defaultPolicy = defaultPolicy;
+        this.maxCatchUp = maxCatchUp;
+        this.clock = clock;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return delegate.schedule(task, trigger);
+        }
+        Date first = trigger.nextExecutionTime(new SimpleTriggerContext());
+        if (first == null) {
+            return delegate.schedule(task, trigger);
+        }
+        Timeline timeline = (scheduled, actual, completed) -> {
+            Date next = trigger.nextExecutionTime(new SimpleTriggerContext(new Date(scheduled), new Date(actual), new Date(completed)));
+            return next == null ? JobState.NONE : next.getTime();
+        };
+        return delegate.schedule(recover((ScheduledMethodRunnable) task, describe(trigger), timeline, first.getTime(), false), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return delegate.schedule(task, startTime);
+        }
+        Timeline once = (scheduled, actual, completed) -> JobState.NONE;
+        return delegate.schedule(recover((ScheduledMethodRunnable) task, "once", once, startTime.getTime(), true), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return delegate.scheduleAtFixedRate(task, startTime, period);
+        }
+        return delegate.scheduleAtFixedRate(fixedRate((ScheduledMethodRunnable) task, startTime.getTime(), period), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return delegate.scheduleAtFixedRate(task, period);
+        }
+        return delegate.scheduleAtFixedRate(fixedRate((ScheduledMethodRunnable) task, clock.millis(), period), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return delegate.scheduleWithFixedDelay(task, startTime, delay);
+        }
+        return delegate.scheduleWithFixedDelay(fixedDelay((ScheduledMethodRunnable) task, startTime.getTime(), delay), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return delegate.scheduleWithFixedDelay(task, delay);
+        }
+        return delegate.scheduleWithFixedDelay(fixedDelay((ScheduledMethodRunnable) task, clock.millis(), delay), delay);
+    }
+
+    private Runnable fixedRate(ScheduledMethodRunnable task, long first, long period) {
+        return recover(task, "fixedRate=" + period, (scheduled, actual, completed) -> scheduled + period, first, false);
+    }
+
+    private Runnable fixedDelay(ScheduledMethodRunnable task, long first, long delay) {
+        return recover(task, "fixedDelay=" + delay, (scheduled, actual, completed) -> completed + delay, first, true);
+    }
+
+    private static String describe(Trigger trigger) {
+        if (trigger instanceof CronTrigger) {
+            return "cron=" + ((CronTrigger) trigger).getExpression();
+        }
+        if (trigger instanceof CompiledCronTrigger) {
+            return "cron=" + ((CompiledCronTrigger) trigger).getExpression();
+        }
+        return trigger.getClass().getSimpleName();
+    }
+
+    /**
+     * 记录新的计划，按上次保存的状态找出错过的触发并提交补执行
+     *
+     * @param single 错过多次也只算一次(fixedDelay、一次性任务)
+     */
+    private RecordingTask recover(ScheduledMethodRunnable task, String schedule, Timeline timeline, long firstFire, boolean single) {
+        RecordingTask recording = new RecordingTask(task, schedule, timeline, firstFire);
+        JobState state = store.get(recording.name);
+        if (state == null) {
+            store.record(new JobState(recording.name, schedule, JobState.NONE, JobState.NONE, firstFire, 0));
+            return recording;
+        }
+        recording.runs = state.getRuns();
+        store.record(new JobState(recording.name, schedule, state.getLastScheduled(), state.getLastCompleted(), firstFire, state.getRuns()));
+        if (!NamedTask.recoversMisfires(task)) {
+            return recording;
+        }
+        long now = clock.millis();
+        List<Long> missed = new ArrayList<>();
+        long time = state.getNextFire();
+        while (time != JobState.NONE && time < firstFire && time <= now && missed.size() < maxCatchUp) {
+            missed.add(time);
+            long next = single ? JobState.NONE : timeline.next(time, time, time);
+            time = next > time ? next : JobState.NONE;
+        }
+        if (missed.isEmpty()) {
+            return recording;
+        }
+        Misfire misfire = task.getMethod().getAnnotation(Misfire.class);
+        MisfirePolicy policy = misfire == null ? defaultPolicy : misfire.value();
+        String more = missed.size() == maxCatchUp ? " or more" : "";
+        switch (policy) {
+            case SKIP:
+                log.info("Skipping {}{} missed executions of {} since {}", missed.size(), more, recording.name, new Date(missed.get(0)));
+                return recording;
+            case FIRE_ONCE:
+                missed = Collections.singletonList(missed.get(missed.size() - 1));
+                break;
+            default:
+                break;
+        }
+        log.info("Catching up {} of {}{} missed executions of {} since {}", missed.size(), missed.size(), more, recording.name, new Date(state.getNextFire()));
+        delegate.schedule(new CatchUpTask(recording, missed), new Date(now));
+        return recording;
+    }
+
+    /**
+     * 由上次的计划时间、实际开始时间和结束时间推算下次计划时间
+     */
+    private interface Timeline {
+        long next(long scheduled, long actual, long completed);
+    }
+
+    /**
+     * 执行后记录状态；正常触发和补执行共用一把锁，不会并发执行
+     */
+    private final class RecordingTask extends ScheduledMethodRunnable implements NamedTask {
+        private final Runnable task;
+        private final String name;
+        private final String schedule;
+        private final Timeline timeline;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long expected;
+        private long runs;
+
+        RecordingTask(ScheduledMethodRunnable task, String schedule, Timeline timeline, long firstFire) {
+            super(task.getTarget(), task.getMethod());
+            this.task = task;
+            this.name = TaskMetricsRegistry.nameOf(task);
+            this.schedule = schedule;
+            this.timeline = timeline;
+            this.expected = firstFire;
+        }
+
+        @Override
+        public void run() {
+            lock.lock();
+            try {
+                long scheduled = expected;
+                long start = clock.millis();
+                try {
+                    task.run();
+                } finally {
+                    long end = clock.millis();
+                    expected = timeline.next(scheduled, start, end);
+                    record(scheduled, end);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public String getTaskName() {
+            return name;
+        }
+
+        void catchUp(List<Long> times) {
+            lock.lock();
+            try {
+                for (long time : times) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException ex) {
+                        log.error("Catch-up execution of {} scheduled at {} failed", name, new Date(time), ex);
+                    }
+                    record(time, clock.millis());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void record(long scheduled, long completed) {
+            if (store.get(name) == null) {
+                // 已从JobStore删除(取消的注册任务)，执行中的这次不再写回
+                return;
+            }
+            store.record(new JobState(name, schedule, scheduled, completed, expected, ++runs));
+        }
+    }
+
+    /**
+     * 依次补执行错过的触发
+     */
+    private static final class CatchUpTask extends ScheduledMethodRunnable implements NamedTask {
+        private final RecordingTask recording;
+        private final List<Long> times;
+
+        CatchUpTask(RecordingTask recording, List<Long> times) {
+            super(recording.getTarget(), recording.getMethod());
+            this.recording = recording;
+            this.times = times;
+        }
+
+        @Override
+        public String getTaskName() {
+            return recording.name;
+        }
+
+        @Override
+        public void run() {
+            recording.catchUp(times);
+        }
+    }
+}
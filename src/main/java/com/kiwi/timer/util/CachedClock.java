@@ -0,0 +1,69 @@
+package com.kiwi.timer.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 后台线程每隔resolutionMillis读取一次系统时间的时钟，读取方只读volatile字段，不调用System.currentTimeMillis
+ * <p>
+ * 时间最多落后一个精度；跨秒后的第一次更新同时计算好新的{@link ClockSnapshot}，读取方取快照时不做格式化。
+ * 不再使用时需要{@link #close()}，若此时是默认时钟，恢复为系统时钟。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class CachedClock extends TimerClock implements AutoCloseable {
+    private final long resolutionMillis;
+    private final ScheduledExecutorService ticker;
+    private volatile long now;
+
+    /**
+     * @param resolutionMillis 更新间隔
+     * @throws IllegalArgumentException resolutionMillis不大于0
+     */
+    public CachedClock(long resolutionMillis) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("resolutionMillis must be positive: " + resolutionMillis);
+        }
+        this.resolutionMillis = resolutionMillis;
+        tick();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timer-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, resolutionMillis, resolutionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 先更新快照再发布时间，读到新时间的线程取快照时已经算好
+     */
+    private void tick() {
+        long millis = System.currentTimeMillis();
+        snapshotAt(millis);
+        now = millis;
+    }
+
+    @Override
+    public long millis() {
+        return now;
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        if (getDefault() == this) {
+            setDefault(null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachedClock[resolution=" + resolutionMillis + "ms]";
+    }
+}
@@ -0,0 +1,24 @@
+package com.kiwi.timer.util;
+
+/**
+ * 当前时间的yyyy-MM-dd HH:mm:ss字符串
+ * <p>
+ * 供日志等每次调用都要取当前时间字符串的地方使用：字符串来自{@link TimerClock#getDefault()}的{@link ClockSnapshot}，
+ * 每秒只格式化一次，同一秒内返回同一个实例，不分配对象。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class CachedDateTime {
+
+    private CachedDateTime() {
+
+    }
+
+    /**
+     * @return 当前时间，格式yyyy-MM-dd HH:mm:ss
+     */
+    public static String now() {
+        return TimerClock.getDefault().snapshot().getDateTimeText();
+    }
+}
@@ -0,0 +1,190 @@
+package com.kiwi.timer.util;
+
+import java.text.DateFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 星期、月份名称表，按Locale注册
+ * <p>
+ * 名称在创建时一次性取好并intern，查询只是数组下标，不创建Calendar、不分配对象；星期由1970-01-01起的天数直接算出。
+ * 中文(zh、zh_CN)为内置的"周一"、"星期一"、"一月"，其它Locale第一次使用时从{@link DateFormatSymbols}取，
+ * 也可以用{@link #register}替换。另外预先生成了"1月"至"12月"、"1日"至"31日"，用于拼接中文日期。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class CalendarNames {
+    /**
+     * 1970-01-01是周四
+     */
+    private static final int EPOCH_DAY_OF_WEEK = 4;
+    private static final String[] CHINESE_MONTHS = labels(12, "月");
+    private static final String[] CHINESE_DAYS = labels(31, "日");
+
+    public static final CalendarNames CHINESE = new CalendarNames(Locale.CHINA,
+            new String[]{"周日", "周一", "周二", "周三", "周四", "周五", "周六"},
+            new String[]{"星期日", "星期一", "星期二", "星期三", "星期四", "星期五", "星期六"},
+            new String[]{"一月", "二月", "三月", "四月", "五月", "六月", "七月", "八月", "九月", "十月", "十一月", "十二月"},
+            new String[]{"一月", "二月", "三月", "四月", "五月", "六月", "七月", "八月", "九月", "十月", "十一月", "十二月"});
+
+    private static final ConcurrentMap<Locale, CalendarNames> REGISTRY = new ConcurrentHashMap<>();
+
+    static {
+        register(CHINESE);
+        REGISTRY.put(Locale.CHINESE, CHINESE);
+    }
+
+    private final Locale locale;
+    /**
+     * 下标0为周日
+     */
+    private final String[] shortWeekdays;
+    private final String[] weekdays;
+    /**
+     * 下标0为一月
+     */
+    private final String[] shortMonths;
+    private final String[] months;
+
+    private CalendarNames(Locale locale, String[] shortWeekdays, String[] weekdays, String[] shortMonths, String[] months) {
+        this.locale = locale;
+        this.shortWeekdays = intern(shortWeekdays, 7, "shortWeekdays");
+        this.weekdays = intern(weekdays, 7, "weekdays");
+        this.shortMonths = intern(shortMonths, 12, "shortMonths");
+        this.months = intern(months, 12, "months");
+    }
+
+    /**
+     * 自定义名称表，注册后{@link #of(Locale)}返回它
+     *
+     * @param shortWeekdays 周日至周六的简称
+     * @param weekdays      周日至周六的全称
+     * @param shortMonths   一月至十二月的简称
+     * @param months        一月至十二月的全称
+     * @throws IllegalArgumentException 数组长度不对或含null
+     */
+    public static CalendarNames of(Locale locale, String[] shortWeekdays, String[] weekdays, String[] shortMonths, String[] months) {
+        return new CalendarNames(locale, shortWeekdays, weekdays, shortMonths, months);
+    }
+
+    /**
+     * 取已注册的名称表；未注册时先按语言查找，仍没有则从DateFormatSymbols生成并注册
+     */
+    public static CalendarNames of(Locale locale) {
+        CalendarNames names = REGISTRY.get(locale);
+        if (names != null) {
+            return names;
+        }
+        names = REGISTRY.get(new Locale(locale.getLanguage()));
+        if (names != null) {
+            return names;
+        }
+        return REGISTRY.computeIfAbsent(locale, CalendarNames::fromSymbols);
+    }
+
+    public static void register(CalendarNames names) {
+        REGISTRY.put(names.locale, names);
+    }
+
+    private static CalendarNames fromSymbols(Locale locale) {
+        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+        // DateFormatSymbols的星期下标从Calendar.SUNDAY(1)开始，月份数组多一个空的第13个月
+        return new CalendarNames(locale,
+                Arrays.copyOfRange(symbols.getShortWeekdays(), 1, 8),
+                Arrays.copyOfRange(symbols.getWeekdays(), 1, 8),
+                Arrays.copyOf(symbols.getShortMonths(), 12),
+                Arrays.copyOf(symbols.getMonths(), 12));
+    }
+
+    /**
+     * 星期几，与Calendar.DAY_OF_WEEK - 1相同：0为周日，6为周六
+     *
+     * @param epochDay 本地日期距1970-01-01的天数
+     */
+    public static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK, 7L);
+    }
+
+    /**
+     * JVM默认时区下的星期几，0为周日
+     */
+    public static int dayOfWeekAt(long epochMillis) {
+        return dayOfWeek(EpochMillis.epochDay(epochMillis));
+    }
+
+    /**
+     * "1月"至"12月"
+     */
+    public static String chineseMonth(int month) {
+        return CHINESE_MONTHS[month - 1];
+    }
+
+    /**
+     * "1日"至"31日"
+     */
+    public static String chineseDay(int dayOfMonth) {
+        return CHINESE_DAYS[dayOfMonth - 1];
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * @param dayOfWeek 0为周日
+     */
+    public String shortWeekday(int dayOfWeek) {
+        return shortWeekdays[dayOfWeek];
+    }
+
+    /**
+     * @param dayOfWeek 0为周日
+     */
+    public String weekday(int dayOfWeek) {
+        return weekdays[dayOfWeek];
+    }
+
+    /**
+     * @param month 1-12
+     */
+    public String shortMonth(int month) {
+        return shortMonths[month - 1];
+    }
+
+    /**
+     * @param month 1-12
+     */
+    public String month(int month) {
+        return months[month - 1];
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarNames[" + locale + "]";
+    }
+
+    private static String[] intern(String[] names, int length, String what) {
+        if (names == null || names.length != length) {
+            throw new IllegalArgumentException(what + " must have " + length + " names");
+        }
+        String[] copy = new String[length];
+        for (int i = 0; i < length; i++) {
+            if (names[i] == null) {
+                throw new IllegalArgumentException(what + "[" + i + "] is null");
+            }
+            copy[i] = names[i].intern();
+        }
+        return copy;
+    }
+
+    private static String[] labels(int count, String suffix) {
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = ((i + 1) + suffix).intern();
+        }
+        return labels;
+    }
+}
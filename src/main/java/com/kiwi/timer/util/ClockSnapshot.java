@@ -0,0 +1,188 @@
+package com.kiwi.timer.util;
+
+/**
+ * 某一秒的日期字段和格式化好的字符串，不可变，由{@link TimerClock}每秒替换一次
+ * <p>
+ * 取当前年月日、时分和当前时间字符串的地方直接读字段，不再每次创建Calendar或格式化。
+ * 日期相关的字段和字符串在同一天内复用上一份，只有时分秒部分重新计算。时区为JVM默认时区(类加载时)。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class ClockSnapshot {
+    private static final DateFormatter DATE_TIME = DateFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateFormatter DATE = DateFormatter.ofPattern("yyyy-MM-dd");
+
+    private final long epochSecond;
+    private final int hour;
+    private final int minute;
+    private final int second;
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     */
+    private final String dateTimeText;
+    private final Day day;
+
+    private ClockSnapshot(long epochSecond, int hour, int minute, int second, String dateTimeText, Day day) {
+        this.epochSecond = epochSecond;
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.dateTimeText = dateTimeText;
+        this.day = day;
+    }
+
+    /**
+     * @param previous 上一份快照，同一天时复用日期部分，可以为null
+     */
+    static ClockSnapshot of(long epochMillis, ClockSnapshot previous) {
+        long epochSecond = Math.floorDiv(epochMillis, EpochMillis.MILLIS_PER_SECOND);
+        long millis = epochSecond * EpochMillis.MILLIS_PER_SECOND;
+        long local = ZoneOffsets.systemDefault().toLocalMillis(millis);
+        long epochDay = Math.floorDiv(local, EpochMillis.MILLIS_PER_DAY);
+        Day day = previous != null && previous.day.epochDay == epochDay ? previous.day : new Day(epochDay, millis);
+        int secondOfDay = (int) (Math.floorMod(local, EpochMillis.MILLIS_PER_DAY) / EpochMillis.MILLIS_PER_SECOND);
+        return new ClockSnapshot(epochSecond, secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60,
+                DATE_TIME.format(millis), day);
+    }
+
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+
+    /**
+     * 本地日期距1970-01-01的天数
+     */
+    public long getEpochDay() {
+        return day.epochDay;
+    }
+
+    public int getYear() {
+        return day.year;
+    }
+
+    /**
+     * 1-12
+     */
+    public int getMonth() {
+        return day.month;
+    }
+
+    /**
+     * 当月的第几天，1-31
+     */
+    public int getDayOfMonth() {
+        return day.dayOfMonth;
+    }
+
+    public int getHour() {
+        return hour;
+    }
+
+    public int getMinute() {
+        return minute;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    /**
+     * 当天零点
+     */
+    public long getStartOfDayMillis() {
+        return day.startOfDayMillis;
+    }
+
+    /**
+     * 当天23点59分59秒999毫秒
+     */
+    public long getEndOfDayMillis() {
+        return day.endOfDayMillis;
+    }
+
+    public String getYearText() {
+        return day.yearText;
+    }
+
+    /**
+     * 不补零，如"9"
+     */
+    public String getMonthText() {
+        return day.monthText;
+    }
+
+    /**
+     * 不补零，如"8"
+     */
+    public String getDayText() {
+        return day.dayText;
+    }
+
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     */
+    public String getDateTimeText() {
+        return dateTimeText;
+    }
+
+    /**
+     * yyyy-MM-dd
+     */
+    public String getDateText() {
+        return day.dateText;
+    }
+
+    /**
+     * 当天零点，yyyy-MM-dd HH:mm:ss
+     */
+    public String getStartOfDayText() {
+        return day.startOfDayText;
+    }
+
+    /**
+     * 当天23点59分59秒，yyyy-MM-dd HH:mm:ss
+     */
+    public String getEndOfDayText() {
+        return day.endOfDayText;
+    }
+
+    @Override
+    public String toString() {
+        return dateTimeText;
+    }
+
+    /**
+     * 一天之内不变的部分
+     */
+    private static final class Day {
+        private final long epochDay;
+        private final int year;
+        private final int month;
+        private final int dayOfMonth;
+        private final long startOfDayMillis;
+        private final long endOfDayMillis;
+        private final String yearText;
+        private final String monthText;
+        private final String dayText;
+        private final String dateText;
+        private final String startOfDayText;
+        private final String endOfDayText;
+
+        Day(long epochDay, long epochMillis) {
+            long civil = DateLayout.civil(epochDay);
+            this.epochDay = epochDay;
+            this.year = (int) (civil / 10000);
+            this.month = (int) (civil / 100 % 100);
+            this.dayOfMonth = (int) (civil % 100);
+            this.startOfDayMillis = EpochMillis.startOfDayMillis(epochMillis);
+            this.endOfDayMillis = EpochMillis.endOfDayMillis(epochMillis);
+            this.yearText = Integer.toString(year);
+            this.monthText = Integer.toString(month);
+            this.dayText = Integer.toString(dayOfMonth);
+            this.dateText = DATE.format(epochMillis);
+            this.startOfDayText = DATE_TIME.format(startOfDayMillis);
+            this.endOfDayText = DATE_TIME.format(endOfDayMillis);
+        }
+    }
+}
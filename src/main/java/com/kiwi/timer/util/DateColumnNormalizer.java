@@ -0,0 +1,508 @@
+package com.kiwi.timer.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 大文件中日期列的格式转换，代替逐行读成String再经SimpleDateFormat转换(getStrDate4String、str2Str)
+ * <p>
+ * 文件按{@link FileChannel#map}映射，按行边界切成若干块，每批parallelism块在ForkJoin公共池中并行处理：
+ * 直接在映射的字节上切分字段，用{@link DateParser}解析、{@link DateFormatter}按新格式写出，其余字节整段复制，不创建字符串。
+ * 写到新文件时各块的结果按原顺序写入输出通道；原地改写时只替换转换后长度不变的字段，长度变化的字段保持原样并计入unchanged。
+ * <p>
+ * 字段按分隔符切分，双引号括起来的字段内可以有分隔符，引号保留；不支持字段内换行。行尾的\r不属于字段。
+ * 空白字段保持原样；无法解析的字段写到新文件时清空(同getStrDate4String返回"")，原地改写时保持原样，都计入invalid。
+ * 解析为宽松模式，字段后多余的字符忽略，时区为JVM默认时区。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class DateColumnNormalizer {
+    public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+    /**
+     * 查找行边界时每次读取的字节数
+     */
+    private static final int SCAN_SIZE = 8192;
+
+    /**
+     * 下标为列号，不转换的列为null
+     */
+    private final Conversion[] conversions;
+    private final byte delimiter;
+    private final boolean header;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private DateColumnNormalizer(Builder builder) {
+        int columns = 0;
+        for (int index : builder.columns.keySet()) {
+            columns = Math.max(columns, index + 1);
+        }
+        this.conversions = new Conversion[columns];
+        for (Map.Entry<Integer, Conversion> entry : builder.columns.entrySet()) {
+            conversions[entry.getKey()] = entry.getValue();
+        }
+        this.delimiter = (byte) builder.delimiter;
+        this.header = builder.header;
+        this.chunkSize = builder.chunkSize;
+        this.parallelism = builder.parallelism;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 转换后写到output，output已存在时覆盖
+     *
+     * @throws IllegalArgumentException output与input是同一个文件，此时应使用{@link #normalizeInPlace}
+     */
+    public Result normalize(Path input, Path output) throws IOException {
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("Output is the input file, use normalizeInPlace: " + output);
+        }
+        long started = System.nanoTime();
+        Result result = new Result();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.WRITE)) {
+            long[] bounds = split(in);
+            for (int first = 0; first < bounds.length - 1; first += parallelism) {
+                Chunk[] wave = map(in, FileChannel.MapMode.READ_ONLY, bounds, first, false);
+                Arrays.stream(wave).parallel().forEach(Chunk::run);
+                for (Chunk chunk : wave) {
+                    while (chunk.out.hasRemaining()) {
+                        out.write(chunk.out);
+                    }
+                    result.add(chunk);
+                }
+            }
+        }
+        return result.finish(System.nanoTime() - started);
+    }
+
+    /**
+     * 在原文件上改写，只替换转换后长度不变的字段(如yyyy-MM-dd HH:mm:ss与yyyy/MM/dd HH:mm:ss之间)
+     */
+    public Result normalizeInPlace(Path file) throws IOException {
+        long started = System.nanoTime();
+        Result result = new Result();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long[] bounds = split(channel);
+            for (int first = 0; first < bounds.length - 1; first += parallelism) {
+                Chunk[] wave = map(channel, FileChannel.MapMode.READ_WRITE, bounds, first, true);
+                Arrays.stream(wave).parallel().forEach(Chunk::run);
+                for (Chunk chunk : wave) {
+                    chunk.in.force();
+                    result.add(chunk);
+                }
+            }
+        }
+        return result.finish(System.nanoTime() - started);
+    }
+
+    private Chunk[] map(FileChannel channel, FileChannel.MapMode mode, long[] bounds, int first, boolean inPlace) throws IOException {
+        Chunk[] wave = new Chunk[Math.min(parallelism, bounds.length - 1 - first)];
+        for (int i = 0; i < wave.length; i++) {
+            int index = first + i;
+            MappedByteBuffer in = channel.map(mode, bounds[index], bounds[index + 1] - bounds[index]);
+            wave[i] = new Chunk(in, header && index == 0, inPlace);
+        }
+        return wave;
+    }
+
+    /**
+     * 按chunkSize切块，每块结束于换行符之后(最后一块结束于文件末尾)
+     *
+     * @return 各块的起点，最后一个元素为文件长度
+     */
+    private long[] split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+        long start = 0;
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : lineEnd(channel, start + chunkSize - 1, size, scan);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line longer than " + Integer.MAX_VALUE + " bytes at offset " + start);
+            }
+            bounds.add(end);
+            start = end;
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * from及之后第一个换行符的下一个位置，没有换行符时为文件末尾
+     */
+    private static long lineEnd(FileChannel channel, long from, long size, ByteBuffer scan) throws IOException {
+        long position = from;
+        while (position < size) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 一块的处理：in为映射的字节，写到新文件时结果在out中(已flip)
+     */
+    private final class Chunk implements Runnable {
+        private final MappedByteBuffer in;
+        private final boolean skipFirstLine;
+        private final boolean inPlace;
+        /**
+         * 整段复制未改动的字节，position/limit随复制区间变化
+         */
+        private final ByteBuffer src;
+        private final StringBuilder text = new StringBuilder(64);
+        private ByteBuffer out;
+        /**
+         * 已处理但尚未复制到out的字节从这里开始
+         */
+        private int copyFrom;
+        private long lines;
+        private long converted;
+        private long invalid;
+        private long unchanged;
+
+        Chunk(MappedByteBuffer in, boolean skipFirstLine, boolean inPlace) {
+            this.in = in;
+            this.skipFirstLine = skipFirstLine;
+            this.inPlace = inPlace;
+            this.src = in.duplicate();
+        }
+
+        @Override
+        public void run() {
+            int length = in.limit();
+            if (!inPlace) {
+                out = ByteBuffer.allocate(length + (length >> 3) + 64);
+            }
+            int pos = 0;
+            if (skipFirstLine) {
+                while (pos < length && in.get(pos++) != '\n') {
+                    // 表头原样保留
+                }
+                lines++;
+            }
+            while (pos < length) {
+                pos = line(pos, length);
+                lines++;
+            }
+            if (!inPlace) {
+                copy(length);
+                out.flip();
+            }
+        }
+
+        /**
+         * @return 下一行的起点
+         */
+        private int line(int pos, int length) {
+            int column = 0;
+            int fieldStart = pos;
+            boolean quoted = false;
+            while (true) {
+                int b = pos < length ? in.get(pos) : '\n';
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' || (b == delimiter && !quoted)) {
+                    if (column < conversions.length && conversions[column] != null) {
+                        int end = b == '\n' && pos > fieldStart && in.get(pos - 1) == '\r' ? pos - 1 : pos;
+                        field(conversions[column], fieldStart, end);
+                    }
+                    if (b == '\n') {
+                        return pos + 1;
+                    }
+                    column++;
+                    fieldStart = pos + 1;
+                }
+                pos++;
+            }
+        }
+
+        private void field(Conversion conversion, int from, int to) {
+            if (to - from >= 2 && in.get(from) == '"' && in.get(to - 1) == '"') {
+                from++;
+                to--;
+            }
+            if (isBlank(from, to)) {
+                return;
+            }
+            long millis = conversion.parser.parse(in, from, to);
+            if (millis == DateParser.INVALID) {
+                invalid++;
+                if (!inPlace) {
+                    copy(from);
+                    copyFrom = to;
+                }
+                return;
+            }
+            text.setLength(0);
+            conversion.formatter.formatTo(millis, text);
+            if (inPlace) {
+                if (text.length() == to - from && isAscii(text)) {
+                    for (int i = 0; i < text.length(); i++) {
+                        in.put(from + i, (byte) text.charAt(i));
+                    }
+                    converted++;
+                } else {
+                    unchanged++;
+                }
+                return;
+            }
+            copy(from);
+            write(text);
+            copyFrom = to;
+            converted++;
+        }
+
+        private boolean isBlank(int from, int to) {
+            for (int i = from; i < to; i++) {
+                byte b = in.get(i);
+                if (b != ' ' && b != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 把[copyFrom, to)整段复制到out
+         */
+        private void copy(int to) {
+            if (to <= copyFrom) {
+                return;
+            }
+            ensureCapacity(to - copyFrom);
+            src.clear();
+            src.position(copyFrom);
+            src.limit(to);
+            out.put(src);
+            copyFrom = to;
+        }
+
+        private void write(StringBuilder text) {
+            if (!isAscii(text)) {
+                byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+                ensureCapacity(bytes.length);
+                out.put(bytes);
+                return;
+            }
+            ensureCapacity(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                out.put((byte) text.charAt(i));
+            }
+        }
+
+        private void ensureCapacity(int bytes) {
+            if (out.remaining() < bytes) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+                out.flip();
+                bigger.put(out);
+                out = bigger;
+            }
+        }
+    }
+
+    private static boolean isAscii(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Conversion {
+        private final DateParser parser;
+        private final DateFormatter formatter;
+
+        Conversion(DateParser parser, DateFormatter formatter) {
+            this.parser = parser;
+            this.formatter = formatter;
+        }
+    }
+
+    /**
+     * 一次转换的统计
+     */
+    public static final class Result {
+        private long bytesRead;
+        private long bytesWritten;
+        private int chunks;
+        private long lines;
+        private long converted;
+        private long invalid;
+        private long unchanged;
+        private long elapsedNanos;
+
+        private void add(Chunk chunk) {
+            bytesRead += chunk.in.limit();
+            bytesWritten += chunk.inPlace ? chunk.in.limit() : chunk.out.limit();
+            chunks++;
+            lines += chunk.lines;
+            converted += chunk.converted;
+            invalid += chunk.invalid;
+            unchanged += chunk.unchanged;
+        }
+
+        private Result finish(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            return this;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public int getChunks() {
+            return chunks;
+        }
+
+        /**
+         * 包括表头
+         */
+        public long getLines() {
+            return lines;
+        }
+
+        public long getConverted() {
+            return converted;
+        }
+
+        public long getInvalid() {
+            return invalid;
+        }
+
+        /**
+         * 原地改写时因长度变化而保持原样的字段数
+         */
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 按读取的字节数计算，1MB = 1024 * 1024字节
+         */
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesRead / (1024.0 * 1024.0) / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Result[lines=%d, converted=%d, invalid=%d, unchanged=%d, read=%d, written=%d, chunks=%d, %.1f MB/s]",
+                    lines, converted, invalid, unchanged, bytesRead, bytesWritten, chunks, getMegabytesPerSecond());
+        }
+    }
+
+    public static final class Builder {
+        private final Map<Integer, Conversion> columns = new TreeMap<>();
+        private char delimiter = ',';
+        private boolean header;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        private Builder() {
+
+        }
+
+        /**
+         * 把第index列(从0开始)从fromPattern转换为toPattern
+         *
+         * @throws IllegalArgumentException fromPattern不是{@link DateParser}支持的数字类格式，或toPattern非法
+         */
+        public Builder column(int index, String fromPattern, String toPattern) {
+            if (index < 0) {
+                throw new IllegalArgumentException("Column index must not be negative: " + index);
+            }
+            columns.put(index, new Conversion(DateParser.ofPattern(fromPattern), DateFormatter.ofPattern(toPattern)));
+            return this;
+        }
+
+        /**
+         * 默认为逗号，只能是除双引号和换行符以外的ASCII字符
+         */
+        public Builder delimiter(char delimiter) {
+            if (delimiter >= 0x80 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+                throw new IllegalArgumentException("Unsupported delimiter: " + delimiter);
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * 第一行是否为表头，表头原样保留
+         */
+        public Builder header(boolean header) {
+            this.header = header;
+            return this;
+        }
+
+        /**
+         * 每块的字节数，块在此之后的第一个换行处结束
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 同时处理的块数，默认为CPU数；写到新文件时内存中最多保留这么多块的结果
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @throws IllegalStateException 没有指定要转换的列
+         */
+        public DateColumnNormalizer build() {
+            if (columns.isEmpty()) {
+                throw new IllegalStateException("No date column to normalize");
+            }
+            return new DateColumnNormalizer(this);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.kiwi.timer.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * 线程安全的日期格式化器，按格式缓存
+ * <p>
+ * 数字类格式(如yyyy-MM-dd HH:mm:ss、yyyyMMddHHmmss)预编译为{@link DateLayout}，直接把数字写入线程内复用的缓冲区；
+ * 其它格式中各字母在java.time与SimpleDateFormat里含义相同的，使用不可变的{@link DateTimeFormatter}；
+ * 含义不同的格式(见{@link #sameInJavaTime})、公历切换(1582年)前后、java.time与TimeZone时区数据不一致的1900年以前，
+ * 以及java.time会在年份前加"+"的10000年以后，交给线程内复用的SimpleDateFormat，保证结果与原实现一致。
+ * 时区使用类加载时JVM的默认时区。
+ * <p>
+ * 批量方法把一列时间依次写入调用方的char[]、ByteBuffer或Appendable，记录之间用分隔符隔开，null的Date写为空记录；
+ * 返回String[]的批量方法在长度达到{@link #PARALLEL_THRESHOLD}时使用ForkJoin公共池并行。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class DateFormatter {
+    /**
+     * 公历切换时间 1582-10-15 00:00:00 UTC 再留一天余量，之前SimpleDateFormat按儒略历计算
+     */
+    private static final long GREGORIAN_CUTOVER = -12219292800000L + DateLayout.MILLIS_PER_DAY;
+    /**
+     * 1900-01-01 00:00:00 UTC，之前java.time按地方平时计算偏移，与TimeZone不同
+     */
+    private static final long JAVA_TIME_MIN = -2208988800000L;
+    /**
+     * 10000-01-01 00:00:00 UTC 再留一天余量，之后java.time的yyyy输出"+10000"，SimpleDateFormat输出"10000"
+     */
+    private static final long JAVA_TIME_MAX = 253402300800000L - DateLayout.MILLIS_PER_DAY;
+    /**
+     * 批量格式化转为并行的最小长度
+     */
+    public static final int PARALLEL_THRESHOLD = 8192;
+    private static final int MAX_CACHED = 256;
+    /**
+     * 写入Appendable时每次提交的字符数
+     */
+    private static final int CHUNK_SIZE = 4096;
+    private static final ConcurrentMap<String, DateFormatter> CACHE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+    private static final ZoneOffsets ZONE = ZoneOffsets.systemDefault();
+
+    private final String pattern;
+    private final DateLayout layout;
+    private final DateTimeFormatter formatter;
+    private final ThreadLocal<SimpleDateFormat> legacy;
+
+    private DateFormatter(String pattern) {
+        this.pattern = pattern;
+        this.layout = DateLayout.compile(pattern);
+        if (layout != null) {
+            this.formatter = null;
+        } else {
+            // 格式非法时抛出IllegalArgumentException，与new SimpleDateFormat(pattern)一致
+            new SimpleDateFormat(pattern);
+            this.formatter = compileJavaTime(pattern);
+        }
+        this.legacy = ThreadLocal.withInitial(() -> new SimpleDateFormat(pattern));
+    }
+
+    private static DateTimeFormatter compileJavaTime(String pattern) {
+        if (!javaTimeCompatible(pattern)) {
+            return null;
+        }
+        try {
+            return DateTimeFormatter.ofPattern(pattern).withZone(ZONE.getZone());
+        } catch (IllegalArgumentException e) {
+            // SimpleDateFormat支持而java.time不支持的写法，退回SimpleDateFormat
+            return null;
+        }
+    }
+
+    /**
+     * 格式中的每个字母在java.time中输出与SimpleDateFormat相同；引号内的文字原样输出，不检查
+     */
+    static boolean javaTimeCompatible(String pattern) {
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return false;
+                }
+                i = end + 1;
+            } else if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if (!sameInJavaTime(c, count)) {
+                    return false;
+                }
+                i += count;
+            } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                // java.time中为可选段和保留字符，SimpleDateFormat中是普通文字
+                return false;
+            } else {
+                i++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 不在此列的字母含义不同或依赖Locale的周规则，例如u(java.time为年，SimpleDateFormat为星期几)、
+     * F(JDK 8的java.time为对齐的星期)、w/W/Y、G、L和z/X等时区写法
+     *
+     * @param count 字母连续出现的次数；java.time不接受的次数在编译时报错，同样退回SimpleDateFormat
+     */
+    private static boolean sameInJavaTime(char letter, int count) {
+        switch (letter) {
+            case 'y':
+            case 'd':
+            case 'H':
+            case 'h':
+            case 'K':
+            case 'k':
+            case 'm':
+            case 's':
+            case 'a':
+                return true;
+            case 'M':
+            case 'E':
+                // 5个为java.time的窄名称
+                return count <= 4;
+            case 'S':
+                // java.time为秒的小数位，只有3位时等于毫秒
+                return count == 3;
+            case 'D':
+                // JDK 8的java.time把DD当作固定2位，100天以后报错
+                return count != 2;
+            case 'Z':
+                // ZZZZ在java.time中为GMT+08:00
+                return count <= 3;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 取得指定格式的格式化器
+     *
+     * @param pattern SimpleDateFormat风格的格式
+     * @return
+     */
+    public static DateFormatter ofPattern(String pattern) {
+        DateFormatter formatter = CACHE.get(pattern);
+        if (formatter == null) {
+            formatter = new DateFormatter(pattern);
+            if (CACHE.size() < MAX_CACHED) {
+                DateFormatter existing = CACHE.putIfAbsent(pattern, formatter);
+                if (existing != null) {
+                    formatter = existing;
+                }
+            }
+        }
+        return formatter;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String format(Date date) {
+        return format(date.getTime());
+    }
+
+    public String format(long epochMillis) {
+        if (layout == null || epochMillis < GREGORIAN_CUTOVER) {
+            return formatSlow(epochMillis);
+        }
+        char[] buf = buffer();
+        int end = layout.format(ZONE.toLocalMillis(epochMillis), buf, 0);
+        return new String(buf, 0, end);
+    }
+
+    /**
+     * 格式化后追加到StringBuilder，不产生中间字符串
+     */
+    public StringBuilder formatTo(long epochMillis, StringBuilder sb) {
+        if (layout == null || epochMillis < GREGORIAN_CUTOVER) {
+            return sb.append(formatSlow(epochMillis));
+        }
+        char[] buf = buffer();
+        int end = layout.format(ZONE.toLocalMillis(epochMillis), buf, 0);
+        return sb.append(buf, 0, end);
+    }
+
+    /**
+     * 格式化后写入调用方的缓冲区
+     *
+     * @param epochMillis 时间
+     * @param buf         缓冲区
+     * @param pos         起始位置
+     * @return 写入后的位置
+     */
+    public int formatTo(long epochMillis, char[] buf, int pos) {
+        if (layout == null || epochMillis < GREGORIAN_CUTOVER) {
+            String text = formatSlow(epochMillis);
+            text.getChars(0, text.length(), buf, pos);
+            return pos + text.length();
+        }
+        return layout.format(ZONE.toLocalMillis(epochMillis), buf, pos);
+    }
+
+    /**
+     * 批量格式化，长度达到{@link #PARALLEL_THRESHOLD}时并行
+     */
+    public String[] formatAll(long[] epochMillis) {
+        String[] result = new String[epochMillis.length];
+        if (epochMillis.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(result, i -> format(epochMillis[i]));
+        } else {
+            for (int i = 0; i < epochMillis.length; i++) {
+                result[i] = format(epochMillis[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量格式化，null写为空字符串，长度达到{@link #PARALLEL_THRESHOLD}时并行
+     */
+    public String[] formatAll(Date[] dates) {
+        String[] result = new String[dates.length];
+        if (dates.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(result, i -> dates[i] == null ? "" : format(dates[i].getTime()));
+        } else {
+            for (int i = 0; i < dates.length; i++) {
+                result[i] = dates[i] == null ? "" : format(dates[i].getTime());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 把epochMillis[from, to)依次写入缓冲区，记录之间写入分隔符
+     *
+     * @return 写入后的位置
+     * @throws ArrayIndexOutOfBoundsException 缓冲区不足
+     */
+    public int formatTo(long[] epochMillis, int from, int to, char[] buf, int pos, char delimiter) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                buf[pos++] = delimiter;
+            }
+            pos = formatTo(epochMillis[i], buf, pos);
+        }
+        return pos;
+    }
+
+    /**
+     * 把epochMillis[from, to)依次写入ByteBuffer，ASCII字符直接写入，其它字符按UTF-8编码
+     *
+     * @throws java.nio.BufferOverflowException 空间不足，此时已写入的部分保留在ByteBuffer中
+     */
+    public ByteBuffer formatTo(long[] epochMillis, int from, int to, ByteBuffer out, char delimiter) {
+        char[] separator = {delimiter};
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                put(out, separator, 1);
+            }
+            long millis = epochMillis[i];
+            if (layout == null || millis < GREGORIAN_CUTOVER) {
+                char[] text = formatSlow(millis).toCharArray();
+                put(out, text, text.length);
+            } else {
+                char[] buf = buffer();
+                put(out, buf, layout.format(ZONE.toLocalMillis(millis), buf, 0));
+            }
+        }
+        return out;
+    }
+
+    public <A extends Appendable> A formatTo(long[] epochMillis, int from, int to, A out, char delimiter) throws IOException {
+        ChunkWriter writer = new ChunkWriter(out, delimiter);
+        for (int i = from; i < to; i++) {
+            writer.write(epochMillis[i]);
+        }
+        writer.flush();
+        return out;
+    }
+
+    /**
+     * null写为空记录
+     */
+    public <A extends Appendable> A formatTo(Date[] dates, A out, char delimiter) throws IOException {
+        ChunkWriter writer = new ChunkWriter(out, delimiter);
+        for (Date date : dates) {
+            writer.write(date);
+        }
+        writer.flush();
+        return out;
+    }
+
+    /**
+     * 按流的顺序写入，null写为空记录
+     */
+    public <A extends Appendable> A formatTo(Stream<? extends Date> dates, A out, char delimiter) throws IOException {
+        ChunkWriter writer = new ChunkWriter(out, delimiter);
+        for (Iterator<? extends Date> it = dates.sequential().iterator(); it.hasNext(); ) {
+            writer.write(it.next());
+        }
+        writer.flush();
+        return out;
+    }
+
+    private static void put(ByteBuffer out, char[] buf, int end) {
+        for (int i = 0; i < end; i++) {
+            char c = buf[i];
+            if (c >= 0x80) {
+                out.put(StandardCharsets.UTF_8.encode(CharBuffer.wrap(buf, i, end - i)));
+                return;
+            }
+            out.put((byte) c);
+        }
+    }
+
+    private String formatSlow(long epochMillis) {
+        if (formatter != null && epochMillis >= JAVA_TIME_MIN && epochMillis < JAVA_TIME_MAX) {
+            return formatter.format(Instant.ofEpochMilli(epochMillis));
+        }
+        return legacy.get().format(new Date(epochMillis));
+    }
+
+    private char[] buffer() {
+        char[] buf = BUFFER.get();
+        if (buf.length < layout.maxLength()) {
+            buf = new char[layout.maxLength()];
+            BUFFER.set(buf);
+        }
+        return buf;
+    }
+
+    @Override
+    public String toString() {
+        return "DateFormatter[" + pattern + "]";
+    }
+
+    /**
+     * 把记录攒成块再写入Appendable，减少逐条append的开销
+     */
+    private final class ChunkWriter {
+        private final Appendable out;
+        private final char delimiter;
+        private final char[] chunk;
+        private int size;
+        private boolean first = true;
+
+        private ChunkWriter(Appendable out, char delimiter) {
+            this.out = out;
+            this.delimiter = delimiter;
+            this.chunk = new char[Math.max(CHUNK_SIZE, layout == null ? 0 : layout.maxLength() + 1)];
+        }
+
+        private void write(Date date) throws IOException {
+            if (date == null) {
+                separate();
+            } else {
+                write(date.getTime());
+            }
+        }
+
+        private void write(long epochMillis) throws IOException {
+            separate();
+            if (layout == null || epochMillis < GREGORIAN_CUTOVER) {
+                flush();
+                out.append(formatSlow(epochMillis));
+                return;
+            }
+            if (chunk.length - size < layout.maxLength()) {
+                flush();
+            }
+            size = layout.format(ZONE.toLocalMillis(epochMillis), chunk, size);
+        }
+
+        private void separate() throws IOException {
+            if (first) {
+                first = false;
+                return;
+            }
+            if (size == chunk.length) {
+                flush();
+            }
+            chunk[size++] = delimiter;
+        }
+
+        private void flush() throws IOException {
+            if (size == 0) {
+                return;
+            }
+            if (out instanceof StringBuilder) {
+                ((StringBuilder) out).append(chunk, 0, size);
+            } else {
+                out.append(CharBuffer.wrap(chunk, 0, size));
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.kiwi.timer.util;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 预编译的日期格式布局
+ * <p>
+ * 只支持由 y、M、d、H、m、s、S 数字字段和字面量组成的格式(兼容SimpleDateFormat的写法)，
+ * 其它格式返回null，由调用方走通用实现。格式化直接按字段把数字写入char数组，解析直接读取
+ * CharSequence、char[]、byte[]或ByteBuffer的指定区间，都不产生中间对象。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+final class DateLayout {
+    static final int LITERAL = 0;
+    static final int YEAR = 1;
+    static final int MONTH = 2;
+    static final int DAY = 3;
+    static final int HOUR = 4;
+    static final int MINUTE = 5;
+    static final int SECOND = 6;
+    static final int MILLIS = 7;
+
+    static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    /**
+     * 解析失败的返回值
+     */
+    static final long INVALID = Long.MIN_VALUE;
+    /**
+     * 年份早于公历切换(1583年以前)，SimpleDateFormat按儒略历进位，结果与公历不同
+     */
+    static final long JULIAN = Long.MIN_VALUE + 1;
+    /**
+     * 两位年份的世纪起点，与SimpleDateFormat一致取当前时间的80年前
+     */
+    private static final LocalDateTime CENTURY_START = LocalDateTime.now().minusYears(80);
+    private static final int CENTURY_START_YEAR = CENTURY_START.getYear();
+    private static final long CENTURY_START_LOCAL = CENTURY_START.toEpochSecond(ZoneOffset.UTC) * 1000;
+    /**
+     * 数字字段最多读取的位数，避免int溢出
+     */
+    private static final int MAX_NUMBER_DIGITS = 9;
+
+    private final String pattern;
+    /**
+     * 字段类型，LITERAL时对应位置的literals有效
+     */
+    private final int[] kinds;
+    /**
+     * 数字字段的最小位数，两位年份记为-2
+     */
+    private final int[] widths;
+    private final char[] literals;
+    private final int maxLength;
+
+    private DateLayout(String pattern, int[] kinds, int[] widths, char[] literals, int size) {
+        this.pattern = pattern;
+        this.kinds = new int[size];
+        this.widths = new int[size];
+        this.literals = new char[size];
+        System.arraycopy(kinds, 0, this.kinds, 0, size);
+        System.arraycopy(widths, 0, this.widths, 0, size);
+        System.arraycopy(literals, 0, this.literals, 0, size);
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            length += this.kinds[i] == LITERAL ? 1 : maxDigits(this.kinds[i], this.widths[i]);
+        }
+        this.maxLength = length;
+    }
+
+    /**
+     * 编译格式，不支持的格式返回null
+     *
+     * @param pattern SimpleDateFormat风格的格式
+     * @return
+     */
+    static DateLayout compile(String pattern) {
+        int length = pattern.length();
+        int[] kinds = new int[length];
+        int[] widths = new int[length];
+        char[] literals = new char[length];
+        int size = 0;
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                // ''表示单引号本身，否则为引号括起来的字面量
+                if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+                    literals[size++] = '\'';
+                    i += 2;
+                    continue;
+                }
+                int end = i + 1;
+                while (true) {
+                    if (end >= length) {
+                        return null;
+                    }
+                    char q = pattern.charAt(end);
+                    if (q == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            literals[size++] = '\'';
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    literals[size++] = q;
+                    end++;
+                }
+                i = end + 1;
+                continue;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int kind = kindOf(c);
+                if (kind == LITERAL) {
+                    return null;
+                }
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if (kind == MONTH && count > 2) {
+                    // MMM及以上为月份文本
+                    return null;
+                }
+                kinds[size] = kind;
+                widths[size] = kind == YEAR && count == 2 ? -2 : count;
+                size++;
+                i += count;
+                continue;
+            }
+            literals[size++] = c;
+            i++;
+        }
+        return new DateLayout(pattern, kinds, widths, literals, size);
+    }
+
+    private static int kindOf(char c) {
+        switch (c) {
+            case 'y':
+                return YEAR;
+            case 'M':
+                return MONTH;
+            case 'd':
+                return DAY;
+            case 'H':
+                return HOUR;
+            case 'm':
+                return MINUTE;
+            case 's':
+                return SECOND;
+            case 'S':
+                return MILLIS;
+            default:
+                return LITERAL;
+        }
+    }
+
+    private static int maxDigits(int kind, int width) {
+        if (width < 0) {
+            return 2;
+        }
+        int digits = kind == YEAR ? 5 : (kind == MILLIS ? 3 : 2);
+        return Math.max(digits, width);
+    }
+
+    String pattern() {
+        return pattern;
+    }
+
+    /**
+     * 格式化后的最大长度，调用方据此准备缓冲区
+     */
+    int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * 按本地时间写入缓冲区
+     *
+     * @param localMillis 已加上时区偏移的毫秒数
+     * @param buf         缓冲区，剩余空间不小于{@link #maxLength()}
+     * @param pos         起始位置
+     * @return 写入后的位置
+     */
+    int format(long localMillis, char[] buf, int pos) {
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+        long date = civil(epochDay);
+        int year = (int) (date / 10000);
+        int month = (int) (date / 100 % 100);
+        int day = (int) (date % 100);
+
+        for (int i = 0; i < kinds.length; i++) {
+            int width = widths[i];
+            switch (kinds[i]) {
+                case YEAR:
+                    pos = width < 0 ? writeDigits(year % 100, 2, buf, pos) : writeDigits(year, width, buf, pos);
+                    break;
+                case MONTH:
+                    pos = writeDigits(month, width, buf, pos);
+                    break;
+                case DAY:
+                    pos = writeDigits(day, width, buf, pos);
+                    break;
+                case HOUR:
+                    pos = writeDigits(millisOfDay / 3600000, width, buf, pos);
+                    break;
+                case MINUTE:
+                    pos = writeDigits(millisOfDay / 60000 % 60, width, buf, pos);
+                    break;
+                case SECOND:
+                    pos = writeDigits(millisOfDay / 1000 % 60, width, buf, pos);
+                    break;
+                case MILLIS:
+                    pos = writeDigits(millisOfDay % 1000, width, buf, pos);
+                    break;
+                default:
+                    buf[pos++] = literals[i];
+                    break;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * 解析为本地时间的毫秒数(尚未减去时区偏移)
+     * <p>
+     * 规则与SimpleDateFormat.parse(String)一致：字段之间有分隔符时数字位数不限，相邻的数字字段按格式位数截取，
+     * 数字前的空格忽略，区间内剩余的字符忽略。宽松模式下超出范围的值自动进位(如13月即次年1月)，严格模式下返回失败。
+     *
+     * @param src     CharSequence、char[]、byte[]或ByteBuffer(后两者按ASCII，ByteBuffer按绝对位置读取)
+     * @param from    起始位置(包含)
+     * @param to      结束位置(不包含)
+     * @param lenient 是否宽松
+     * @param julian  年份早于1583年时是否返回{@link #JULIAN}，否则按公历推算
+     * @return 本地毫秒数，失败返回{@link #INVALID}
+     */
+    long parse(Object src, int from, int to, boolean lenient, boolean julian) {
+        int year = 1970;
+        int month = 1;
+        int day = 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millis = 0;
+        boolean ambiguousYear = false;
+        int pos = from;
+        int size = kinds.length;
+        for (int i = 0; i < size; i++) {
+            int kind = kinds[i];
+            if (kind == LITERAL) {
+                if (pos >= to || charAt(src, pos) != literals[i]) {
+                    return INVALID;
+                }
+                pos++;
+                continue;
+            }
+            // 与SimpleDateFormat.subParse一致：先跳过空格和制表符，相邻数字字段最多读取
+            // 从字段起点(跳过空白之前)算起的count个字符，数字前可以有负号
+            int fieldStart = pos;
+            while (true) {
+                if (pos >= to) {
+                    return INVALID;
+                }
+                int c = charAt(src, pos);
+                if (c != ' ' && c != '\t') {
+                    break;
+                }
+                pos++;
+            }
+            int width = widths[i];
+            int limit = to;
+            if (i + 1 < size && kinds[i + 1] != LITERAL) {
+                limit = fieldStart + (width < 0 ? 2 : width);
+                if (limit > to) {
+                    return INVALID;
+                }
+            }
+            boolean negative = pos < limit && charAt(src, pos) == '-';
+            if (negative) {
+                pos++;
+            }
+            int start = pos;
+            int value = 0;
+            while (pos < limit) {
+                int digit = charAt(src, pos) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                pos++;
+            }
+            int digits = pos - start;
+            if (digits == 0 || digits > MAX_NUMBER_DIGITS) {
+                return INVALID;
+            }
+            if (negative) {
+                value = -value;
+            }
+            switch (kind) {
+                case YEAR:
+                    if ((width < 0 || width == 1) && digits == 2 && !negative) {
+                        int ambiguous = CENTURY_START_YEAR % 100;
+                        ambiguousYear = value == ambiguous;
+                        value += CENTURY_START_YEAR / 100 * 100 + (value < ambiguous ? 100 : 0);
+                    }
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                default:
+                    millis = value;
+                    break;
+            }
+        }
+        if (julian && year < 1583) {
+            return JULIAN;
+        }
+        if (!lenient && (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || millis < 0 || millis > 999)) {
+            return INVALID;
+        }
+        long local = toLocalMillis(year, month, day, hour, minute, second, millis);
+        if (ambiguousYear && local < CENTURY_START_LOCAL) {
+            // 与世纪起点同一个两位年份时，早于起点则归入下一个世纪
+            local = toLocalMillis(year + 100, month, day, hour, minute, second, millis);
+        }
+        return local;
+    }
+
+    private static long toLocalMillis(int year, int month, int day, int hour, int minute, int second, int millis) {
+        long monthIndex = (long) year * 12 + (month - 1);
+        long epochDay = epochDay(Math.floorDiv(monthIndex, 12), (int) Math.floorMod(monthIndex, 12) + 1, 1) + day - 1;
+        return epochDay * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L + second * 1000L + millis;
+    }
+
+    private static int charAt(Object src, int index) {
+        if (src instanceof byte[]) {
+            return ((byte[]) src)[index] & 0xFF;
+        }
+        if (src instanceof char[]) {
+            return ((char[]) src)[index];
+        }
+        if (src instanceof ByteBuffer) {
+            return ((ByteBuffer) src).get(index) & 0xFF;
+        }
+        return ((CharSequence) src).charAt(index);
+    }
+
+    /**
+     * 两个本地时间在格式包含的字段上是否一致，用于严格模式判断夏令时空档
+     */
+    boolean sameFields(long localMillis, long otherLocalMillis) {
+        long date = civil(Math.floorDiv(localMillis, MILLIS_PER_DAY));
+        long otherDate = civil(Math.floorDiv(otherLocalMillis, MILLIS_PER_DAY));
+        int time = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+        int otherTime = (int) Math.floorMod(otherLocalMillis, MILLIS_PER_DAY);
+        for (int kind : kinds) {
+            boolean same;
+            switch (kind) {
+                case YEAR:
+                    same = date / 10000 == otherDate / 10000;
+                    break;
+                case MONTH:
+                    same = date / 100 % 100 == otherDate / 100 % 100;
+                    break;
+                case DAY:
+                    same = date % 100 == otherDate % 100;
+                    break;
+                case HOUR:
+                    same = time / 3600000 == otherTime / 3600000;
+                    break;
+                case MINUTE:
+                    same = time / 60000 % 60 == otherTime / 60000 % 60;
+                    break;
+                case SECOND:
+                    same = time / 1000 % 60 == otherTime / 1000 % 60;
+                    break;
+                case MILLIS:
+                    same = time % 1000 == otherTime % 1000;
+                    break;
+                default:
+                    same = true;
+                    break;
+            }
+            if (!same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 1970-01-01起的天数转为公历日期，结果按 年*10000+月*100+日 打包
+     * <p>
+     * 算法见 Howard Hinnant, "chrono-Compatible Low-Level Date Algorithms"
+     */
+    static long civil(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int doe = (int) (z - era * 146097);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * 公历年月日转为1970-01-01起的天数
+     */
+    static long epochDay(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        int mp = month > 2 ? month - 3 : month + 9;
+        long doy = (153 * mp + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 写入非负整数，不足width位时左补0
+     */
+    static int writeDigits(int value, int width, char[] buf, int pos) {
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int length = Math.max(digits, width);
+        int end = pos + length;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+}
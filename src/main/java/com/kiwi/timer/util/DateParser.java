@@ -0,0 +1,212 @@
+package com.kiwi.timer.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 不抛异常的日期解析器，按格式缓存
+ * <p>
+ * 直接读取CharSequence、char[]、byte[]或ByteBuffer的区间，可以从大缓冲区中解析而不必截取子串；
+ * 结果为毫秒数，失败时返回{@link #INVALID}。支持的格式同{@link DateFormatter}的数字类格式，
+ * 批量方法按分隔符切分文本后逐段解析到long[]，或把字符串数组解析为long[](长度达到{@link DateFormatter#PARALLEL_THRESHOLD}时并行)。
+ * 1583年以前也按公历推算(SimpleDateFormat为儒略历)，时区为类加载时JVM的默认时区，夏令时切换处的本地时间按Calendar的规则处理。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class DateParser {
+    /**
+     * 解析失败
+     */
+    public static final long INVALID = DateLayout.INVALID;
+
+    private static final int MAX_CACHED = 256;
+    private static final ConcurrentMap<String, DateParser> LENIENT = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, DateParser> STRICT = new ConcurrentHashMap<>();
+    private static final ZoneOffsets ZONE = ZoneOffsets.systemDefault();
+
+    private final DateLayout layout;
+    private final boolean lenient;
+
+    private DateParser(DateLayout layout, boolean lenient) {
+        this.layout = layout;
+        this.lenient = lenient;
+    }
+
+    /**
+     * 是否支持该格式
+     */
+    public static boolean isSupported(String pattern) {
+        return lookup(pattern, true).layout != null;
+    }
+
+    /**
+     * 宽松模式的解析器，与SimpleDateFormat的默认行为一致
+     *
+     * @param pattern 格式
+     * @return
+     * @throws IllegalArgumentException 格式不支持
+     */
+    public static DateParser ofPattern(String pattern) {
+        return ofPattern(pattern, true);
+    }
+
+    /**
+     * 取得指定格式的解析器
+     *
+     * @param pattern 格式
+     * @param lenient false时超出范围的字段(如2月30日)视为失败，同SimpleDateFormat.setLenient(false)
+     * @return
+     * @throws IllegalArgumentException 格式不支持
+     */
+    public static DateParser ofPattern(String pattern, boolean lenient) {
+        DateParser parser = lookup(pattern, lenient);
+        if (parser.layout == null) {
+            throw new IllegalArgumentException("Unsupported pattern: " + pattern);
+        }
+        return parser;
+    }
+
+    /**
+     * 不支持的格式也缓存下来(layout为null)，避免重复编译
+     */
+    private static DateParser lookup(String pattern, boolean lenient) {
+        ConcurrentMap<String, DateParser> cache = lenient ? LENIENT : STRICT;
+        DateParser parser = cache.get(pattern);
+        if (parser == null) {
+            parser = new DateParser(DateLayout.compile(pattern), lenient);
+            if (cache.size() < MAX_CACHED) {
+                DateParser existing = cache.putIfAbsent(pattern, parser);
+                if (existing != null) {
+                    parser = existing;
+                }
+            }
+        }
+        return parser;
+    }
+
+    public String getPattern() {
+        return layout.pattern();
+    }
+
+    public boolean isLenient() {
+        return lenient;
+    }
+
+    public long parse(CharSequence text) {
+        return toEpochMillis(layout.parse(text, 0, text.length(), lenient, false));
+    }
+
+    public long parse(CharSequence text, int from, int to) {
+        return toEpochMillis(layout.parse(text, from, to, lenient, false));
+    }
+
+    public long parse(char[] text, int from, int to) {
+        return toEpochMillis(layout.parse(text, from, to, lenient, false));
+    }
+
+    /**
+     * 按ASCII解析字节区间
+     */
+    public long parse(byte[] text, int from, int to) {
+        return toEpochMillis(layout.parse(text, from, to, lenient, false));
+    }
+
+    /**
+     * 按ASCII解析ByteBuffer中[from, to)的字节，按绝对位置读取，不改变position，可直接解析内存映射的文件
+     */
+    public long parse(ByteBuffer text, int from, int to) {
+        return toEpochMillis(layout.parse(text, from, to, lenient, false));
+    }
+
+    /**
+     * 批量解析，null或非法的元素为{@link #INVALID}，长度达到{@link DateFormatter#PARALLEL_THRESHOLD}时并行
+     */
+    public long[] parseAll(CharSequence[] texts) {
+        long[] result = new long[texts.length];
+        if (texts.length >= DateFormatter.PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(result, i -> texts[i] == null ? INVALID : parse(texts[i]));
+        } else {
+            for (int i = 0; i < texts.length; i++) {
+                result[i] = texts[i] == null ? INVALID : parse(texts[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 把text[from, to)按分隔符切分后逐段解析，依次写入dst，非法的段为{@link #INVALID}
+     *
+     * @return 写入后dst中的位置
+     * @throws ArrayIndexOutOfBoundsException dst空间不足
+     */
+    public int parseAll(CharSequence text, int from, int to, char delimiter, long[] dst, int pos) {
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || text.charAt(i) == delimiter) {
+                dst[pos++] = parse(text, start, i);
+                start = i + 1;
+            }
+        }
+        return pos;
+    }
+
+    public int parseAll(char[] text, int from, int to, char delimiter, long[] dst, int pos) {
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || text[i] == delimiter) {
+                dst[pos++] = parse(text, start, i);
+                start = i + 1;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * 按ASCII切分并解析字节区间
+     */
+    public int parseAll(byte[] text, int from, int to, byte delimiter, long[] dst, int pos) {
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || text[i] == delimiter) {
+                dst[pos++] = parse(text, start, i);
+                start = i + 1;
+            }
+        }
+        return pos;
+    }
+
+    public boolean isValid(CharSequence text) {
+        return parse(text) != INVALID;
+    }
+
+    /**
+     * 供DateTimeUtil兼容原实现：年份早于1583年时返回{@link DateLayout#JULIAN}，由调用方交给SimpleDateFormat
+     */
+    long parseGregorian(CharSequence text) {
+        long local = layout.parse(text, 0, text.length(), lenient, true);
+        return local == DateLayout.JULIAN ? local : toEpochMillis(local);
+    }
+
+    /**
+     * 本地时间转为UTC毫秒数，与Calendar(ZoneInfo.getOffsetsByWall)的规则一致：
+     * 夏令时结束重叠的一小时取切换后的偏移，夏令时开始跳过的空档取切换前的偏移
+     */
+    private long toEpochMillis(long localMillis) {
+        if (localMillis == INVALID) {
+            return INVALID;
+        }
+        long epochMillis = ZONE.toEpochMillis(localMillis);
+        if (lenient) {
+            return epochMillis;
+        }
+        // 落在空档内时Calendar按切换前的偏移计算；严格模式下如果格式中的字段因此改变则非法
+        long actual = ZONE.toLocalMillis(epochMillis);
+        if (actual != localMillis && !layout.sameFields(localMillis, actual)) {
+            return INVALID;
+        }
+        return epochMillis;
+    }
+}
@@ -8,7 +8,7 @@ import java.util.GregorianCalendar;
 import java.util.Map;
 
 /**
- * 时间转换工具，注意该类不是线程安全的
+ * 时间转换工具，线程安全
  *
  * @author wangjunfeng
  * @newDate 2011-3-23
@@ -21,9 +21,15 @@ public final class DateTimeUtil {
     private static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
     private static final String DATE_TIME_FORMAT_1 = "yyyyMMddHHmmss";
     private static final String TIME_ONLY_FORMAT = "HH:mm:ss";
-    private static final String YEAR_ONLY_FORMAT = "yyyy";
-    private static final SimpleDateFormat longDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-    private static final SimpleDateFormat shortDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    private static final DateFormatter longDateFormat = DateFormatter.ofPattern(DATE_TIME_FORMAT);
+    /**
+     * 公历切换(1582-10-15)再留一天余量，之前的日期仍交给SimpleDateFormat按儒略历解析
+     */
+    private static final long GREGORIAN_CUTOVER = -12219292800000L + 24L * 60 * 60 * 1000;
+    /**
+     * {@link #fastParse}无法处理，需要走SimpleDateFormat
+     */
+    private static final long LEGACY = Long.MAX_VALUE;
 
     private DateTimeUtil() {
 
@@ -35,7 +41,7 @@ public final class DateTimeUtil {
      * @return
      */
     public static Date getCurrentDate() {
-        return new Date();
+        return TimerClock.getDefault().date();
     }
 
 
@@ -45,21 +51,11 @@ public final class DateTimeUtil {
      * @author wangjunfeng
      */
     public static Date getCurrentZeroDate() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, 00);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(TimerClock.getDefault().snapshot().getStartOfDayMillis());
     }
 
     public static String getDayBefore(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.add(Calendar.DAY_OF_MONTH, -1);
-        date = calendar.getTime();
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        return sdf.format(date);
+        return longDateFormat.format(EpochMillis.plusDaysMillis(date.getTime(), -1));
     }
 
     /**
@@ -71,13 +67,7 @@ public final class DateTimeUtil {
      * @date 2017年3月14日
      */
     public static Date getZeroDate(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.HOUR_OF_DAY, 00);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(EpochMillis.startOfDayMillis(date.getTime()));
     }
 
     /**
@@ -93,6 +83,26 @@ public final class DateTimeUtil {
         return DateTimeUtil.toDateStr(date, DATE_TIME_FORMAT);
     }
 
+    /**
+     * 批量返回日期格式(yyyy-MM-dd HH:mm:ss)，null为空字符串
+     *
+     * @param dates 日期
+     * @return
+     */
+    public static String[] toDateTimeStr(Date[] dates) {
+        return longDateFormat.formatAll(dates);
+    }
+
+    /**
+     * 批量返回日期格式(yyyy-MM-dd HH:mm:ss)
+     *
+     * @param timeMillis 时间
+     * @return
+     */
+    public static String[] toDateTimeStr(long[] timeMillis) {
+        return longDateFormat.formatAll(timeMillis);
+    }
+
     /**
      * 返回日期格式(yyyyMMddHHmmss)
      *
@@ -183,19 +193,17 @@ public final class DateTimeUtil {
         if (date == null) {
             return "";
         }
-        // 得到yyyy-mm-dd格式日期格式
-        String dateStr = toDateStr(date);
-        StringBuffer sb = new StringBuffer();
-        if (dateStr != null && dateStr.length() > 0) {
-            String[] newStr = dateStr.split("-");
-            // 得到月
-            int month = Integer.valueOf(newStr[1]);
-            // 得到日
-            int day = Integer.valueOf(newStr[2]);
-            sb.append(newStr[0]).append("年");
-            sb.append(month).append("月").append(day).append("日");
+        long millis = date.getTime();
+        if (millis < GREGORIAN_CUTOVER) {
+            // 儒略历日期，按原方式取yyyy-MM-dd再拆分
+            String[] fields = toDateStr(date).split("-");
+            return fields[0] + "年" + Integer.parseInt(fields[1]) + "月" + Integer.parseInt(fields[2]) + "日";
         }
-        return sb.toString();
+        long civil = DateLayout.civil(EpochMillis.epochDay(millis));
+        return new StringBuilder(11).append(civil / 10000).append('年')
+                .append(CalendarNames.chineseMonth((int) (civil / 100 % 100)))
+                .append(CalendarNames.chineseDay((int) (civil % 100)))
+                .toString();
     }
 
     /**
@@ -206,8 +214,7 @@ public final class DateTimeUtil {
      * @return
      */
     public static int getCurrentHour() {
-        Calendar calendar = new GregorianCalendar();
-        return calendar.get(Calendar.HOUR_OF_DAY);
+        return TimerClock.getDefault().snapshot().getHour();
     }
 
     /**
@@ -218,8 +225,7 @@ public final class DateTimeUtil {
      * @return
      */
     public static int getCurrentMinutes() {
-        Calendar calendar = new GregorianCalendar();
-        return calendar.get(Calendar.MINUTE);
+        return TimerClock.getDefault().snapshot().getMinute();
     }
 
     /**
@@ -231,6 +237,7 @@ public final class DateTimeUtil {
      */
     public static String getMonthFirstDay() {
         Calendar calendar = new GregorianCalendar();
+        calendar.setTimeInMillis(TimerClock.getDefault().millis());
         int day = calendar.get(Calendar.DAY_OF_MONTH);
         int month = 0;
         if (day == 1) {
@@ -252,13 +259,7 @@ public final class DateTimeUtil {
      * @date 2013-3-20
      */
     public static Date getFristDayOfMonth() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        return calendar.getTime();
+        return new Date(EpochMillis.firstDayOfMonthMillis(TimerClock.getDefault().millis()));
     }
 
     /**
@@ -270,14 +271,7 @@ public final class DateTimeUtil {
      * @date 2014年9月29日
      */
     public static Date getFristDayOfMonth(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(EpochMillis.firstDayOfMonthMillis(date.getTime()));
     }
 
     /**
@@ -288,15 +282,7 @@ public final class DateTimeUtil {
      * @date 2013-3-20
      */
     public static Date getLastDayOfMonth(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) + 1);
-        calendar.set(Calendar.DAY_OF_MONTH, 0);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(EpochMillis.lastDayOfMonthMillis(date.getTime()));
     }
 
     /**
@@ -307,14 +293,7 @@ public final class DateTimeUtil {
      * @date 2013-3-20
      */
     public static Date getLastDayOfMonth() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) + 1);
-        calendar.set(Calendar.DAY_OF_MONTH, 0);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(EpochMillis.lastDayOfMonthMillis(TimerClock.getDefault().millis()));
     }
 
     /**
@@ -326,9 +305,7 @@ public final class DateTimeUtil {
      * @date 2013-3-20
      */
     public static Date getAddDays(int days) {
-        Calendar calendar = new GregorianCalendar();
-        calendar.add(Calendar.DAY_OF_YEAR, days);
-        return calendar.getTime();
+        return new Date(EpochMillis.plusDaysMillis(TimerClock.getDefault().millis(), days));
     }
 
     public static Date getAddDays(Date date, int days) {
@@ -336,21 +313,15 @@ public final class DateTimeUtil {
     }
 
     public static Date getAddMonths(Date date, int months) {
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        c.add(Calendar.MONTH, months); // 设置时间加一个月
-        return c.getTime();
+        return new Date(EpochMillis.plusMonthsMillis(date.getTime(), months));
     }
 
     public static Date getAddYears(Date date, int years) {
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        c.add(Calendar.YEAR, years); // 设置时间加一年
-        return c.getTime();
+        return new Date(EpochMillis.plusYearsMillis(date.getTime(), years));
     }
 
     public static Date getAddMinutes(Date date, int minutes) {
-        return new Date(date.getTime() + 1000L * 60 * minutes);
+        return new Date(EpochMillis.plusMinutesMillis(date.getTime(), minutes));
     }
 
     /**
@@ -362,9 +333,8 @@ public final class DateTimeUtil {
      * @date 2013-3-20
      */
     public static String getAfterMonth(int monthNum) {
-        Calendar calendar = new GregorianCalendar();
-        calendar.add(Calendar.MONTH, monthNum);
-        return DateTimeUtil.toDateStr(calendar.getTime(), DATE_FORMAT);
+        long millis = EpochMillis.plusMonthsMillis(TimerClock.getDefault().millis(), monthNum);
+        return DateTimeUtil.toDateStr(new Date(millis), DATE_FORMAT);
     }
 
     /**
@@ -380,7 +350,7 @@ public final class DateTimeUtil {
     }
 
     public static long getCurrentYear() {
-        return Long.parseLong(DateTimeUtil.toDateStr(new Date(), YEAR_ONLY_FORMAT));
+        return TimerClock.getDefault().snapshot().getYear();
     }
 
     /**
@@ -403,6 +373,10 @@ public final class DateTimeUtil {
      * @author wangjunfeng
      */
     public static boolean isDateStringCorrect(String date, String format) {
+        long millis = fastParse(date, format, false);
+        if (millis != LEGACY) {
+            return millis != DateParser.INVALID;
+        }
         SimpleDateFormat df = new SimpleDateFormat(format);
 
         try {
@@ -418,6 +392,7 @@ public final class DateTimeUtil {
      * <p/>
      * 将字符串类型的日期格式 转换为 符合要求的日期格式
      * </P>
+     * 整个文件中的日期列使用{@link DateColumnNormalizer}，不必逐行转换
      *
      * @param date   日期
      * @param format 格式
@@ -427,6 +402,12 @@ public final class DateTimeUtil {
         if (date == null || "".equals(date.trim())) {
             return "";
         } else {
+            long millis = fastParse(date, format, true);
+            if (millis == DateParser.INVALID) {
+                return "";
+            } else if (millis != LEGACY) {
+                return DateFormatter.ofPattern(format).format(millis);
+            }
             SimpleDateFormat df = new SimpleDateFormat(format);
             try {
                 Date d = df.parse(date);
@@ -451,8 +432,7 @@ public final class DateTimeUtil {
             return "";
         } else {
             try {
-                SimpleDateFormat df = new SimpleDateFormat(format);
-                return df.format(date);
+                return DateFormatter.ofPattern(format).format(date);
             } catch (Exception e) {
                 e.printStackTrace();
                 return "";
@@ -473,6 +453,12 @@ public final class DateTimeUtil {
         if (date == null || "".equals(date.trim())) {
             return null;
         } else {
+            long millis = fastParse(date, format, true);
+            if (millis == DateParser.INVALID) {
+                return null;
+            } else if (millis != LEGACY) {
+                return new Date(millis);
+            }
             SimpleDateFormat df = new SimpleDateFormat(format);
             try {
                 return df.parse(date);
@@ -492,16 +478,42 @@ public final class DateTimeUtil {
      * @return
      */
     public static Date strToDate(String date) {
-        if (date == null || "".equals(date.trim())) {
-            return null;
-        } else {
-            SimpleDateFormat df = new SimpleDateFormat(DATE_FORMAT_1);
-            try {
-                return df.parse(date);
-            } catch (ParseException e) {
-                return null;
+        return strToDate(date, DATE_FORMAT_1);
+    }
+
+    /**
+     * 时区、历法都是默认值，解析结果与DateParser一致；两位年份可能改过世纪起点，不在此列
+     */
+    private static boolean isDefaultFormat(SimpleDateFormat format) {
+        if (!(format.getCalendar() instanceof GregorianCalendar)
+                || !format.getTimeZone().getID().equals(ZoneOffsets.systemDefault().getZone().getId())) {
+            return false;
+        }
+        String pattern = format.toPattern();
+        int run = 0;
+        for (int i = 0; i <= pattern.length(); i++) {
+            if (i < pattern.length() && pattern.charAt(i) == 'y') {
+                run++;
+            } else if (run == 2) {
+                return false;
+            } else {
+                run = 0;
             }
         }
+        return true;
+    }
+
+    /**
+     * 用DateParser解析，不抛异常
+     *
+     * @return 毫秒数；解析失败返回DateParser.INVALID；格式不支持或早于公历切换返回LEGACY，由调用方走SimpleDateFormat
+     */
+    private static long fastParse(String date, String format, boolean lenient) {
+        if (!DateParser.isSupported(format)) {
+            return LEGACY;
+        }
+        long millis = DateParser.ofPattern(format, lenient).parseGregorian(date);
+        return millis == DateParser.INVALID || millis >= GREGORIAN_CUTOVER ? millis : LEGACY;
     }
 
     /**
@@ -512,15 +524,22 @@ public final class DateTimeUtil {
      * @param beginStr 起始日期
      * @param endStr   结束日期
      * @param format   根据 日期参数的格式，传对应的SimpleDateFormat格式
-     * @return 天数
+     * @return 天数，计算同{@link #getDaysInterval(Date, Date)}
      */
     public static int getDaysInterval(String beginStr, String endStr, SimpleDateFormat format) {
-
+        if (beginStr != null && endStr != null && isDefaultFormat(format)) {
+            String pattern = format.toPattern();
+            long begin = fastParse(beginStr, pattern, format.isLenient());
+            long end = fastParse(endStr, pattern, format.isLenient());
+            // 解析失败也走原来的路径，异常和日志保持不变
+            if (begin != LEGACY && end != LEGACY && begin != DateParser.INVALID && end != DateParser.INVALID) {
+                return EpochMillis.daysBetween(begin, end);
+            }
+        }
         try {
             Date beginDate = format.parse(beginStr);
             Date endDate = format.parse(endStr);
-            long millisecond = endDate.getTime() - beginDate.getTime(); // 日期相减得到日期差X(单位:毫秒)
-            return (int) (millisecond / (1000 * 60 * 60 * 24));
+            return EpochMillis.daysBetween(beginDate.getTime(), endDate.getTime(), format.getTimeZone().toZoneId());
         } catch (ParseException e) {
             e.printStackTrace();
         }
@@ -534,11 +553,10 @@ public final class DateTimeUtil {
      *
      * @param begin 起始日期
      * @param end   结束日期
-     * @return 天数
+     * @return 天数，不足一天的部分舍去，跨夏令时切换时按日历天计算
      */
     public static int getDaysInterval(Date begin, Date end) {
-        long millisecond = end.getTime() - begin.getTime(); // 日期相减得到日期差X(单位:毫秒)
-        return (int) (millisecond / (1000 * 60 * 60 * 24));
+        return EpochMillis.daysBetween(begin.getTime(), end.getTime());
     }
 
     /**
@@ -549,9 +567,7 @@ public final class DateTimeUtil {
      * @date 2012-3-30
      */
     public static String getYear() {
-        Calendar c = Calendar.getInstance();
-        c.setTime(new Date());
-        return Integer.toString(c.get(Calendar.YEAR));
+        return TimerClock.getDefault().snapshot().getYearText();
     }
 
     /**
@@ -562,9 +578,7 @@ public final class DateTimeUtil {
      * @date 2012-3-30
      */
     public static String getMonth() {
-        Calendar c = Calendar.getInstance();
-        c.setTime(new Date());
-        return Integer.toString(c.get(Calendar.MONTH) + 1);
+        return TimerClock.getDefault().snapshot().getMonthText();
     }
 
     public static String getMonth(Date date) {
@@ -581,13 +595,11 @@ public final class DateTimeUtil {
      * @date 2012-3-30
      */
     public static String getDay() {
-        Calendar c = Calendar.getInstance();
-        c.setTime(new Date());
-        return Integer.toString(c.get(Calendar.DATE));
+        return TimerClock.getDefault().snapshot().getDayText();
     }
 
     /**
-     * 将日期格式化为yyyyMMddTHHmmssZ
+     * 将日期格式化为yyyyMMddTHHmmssZ，文件中的日期列可用{@link DateColumnNormalizer}按yyyyMMdd'T'HHmmss'Z'转换
      *
      * @param date yyyy-MM-dd HH:mm:ss
      * @return String
@@ -607,26 +619,14 @@ public final class DateTimeUtil {
      * 取当天零点零分零秒
      */
     public static String getTodayStart() {
-        Calendar calendar = Calendar.getInstance();
-        // 如果没有这种设定的话回去系统的当期的时间
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        Date date = new Date(calendar.getTimeInMillis());
-        return longDateFormat.format(date);
+        return TimerClock.getDefault().snapshot().getStartOfDayText();
     }
 
     /**
      * 取当天23点59分59秒
      */
     public static String getTodayEnd() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        Date date = new Date(calendar.getTimeInMillis());
-        return longDateFormat.format(date);
+        return TimerClock.getDefault().snapshot().getEndOfDayText();
     }
 
 
@@ -634,21 +634,31 @@ public final class DateTimeUtil {
      * 根据传来的日期获取最后时间
      */
     public static Date getEndTimeByDate(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        return calendar.getTime();
+        return new Date(lastSecondOfDay(date.getTime()));
     }
 
 
-    @SuppressWarnings("deprecation")
+    /**
+     * 当天23点59分59秒，毫秒保持不变
+     */
+    private static long lastSecondOfDay(long millis) {
+        return EpochMillis.endOfDayMillis(millis) - 999 + Math.floorMod(millis, 1000L);
+    }
+
+    /**
+     * 上个月的天数
+     * <p>
+     * 原实现把Date.getMonth()当作1-12再减1，取到的是上个月，调用方已按此结果使用，保持不变
+     */
     public static int getMonthOfDayNum(Date date) {
-        Calendar cal = Calendar.getInstance();
-        cal.set(Calendar.YEAR, date.getYear());
-        cal.set(Calendar.MONTH, date.getMonth() - 1);// 7月
-        return cal.getActualMaximum(Calendar.DATE);
+        long civil = EpochMillis.civilDate(EpochMillis.epochDay(date.getTime()));
+        int year = (int) (civil / 10000);
+        int month = (int) (civil / 100 % 100) - 1;
+        if (month == 0) {
+            year--;
+            month = 12;
+        }
+        return EpochMillis.lengthOfMonth(year, month);
     }
 
     /**
@@ -658,11 +668,9 @@ public final class DateTimeUtil {
         if (null == strDate || "".equals(strDate.trim())) {
             return "";
         }
-        Date date = null;
-        try {
-            date = shortDateFormat.parse(strDate);
-        } catch (ParseException e) {
-            e.printStackTrace();
+        Date date = strToDate(strDate);
+        if (date == null) {
+            return "";
         }
         return longDateFormat.format(date);
     }
@@ -674,42 +682,21 @@ public final class DateTimeUtil {
         if (null == strDate || "".equals(strDate.trim())) {
             return "";
         }
-        Date date = null;
-        try {
-            date = shortDateFormat.parse(strDate);
-        } catch (ParseException e) {
-            e.printStackTrace();
+        Date date = strToDate(strDate);
+        if (date == null) {
+            return "";
         }
 
         // 这样能够取到59分59秒
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 0);
-
-        return longDateFormat.format(calendar.getTime());
+        return longDateFormat.format(EpochMillis.endOfDayMillis(date.getTime()) - 999);
     }
 
     public static Date getStartTime(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.HOUR, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(EpochMillis.startOfDayMillis(date.getTime()));
     }
 
     public static Date getEndTime(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.HOUR, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
-        return calendar.getTime();
+        return new Date(EpochMillis.endOfDayMillis(date.getTime()));
     }
 
     /**
@@ -761,10 +748,16 @@ public final class DateTimeUtil {
         return currYearFirst;
     }
 
+    /**
+     * 两个时间段是否重叠，首尾相接不算；大量时间段互相比较用{@link IntervalIndex}
+     */
     public static boolean timePeriodCoincide(Date aStartDate, Date aEndDate, Date bStartDate, Date bEndDate) {
         return aEndDate.after(bStartDate) && bEndDate.after(aStartDate);
     }
 
+    /**
+     * 两个时间段是否重叠，首尾相接也算；大量时间段互相比较用{@link IntervalIndex}
+     */
     public static boolean isOverlap(Map<String, Date> dateMap1, Map<String, Date> dateMap2) {
         if (null == dateMap1 || dateMap1.size() == 0) {
             return false;
@@ -788,47 +781,14 @@ public final class DateTimeUtil {
      * @date 2016年12月13日
      */
     public static int getDayOfWeek(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        int x = calendar.get(Calendar.DAY_OF_WEEK) - 1;
-        return x;
+        return CalendarNames.dayOfWeekAt(date.getTime());
     }
 
+    /**
+     * 相隔的月数，计算规则见{@link EpochMillis#monthSpace(long, long)}
+     */
     public static int getMonthSpace(Date begin, Date end) {
-        int result = 0;
-        Calendar c1 = Calendar.getInstance();
-        Calendar c2 = Calendar.getInstance();
-        c1.setTime(begin);
-        c2.setTime(end);
-        result = (c2.get(Calendar.YEAR) - c1.get(Calendar.YEAR)) * 12
-                + (c2.get(Calendar.MONTH) - c1.get(Calendar.MONTH));
-        int dayMonths = c2.get(Calendar.DAY_OF_MONTH) - c1.get(Calendar.DAY_OF_MONTH);
-        if (dayMonths < 0) {
-            result--;
-        } else if (dayMonths > 0) {
-            result++;
-        } else {// 日期相同,时间不同情况
-            int hourDays = c2.get(Calendar.HOUR_OF_DAY) - c1.get(Calendar.HOUR_OF_DAY);
-            if (hourDays > 0) {// 判断小时
-                result++;
-            } else if (hourDays == 0) {// 判断分钟
-                int minHours = c2.get(Calendar.MINUTE) - c1.get(Calendar.MINUTE);
-                if (minHours > 0) {
-                    result++;
-                } else if (minHours == 0) {// 判断秒
-                    int secMins = c2.get(Calendar.SECOND) - c1.get(Calendar.SECOND);
-                    if (secMins > 0) {
-                        result++;
-                    } else if (secMins == 0) {// 判断毫秒
-                        int millSecs = c2.get(Calendar.MILLISECOND) - c1.get(Calendar.MILLISECOND);
-                        if (millSecs > 0) {
-                            result++;
-                        }
-                    }
-                }
-            }
-        }
-        return result == 0 ? 1 : Math.abs(result);
+        return EpochMillis.monthSpace(begin.getTime(), end.getTime());
     }
 
     /**
@@ -840,48 +800,11 @@ public final class DateTimeUtil {
      * @date 2017年5月22日
      */
     public static String getDateOfWeek(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        int x = calendar.get(Calendar.DAY_OF_WEEK) - 1;
-        String weekName = "";
-        switch (x) {
-            case 1:
-                weekName = "周一";
-                break;
-            case 2:
-                weekName = "周二";
-                break;
-            case 3:
-                weekName = "周三";
-                break;
-            case 4:
-                weekName = "周四";
-                break;
-            case 5:
-                weekName = "周五";
-                break;
-            case 6:
-                weekName = "周六";
-                break;
-            case 0:
-                weekName = "周日";
-                break;
-            default:
-                weekName = "未知";
-                break;
-        }
-        return weekName;
+        return CalendarNames.CHINESE.shortWeekday(CalendarNames.dayOfWeekAt(date.getTime()));
     }
 
     public static Date getFristDayOfYear(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.DAY_OF_YEAR, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return new Date(EpochMillis.firstDayOfYearMillis(date.getTime()));
     }
 
     public static void main(String[] args) throws Exception {
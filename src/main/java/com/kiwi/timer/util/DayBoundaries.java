@@ -0,0 +1,166 @@
+package com.kiwi.timer.util;
+
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按时区预先计算的每日零点表
+ * <p>
+ * 初始覆盖当前日期前后{@link #WINDOW_DAYS}天，查询超出范围时按需扩展(1900年至2100年以内)。
+ * 查询先由{@link ZoneOffsets}得到本地日期，再按下标取表，零点的计算规则与Calendar一致(零点落在夏令时空档时同Calendar)。
+ * 表为不可变数组，扩展时整体替换，读取无锁。
+ * <p>
+ * 窗口天数可通过系统属性 timer.day-boundaries.window-days 配置。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class DayBoundaries {
+    /**
+     * 初始及每次扩展覆盖的天数
+     */
+    public static final int WINDOW_DAYS = Integer.getInteger("timer.day-boundaries.window-days", 400);
+
+    private static final long MILLIS_PER_DAY = EpochMillis.MILLIS_PER_DAY;
+    /**
+     * 1900-01-02 至 2099-12-30，与ZoneOffsets的缓存范围一致，之外直接计算
+     */
+    private static final long MIN_DAY = -25566L;
+    private static final long MAX_DAY = 47479L;
+    private static final ConcurrentMap<ZoneId, DayBoundaries> CACHE = new ConcurrentHashMap<>();
+    private static final DayBoundaries SYSTEM_DEFAULT = new DayBoundaries(ZoneOffsets.systemDefault());
+
+    private final ZoneOffsets offsets;
+    private volatile Table table;
+
+    private DayBoundaries(ZoneOffsets offsets) {
+        this.offsets = offsets;
+        long today = Math.floorDiv(offsets.toLocalMillis(System.currentTimeMillis()), MILLIS_PER_DAY);
+        long firstDay = Math.max(MIN_DAY, today - WINDOW_DAYS);
+        long lastDay = Math.min(MAX_DAY, today + WINDOW_DAYS);
+        this.table = build(null, firstDay, Math.max(firstDay, lastDay));
+    }
+
+    /**
+     * JVM默认时区(类加载时)
+     */
+    public static DayBoundaries systemDefault() {
+        return SYSTEM_DEFAULT;
+    }
+
+    public static DayBoundaries of(ZoneId zone) {
+        ZoneOffsets offsets = ZoneOffsets.of(zone);
+        if (offsets == ZoneOffsets.systemDefault()) {
+            return SYSTEM_DEFAULT;
+        }
+        return CACHE.computeIfAbsent(zone, key -> new DayBoundaries(offsets));
+    }
+
+    public ZoneId getZone() {
+        return offsets.getZone();
+    }
+
+    /**
+     * 当天零点
+     */
+    public long startOfDayMillis(long epochMillis) {
+        long day = Math.floorDiv(offsets.toLocalMillis(epochMillis), MILLIS_PER_DAY);
+        Table current = lookup(day);
+        if (current == null) {
+            return offsets.toEpochMillis(day * MILLIS_PER_DAY);
+        }
+        return current.starts[(int) (day - current.firstDay)];
+    }
+
+    /**
+     * 当天23点59分59秒999毫秒
+     * <p>
+     * 不一定是次日零点的前一毫秒：次日零点落在夏令时结束重叠的时段内时，零点取第二次出现，23点59分只出现一次
+     */
+    public long endOfDayMillis(long epochMillis) {
+        long day = Math.floorDiv(offsets.toLocalMillis(epochMillis), MILLIS_PER_DAY);
+        Table current = lookup(day);
+        if (current == null) {
+            return offsets.toEpochMillis(day * MILLIS_PER_DAY + MILLIS_PER_DAY - 1);
+        }
+        return current.ends[(int) (day - current.firstDay)];
+    }
+
+    /**
+     * 当前覆盖的本地日期范围(epoch-day)，含两端
+     */
+    public long firstDay() {
+        return table.firstDay;
+    }
+
+    public long lastDay() {
+        Table current = table;
+        return current.firstDay + current.starts.length - 1;
+    }
+
+    private Table lookup(long day) {
+        Table current = table;
+        if (day >= current.firstDay && day - current.firstDay < current.starts.length) {
+            return current;
+        }
+        if (day < MIN_DAY || day > MAX_DAY) {
+            return null;
+        }
+        return extend(day);
+    }
+
+    private synchronized Table extend(long day) {
+        Table current = table;
+        long firstDay = current.firstDay;
+        long lastDay = current.firstDay + current.starts.length - 1;
+        if (day >= firstDay && day <= lastDay) {
+            return current;
+        }
+        if (day < firstDay) {
+            firstDay = Math.max(MIN_DAY, day - WINDOW_DAYS);
+        } else {
+            lastDay = Math.min(MAX_DAY, day + WINDOW_DAYS);
+        }
+        current = build(current, firstDay, lastDay);
+        table = current;
+        return current;
+    }
+
+    /**
+     * 旧表已有的部分直接复制
+     */
+    private Table build(Table previous, long firstDay, long lastDay) {
+        long[] starts = new long[(int) (lastDay - firstDay + 1)];
+        long[] ends = new long[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            long day = firstDay + i;
+            int old = previous == null ? -1 : (int) (day - previous.firstDay);
+            if (old >= 0 && old < previous.starts.length) {
+                starts[i] = previous.starts[old];
+                ends[i] = previous.ends[old];
+            } else {
+                starts[i] = offsets.toEpochMillis(day * MILLIS_PER_DAY);
+                ends[i] = offsets.toEpochMillis(day * MILLIS_PER_DAY + MILLIS_PER_DAY - 1);
+            }
+        }
+        return new Table(firstDay, starts, ends);
+    }
+
+    @Override
+    public String toString() {
+        return "DayBoundaries[" + getZone() + ", " + firstDay() + ".." + lastDay() + "]";
+    }
+
+    private static final class Table {
+        private final long firstDay;
+        private final long[] starts;
+        private final long[] ends;
+
+        private Table(long firstDay, long[] starts, long[] ends) {
+            this.firstDay = firstDay;
+            this.starts = starts;
+            this.ends = ends;
+        }
+    }
+}
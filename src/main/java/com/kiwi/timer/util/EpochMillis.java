@@ -0,0 +1,271 @@
+package com.kiwi.timer.util;
+
+import java.time.ZoneId;
+
+/**
+ * 基于毫秒数(long)的日期计算，DateTimeUtil中Date/Calendar方法的基本类型版本
+ * <p>
+ * 全部为epoch-day与毫秒数上的整数运算，时区偏移取自{@link ZoneOffsets}的缓存，每日零点取自{@link DayBoundaries}，不产生对象。
+ * 不带ZoneId参数的方法使用JVM默认时区，结果与对应的Calendar写法一致。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class EpochMillis {
+    public static final long MILLIS_PER_SECOND = 1000L;
+    public static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    public static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    public static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    private EpochMillis() {
+
+    }
+
+    /**
+     * 当天零点
+     */
+    public static long startOfDayMillis(long epochMillis) {
+        return DayBoundaries.systemDefault().startOfDayMillis(epochMillis);
+    }
+
+    public static long startOfDayMillis(long epochMillis, ZoneId zone) {
+        return DayBoundaries.of(zone).startOfDayMillis(epochMillis);
+    }
+
+    static long startOfDayMillis(long epochMillis, ZoneOffsets offsets) {
+        long local = offsets.toLocalMillis(epochMillis);
+        return offsets.toEpochMillis(Math.floorDiv(local, MILLIS_PER_DAY) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 当天23点59分59秒999毫秒
+     */
+    public static long endOfDayMillis(long epochMillis) {
+        return DayBoundaries.systemDefault().endOfDayMillis(epochMillis);
+    }
+
+    public static long endOfDayMillis(long epochMillis, ZoneId zone) {
+        return DayBoundaries.of(zone).endOfDayMillis(epochMillis);
+    }
+
+    static long endOfDayMillis(long epochMillis, ZoneOffsets offsets) {
+        long local = offsets.toLocalMillis(epochMillis);
+        return offsets.toEpochMillis(Math.floorDiv(local, MILLIS_PER_DAY) * MILLIS_PER_DAY + MILLIS_PER_DAY - 1);
+    }
+
+    /**
+     * 保留日期，把时间设为指定的时分秒毫秒
+     */
+    public static long withTimeMillis(long epochMillis, int hour, int minute, int second, int millis) {
+        ZoneOffsets offsets = ZoneOffsets.systemDefault();
+        long local = offsets.toLocalMillis(epochMillis);
+        long day = Math.floorDiv(local, MILLIS_PER_DAY) * MILLIS_PER_DAY;
+        return offsets.toEpochMillis(day + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE
+                + second * MILLIS_PER_SECOND + millis);
+    }
+
+    /**
+     * 加减自然日，保持本地时间不变，同Calendar.add(Calendar.DAY_OF_MONTH, days)
+     */
+    public static long plusDaysMillis(long epochMillis, int days) {
+        return plusDaysMillis(epochMillis, days, ZoneOffsets.systemDefault());
+    }
+
+    public static long plusDaysMillis(long epochMillis, int days, ZoneId zone) {
+        return plusDaysMillis(epochMillis, days, ZoneOffsets.of(zone));
+    }
+
+    static long plusDaysMillis(long epochMillis, int days, ZoneOffsets offsets) {
+        int offset = offsets.offsetAt(epochMillis);
+        long local = epochMillis + offset + days * MILLIS_PER_DAY;
+        long result = local - offset;
+        // 跨过夏令时切换时按新的偏移修正，修正后日期变了则保留修正前的结果(Calendar.add的做法)
+        int diff = offset - offsets.offsetAt(result);
+        if (diff != 0) {
+            long adjusted = result + diff;
+            if (Math.floorDiv(offsets.toLocalMillis(adjusted), MILLIS_PER_DAY) == Math.floorDiv(local, MILLIS_PER_DAY)) {
+                result = adjusted;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 加减月份，日超出目标月的天数时取月末，同Calendar.add(Calendar.MONTH, months)
+     */
+    public static long plusMonthsMillis(long epochMillis, int months) {
+        return plusMonthsMillis(epochMillis, months, ZoneOffsets.systemDefault());
+    }
+
+    public static long plusMonthsMillis(long epochMillis, int months, ZoneId zone) {
+        return plusMonthsMillis(epochMillis, months, ZoneOffsets.of(zone));
+    }
+
+    static long plusMonthsMillis(long epochMillis, int months, ZoneOffsets offsets) {
+        if (months == 0) {
+            // 夏令时结束重叠的时段内重新换算会取到另一个偏移，Calendar.add此时不做任何处理
+            return epochMillis;
+        }
+        long local = offsets.toLocalMillis(epochMillis);
+        long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        long date = DateLayout.civil(epochDay);
+        long monthIndex = date / 10000 * 12 + (date / 100 % 100 - 1) + months;
+        long year = Math.floorDiv(monthIndex, 12);
+        int month = (int) Math.floorMod(monthIndex, 12) + 1;
+        int day = (int) Math.min(date % 100, DateLayout.lengthOfMonth((int) year, month));
+        long targetDay = DateLayout.epochDay(year, month, day);
+        return offsets.toEpochMillis(targetDay * MILLIS_PER_DAY + Math.floorMod(local, MILLIS_PER_DAY));
+    }
+
+    /**
+     * 加减年份，同Calendar.add(Calendar.YEAR, years)
+     */
+    public static long plusYearsMillis(long epochMillis, int years) {
+        return plusMonthsMillis(epochMillis, years * 12, ZoneOffsets.systemDefault());
+    }
+
+    public static long plusMinutesMillis(long epochMillis, int minutes) {
+        return epochMillis + minutes * MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * 当月第一天零点
+     */
+    public static long firstDayOfMonthMillis(long epochMillis) {
+        return firstDayOfMonthMillis(epochMillis, ZoneOffsets.systemDefault());
+    }
+
+    public static long firstDayOfMonthMillis(long epochMillis, ZoneId zone) {
+        return firstDayOfMonthMillis(epochMillis, ZoneOffsets.of(zone));
+    }
+
+    static long firstDayOfMonthMillis(long epochMillis, ZoneOffsets offsets) {
+        long epochDay = Math.floorDiv(offsets.toLocalMillis(epochMillis), MILLIS_PER_DAY);
+        long date = DateLayout.civil(epochDay);
+        return offsets.toEpochMillis((epochDay - date % 100 + 1) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 当月最后一天零点
+     */
+    public static long lastDayOfMonthMillis(long epochMillis) {
+        return lastDayOfMonthMillis(epochMillis, ZoneOffsets.systemDefault());
+    }
+
+    public static long lastDayOfMonthMillis(long epochMillis, ZoneId zone) {
+        return lastDayOfMonthMillis(epochMillis, ZoneOffsets.of(zone));
+    }
+
+    static long lastDayOfMonthMillis(long epochMillis, ZoneOffsets offsets) {
+        long epochDay = Math.floorDiv(offsets.toLocalMillis(epochMillis), MILLIS_PER_DAY);
+        long date = DateLayout.civil(epochDay);
+        int length = DateLayout.lengthOfMonth((int) (date / 10000), (int) (date / 100 % 100));
+        return offsets.toEpochMillis((epochDay - date % 100 + length) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 当年第一天零点
+     */
+    public static long firstDayOfYearMillis(long epochMillis) {
+        return firstDayOfYearMillis(epochMillis, ZoneOffsets.systemDefault());
+    }
+
+    public static long firstDayOfYearMillis(long epochMillis, ZoneId zone) {
+        return firstDayOfYearMillis(epochMillis, ZoneOffsets.of(zone));
+    }
+
+    static long firstDayOfYearMillis(long epochMillis, ZoneOffsets offsets) {
+        long date = DateLayout.civil(Math.floorDiv(offsets.toLocalMillis(epochMillis), MILLIS_PER_DAY));
+        return offsets.toEpochMillis(DateLayout.epochDay(date / 10000, 1, 1) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * 相隔的整天数，按本地时间相减后向0取整，不足一天的部分舍去
+     * <p>
+     * 与直接用毫秒数相除不同，跨过夏令时切换时仍按日历天计算，如切换日前后两天的零点相隔1天而不是23或25小时
+     */
+    public static int daysBetween(long begin, long end) {
+        return daysBetween(begin, end, ZoneOffsets.systemDefault());
+    }
+
+    public static int daysBetween(long begin, long end, ZoneId zone) {
+        return daysBetween(begin, end, ZoneOffsets.of(zone));
+    }
+
+    static int daysBetween(long begin, long end, ZoneOffsets offsets) {
+        return (int) ((offsets.toLocalMillis(end) - offsets.toLocalMillis(begin)) / MILLIS_PER_DAY);
+    }
+
+    /**
+     * 相隔的月数，同DateTimeUtil.getMonthSpace：本地年月相减，end的日期晚于begin的日期时加1、早于时减1，
+     * 日期相同时end的时间更晚才加1；结果取绝对值，为0时返回1
+     */
+    public static int monthSpace(long begin, long end) {
+        return monthSpace(begin, end, ZoneOffsets.systemDefault());
+    }
+
+    public static int monthSpace(long begin, long end, ZoneId zone) {
+        return monthSpace(begin, end, ZoneOffsets.of(zone));
+    }
+
+    static int monthSpace(long begin, long end, ZoneOffsets offsets) {
+        long beginLocal = offsets.toLocalMillis(begin);
+        long endLocal = offsets.toLocalMillis(end);
+        long beginDate = DateLayout.civil(Math.floorDiv(beginLocal, MILLIS_PER_DAY));
+        long endDate = DateLayout.civil(Math.floorDiv(endLocal, MILLIS_PER_DAY));
+        int result = (int) ((endDate / 10000 - beginDate / 10000) * 12 + endDate / 100 % 100 - beginDate / 100 % 100);
+        long days = endDate % 100 - beginDate % 100;
+        if (days < 0) {
+            result--;
+        } else if (days > 0 || Math.floorMod(endLocal, MILLIS_PER_DAY) > Math.floorMod(beginLocal, MILLIS_PER_DAY)) {
+            result++;
+        }
+        return result == 0 ? 1 : Math.abs(result);
+    }
+
+    /**
+     * 本地日期距1970-01-01的天数
+     */
+    public static long epochDay(long epochMillis) {
+        return Math.floorDiv(ZoneOffsets.systemDefault().toLocalMillis(epochMillis), MILLIS_PER_DAY);
+    }
+
+    /**
+     * 本地时间的年份
+     */
+    public static int year(long epochMillis) {
+        return (int) (DateLayout.civil(epochDay(epochMillis)) / 10000);
+    }
+
+    /**
+     * 本地时间的月份(1-12)
+     */
+    public static int month(long epochMillis) {
+        return (int) (DateLayout.civil(epochDay(epochMillis)) / 100 % 100);
+    }
+
+    /**
+     * 本地时间是当月的第几天(1-31)
+     */
+    public static int dayOfMonth(long epochMillis) {
+        return (int) (DateLayout.civil(epochDay(epochMillis)) % 100);
+    }
+
+    /**
+     * 1970-01-01起的天数转为公历日期，按 年*10000+月*100+日 打包
+     */
+    public static long civilDate(long epochDay) {
+        return DateLayout.civil(epochDay);
+    }
+
+    /**
+     * 公历年月日距1970-01-01的天数
+     */
+    public static long epochDay(int year, int month, int day) {
+        return DateLayout.epochDay(year, month, day);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        return DateLayout.lengthOfMonth(year, month);
+    }
+}
@@ -0,0 +1,39 @@
+package com.kiwi.timer.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 时间由调用方设置的时钟，用于测试：只有调用{@link #set}或{@link #advance}时才变化，可以回拨
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class FakeClock extends TimerClock {
+    private final AtomicLong now;
+
+    public FakeClock(long epochMillis) {
+        this.now = new AtomicLong(epochMillis);
+    }
+
+    @Override
+    public long millis() {
+        return now.get();
+    }
+
+    public void set(long epochMillis) {
+        now.set(epochMillis);
+    }
+
+    /**
+     * @return 前进后的时间，amount为负时后退
+     */
+    public long advance(long amount, TimeUnit unit) {
+        return now.addAndGet(unit.toMillis(amount));
+    }
+
+    @Override
+    public String toString() {
+        return "FakeClock[" + now.get() + "]";
+    }
+}
@@ -0,0 +1,466 @@
+package com.kiwi.timer.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 时间区间索引，用于批量检测区间冲突，代替两两调用{@link DateTimeUtil#timePeriodCoincide}的O(n²)循环
+ * <p>
+ * 区间为左闭右开的[start, end)毫秒数，end必须晚于start。两个区间重叠的判断与timePeriodCoincide一致，首尾相接不算重叠；
+ * 需要{@link DateTimeUtil#isOverlap}那样的闭区间时，把end加1即可。
+ * <p>
+ * 建好后不可变，可以多线程查询。区间按start排序存放在基本类型数组中，每个区间32字节，没有装箱对象；
+ * 数组按中序排列成一棵隐式的平衡二叉树，每个节点记录子树中最大的end，
+ * 查询只进入可能重叠的子树，复杂度O(log n + k)，k为结果数。
+ * <p>
+ * 区间编号为加入{@link Builder}的顺序，从0开始，查询结果都以编号给出。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class IntervalIndex {
+    /**
+     * 不超过该层数的子树直接顺序扫描，比逐层下降快
+     */
+    private static final int SCAN_LEVEL = 3;
+    private static final IntervalIndex EMPTY = new IntervalIndex(new long[0], new long[0], new int[0]);
+
+    /**
+     * 以下数组按start排序
+     */
+    private final long[] starts;
+    private final long[] ends;
+    /**
+     * 子树中最大的end
+     */
+    private final long[] maxEnds;
+    private final int[] ids;
+    /**
+     * 编号到排序后下标
+     */
+    private final int[] positions;
+    private final int maxLevel;
+
+    private IntervalIndex(long[] starts, long[] ends, int[] ids) {
+        int n = starts.length;
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+        this.positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[ids[i]] = i;
+        }
+        this.maxEnds = Arrays.copyOf(ends, n);
+        this.maxLevel = n == 0 ? 0 : augment();
+    }
+
+    /**
+     * 第k层节点的下标低k位全为1、第k位为0；n不是2的幂时，右侧缺失的子树用已有部分的最大end代替
+     *
+     * @return 根节点的层数
+     */
+    private int augment() {
+        int n = starts.length;
+        int lastIndex = 0;
+        long last = 0;
+        for (int i = 0; i < n; i += 2) {
+            lastIndex = i;
+            last = ends[i];
+        }
+        int level = 1;
+        for (; 1L << level <= n; level++) {
+            int half = 1 << (level - 1);
+            for (long i = (half << 1) - 1; i < n; i += (long) half << 2) {
+                int node = (int) i;
+                long left = maxEnds[node - half];
+                long right = node + half < n ? maxEnds[node + half] : last;
+                maxEnds[node] = Math.max(ends[node], Math.max(left, right));
+            }
+            lastIndex = (lastIndex >> level & 1) != 0 ? lastIndex - half : lastIndex + half;
+            if (lastIndex < n && maxEnds[lastIndex] > last) {
+                last = maxEnds[lastIndex];
+            }
+        }
+        return level - 1;
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * 批量建立索引，第i个区间为[starts[i], ends[i])
+     */
+    public static IntervalIndex of(long[] starts, long[] ends) {
+        return builder(starts.length).addAll(starts, ends).build();
+    }
+
+    /**
+     * 两个区间是否重叠，与timePeriodCoincide相同
+     */
+    public static boolean overlaps(long aStart, long aEnd, long bStart, long bEnd) {
+        return aEnd > bStart && bEnd > aStart;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public long start(int id) {
+        return starts[positions[id]];
+    }
+
+    public long end(int id) {
+        return ends[positions[id]];
+    }
+
+    /**
+     * 包含time的区间，即start <= time < end
+     *
+     * @return 区间数
+     */
+    public int stab(long time, IntConsumer action) {
+        return time == Long.MAX_VALUE ? 0 : search(time, time + 1, action, Integer.MAX_VALUE);
+    }
+
+    public int[] stab(long time) {
+        IntList result = new IntList();
+        stab(time, result);
+        return result.toArray();
+    }
+
+    /**
+     * 与[from, to)重叠的区间
+     *
+     * @return 区间数
+     */
+    public int overlapping(long from, long to, IntConsumer action) {
+        return search(from, to, action, Integer.MAX_VALUE);
+    }
+
+    public int[] overlapping(long from, long to) {
+        IntList result = new IntList();
+        overlapping(from, to, result);
+        return result.toArray();
+    }
+
+    /**
+     * 是否有区间与[from, to)重叠，如预订前检查冲突，找到一个即返回
+     */
+    public boolean overlapsAny(long from, long to) {
+        return search(from, to, null, 1) > 0;
+    }
+
+    /**
+     * 从根开始按栈遍历：左子树的最大end不超过from时整棵跳过；节点的start不小于to时，它和右子树都不会重叠
+     */
+    private int search(long from, long to, IntConsumer action, int limit) {
+        int n = starts.length;
+        if (n == 0 || from >= to) {
+            return 0;
+        }
+        int count = 0;
+        // 每层最多两项
+        long[] stack = new long[2 * (maxLevel + 2)];
+        int top = 0;
+        stack[top++] = frame((1L << maxLevel) - 1, maxLevel, false);
+        while (top > 0) {
+            long frame = stack[--top];
+            long node = frame >>> 8;
+            int level = (int) (frame >>> 1 & 0x7F);
+            if (level <= SCAN_LEVEL) {
+                long first = node >> level << level;
+                long last = Math.min(n, first + (1L << (level + 1)) - 1);
+                for (int i = (int) first; i < last && starts[i] < to; i++) {
+                    if (ends[i] > from) {
+                        count++;
+                        if (action != null) {
+                            action.accept(ids[i]);
+                        }
+                        if (count >= limit) {
+                            return count;
+                        }
+                    }
+                }
+            } else if ((frame & 1) == 0) {
+                stack[top++] = frame | 1;
+                long left = node - (1L << (level - 1));
+                // 左子节点超出n时是虚节点，它的子树中仍可能有实际区间
+                if (left >= n || maxEnds[(int) left] > from) {
+                    stack[top++] = frame(left, level - 1, false);
+                }
+            } else if (node < n && starts[(int) node] < to) {
+                if (ends[(int) node] > from) {
+                    count++;
+                    if (action != null) {
+                        action.accept(ids[(int) node]);
+                    }
+                    if (count >= limit) {
+                        return count;
+                    }
+                }
+                stack[top++] = frame(node + (1L << (level - 1)), level - 1, false);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 下标、层数、左子树是否已处理合成一个long
+     */
+    private static long frame(long node, int level, boolean leftVisited) {
+        return node << 8 | (long) level << 1 | (leftVisited ? 1 : 0);
+    }
+
+    /**
+     * 扫描线找出所有重叠的区间对，每对只报告一次，first的start不大于second的
+     *
+     * @return 重叠的区间对数
+     */
+    public long overlappingPairs(PairConsumer action) {
+        return sweep(action);
+    }
+
+    public long countOverlappingPairs() {
+        return sweep(null);
+    }
+
+    /**
+     * 按start顺序扫描，活动集合为end最小在堆顶的二叉堆：先移出已结束的区间，剩下的都与当前区间重叠
+     */
+    private long sweep(PairConsumer action) {
+        int n = starts.length;
+        int[] heap = new int[Math.min(n, 16)];
+        int heapSize = 0;
+        long pairs = 0;
+        for (int i = 0; i < n; i++) {
+            long start = starts[i];
+            while (heapSize > 0 && ends[heap[0]] <= start) {
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize);
+            }
+            if (action != null) {
+                for (int j = 0; j < heapSize; j++) {
+                    action.accept(ids[heap[j]], ids[i]);
+                }
+            }
+            pairs += heapSize;
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+            }
+            siftUp(heap, heapSize++, i);
+        }
+        return pairs;
+    }
+
+    private void siftUp(int[] heap, int index, int value) {
+        long key = ends[value];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (ends[heap[parent]] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int value = heap[0];
+        long key = ends[value];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && ends[heap[right]] < ends[heap[child]]) {
+                child = right;
+            }
+            if (key <= ends[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * 合并重叠及首尾相接的区间，覆盖的时间不变
+     *
+     * @return 互不重叠的区间，按时间顺序编号
+     */
+    public IntervalIndex merge() {
+        int n = starts.length;
+        long[] mergedStarts = new long[Math.min(n, 16)];
+        long[] mergedEnds = new long[mergedStarts.length];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            long start = starts[i];
+            long end = ends[i];
+            if (size > 0 && start <= mergedEnds[size - 1]) {
+                mergedEnds[size - 1] = Math.max(mergedEnds[size - 1], end);
+                continue;
+            }
+            if (size == mergedStarts.length) {
+                mergedStarts = Arrays.copyOf(mergedStarts, size * 2);
+                mergedEnds = Arrays.copyOf(mergedEnds, size * 2);
+            }
+            mergedStarts[size] = start;
+            mergedEnds[size++] = end;
+        }
+        int[] mergedIds = new int[size];
+        for (int i = 0; i < size; i++) {
+            mergedIds[i] = i;
+        }
+        return new IntervalIndex(Arrays.copyOf(mergedStarts, size), Arrays.copyOf(mergedEnds, size), mergedIds);
+    }
+
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(int first, int second);
+    }
+
+    /**
+     * 收集区间后一次排序建索引，非线程安全
+     */
+    public static final class Builder {
+        private long[] starts;
+        private long[] ends;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            this.starts = new long[capacity];
+            this.ends = new long[capacity];
+        }
+
+        /**
+         * @return 区间编号
+         * @throws IllegalArgumentException end不晚于start
+         */
+        public int add(long start, long end) {
+            check(start, end);
+            ensureCapacity(size + 1);
+            starts[size] = start;
+            ends[size] = end;
+            return size++;
+        }
+
+        public Builder addAll(long[] starts, long[] ends) {
+            if (starts.length != ends.length) {
+                throw new IllegalArgumentException("starts and ends differ in length: " + starts.length + " != " + ends.length);
+            }
+            for (int i = 0; i < starts.length; i++) {
+                check(starts[i], ends[i]);
+            }
+            ensureCapacity(size + starts.length);
+            System.arraycopy(starts, 0, this.starts, size, starts.length);
+            System.arraycopy(ends, 0, this.ends, size, ends.length);
+            size += starts.length;
+            return this;
+        }
+
+        private static void check(long start, long end) {
+            if (end <= start) {
+                throw new IllegalArgumentException("Interval end " + end + " must be after start " + start);
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > starts.length) {
+                int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, starts.length * 2L));
+                starts = Arrays.copyOf(starts, newCapacity);
+                ends = Arrays.copyOf(ends, newCapacity);
+            }
+        }
+
+        public IntervalIndex build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            int[] ids = sortByStart(Arrays.copyOf(starts, size));
+            long[] sortedStarts = new long[size];
+            long[] sortedEnds = new long[size];
+            for (int i = 0; i < size; i++) {
+                sortedStarts[i] = starts[ids[i]];
+                sortedEnds[i] = ends[ids[i]];
+            }
+            return new IntervalIndex(sortedStarts, sortedEnds, ids);
+        }
+
+        /**
+         * 按16位分4趟的基数排序，所有key在某一段相同时跳过该趟
+         *
+         * @return 排序后每个位置原来的下标
+         */
+        private static int[] sortByStart(long[] keys) {
+            int n = keys.length;
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+                // 翻转符号位，负数排在前面
+                keys[i] ^= Long.MIN_VALUE;
+            }
+            long[] keyBuffer = new long[n];
+            int[] orderBuffer = new int[n];
+            int[] counts = new int[1 << 16];
+            for (int shift = 0; shift < 64; shift += 16) {
+                Arrays.fill(counts, 0);
+                for (int i = 0; i < n; i++) {
+                    counts[(int) (keys[i] >>> shift) & 0xFFFF]++;
+                }
+                if (counts[(int) (keys[0] >>> shift) & 0xFFFF] == n) {
+                    continue;
+                }
+                int offset = 0;
+                for (int d = 0; d < counts.length; d++) {
+                    int count = counts[d];
+                    counts[d] = offset;
+                    offset += count;
+                }
+                for (int i = 0; i < n; i++) {
+                    int d = (int) (keys[i] >>> shift) & 0xFFFF;
+                    int to = counts[d]++;
+                    keyBuffer[to] = keys[i];
+                    orderBuffer[to] = order[i];
+                }
+                long[] swapKeys = keys;
+                keys = keyBuffer;
+                keyBuffer = swapKeys;
+                int[] swapOrder = order;
+                order = orderBuffer;
+                orderBuffer = swapOrder;
+            }
+            return order;
+        }
+    }
+
+    /**
+     * 收集查询结果
+     */
+    private static final class IntList implements IntConsumer {
+        private int[] values = new int[8];
+        private int size;
+
+        @Override
+        public void accept(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.kiwi.timer.util;
+
+import java.util.Date;
+
+/**
+ * 定时任务子系统取当前时间的时钟
+ * <p>
+ * DateTimeUtil中取当前时间的方法、{@link CachedDateTime#now()}和PersistentTaskScheduler都从这里取时间。
+ * 默认为系统时钟；{@link CachedClock}由后台线程按固定精度更新，读取时只读一个volatile字段；
+ * {@link FakeClock}的时间由调用方设置，用于需要确定时间的测试。
+ * <p>
+ * {@link #snapshot()}给出当前这一秒的日期字段和格式化好的字符串，每秒只计算一次，整体替换。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public abstract class TimerClock {
+    private static final TimerClock SYSTEM = new SystemClock();
+    private static volatile TimerClock defaultClock = SYSTEM;
+
+    private volatile ClockSnapshot snapshot;
+
+    /**
+     * 当前时间的毫秒数
+     */
+    public abstract long millis();
+
+    public Date date() {
+        return new Date(millis());
+    }
+
+    /**
+     * 当前这一秒的快照，与上次取到的在同一秒时直接返回
+     */
+    public ClockSnapshot snapshot() {
+        return snapshotAt(millis());
+    }
+
+    /**
+     * 只在时钟自己的当前时间上调用，最后计算的一份留作缓存；时钟回拨(如FakeClock)时同样替换
+     */
+    final ClockSnapshot snapshotAt(long epochMillis) {
+        ClockSnapshot current = snapshot;
+        if (current != null && current.getEpochSecond() == Math.floorDiv(epochMillis, EpochMillis.MILLIS_PER_SECOND)) {
+            return current;
+        }
+        ClockSnapshot next = ClockSnapshot.of(epochMillis, current);
+        snapshot = next;
+        return next;
+    }
+
+    /**
+     * System.currentTimeMillis()
+     */
+    public static TimerClock system() {
+        return SYSTEM;
+    }
+
+    /**
+     * DateTimeUtil等取当前时间使用的时钟
+     */
+    public static TimerClock getDefault() {
+        return defaultClock;
+    }
+
+    /**
+     * @param clock null时恢复为系统时钟
+     */
+    public static void setDefault(TimerClock clock) {
+        defaultClock = clock == null ? SYSTEM : clock;
+    }
+
+    private static final class SystemClock extends TimerClock {
+        @Override
+        public long millis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public String toString() {
+            return "SystemClock";
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.kiwi.timer.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 缓存的时区偏移表
+ * <p>
+ * 1900年至2100年之间的时区切换预先展开为数组，偏移量和本地时间换算都是数组上的二分查找，不产生对象；
+ * 范围以外交给TimeZone/ZoneRules。本地时间换算的规则与Calendar一致：夏令时结束重叠的时段取切换后的偏移，
+ * 夏令时开始跳过的空档取切换前的偏移。
+ * <p>
+ * JVM默认时区的偏移值取自TimeZone，与Calendar、SimpleDateFormat的结果保持一致。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public final class ZoneOffsets {
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    /**
+     * 1900-01-01T00:00:00Z
+     */
+    private static final long WINDOW_START = -2208988800000L;
+    /**
+     * 2100-01-01T00:00:00Z
+     */
+    private static final long WINDOW_END = 4102444800000L;
+    private static final ConcurrentMap<ZoneId, ZoneOffsets> CACHE = new ConcurrentHashMap<>();
+    private static final ZoneOffsets SYSTEM_DEFAULT = new ZoneOffsets(TimeZone.getDefault());
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final TimeZone timeZone;
+    /**
+     * 切换时刻(UTC毫秒)
+     */
+    private final long[] transitions;
+    /**
+     * offsets[i]为第i次切换之前的偏移，最后一个元素为最后一次切换之后的偏移
+     */
+    private final int[] offsets;
+    /**
+     * 第i次切换按切换后偏移换算的本地时间，本地时间不早于它即使用切换后的偏移
+     */
+    private final long[] wallTransitions;
+
+    private ZoneOffsets(TimeZone timeZone) {
+        this(timeZone.toZoneId(), timeZone);
+    }
+
+    private ZoneOffsets(ZoneId zone, TimeZone timeZone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.timeZone = timeZone;
+        long[] times = new long[64];
+        int count = 0;
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(WINDOW_START));
+        while (transition != null && transition.toEpochSecond() * 1000 < WINDOW_END) {
+            if (count == times.length) {
+                times = Arrays.copyOf(times, count * 2);
+            }
+            times[count++] = transition.toEpochSecond() * 1000;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        this.transitions = Arrays.copyOf(times, count);
+        this.offsets = new int[count + 1];
+        this.wallTransitions = new long[count];
+        offsets[0] = rawOffsetAt(WINDOW_START);
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] = rawOffsetAt(transitions[i]);
+            wallTransitions[i] = transitions[i] + offsets[i + 1];
+        }
+    }
+
+    /**
+     * JVM默认时区(类加载时)的偏移表
+     */
+    public static ZoneOffsets systemDefault() {
+        return SYSTEM_DEFAULT;
+    }
+
+    public static ZoneOffsets of(ZoneId zone) {
+        if (zone.equals(SYSTEM_DEFAULT.zone)) {
+            return SYSTEM_DEFAULT;
+        }
+        ZoneOffsets offsets = CACHE.get(zone);
+        if (offsets == null) {
+            offsets = new ZoneOffsets(zone, null);
+            ZoneOffsets existing = CACHE.putIfAbsent(zone, offsets);
+            if (existing != null) {
+                offsets = existing;
+            }
+        }
+        return offsets;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * 某一时刻相对UTC的偏移毫秒数
+     */
+    public int offsetAt(long epochMillis) {
+        if (epochMillis < WINDOW_START || epochMillis >= WINDOW_END) {
+            return rawOffsetAt(epochMillis);
+        }
+        int index = Arrays.binarySearch(transitions, epochMillis);
+        return offsets[index >= 0 ? index + 1 : -index - 1];
+    }
+
+    /**
+     * UTC毫秒数转为本地时间的毫秒数
+     */
+    public long toLocalMillis(long epochMillis) {
+        return epochMillis + offsetAt(epochMillis);
+    }
+
+    /**
+     * 本地时间的毫秒数转为UTC毫秒数，规则同Calendar
+     */
+    public long toEpochMillis(long localMillis) {
+        if (localMillis < WINDOW_START + MILLIS_PER_DAY || localMillis >= WINDOW_END - MILLIS_PER_DAY) {
+            return toEpochMillisSlow(localMillis);
+        }
+        int index = Arrays.binarySearch(wallTransitions, localMillis);
+        int offset = offsets[index >= 0 ? index + 1 : -index - 1];
+        return localMillis - offset;
+    }
+
+    /**
+     * epochMillis之后的第一次切换时刻，没有时返回Long.MAX_VALUE
+     */
+    public long nextTransition(long epochMillis) {
+        if (epochMillis >= WINDOW_START && epochMillis < WINDOW_END) {
+            int index = Arrays.binarySearch(transitions, epochMillis);
+            index = index >= 0 ? index + 1 : -index - 1;
+            if (index < transitions.length) {
+                return transitions[index];
+            }
+        }
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(epochMillis));
+        return transition == null ? Long.MAX_VALUE : transition.toEpochSecond() * 1000;
+    }
+
+    /**
+     * 范围以外：在本地时间前后一天分别取偏移，先试切换后的偏移，都不自洽时(空档)取切换前的偏移
+     */
+    private long toEpochMillisSlow(long localMillis) {
+        int early = rawOffsetAt(localMillis - MILLIS_PER_DAY);
+        int late = rawOffsetAt(localMillis + MILLIS_PER_DAY);
+        if (rawOffsetAt(localMillis - late) == late) {
+            return localMillis - late;
+        }
+        return localMillis - early;
+    }
+
+    private int rawOffsetAt(long epochMillis) {
+        if (timeZone != null) {
+            return timeZone.getOffset(epochMillis);
+        }
+        return rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000;
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneOffsets[" + zone + ", " + transitions.length + " transitions]";
+    }
+}
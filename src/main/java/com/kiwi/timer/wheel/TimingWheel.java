@@ -0,0 +1,189 @@
+package com.kiwi.timer.wheel;
+
+import java.util.function.Consumer;
+
+/**
+ * 分层哈希时间轮，只由tick线程访问，不加锁
+ * <p>
+ * 每层{@link #SLOTS}个槽，到期tick按{@link #BITS}位一组拆成若干"位"，任务放在与当前tick最高不同的那一位所在的层，
+ * 槽号即到期tick在该层的那一位。当前tick低位进位到0时，把上一层对应槽的任务重新分配到下层(cascade)，
+ * 第0层的槽到期即执行。每个槽是侵入式双向链表，插入、删除都是O(1)。
+ * 每层用一个long记录哪些槽非空，据此直接找到下一个有任务的tick，空闲的tick一步跳过。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+final class TimingWheel {
+    static final int BITS = 6;
+    static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    /**
+     * 覆盖64位tick所需的层数
+     */
+    private static final int LEVELS = (Long.SIZE + BITS - 1) / BITS;
+
+    private final WheelTask[] heads = new WheelTask[LEVELS * SLOTS];
+    /**
+     * 每层非空槽的位图
+     */
+    private final long[] occupied = new long[LEVELS];
+    /**
+     * 已处理到的tick，该tick的第0层槽已经到期
+     */
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long currentTick) {
+        this.currentTick = currentTick;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 加入时间轮；到期tick不晚于当前tick时返回false，由调用方立即执行
+     */
+    boolean add(WheelTask task) {
+        long deadline = task.deadlineTick;
+        if (deadline <= currentTick) {
+            return false;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(deadline ^ currentTick)) / BITS;
+        int index = level * SLOTS + (int) ((deadline >>> (level * BITS)) & MASK);
+        WheelTask head = heads[index];
+        task.bucket = index;
+        task.prev = null;
+        task.next = head;
+        if (head != null) {
+            head.prev = task;
+        }
+        heads[index] = task;
+        occupied[level] |= 1L << (index & MASK);
+        size++;
+        return true;
+    }
+
+    void remove(WheelTask task) {
+        int index = task.bucket;
+        if (index < 0) {
+            return;
+        }
+        if (task.prev == null) {
+            heads[index] = task.next;
+            if (task.next == null) {
+                occupied[index / SLOTS] &= ~(1L << (index & MASK));
+            }
+        } else {
+            task.prev.next = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.bucket = -1;
+        task.prev = null;
+        task.next = null;
+        size--;
+    }
+
+    /**
+     * 下一个需要处理的tick：第0层槽到期，或上层的槽需要cascade；时间轮为空时返回Long.MAX_VALUE
+     * <p>
+     * 上层的槽号总是大于当前tick在该层的那一位，越低的层越早，第一个非空槽即所求。
+     */
+    long nextExpiryTick() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * BITS;
+            int digit = (int) ((currentTick >>> shift) & MASK);
+            long later = occupied[level] & (-2L << digit);
+            if (later != 0) {
+                long slot = Long.numberOfTrailingZeros(later);
+                int above = shift + BITS;
+                long high = above >= Long.SIZE ? 0 : currentTick & -(1L << above);
+                return high | slot << shift;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 推进到target，中间没有任务的tick直接跳过
+     */
+    void advanceTo(long target, Consumer<WheelTask> expired) {
+        while (currentTick < target) {
+            long next = nextExpiryTick();
+            if (next > target) {
+                currentTick = target;
+                return;
+            }
+            currentTick = next - 1;
+            advance(expired);
+        }
+    }
+
+    /**
+     * 推进一个tick：先自高向低cascade进位到0的各层，再让第0层当前槽到期
+     */
+    void advance(Consumer<WheelTask> expired) {
+        long tick = ++currentTick;
+        int top = 0;
+        while (top + 1 < LEVELS && (tick & ((1L << ((top + 1) * BITS)) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level > 0; level--) {
+            WheelTask task = detach(level * SLOTS + (int) ((tick >>> (level * BITS)) & MASK));
+            while (task != null) {
+                WheelTask next = task.next;
+                task.next = null;
+                if (!add(task)) {
+                    expired.accept(task);
+                }
+                task = next;
+            }
+        }
+        WheelTask task = detach((int) (tick & MASK));
+        while (task != null) {
+            WheelTask next = task.next;
+            task.next = null;
+            expired.accept(task);
+            task = next;
+        }
+    }
+
+    /**
+     * 取下整个槽的链表
+     */
+    private WheelTask detach(int index) {
+        WheelTask head = heads[index];
+        heads[index] = null;
+        occupied[index / SLOTS] &= ~(1L << (index & MASK));
+        for (WheelTask task = head; task != null; task = task.next) {
+            task.bucket = -1;
+            task.prev = null;
+            size--;
+        }
+        return head;
+    }
+
+    /**
+     * 清空并逐个交给consumer，关闭时使用
+     */
+    void drain(Consumer<WheelTask> consumer) {
+        for (int i = 0; i < heads.length; i++) {
+            WheelTask task = detach(i);
+            while (task != null) {
+                WheelTask next = task.next;
+                task.next = null;
+                consumer.accept(task);
+                task = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.kiwi.timer.wheel;
+
+import com.kiwi.timer.monitor.LatencyHistogram;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于分层时间轮的TaskScheduler，可替换ThreadPoolTaskScheduler
+ * <p>
+ * ScheduledThreadPoolExecutor的延迟队列是带全局锁的二叉堆，插入、取消都是O(log n)，大量短期超时/重试任务时锁竞争严重。
+ * 这里由单个tick线程维护{@link TimingWheel}，提交和取消只是压入无锁栈(链接字段在任务自身，不额外分配节点)，tick线程每个tick整批取走并入时间轮，
+ * 到期的任务交给独立的工作线程池执行，tick线程本身不执行业务代码。
+ * <p>
+ * 精度为一个tick(默认1毫秒)，到期时间按System.nanoTime计算，不受系统时间调整影响；
+ * 指定Date的任务按提交时刻的系统时间换算为延迟。tick线程直接睡到下一个有任务到期的tick，时间轮为空时挂起，不空转。
+ * <p>
+ * 同一次唤醒中到期的任务作为一批交给工作线程：最多poolSize个线程从同一批中依次领取，
+ * 同周期的任务(如都是每5秒)只需一次唤醒和少量转交。batchWindowMillis把到期时间向上对齐到窗口边界，
+ * 窗口内到期的任务并为一批；timerSlackMillis允许tick线程晚醒最多这么久，唤醒时刻对齐到slack的整数倍，
+ * 空闲节点上多个定时器的唤醒合并。两者都以触发延迟换唤醒次数，见{@link #stats()}。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Log4j2
+public class TimingWheelTaskScheduler implements TaskScheduler, InitializingBean {
+    private long tickNanos = TimeUnit.MILLISECONDS.toNanos(1);
+    private int poolSize = 1;
+    private String threadNamePrefix = "wheelTask-";
+    private boolean waitForTasksToCompleteOnShutdown;
+    private int awaitTerminationSeconds;
+    private ErrorHandler errorHandler;
+    private long batchWindowNanos;
+    private long batchWindowTicks = 1;
+    private long slackNanos;
+
+    private final AtomicReference<WheelTask> scheduled = new AtomicReference<>();
+    private final AtomicReference<WheelTask> cancelled = new AtomicReference<>();
+    private long startNanos;
+    private ThreadPoolExecutor workers;
+    private TimingWheel wheel;
+    private Thread tickThread;
+    private volatile boolean running;
+    /**
+     * tick线程计划醒来的时间，挂起时为Long.MAX_VALUE，运行中为Long.MIN_VALUE；提交的任务早于它时才需要唤醒
+     */
+    private volatile long parkedUntil = Long.MIN_VALUE;
+    private volatile int wheelSize;
+    /**
+     * 以下只由tick线程修改
+     */
+    private final List<WheelTask> expired = new ArrayList<>();
+    private long tickNanosNow;
+    private volatile long wakeups;
+    private final LongAdder handoffs = new LongAdder();
+    private final LatencyHistogram fireLag = new LatencyHistogram();
+
+    public void setTickMillis(long tickMillis) {
+        Assert.isTrue(tickMillis > 0, "'tickMillis' must be positive");
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    }
+
+    /**
+     * 到期时间向上对齐到窗口边界，窗口内到期的任务在同一个tick一起触发；0为不对齐。须在initialize前设置
+     */
+    public void setBatchWindowMillis(long batchWindowMillis) {
+        Assert.isTrue(batchWindowMillis >= 0, "'batchWindowMillis' must not be negative");
+        this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+    }
+
+    /**
+     * tick线程最多晚醒多久，唤醒时刻对齐到slack的整数倍；0为准时唤醒
+     */
+    public void setTimerSlackMillis(long timerSlackMillis) {
+        Assert.isTrue(timerSlackMillis >= 0, "'timerSlackMillis' must not be negative");
+        this.slackNanos = TimeUnit.MILLISECONDS.toNanos(timerSlackMillis);
+    }
+
+    /**
+     * 执行任务的工作线程数，运行中也可以调整，已提交的任务不受影响
+     */
+    public synchronized void setPoolSize(int poolSize) {
+        Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+        this.poolSize = poolSize;
+        if (workers != null) {
+            // 先扩大的一端，保证core不超过max
+            if (poolSize > workers.getMaximumPoolSize()) {
+                workers.setMaximumPoolSize(poolSize);
+                workers.setCorePoolSize(poolSize);
+            } else {
+                workers.setCorePoolSize(poolSize);
+                workers.setMaximumPoolSize(poolSize);
+            }
+        }
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    public void setWaitForTasksToCompleteOnShutdown(boolean waitForTasksToCompleteOnShutdown) {
+        this.waitForTasksToCompleteOnShutdown = waitForTasksToCompleteOnShutdown;
+    }
+
+    public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        initialize();
+    }
+
+    public synchronized void initialize() {
+        if (running) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        batchWindowTicks = Math.max(1, batchWindowNanos / tickNanos);
+        wheel = new TimingWheel(0);
+        workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory(threadNamePrefix));
+        running = true;
+        tickThread = new Thread(this::tickLoop, threadNamePrefix + "tick");
+        tickThread.setDaemon(true);
+        tickThread.start();
+    }
+
+    /**
+     * 停止tick线程，未到期的任务全部取消，按配置等待执行中的任务结束
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(tickThread);
+        try {
+            tickThread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        wheel.drain(task -> task.cancel(false));
+        for (WheelTask task = scheduled.getAndSet(null); task != null; task = task.nextScheduled) {
+            task.cancel(false);
+        }
+        cancelled.set(null);
+        wheelSize = 0;
+        if (waitForTasksToCompleteOnShutdown) {
+            workers.shutdown();
+        } else {
+            workers.shutdownNow();
+        }
+        if (awaitTerminationSeconds > 0) {
+            try {
+                if (!workers.awaitTermination(awaitTerminationSeconds, TimeUnit.SECONDS)) {
+                    log.warn("Timed out while waiting for scheduler workers [{}] to terminate", threadNamePrefix);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 执行任务的工作线程池，未初始化时为null
+     */
+    public ThreadPoolExecutor getThreadPoolExecutor() {
+        return workers;
+    }
+
+    /**
+     * 时间轮中尚未到期的任务数，每个tick更新一次，不含刚提交尚未并入的
+     */
+    public int getPendingCount() {
+        return wheelSize;
+    }
+
+    /**
+     * tick线程的唤醒次数、向工作线程的转交次数和触发延迟
+     */
+    public WheelStats stats() {
+        return new WheelStats(wakeups, handoffs.sum(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos()), fireLag.snapshot());
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        WheelTask wheelTask = new WheelTask(this, decorate(task, true), trigger);
+        if (!wheelTask.nextFromTrigger()) {
+            return null;
+        }
+        return submit(wheelTask);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return submit(new WheelTask(this, decorate(task, false), deadline(startTime), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        Assert.isTrue(period > 0, "'period' must be positive");
+        return submit(new WheelTask(this, decorate(task, true), deadline(startTime), TimeUnit.MILLISECONDS.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        Assert.isTrue(period > 0, "'period' must be positive");
+        return submit(new WheelTask(this, decorate(task, true), elapsedNanos(), TimeUnit.MILLISECONDS.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        Assert.isTrue(delay > 0, "'delay' must be positive");
+        return submit(new WheelTask(this, decorate(task, true), deadline(startTime), -TimeUnit.MILLISECONDS.toNanos(delay)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        Assert.isTrue(delay > 0, "'delay' must be positive");
+        return submit(new WheelTask(this, decorate(task, true), elapsedNanos(), -TimeUnit.MILLISECONDS.toNanos(delay)));
+    }
+
+    /**
+     * 与ThreadPoolTaskScheduler相同：周期任务的异常记录日志后继续，一次性任务的异常记录后抛出
+     */
+    private Runnable decorate(Runnable task, boolean repeating) {
+        return TaskUtils.decorateTaskWithErrorHandler(task, errorHandler, repeating);
+    }
+
+    private long deadline(Date startTime) {
+        return elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(startTime.getTime() - System.currentTimeMillis());
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    private WheelTask submit(WheelTask task) {
+        Assert.state(running, "TimingWheelTaskScheduler not initialized");
+        long now = elapsedNanos();
+        if (task.deadlineNanos <= now) {
+            fireLag.record(now - task.deadlineNanos);
+            execute(task);
+        } else {
+            enqueue(task);
+        }
+        return task;
+    }
+
+    /**
+     * 周期任务执行完后回到时间轮；已停止时取消，不再执行，get()随即返回
+     */
+    void reschedule(WheelTask task) {
+        if (running) {
+            try {
+                submit(task);
+            } catch (IllegalStateException ex) {
+                // 检查之后停止
+            }
+        }
+        // shutdown先置running再清空时间轮和待并入的栈，在清空之后才入栈的任务在这里取消
+        if (!running) {
+            task.cancel(false);
+        }
+    }
+
+    void cancelled(WheelTask task) {
+        if (running) {
+            push(cancelled, task, false);
+        }
+    }
+
+    private void enqueue(WheelTask task) {
+        push(scheduled, task, true);
+        // 在slack之内的不必提前唤醒
+        if (task.deadlineNanos + slackNanos < parkedUntil) {
+            LockSupport.unpark(tickThread);
+        }
+    }
+
+    /**
+     * 同一任务同一时刻最多在每个栈中出现一次，可以直接用任务自身的字段做链接
+     */
+    private static void push(AtomicReference<WheelTask> stack, WheelTask task, boolean schedule) {
+        WheelTask head;
+        do {
+            head = stack.get();
+            if (schedule) {
+                task.nextScheduled = head;
+            } else {
+                task.nextCancelled = head;
+            }
+        } while (!stack.compareAndSet(head, task));
+    }
+
+    private void execute(WheelTask task) {
+        try {
+            handoffs.increment();
+            workers.execute(task);
+        } catch (RejectedExecutionException ex) {
+            task.cancel(false);
+            if (running) {
+                throw ex;
+            }
+        }
+    }
+
+    private void tickLoop() {
+        while (running) {
+            try {
+                tick();
+            } catch (Throwable ex) {
+                log.error("Unexpected error in timing wheel tick thread", ex);
+            }
+        }
+    }
+
+    private void tick() {
+        wakeups++;
+        WheelTask task = cancelled.getAndSet(null);
+        while (task != null) {
+            WheelTask next = task.nextCancelled;
+            task.nextCancelled = null;
+            wheel.remove(task);
+            task = next;
+        }
+        task = scheduled.getAndSet(null);
+        while (task != null) {
+            WheelTask next = task.nextScheduled;
+            task.nextScheduled = null;
+            add(task);
+            task = next;
+        }
+        tickNanosNow = elapsedNanos();
+        try {
+            wheel.advanceTo(tickNanosNow / tickNanos, this::expire);
+            // 先于执行更新，任务执行完时读到的不含它自己
+            wheelSize = wheel.size();
+            dispatch();
+        } finally {
+            expired.clear();
+        }
+        long next = wheel.nextExpiryTick();
+        long wake = next == Long.MAX_VALUE ? Long.MAX_VALUE : wakeNanos(next);
+        parkedUntil = wake;
+        // 先公布醒来时间再检查栈，与enqueue()中先入栈再检查醒来时间配合，不会漏掉新提交的任务
+        if (scheduled.get() == null && running) {
+            if (wake == Long.MAX_VALUE) {
+                LockSupport.park(this);
+            } else {
+                LockSupport.parkNanos(this, wake - elapsedNanos());
+            }
+        }
+        parkedUntil = Long.MIN_VALUE;
+    }
+
+    /**
+     * 第一个有任务的tick开始的时刻，有slack时向上对齐到System.nanoTime的slack整数倍，各定时器在同一时刻醒来
+     */
+    private long wakeNanos(long tick) {
+        long wake = tick * tickNanos;
+        if (slackNanos > 0) {
+            long absolute = startNanos + wake;
+            wake += Math.floorMod(-absolute, slackNanos);
+        }
+        return wake;
+    }
+
+    private void expire(WheelTask task) {
+        fireLag.record(tickNanosNow - task.deadlineNanos);
+        expired.add(task);
+    }
+
+    /**
+     * 本次唤醒到期的任务作为一批交给工作线程，转交次数不超过线程数
+     */
+    private void dispatch() {
+        int count = expired.size();
+        if (count == 0) {
+            return;
+        }
+        if (count == 1) {
+            execute(expired.get(0));
+            return;
+        }
+        Batch batch = new Batch(expired.toArray(new WheelTask[count]));
+        int runners = Math.min(count, workers.getMaximumPoolSize());
+        for (int i = 0; i < runners; i++) {
+            try {
+                handoffs.increment();
+                workers.execute(batch);
+            } catch (RejectedExecutionException ex) {
+                batch.cancelRemaining();
+                if (running) {
+                    throw ex;
+                }
+                return;
+            }
+        }
+    }
+
+    private void add(WheelTask task) {
+        // 先标记再检查状态，与cancel()中先改状态再检查标记配合，保证取消的任务要么不并入，要么会被通知移除
+        task.inWheel = true;
+        if (task.isCancelledOrDone()) {
+            task.inWheel = false;
+            return;
+        }
+        // 向上取整，不提前执行
+        long tick = Math.floorDiv(task.deadlineNanos + tickNanos - 1, tickNanos);
+        task.deadlineTick = Math.floorDiv(tick + batchWindowTicks - 1, batchWindowTicks) * batchWindowTicks;
+        if (!wheel.add(task)) {
+            task.inWheel = false;
+            execute(task);
+        }
+    }
+
+    /**
+     * 同一批到期的任务，各工作线程依次领取，一个任务执行慢不会耽误其它任务
+     */
+    private static final class Batch implements Runnable {
+        private final WheelTask[] tasks;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        Batch(WheelTask[] tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void run() {
+            int index;
+            while ((index = cursor.getAndIncrement()) < tasks.length) {
+                tasks[index].run();
+            }
+        }
+
+        void cancelRemaining() {
+            int index;
+            while ((index = cursor.getAndIncrement()) < tasks.length) {
+                tasks[index].cancel(false);
+            }
+        }
+    }
+}
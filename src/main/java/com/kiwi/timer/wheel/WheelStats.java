@@ -0,0 +1,45 @@
+package com.kiwi.timer.wheel;
+
+import com.kiwi.timer.monitor.HistogramSnapshot;
+import lombok.Getter;
+
+/**
+ * 时间轮调度器启动以来的统计
+ * <p>
+ * wakeups为tick线程的唤醒次数，handoffs为交给工作线程的次数(一批任务可能只转交一次)，
+ * fireLag为到期到交给工作线程的延迟，含batchWindow和timerSlack带来的推迟。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@Getter
+public final class WheelStats {
+    private final long wakeups;
+    private final long handoffs;
+    private final long uptimeMillis;
+    private final HistogramSnapshot fireLag;
+
+    public WheelStats(long wakeups, long handoffs, long uptimeMillis, HistogramSnapshot fireLag) {
+        this.wakeups = wakeups;
+        this.handoffs = handoffs;
+        this.uptimeMillis = uptimeMillis;
+        this.fireLag = fireLag;
+    }
+
+    /**
+     * 启动以来平均每秒唤醒次数
+     */
+    public double getWakeupsPerSecond() {
+        return uptimeMillis == 0 ? 0 : wakeups * 1000.0 / uptimeMillis;
+    }
+
+    public long getFired() {
+        return fireLag.getCount();
+    }
+
+    @Override
+    public String toString() {
+        return "wheel[wakeups=" + wakeups + String.format(" (%.1f/s)", getWakeupsPerSecond()) + ", fired=" + getFired()
+                + ", handoffs=" + handoffs + ", fireLag=" + fireLag + "]";
+    }
+}
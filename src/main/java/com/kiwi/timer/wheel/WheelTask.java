@@ -0,0 +1,246 @@
+package com.kiwi.timer.wheel;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 时间轮中的任务，同时是返回给调用方的ScheduledFuture
+ * <p>
+ * 周期任务执行完后计算下次到期时间，再交回调度器插入时间轮，同一任务不会并发执行。
+ * prev/next/bucket只由tick线程读写。
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+final class WheelTask implements ScheduledFuture<Object>, Runnable {
+    private static final int WAITING = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+    private static final int CANCELLED = 3;
+    private static final AtomicIntegerFieldUpdater<WheelTask> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(WheelTask.class, "state");
+
+    private final TimingWheelTaskScheduler scheduler;
+    private final Runnable runnable;
+    /**
+     * 大于0为fixedRate，小于0为fixedDelay(取反)，0为一次性或trigger
+     */
+    private final long periodNanos;
+    private final Trigger trigger;
+    private final SimpleTriggerContext triggerContext;
+    private volatile int state;
+    private volatile Thread runner;
+    /**
+     * 一次性任务抛出的异常
+     */
+    private Throwable failure;
+    /**
+     * 有线程在get()中等待
+     */
+    private boolean waiting;
+    /**
+     * 到期时间，相对调度器启动时刻的纳秒数
+     */
+    volatile long deadlineNanos;
+    /**
+     * trigger任务本次计划执行的时间
+     */
+    private volatile Date scheduledTime;
+
+    /**
+     * tick线程并入时间轮前置为true，取消时据此决定是否需要通知tick线程移除
+     */
+    volatile boolean inWheel;
+    /**
+     * 待并入/待移除的无锁栈中的链接
+     */
+    WheelTask nextScheduled;
+    WheelTask nextCancelled;
+
+    long deadlineTick;
+    int bucket = -1;
+    WheelTask prev;
+    WheelTask next;
+
+    WheelTask(TimingWheelTaskScheduler scheduler, Runnable runnable, long deadlineNanos, long periodNanos) {
+        this.scheduler = scheduler;
+        this.runnable = runnable;
+        this.deadlineNanos = deadlineNanos;
+        this.periodNanos = periodNanos;
+        this.trigger = null;
+        this.triggerContext = null;
+    }
+
+    WheelTask(TimingWheelTaskScheduler scheduler, Runnable runnable, Trigger trigger) {
+        this.scheduler = scheduler;
+        this.runnable = runnable;
+        this.periodNanos = 0;
+        this.trigger = trigger;
+        this.triggerContext = new SimpleTriggerContext();
+    }
+
+    /**
+     * 按trigger计算第一次/下一次执行时间
+     *
+     * @return trigger不再触发时返回false
+     */
+    boolean nextFromTrigger() {
+        Date next = trigger.nextExecutionTime(triggerContext);
+        if (next == null) {
+            return false;
+        }
+        scheduledTime = next;
+        deadlineNanos = scheduler.elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(next.getTime() - System.currentTimeMillis());
+        return true;
+    }
+
+    boolean isRepeating() {
+        return periodNanos != 0 || trigger != null;
+    }
+
+    @Override
+    public void run() {
+        if (!STATE.compareAndSet(this, WAITING, RUNNING)) {
+            return;
+        }
+        Date actualTime = trigger == null ? null : new Date();
+        runner = Thread.currentThread();
+        try {
+            runnable.run();
+        } catch (Throwable ex) {
+            failure = ex;
+            finish();
+            return;
+        } finally {
+            runner = null;
+        }
+        if (!isRepeating()) {
+            finish();
+            return;
+        }
+        if (periodNanos > 0) {
+            deadlineNanos += periodNanos;
+        } else if (periodNanos < 0) {
+            deadlineNanos = scheduler.elapsedNanos() - periodNanos;
+        } else {
+            triggerContext.update(scheduledTime, actualTime, new Date());
+            if (!nextFromTrigger()) {
+                finish();
+                return;
+            }
+        }
+        if (STATE.compareAndSet(this, RUNNING, WAITING)) {
+            scheduler.reschedule(this);
+        }
+    }
+
+    private void finish() {
+        if (STATE.compareAndSet(this, RUNNING, DONE)) {
+            signal();
+        }
+    }
+
+    private synchronized void signal() {
+        if (waiting) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * 是否已取消，tick线程据此丢弃任务
+     */
+    boolean isCancelledOrDone() {
+        return state >= DONE;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        int current;
+        do {
+            current = state;
+            if (current >= DONE) {
+                return false;
+            }
+        } while (!STATE.compareAndSet(this, current, CANCELLED));
+        if (mayInterruptIfRunning && current == RUNNING) {
+            Thread thread = runner;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+        if (current == WAITING && inWheel) {
+            scheduler.cancelled(this);
+        }
+        signal();
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone() {
+        return state >= DONE;
+    }
+
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+        synchronized (this) {
+            waiting = true;
+            while (state < DONE) {
+                wait();
+            }
+        }
+        return report();
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            waiting = true;
+            while (state < DONE) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException();
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return report();
+    }
+
+    private Object report() throws ExecutionException {
+        if (state == CANCELLED) {
+            throw new CancellationException();
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+        return null;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(deadlineNanos - scheduler.elapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (this == other) {
+            return 0;
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,52 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import org.junit.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.Date;
+
+/**
+ * 运行JMH基准并把结果写成JSON，由benchmark profile调用，平时的mvn test不会执行
+ * <p>
+ * mvn -Pbenchmark test，可用系统属性调整：
+ * <ul>
+ * <li>jmh.include：要运行的基准，正则，默认全部</li>
+ * <li>jmh.exclude：排除的基准，正则</li>
+ * <li>jmh.args：其余JMH命令行参数，如"-wi 1 -i 3 -f 1 -prof gc"</li>
+ * <li>jmh.resultDir：结果目录，默认target/jmh，文件名带运行时间，多次运行的结果可以放在一起对比</li>
+ * </ul>
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class BenchmarkRunner {
+
+    @Test
+    public void run() throws Exception {
+        String args = System.getProperty("jmh.args", "").trim();
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args.isEmpty() ? new String[0] : args.split("\\s+")))
+                .include(System.getProperty("jmh.include", BenchmarkRunner.class.getPackage().getName() + ".*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile().getPath());
+        String exclude = System.getProperty("jmh.exclude", "").trim();
+        if (!exclude.isEmpty()) {
+            options.exclude(exclude);
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static File resultFile() {
+        File dir = new File(System.getProperty("jmh.resultDir", "target/jmh"));
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + dir);
+        }
+        return new File(dir, "jmh-" + DateTimeUtil.toDateStr(new Date(), "yyyyMMdd-HHmmss") + ".json");
+    }
+}
@@ -0,0 +1,101 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 月数、天数间隔和当月天数：原Calendar实现与epoch-day整数运算对比，分配情况加 -prof gc 查看
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarArithmeticBenchmark {
+    private Date begin;
+    private Date end;
+    private SimpleDateFormat format;
+    private final String beginStr = "2026-01-31";
+    private final String endStr = "2026-10-18";
+
+    @Setup
+    public void setUp() {
+        begin = new Date(1769839530123L);
+        end = new Date(1792302330123L);
+        format = new SimpleDateFormat("yyyy-MM-dd");
+    }
+
+    @Benchmark
+    public int calendarMonthSpace() {
+        Calendar c1 = Calendar.getInstance();
+        Calendar c2 = Calendar.getInstance();
+        c1.setTime(begin);
+        c2.setTime(end);
+        int result = (c2.get(Calendar.YEAR) - c1.get(Calendar.YEAR)) * 12 + (c2.get(Calendar.MONTH) - c1.get(Calendar.MONTH));
+        int days = c2.get(Calendar.DAY_OF_MONTH) - c1.get(Calendar.DAY_OF_MONTH);
+        if (days < 0) {
+            result--;
+        } else if (days > 0) {
+            result++;
+        }
+        return result == 0 ? 1 : Math.abs(result);
+    }
+
+    @Benchmark
+    public int getMonthSpace() {
+        return DateTimeUtil.getMonthSpace(begin, end);
+    }
+
+    @Benchmark
+    public int millisDaysInterval() {
+        return (int) ((end.getTime() - begin.getTime()) / (1000 * 60 * 60 * 24));
+    }
+
+    @Benchmark
+    public int getDaysInterval() {
+        return DateTimeUtil.getDaysInterval(begin, end);
+    }
+
+    @Benchmark
+    public int simpleDateFormatDaysInterval() throws ParseException {
+        return (int) ((format.parse(endStr).getTime() - format.parse(beginStr).getTime()) / (1000 * 60 * 60 * 24));
+    }
+
+    @Benchmark
+    public int getDaysIntervalStr() {
+        return DateTimeUtil.getDaysInterval(beginStr, endStr, format);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public int calendarMonthOfDayNum() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.YEAR, end.getYear());
+        cal.set(Calendar.MONTH, end.getMonth() - 1);
+        return cal.getActualMaximum(Calendar.DATE);
+    }
+
+    @Benchmark
+    public int getMonthOfDayNum() {
+        return DateTimeUtil.getMonthOfDayNum(end);
+    }
+}
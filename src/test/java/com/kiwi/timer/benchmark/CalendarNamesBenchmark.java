@@ -0,0 +1,63 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 星期和中文日期：Calendar实现与名称表对比，分配情况加 -prof gc 查看
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarNamesBenchmark {
+    private final Date date = new Date(1792302330123L);
+
+    @Benchmark
+    public int calendarDayOfWeek() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        return calendar.get(Calendar.DAY_OF_WEEK) - 1;
+    }
+
+    @Benchmark
+    public int getDayOfWeek() {
+        return DateTimeUtil.getDayOfWeek(date);
+    }
+
+    @Benchmark
+    public String getDateOfWeek() {
+        return DateTimeUtil.getDateOfWeek(date);
+    }
+
+    @Benchmark
+    public String legacyChinaDateStr() {
+        String[] newStr = DateTimeUtil.toDateStr(date).split("-");
+        StringBuffer sb = new StringBuffer();
+        sb.append(newStr[0]).append("年");
+        sb.append(Integer.valueOf(newStr[1])).append("月").append(Integer.valueOf(newStr[2])).append("日");
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String toChinaDateStr() {
+        return DateTimeUtil.toChinaDateStr(date);
+    }
+}
@@ -0,0 +1,79 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.CachedClock;
+import com.kiwi.timer.util.TimerClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 取当前小时和当前时间字符串：每次新建Calendar/SimpleDateFormat与读时钟快照对比，clock=system/cached
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ClockBenchmark {
+    @Param({"system", "cached"})
+    private String clock;
+    private TimerClock timerClock;
+
+    @Setup
+    public void setUp() {
+        timerClock = "cached".equals(clock) ? new CachedClock(1) : TimerClock.system();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (timerClock instanceof CachedClock) {
+            ((CachedClock) timerClock).close();
+        }
+    }
+
+    @Benchmark
+    public int calendarHour() {
+        return new GregorianCalendar().get(Calendar.HOUR_OF_DAY);
+    }
+
+    @Benchmark
+    public int snapshotHour() {
+        return timerClock.snapshot().getHour();
+    }
+
+    @Benchmark
+    public String simpleDateFormatNow() {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+    }
+
+    @Benchmark
+    public String snapshotNow() {
+        return timerClock.snapshot().getDateTimeText();
+    }
+
+    @Benchmark
+    public long millis() {
+        return timerClock.millis();
+    }
+}
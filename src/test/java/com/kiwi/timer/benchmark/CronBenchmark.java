@@ -0,0 +1,84 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.cron.CronExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.support.CronSequenceGenerator;
+
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 计算下次触发时间：Spring的CronSequenceGenerator与预编译的CronExpression对比
+ * <p>
+ * sequential为调度中的典型用法，每次从上次触发时间往后取；random为任意时间点查询，不命中缓存窗口
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CronBenchmark {
+    private static final long START = 1577836800000L;
+    private static final long SPAN = 10L * 365 * 24 * 3600 * 1000;
+
+    @Param({"0/5 * * * * ?", "0 15 10 ? JAN,JUL *", "10-20/3 5,35 8-18 * * MON-FRI"})
+    private String expression;
+
+    private CronSequenceGenerator generator;
+    private CronExpression cron;
+    private Date lastDate;
+    private long lastMillis;
+
+    @Setup
+    public void setUp() {
+        TimeZone zone = TimeZone.getTimeZone("Asia/Shanghai");
+        generator = new CronSequenceGenerator(expression, zone);
+        cron = CronExpression.parse(expression, zone);
+        lastDate = new Date(START);
+        lastMillis = START;
+    }
+
+    @Benchmark
+    public Date generatorSequential() {
+        lastDate = generator.next(lastDate);
+        if (lastDate.getTime() > START + SPAN) {
+            lastDate = new Date(START);
+        }
+        return lastDate;
+    }
+
+    @Benchmark
+    public long compiledSequential() {
+        lastMillis = cron.next(lastMillis);
+        if (lastMillis > START + SPAN) {
+            lastMillis = START;
+        }
+        return lastMillis;
+    }
+
+    @Benchmark
+    public Date generatorRandom() {
+        return generator.next(new Date(START + ThreadLocalRandom.current().nextLong(SPAN)));
+    }
+
+    @Benchmark
+    public long compiledRandom() {
+        return cron.next(START + ThreadLocalRandom.current().nextLong(SPAN));
+    }
+}
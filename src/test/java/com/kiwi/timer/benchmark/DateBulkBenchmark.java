@@ -0,0 +1,108 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateFormatter;
+import com.kiwi.timer.util.DateParser;
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 整列时间的格式化/解析：逐条调用DateTimeUtil与批量方法对比
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateBulkBenchmark {
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final DateFormatter formatter = DateFormatter.ofPattern(PATTERN);
+    private final DateParser parser = DateParser.ofPattern(PATTERN);
+    private long[] millis;
+    private Date[] dates;
+    private String[] texts;
+    private char[] chars;
+    private ByteBuffer bytes;
+    private long[] parsed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20181018L);
+        millis = new long[size];
+        dates = new Date[size];
+        for (int i = 0; i < size; i++) {
+            millis[i] = 1500000000000L + (long) (random.nextDouble() * 100000000000L);
+            dates[i] = new Date(millis[i]);
+        }
+        texts = formatter.formatAll(millis);
+        chars = new char[size * (PATTERN.length() + 1)];
+        bytes = ByteBuffer.allocate(chars.length);
+        parsed = new long[size];
+    }
+
+    @Benchmark
+    public String[] loopToDateTimeStr() {
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = DateTimeUtil.toDateTimeStr(dates[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String[] formatAll() {
+        return formatter.formatAll(millis);
+    }
+
+    @Benchmark
+    public int formatToChars() {
+        return formatter.formatTo(millis, 0, size, chars, 0, '\n');
+    }
+
+    @Benchmark
+    public ByteBuffer formatToBytes() {
+        bytes.clear();
+        return formatter.formatTo(millis, 0, size, bytes, '\n');
+    }
+
+    @Benchmark
+    public long[] loopStrToDate() {
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = DateTimeUtil.strToDate(texts[i], PATTERN).getTime();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] parseAll() {
+        return parser.parseAll(texts);
+    }
+
+    @Benchmark
+    public int parseAllChars() {
+        return parser.parseAll(chars, 0, size * (PATTERN.length() + 1) - 1, '\n', parsed, 0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateColumnNormalizer;
+import com.kiwi.timer.util.DateFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 转换64MB CSV中的两个日期列：逐行String + SimpleDateFormat与按字节映射处理对比，ops/s即MB/s
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class DateColumnNormalizerBenchmark {
+    private static final int FILE_MB = 64;
+    private static final String FROM = "yyyy-MM-dd HH:mm:ss";
+    private static final String TO = "yyyyMMdd'T'HHmmss'Z'";
+
+    private Path dir;
+    private Path input;
+    private Path output;
+    private Path inPlace;
+    private DateColumnNormalizer parallel;
+    private DateColumnNormalizer single;
+    private DateColumnNormalizer sameLength;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("jmh-csv");
+        input = dir.resolve("in.csv");
+        output = dir.resolve("out.csv");
+        inPlace = dir.resolve("in-place.csv");
+        DateFormatter formatter = DateFormatter.ofPattern(FROM);
+        Random random = new Random(20261018L);
+        long size = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            for (int i = 0; size < FILE_MB * 1024L * 1024L; i++) {
+                String line = i + "," + formatter.format(1500000000000L + (long) (random.nextDouble() * 400000000000L))
+                        + ",order-" + random.nextInt(1000000) + "," + random.nextInt(100000) / 100.0 + ","
+                        + formatter.format(1500000000000L + (long) (random.nextDouble() * 400000000000L)) + "\n";
+                writer.write(line);
+                size += line.length();
+            }
+        }
+        parallel = DateColumnNormalizer.builder().column(1, FROM, TO).column(4, FROM, TO).build();
+        single = DateColumnNormalizer.builder().column(1, FROM, TO).column(4, FROM, TO).parallelism(1).build();
+        // 原地改写转换为同一格式，每次的输入相同，解析和格式化的工作量与其它方式一致
+        sameLength = DateColumnNormalizer.builder().column(1, FROM, FROM).column(4, FROM, FROM).build();
+        Files.copy(input, inPlace);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(inPlace);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_MB)
+    public long stringLines() throws IOException, ParseException {
+        SimpleDateFormat from = new SimpleDateFormat(FROM);
+        SimpleDateFormat to = new SimpleDateFormat(TO);
+        long lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                fields[1] = to.format(from.parse(fields[1]));
+                fields[4] = to.format(from.parse(fields[4]));
+                writer.write(String.join(",", fields));
+                writer.write('\n');
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_MB)
+    public long mappedSingleThread() throws IOException {
+        return single.normalize(input, output).getConverted();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_MB)
+    public long mappedParallel() throws IOException {
+        return parallel.normalize(input, output).getConverted();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_MB)
+    public long mappedInPlace() throws IOException {
+        return sameLength.normalizeInPlace(inPlace).getConverted();
+    }
+}
@@ -0,0 +1,67 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateFormatter;
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateTimeUtil.toDateStr(Date, String) 新旧实现对比，分配情况加 -prof gc 查看
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateFormatBenchmark {
+    @Param({"yyyy-MM-dd HH:mm:ss", "yyyyMMddHHmmss", "yyyy-MM-dd", "HH:mm:ss", "yyyy/MM/dd EEE"})
+    public String pattern;
+
+    private Date date;
+    private DateFormatter formatter;
+    private final StringBuilder sb = new StringBuilder(64);
+
+    @Setup
+    public void setup() {
+        date = new Date();
+        formatter = DateFormatter.ofPattern(pattern);
+    }
+
+    @Benchmark
+    public String simpleDateFormatPerCall() {
+        return new SimpleDateFormat(pattern).format(date);
+    }
+
+    @Benchmark
+    public String toDateStr() {
+        return DateTimeUtil.toDateStr(date, pattern);
+    }
+
+    @Benchmark
+    public String formatterToString() {
+        return formatter.format(date.getTime());
+    }
+
+    @Benchmark
+    public int formatterToBuilder() {
+        sb.setLength(0);
+        return formatter.formatTo(date.getTime(), sb).length();
+    }
+}
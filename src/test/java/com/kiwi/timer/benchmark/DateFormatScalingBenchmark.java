@@ -0,0 +1,95 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 共享格式化器在1/4/16/64线程下的吞吐量，对照组为加锁共享的SimpleDateFormat
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateFormatScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    }
+
+    @State(Scope.Thread)
+    public static class Local {
+        final Date date = new Date();
+    }
+
+    private static String synchronizedFormat(Shared shared, Local local) {
+        synchronized (shared.format) {
+            return shared.format.format(local.date);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String formatter01(Local local) {
+        return DateTimeUtil.toDateTimeStr(local.date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String formatter04(Local local) {
+        return DateTimeUtil.toDateTimeStr(local.date);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String formatter16(Local local) {
+        return DateTimeUtil.toDateTimeStr(local.date);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String formatter64(Local local) {
+        return DateTimeUtil.toDateTimeStr(local.date);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String synchronized01(Shared shared, Local local) {
+        return synchronizedFormat(shared, local);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String synchronized04(Shared shared, Local local) {
+        return synchronizedFormat(shared, local);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String synchronized16(Shared shared, Local local) {
+        return synchronizedFormat(shared, local);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String synchronized64(Shared shared, Local local) {
+        return synchronizedFormat(shared, local);
+    }
+}
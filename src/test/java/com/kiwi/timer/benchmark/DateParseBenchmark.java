@@ -0,0 +1,80 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateParser;
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * strToDate / isDateStringCorrect 新旧实现对比，invalid开头的用例走原实现的异常分支
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateParseBenchmark {
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private final String valid = "2018-09-13 10:30:00";
+    private final String invalid = "2018-02-30 10:30:00";
+    private final byte[] row = "42,2018-09-13 10:30:00,done".getBytes(StandardCharsets.US_ASCII);
+    private final DateParser parser = DateParser.ofPattern(PATTERN);
+
+    @Benchmark
+    public Object simpleDateFormatParse() {
+        try {
+            return new SimpleDateFormat(PATTERN).parse(valid);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Object strToDate() {
+        return DateTimeUtil.strToDate(valid, PATTERN);
+    }
+
+    @Benchmark
+    public long parserString() {
+        return parser.parse(valid);
+    }
+
+    @Benchmark
+    public long parserBytesRange() {
+        return parser.parse(row, 3, 22);
+    }
+
+    @Benchmark
+    public boolean invalidSimpleDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(PATTERN);
+        format.setLenient(false);
+        try {
+            format.parse(invalid);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean invalidIsDateStringCorrect() {
+        return DateTimeUtil.isDateStringCorrect(invalid, PATTERN);
+    }
+}
@@ -0,0 +1,199 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateTimeUtil所有日期计算方法的回归基准：当天/当月/当年边界、加减、间隔、星期和区间重叠
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeUtilCalendarBenchmark {
+    /**
+     * 2026-10-18 13:45:30.123 +08:00
+     */
+    private static final long MILLIS = 1792302330123L;
+
+    private Date date;
+    private Date later;
+    private Map<String, Date> range1;
+    private Map<String, Date> range2;
+
+    @Setup
+    public void setUp() {
+        date = new Date(MILLIS);
+        later = new Date(MILLIS + TimeUnit.DAYS.toMillis(100) + 12345);
+        range1 = new HashMap<>();
+        range1.put("date1Begin", date);
+        range1.put("date1End", later);
+        range2 = new HashMap<>();
+        range2.put("date2Begin", new Date(MILLIS + TimeUnit.DAYS.toMillis(50)));
+        range2.put("date2End", new Date(MILLIS + TimeUnit.DAYS.toMillis(150)));
+    }
+
+    @Benchmark
+    public Date getCurrentDate() {
+        return DateTimeUtil.getCurrentDate();
+    }
+
+    @Benchmark
+    public Date getCurrentZeroDate() {
+        return DateTimeUtil.getCurrentZeroDate();
+    }
+
+    @Benchmark
+    public Date getZeroDate() {
+        return DateTimeUtil.getZeroDate(date);
+    }
+
+    @Benchmark
+    public int getCurrentHour() {
+        return DateTimeUtil.getCurrentHour();
+    }
+
+    @Benchmark
+    public int getCurrentMinutes() {
+        return DateTimeUtil.getCurrentMinutes();
+    }
+
+    @Benchmark
+    public long getCurrentYear() {
+        return DateTimeUtil.getCurrentYear();
+    }
+
+    @Benchmark
+    public Date getFirstDayofCurrentYear() {
+        return DateTimeUtil.getFirstDayofCurrentYear();
+    }
+
+    @Benchmark
+    public Date getFristDayOfMonth() {
+        return DateTimeUtil.getFristDayOfMonth();
+    }
+
+    @Benchmark
+    public Date getFristDayOfMonthOfDate() {
+        return DateTimeUtil.getFristDayOfMonth(date);
+    }
+
+    @Benchmark
+    public Date getLastDayOfMonth() {
+        return DateTimeUtil.getLastDayOfMonth();
+    }
+
+    @Benchmark
+    public Date getLastDayOfMonthOfDate() {
+        return DateTimeUtil.getLastDayOfMonth(date);
+    }
+
+    @Benchmark
+    public Date getFristDayOfYear() {
+        return DateTimeUtil.getFristDayOfYear(date);
+    }
+
+    @Benchmark
+    public Date getYearFirstDay() {
+        return DateTimeUtil.getYearFirstDay(2026);
+    }
+
+    @Benchmark
+    public Date getAddDays() {
+        return DateTimeUtil.getAddDays(7);
+    }
+
+    @Benchmark
+    public Date getAddDaysOfDate() {
+        return DateTimeUtil.getAddDays(date, 7);
+    }
+
+    @Benchmark
+    public Date getAddMonths() {
+        return DateTimeUtil.getAddMonths(date, 5);
+    }
+
+    @Benchmark
+    public Date getAddYears() {
+        return DateTimeUtil.getAddYears(date, 2);
+    }
+
+    @Benchmark
+    public Date getAddMinutes() {
+        return DateTimeUtil.getAddMinutes(date, 90);
+    }
+
+    @Benchmark
+    public Date getNextMonthCurrentDay() {
+        return DateTimeUtil.getNextMonthCurrentDay(date);
+    }
+
+    @Benchmark
+    public Date getNextMonthFirstDay() {
+        return DateTimeUtil.getNextMonthFirstDay(date);
+    }
+
+    @Benchmark
+    public Date getStartTime() {
+        return DateTimeUtil.getStartTime(date);
+    }
+
+    @Benchmark
+    public Date getEndTime() {
+        return DateTimeUtil.getEndTime(date);
+    }
+
+    @Benchmark
+    public Date getEndTimeByDate() {
+        return DateTimeUtil.getEndTimeByDate(date);
+    }
+
+    @Benchmark
+    public int getMonthOfDayNum() {
+        return DateTimeUtil.getMonthOfDayNum(date);
+    }
+
+    @Benchmark
+    public int getDaysInterval() {
+        return DateTimeUtil.getDaysInterval(date, later);
+    }
+
+    @Benchmark
+    public int getMonthSpace() {
+        return DateTimeUtil.getMonthSpace(date, later);
+    }
+
+    @Benchmark
+    public int getDayOfWeek() {
+        return DateTimeUtil.getDayOfWeek(date);
+    }
+
+    @Benchmark
+    public boolean timePeriodCoincide() {
+        return DateTimeUtil.timePeriodCoincide(date, later, range2.get("date2Begin"), range2.get("date2End"));
+    }
+
+    @Benchmark
+    public boolean isOverlap() {
+        return DateTimeUtil.isOverlap(range1, range2);
+    }
+}
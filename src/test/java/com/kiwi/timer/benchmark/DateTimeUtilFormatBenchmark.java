@@ -0,0 +1,163 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateTimeUtil所有格式化方法的回归基准，固定输入，结果可以跨版本对比
+ * <p>
+ * 按格式对比新旧实现见{@link DateFormatBenchmark}，批量格式化见{@link DateBulkBenchmark}
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeUtilFormatBenchmark {
+    /**
+     * 2026-10-18 13:45:30.123 +08:00
+     */
+    private static final long MILLIS = 1792302330123L;
+    private static final int BATCH = 64;
+
+    private Date date;
+    private Date[] dates;
+    private long[] millis;
+
+    @Setup
+    public void setUp() {
+        date = new Date(MILLIS);
+        dates = new Date[BATCH];
+        millis = new long[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            millis[i] = MILLIS + i * 1_000_003L;
+            dates[i] = new Date(millis[i]);
+        }
+    }
+
+    @Benchmark
+    public String toDateTimeStr() {
+        return DateTimeUtil.toDateTimeStr(date);
+    }
+
+    @Benchmark
+    public String[] toDateTimeStrDates() {
+        return DateTimeUtil.toDateTimeStr(dates);
+    }
+
+    @Benchmark
+    public String[] toDateTimeStrMillis() {
+        return DateTimeUtil.toDateTimeStr(millis);
+    }
+
+    @Benchmark
+    public String toDateTimeStr2() {
+        return DateTimeUtil.toDateTimeStr2(date);
+    }
+
+    @Benchmark
+    public String toDateStr() {
+        return DateTimeUtil.toDateStr(date);
+    }
+
+    @Benchmark
+    public String toDateStrPattern() {
+        return DateTimeUtil.toDateStr(date, "yyyy/MM/dd HH:mm");
+    }
+
+    @Benchmark
+    public String toTimeStr() {
+        return DateTimeUtil.toTimeStr(date);
+    }
+
+    @Benchmark
+    public String toDateStr2() {
+        return DateTimeUtil.toDateStr2(date);
+    }
+
+    @Benchmark
+    public String toDateStr3() {
+        return DateTimeUtil.toDateStr3(date);
+    }
+
+    @Benchmark
+    public String toDateStr4() {
+        return DateTimeUtil.toDateStr4(date);
+    }
+
+    @Benchmark
+    public String toChinaDateStr() {
+        return DateTimeUtil.toChinaDateStr(date);
+    }
+
+    @Benchmark
+    public String getFormatDate() {
+        return DateTimeUtil.getFormatDate(MILLIS);
+    }
+
+    @Benchmark
+    public String getDayBefore() {
+        return DateTimeUtil.getDayBefore(date);
+    }
+
+    @Benchmark
+    public String getDateOfWeek() {
+        return DateTimeUtil.getDateOfWeek(date);
+    }
+
+    @Benchmark
+    public String getTodayStart() {
+        return DateTimeUtil.getTodayStart();
+    }
+
+    @Benchmark
+    public String getTodayEnd() {
+        return DateTimeUtil.getTodayEnd();
+    }
+
+    @Benchmark
+    public String getMonthFirstDay() {
+        return DateTimeUtil.getMonthFirstDay();
+    }
+
+    @Benchmark
+    public String getAfterMonth() {
+        return DateTimeUtil.getAfterMonth(3);
+    }
+
+    @Benchmark
+    public String getYear() {
+        return DateTimeUtil.getYear();
+    }
+
+    @Benchmark
+    public String getMonth() {
+        return DateTimeUtil.getMonth();
+    }
+
+    @Benchmark
+    public String getMonthOfDate() {
+        return DateTimeUtil.getMonth(date);
+    }
+
+    @Benchmark
+    public String getDay() {
+        return DateTimeUtil.getDay();
+    }
+}
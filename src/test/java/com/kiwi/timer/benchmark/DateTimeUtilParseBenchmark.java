@@ -0,0 +1,95 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateTimeUtil所有解析方法的回归基准，合法和非法输入各测一遍
+ * <p>
+ * 按格式对比新旧实现见{@link DateParseBenchmark}
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeUtilParseBenchmark {
+    private static final String DATE = "2026-10-18";
+    private static final String DATE_TIME = "2026-10-18 13:45:30";
+    private static final String INVALID = "2026-13-45";
+
+    private SimpleDateFormat dateFormat;
+
+    @Setup
+    public void setUp() {
+        // getDaysInterval的参数，调用方各自持有，不在测量范围内
+        dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    }
+
+    @Benchmark
+    public Date strToDate() {
+        return DateTimeUtil.strToDate(DATE);
+    }
+
+    @Benchmark
+    public Date strToDatePattern() {
+        return DateTimeUtil.strToDate(DATE_TIME, "yyyy-MM-dd HH:mm:ss");
+    }
+
+    @Benchmark
+    public Date strToDateInvalid() {
+        return DateTimeUtil.strToDate(INVALID);
+    }
+
+    @Benchmark
+    public boolean isDateStringCorrect() {
+        return DateTimeUtil.isDateStringCorrect(DATE, "yyyy-MM-dd");
+    }
+
+    @Benchmark
+    public boolean isDateStringCorrectInvalid() {
+        return DateTimeUtil.isDateStringCorrect(INVALID, "yyyy-MM-dd");
+    }
+
+    @Benchmark
+    public String getStrDate4String() {
+        return DateTimeUtil.getStrDate4String(DATE_TIME, "yyyy-MM-dd HH:mm:ss");
+    }
+
+    @Benchmark
+    public int getDaysIntervalStr() {
+        return DateTimeUtil.getDaysInterval("2026-01-01", DATE, dateFormat);
+    }
+
+    @Benchmark
+    public String str2Str() {
+        return DateTimeUtil.str2Str(DATE_TIME);
+    }
+
+    @Benchmark
+    public String getDateStart() {
+        return DateTimeUtil.getDateStart(DATE);
+    }
+
+    @Benchmark
+    public String getDateEnd() {
+        return DateTimeUtil.getDateEnd(DATE);
+    }
+}
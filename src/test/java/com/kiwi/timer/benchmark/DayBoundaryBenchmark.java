@@ -0,0 +1,73 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DayBoundaries;
+import com.kiwi.timer.util.EpochMillis;
+import com.kiwi.timer.util.ZoneOffsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 零点/当天结束时间：Calendar、按偏移表换算、查零点表三种方式对比
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DayBoundaryBenchmark {
+    private final ZoneOffsets offsets = ZoneOffsets.systemDefault();
+    private final DayBoundaries boundaries = DayBoundaries.systemDefault();
+    private long millis = System.currentTimeMillis();
+
+    @Benchmark
+    public long calendarStartOfDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long offsetsStartOfDay() {
+        long local = offsets.toLocalMillis(millis);
+        return offsets.toEpochMillis(Math.floorDiv(local, EpochMillis.MILLIS_PER_DAY) * EpochMillis.MILLIS_PER_DAY);
+    }
+
+    @Benchmark
+    public long tableStartOfDay() {
+        return boundaries.startOfDayMillis(millis);
+    }
+
+    @Benchmark
+    public long calendarEndOfDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.HOUR_OF_DAY, 23);
+        calendar.set(Calendar.MINUTE, 59);
+        calendar.set(Calendar.SECOND, 59);
+        calendar.set(Calendar.MILLISECOND, 999);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long tableEndOfDay() {
+        return boundaries.endOfDayMillis(millis);
+    }
+}
@@ -0,0 +1,78 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.EpochMillis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calendar与EpochMillis的日期计算对比，可加 -prof gc 查看每次调用的分配字节数
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpochMillisBenchmark {
+    private long millis = 1536805800000L;
+
+    @Benchmark
+    public long calendarStartOfDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long startOfDayMillis() {
+        return EpochMillis.startOfDayMillis(millis);
+    }
+
+    @Benchmark
+    public long calendarAddDays() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.add(Calendar.DAY_OF_MONTH, 45);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long plusDaysMillis() {
+        return EpochMillis.plusDaysMillis(millis, 45);
+    }
+
+    @Benchmark
+    public long calendarLastDayOfMonth() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) + 1);
+        calendar.set(Calendar.DAY_OF_MONTH, 0);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public long lastDayOfMonthMillis() {
+        return EpochMillis.lastDayOfMonthMillis(millis);
+    }
+}
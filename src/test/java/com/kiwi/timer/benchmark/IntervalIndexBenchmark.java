@@ -0,0 +1,149 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.util.DateTimeUtil;
+import com.kiwi.timer.util.IntervalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预订冲突检测：两两调用timePeriodCoincide与IntervalIndex对比
+ * <p>
+ * 每个预订30分钟到4小时，时间跨度随数量增大，平均约4个预订同时进行
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IntervalIndexBenchmark {
+    private static final long MIN_DURATION = TimeUnit.MINUTES.toMillis(30);
+    private static final long MAX_DURATION = TimeUnit.HOURS.toMillis(4);
+    private static final long START = 1792302330123L;
+
+    @State(Scope.Benchmark)
+    public static class Pairwise {
+        @Param({"1000", "10000"})
+        int size;
+
+        Date[] starts;
+        Date[] ends;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            long[][] bookings = bookings(size);
+            starts = new Date[size];
+            ends = new Date[size];
+            for (int i = 0; i < size; i++) {
+                starts[i] = new Date(bookings[0][i]);
+                ends[i] = new Date(bookings[1][i]);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Indexed {
+        @Param({"10000", "1000000", "10000000"})
+        int size;
+
+        long[] starts;
+        long[] ends;
+        IntervalIndex index;
+        long span;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            long[][] bookings = bookings(size);
+            starts = bookings[0];
+            ends = bookings[1];
+            index = IntervalIndex.of(starts, ends);
+            span = spanOf(size);
+        }
+    }
+
+    private static long spanOf(int size) {
+        return size * (MIN_DURATION + MAX_DURATION) / 2 / 4;
+    }
+
+    private static long[][] bookings(int size) {
+        Random random = new Random(size);
+        long span = spanOf(size);
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = START + (long) (random.nextDouble() * span);
+            ends[i] = starts[i] + MIN_DURATION + (long) (random.nextDouble() * (MAX_DURATION - MIN_DURATION));
+        }
+        return new long[][]{starts, ends};
+    }
+
+    /**
+     * 现有做法：嵌套循环两两比较
+     */
+    @Benchmark
+    public long pairwiseConflicts(Pairwise state) {
+        long conflicts = 0;
+        for (int i = 0; i < state.size; i++) {
+            for (int j = i + 1; j < state.size; j++) {
+                if (DateTimeUtil.timePeriodCoincide(state.starts[i], state.ends[i], state.starts[j], state.ends[j])) {
+                    conflicts++;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    @Benchmark
+    public long indexedConflicts(Indexed state) {
+        return state.index.countOverlappingPairs();
+    }
+
+    /**
+     * 批量建索引，包括排序
+     */
+    @Benchmark
+    public IntervalIndex build(Indexed state) {
+        return IntervalIndex.of(state.starts, state.ends);
+    }
+
+    @Benchmark
+    public IntervalIndex merge(Indexed state) {
+        return state.index.merge();
+    }
+
+    /**
+     * 单个时刻正在进行的预订
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int[] stab(Indexed state) {
+        return state.index.stab(START + ThreadLocalRandom.current().nextLong(state.span));
+    }
+
+    /**
+     * 新预订是否与已有预订冲突
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean overlapsAny(Indexed state) {
+        long from = START + ThreadLocalRandom.current().nextLong(state.span);
+        return state.index.overlapsAny(from, from + MIN_DURATION);
+    }
+}
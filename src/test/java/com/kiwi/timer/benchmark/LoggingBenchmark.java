@@ -0,0 +1,101 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.log.RingBufferAppender;
+import com.kiwi.timer.util.CachedDateTime;
+import com.kiwi.timer.util.DateTimeUtil;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.NullAppender;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SingleDemo中cron任务的日志写法：原来的字符串拼接加toDateTimeStr与参数化消息加{@link CachedDateTime}对比，
+ * 分别经RingBufferAppender、log4j2自带的AsyncAppender和同步写出到NullAppender，只衡量调用线程的开销；
+ * disabled*为级别关闭时的开销。每次调用的分配加 -prof gc 查看(gc.alloc.rate.norm)
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.isWebapp=false")
+public class LoggingBenchmark {
+    @Param({"ring", "async", "sync"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger log;
+
+    @Setup
+    public void setUp() {
+        Configuration config = new NullConfiguration();
+        Appender target = NullAppender.createAppender("Null");
+        config.addAppender(target);
+        AppenderRef[] refs = {AppenderRef.createAppenderRef("Null", null, null)};
+        Appender appender;
+        if ("ring".equals(mode)) {
+            appender = RingBufferAppender.createAppender("Ring", 4096, true, true, refs, null, config);
+        } else if ("async".equals(mode)) {
+            appender = AsyncAppender.newBuilder().setName("Async").setAppenderRefs(refs).setConfiguration(config)
+                    .setBufferSize(4096).setBlocking(true).setIncludeLocation(false).build();
+        } else {
+            appender = target;
+        }
+        config.addAppender(appender);
+        LoggerConfig loggerConfig = LoggerConfig.createLogger(false, org.apache.logging.log4j.Level.INFO, "bench",
+                "false", new AppenderRef[0], null, config, null);
+        loggerConfig.addAppender(appender, null, null);
+        config.addLogger("bench", loggerConfig);
+        context = new LoggerContext("LoggingBenchmark");
+        context.start(config);
+        log = context.getLogger("bench");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void concatenated() {
+        log.info("----" + DateTimeUtil.toDateTimeStr(new Date()) + " >>cron执行....");
+    }
+
+    @Benchmark
+    public void parameterized() {
+        log.info("----{} >>cron执行....", CachedDateTime.now());
+    }
+
+    @Benchmark
+    public void disabledConcatenated() {
+        log.debug("----" + DateTimeUtil.toDateTimeStr(new Date()) + " >>cron执行....");
+    }
+
+    @Benchmark
+    public void disabledParameterized() {
+        log.debug("----{} >>cron执行....", CachedDateTime.now());
+    }
+}
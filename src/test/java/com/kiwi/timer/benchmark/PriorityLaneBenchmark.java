@@ -0,0 +1,146 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.lane.JobPriority;
+import com.kiwi.timer.lane.LaneTaskScheduler;
+import com.kiwi.timer.lane.Priority;
+import com.kiwi.timer.lane.PriorityLanes;
+import com.kiwi.timer.multi.HandoffTaskScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 低优先级任务持续占满执行线程时，高优先级任务从到期到开始执行的延迟(SampleTime给出p99)：
+ * 所有任务共用一个FIFO的ThreadPoolTaskScheduler，与按@Priority分通道执行对比
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PriorityLaneBenchmark {
+    private static final int THREADS = 8;
+    /**
+     * 每个低优先级任务的执行时间，积压的任务数为执行线程的4倍
+     */
+    private static final long LOW_BUSY_MICROS = 2000;
+    private static final int LOW_BACKLOG = THREADS * 4;
+
+    @Param({"shared", "lanes"})
+    private String mode;
+
+    private ThreadPoolTaskScheduler timer;
+    private PriorityLanes lanes;
+    private TaskScheduler scheduler;
+    private ScheduledMethodRunnable high;
+    private ScheduledMethodRunnable low;
+    private final Jobs jobs = new Jobs();
+    private Thread feeder;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        timer = new ThreadPoolTaskScheduler();
+        timer.setThreadNamePrefix("timer-");
+        if ("lanes".equals(mode)) {
+            timer.setPoolSize(2);
+            timer.afterPropertiesSet();
+            Map<JobPriority, Integer> parallelism = new EnumMap<>(JobPriority.class);
+            parallelism.put(JobPriority.HIGH, 2);
+            parallelism.put(JobPriority.NORMAL, 2);
+            parallelism.put(JobPriority.LOW, THREADS - 2);
+            lanes = new PriorityLanes(parallelism, "lane-", 1);
+            Map<JobPriority, TaskScheduler> schedulers = new EnumMap<>(JobPriority.class);
+            for (JobPriority priority : JobPriority.values()) {
+                schedulers.put(priority, new HandoffTaskScheduler(timer, lanes.get(priority)));
+            }
+            scheduler = new LaneTaskScheduler(schedulers);
+        } else {
+            timer.setPoolSize(THREADS);
+            timer.afterPropertiesSet();
+            scheduler = timer;
+        }
+        high = new ScheduledMethodRunnable(jobs, Jobs.class.getMethod("high"));
+        low = new ScheduledMethodRunnable(jobs, Jobs.class.getMethod("low"));
+        running = true;
+        feeder = new Thread(this::feed, "low-feeder");
+        feeder.start();
+    }
+
+    /**
+     * 始终保持LOW_BACKLOG个低优先级任务未完成
+     */
+    private void feed() {
+        while (running) {
+            try {
+                if (jobs.backlog.tryAcquire(10, TimeUnit.MILLISECONDS)) {
+                    scheduler.schedule(low, new Date());
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        feeder.join();
+        timer.shutdown();
+        if (lanes != null) {
+            lanes.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void highPriorityFireLag() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        jobs.highStarted = started;
+        scheduler.schedule(high, new Date());
+        started.await();
+    }
+
+    public static class Jobs {
+        final Semaphore backlog = new Semaphore(LOW_BACKLOG);
+        volatile CountDownLatch highStarted;
+
+        @Priority(JobPriority.HIGH)
+        public void high() {
+            highStarted.countDown();
+        }
+
+        @Priority(JobPriority.LOW)
+        public void low() {
+            long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(LOW_BUSY_MICROS);
+            while (System.nanoTime() < end) {
+                LockSupport.parkNanos(100_000);
+            }
+            backlog.release();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.wheel.TimingWheelTaskScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已有大量未到期任务时，提交并取消一个超时任务的开销：ThreadPoolTaskScheduler(二叉堆)与时间轮对比
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(4)
+public class SchedulerBenchmark {
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({"pool", "wheel"})
+    private String type;
+
+    @Param({"10000", "100000", "1000000"})
+    private int pending;
+
+    private TaskScheduler scheduler;
+    private Runnable shutdown;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("wheel".equals(type)) {
+            TimingWheelTaskScheduler wheel = new TimingWheelTaskScheduler();
+            wheel.setPoolSize(4);
+            wheel.afterPropertiesSet();
+            scheduler = wheel;
+            shutdown = wheel::shutdown;
+        } else {
+            ThreadPoolTaskScheduler pool = new ThreadPoolTaskScheduler();
+            pool.setPoolSize(4);
+            // 否则取消的任务留在堆里，堆会越来越大
+            pool.setRemoveOnCancelPolicy(true);
+            pool.afterPropertiesSet();
+            scheduler = pool;
+            shutdown = pool::shutdown;
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < pending; i++) {
+            scheduler.schedule(NOOP, new Date(now + TimeUnit.HOURS.toMillis(1) + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdown.run();
+    }
+
+    /**
+     * 典型的超时用法：提交一个几秒后的任务，正常情况下在到期前取消
+     */
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        long delay = 1000 + ThreadLocalRandom.current().nextInt(10000);
+        ScheduledFuture<?> future = scheduler.schedule(NOOP, new Date(System.currentTimeMillis() + delay));
+        return future.cancel(false);
+    }
+}
@@ -0,0 +1,130 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.cron.CronCompilingTaskScheduler;
+import com.kiwi.timer.monitor.InstrumentedTaskScheduler;
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import com.kiwi.timer.overlap.OverlapTaskScheduler;
+import com.kiwi.timer.wheel.TimingWheelTaskScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按MultiDemo默认配置组装的调度链(统计、cron预编译、重叠控制)的吞吐量和触发延迟，
+ * 底层分别为ThreadPoolTaskScheduler和时间轮，bare为不加包装的对照
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerStackBenchmark {
+    private static final int POOL_SIZE = 4;
+    private static final int BATCH = 1000;
+
+    @Param({"pool", "wheel"})
+    private String type;
+
+    @Param({"bare", "decorated"})
+    private String stack;
+
+    private TaskScheduler scheduler;
+    private Runnable shutdown;
+    private ScheduledMethodRunnable task;
+    private final Jobs jobs = new Jobs();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        TaskScheduler timer;
+        Executor executor;
+        if ("wheel".equals(type)) {
+            TimingWheelTaskScheduler wheel = new TimingWheelTaskScheduler();
+            wheel.setPoolSize(POOL_SIZE);
+            wheel.afterPropertiesSet();
+            timer = wheel;
+            executor = wheel.getThreadPoolExecutor();
+            shutdown = wheel::shutdown;
+        } else {
+            ThreadPoolTaskScheduler pool = new ThreadPoolTaskScheduler();
+            pool.setPoolSize(POOL_SIZE);
+            pool.setRemoveOnCancelPolicy(true);
+            pool.afterPropertiesSet();
+            timer = pool;
+            executor = pool;
+            shutdown = pool::shutdown;
+        }
+        if ("decorated".equals(stack)) {
+            // 与MultiDemo.decorate相同的顺序，未启用持久化
+            TaskMetricsRegistry registry = new TaskMetricsRegistry();
+            timer = new InstrumentedTaskScheduler(timer, registry);
+            timer = new CronCompilingTaskScheduler(timer);
+            timer = new OverlapTaskScheduler(timer, executor, registry);
+        }
+        scheduler = timer;
+        task = new ScheduledMethodRunnable(jobs, Jobs.class.getMethod("fire"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdown.run();
+    }
+
+    /**
+     * 一次提交BATCH个立即到期的任务，等全部执行完
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void fireThroughput() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(BATCH);
+        jobs.fired = fired;
+        Date now = new Date();
+        for (int i = 0; i < BATCH; i++) {
+            scheduler.schedule(task, now);
+        }
+        fired.await();
+    }
+
+    /**
+     * 从提交立即到期的任务到开始执行的时间
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void fireLag() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        jobs.fired = fired;
+        scheduler.schedule(task, new Date());
+        fired.await();
+    }
+
+    public static class Jobs {
+        volatile CountDownLatch fired;
+
+        public void fire() {
+            fired.countDown();
+        }
+    }
+}
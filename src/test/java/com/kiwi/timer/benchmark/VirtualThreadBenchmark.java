@@ -0,0 +1,87 @@
+package com.kiwi.timer.benchmark;
+
+import com.kiwi.timer.multi.HandoffTaskScheduler;
+import com.kiwi.timer.multi.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大量同时到期、执行中阻塞(模拟下游I/O)的任务全部完成所需时间：20个平台线程的ThreadPoolTaskScheduler
+ * 与2个计时线程加虚拟线程对比。虚拟线程需要在JDK 21以上运行，否则setUp失败
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+    private static final long BLOCK_MILLIS = 50;
+
+    @Param({"pool", "virtual"})
+    private String mode;
+
+    @Param({"1000", "5000"})
+    private int jobs;
+
+    private ThreadPoolTaskScheduler timer;
+    private TaskScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        timer = new ThreadPoolTaskScheduler();
+        timer.setThreadNamePrefix("timer-");
+        if ("virtual".equals(mode)) {
+            timer.setPoolSize(2);
+            timer.afterPropertiesSet();
+            scheduler = new HandoffTaskScheduler(timer, new SimpleAsyncTaskExecutor(VirtualThreads.threadFactory("virtual-")));
+        } else {
+            timer.setPoolSize(20);
+            timer.afterPropertiesSet();
+            scheduler = timer;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Benchmark
+    public void blockedJobs() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(jobs);
+        Date now = new Date();
+        for (int i = 0; i < jobs; i++) {
+            scheduler.schedule(() -> {
+                try {
+                    Thread.sleep(BLOCK_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }, now);
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,278 @@
+package com.kiwi.timer.cluster;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 多个节点共享一份租约存储：任务只在一个节点执行、持有者宕机后接手、分片覆盖完整且不重复
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class ClusterCoordinatorTests {
+    private static final long LEASE_MILLIS = 300;
+    private static final long PERIOD_MILLIS = 10;
+
+    private final InMemoryLeaseStore store = new InMemoryLeaseStore();
+    private final List<ClusterCoordinator> coordinators = new ArrayList<>();
+    private final List<ThreadPoolTaskScheduler> schedulers = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        schedulers.forEach(ThreadPoolTaskScheduler::shutdown);
+        coordinators.forEach(ClusterCoordinator::stop);
+    }
+
+    private ClusterCoordinator node(String id) {
+        ClusterCoordinator coordinator = new ClusterCoordinator(store, id, LEASE_MILLIS);
+        coordinator.start();
+        coordinators.add(coordinator);
+        return coordinator;
+    }
+
+    private ThreadPoolTaskScheduler schedule(ClusterCoordinator coordinator, Job job, String method) throws Exception {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.initialize();
+        schedulers.add(scheduler);
+        new ClusterTaskScheduler(scheduler, coordinator)
+                .scheduleAtFixedRate(new ScheduledMethodRunnable(job, Job.class.getMethod(method)), PERIOD_MILLIS);
+        return scheduler;
+    }
+
+    @Test
+    public void singleRunnerAndFailover() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger concurrent = new AtomicInteger();
+        List<Job> jobs = new ArrayList<>();
+        List<ThreadPoolTaskScheduler> nodeSchedulers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Job job = new Job(running, concurrent);
+            jobs.add(job);
+            nodeSchedulers.add(schedule(node("node-" + i), job, "tick"));
+        }
+        Thread.sleep(500);
+        int leader = -1;
+        for (int i = 0; i < 3; i++) {
+            if (jobs.get(i).runs.get() > 0) {
+                assertEquals("only one node runs the job", -1, leader);
+                leader = i;
+            }
+        }
+        assertTrue(leader >= 0);
+        assertTrue(jobs.get(leader).runs.get() > 10);
+
+        // 模拟宕机：停止执行和续期，不释放租约
+        nodeSchedulers.get(leader).shutdown();
+        coordinators.get(leader).shutdown(false);
+        long crashed = System.nanoTime();
+        int[] before = new int[3];
+        for (int i = 0; i < 3; i++) {
+            before[i] = jobs.get(i).runs.get();
+        }
+        int successor = -1;
+        while (successor < 0 && System.nanoTime() - crashed < TimeUnit.SECONDS.toNanos(5)) {
+            for (int i = 0; i < 3; i++) {
+                if (i != leader && jobs.get(i).runs.get() > before[i]) {
+                    successor = i;
+                }
+            }
+            Thread.sleep(1);
+        }
+        long failoverMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - crashed);
+        assertTrue(successor >= 0);
+        // 租约到期后的下一次触发即由其它节点接手，不超过两个租约时长
+        assertTrue("failover " + failoverMillis + " ms", failoverMillis <= LEASE_MILLIS + 4 * PERIOD_MILLIS + 100);
+        assertTrue("failover " + failoverMillis + " ms", failoverMillis < 2 * LEASE_MILLIS);
+        Thread.sleep(200);
+        for (int i = 0; i < 3; i++) {
+            if (i != leader && i != successor) {
+                assertEquals(before[i], jobs.get(i).runs.get());
+            }
+        }
+        assertEquals("runs overlapped across nodes", 0, concurrent.get());
+    }
+
+    @Test
+    public void shardsCoverEachIndexOnce() throws Exception {
+        ConcurrentLinkedQueue<String> executed = new ConcurrentLinkedQueue<>();
+        List<ThreadPoolTaskScheduler> nodeSchedulers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ClusterCoordinator coordinator = node("node-" + i);
+            nodeSchedulers.add(schedule(coordinator, new Job(executed, "node-" + i), "sharded"));
+        }
+        // 第一次心跳前各节点只看到自己，等分配稳定
+        Thread.sleep(LEASE_MILLIS);
+        executed.clear();
+        Thread.sleep(300);
+        List<String> snapshot = new ArrayList<>(executed);
+        int[] perShard = new int[Job.SHARDS];
+        Set<String> ownersOfShard0 = new HashSet<>();
+        Set<String> nodes = new HashSet<>();
+        for (String entry : snapshot) {
+            String[] parts = entry.split("/");
+            int shard = Integer.parseInt(parts[1]);
+            perShard[shard]++;
+            nodes.add(parts[0]);
+            if (shard == 0) {
+                ownersOfShard0.add(parts[0]);
+            }
+        }
+        for (int shard = 0; shard < Job.SHARDS; shard++) {
+            assertTrue("shard " + shard + " never ran", perShard[shard] > 0);
+        }
+        assertEquals("shard 0 ran on several nodes", 1, ownersOfShard0.size());
+        assertEquals("all nodes share the work", 3, nodes.size());
+        // 每次触发每个分片执行一次，各分片次数接近
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int count : perShard) {
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+        }
+        assertTrue(min + " vs " + max, max - min <= max / 2 + 2);
+
+        // 一个节点下线后，其余节点接手它的分片
+        nodeSchedulers.get(2).shutdown();
+        coordinators.get(2).stop();
+        Thread.sleep(LEASE_MILLIS);
+        executed.clear();
+        Thread.sleep(200);
+        Set<Integer> covered = new HashSet<>();
+        for (String entry : executed) {
+            assertTrue(!entry.startsWith("node-2/"));
+            covered.add(Integer.parseInt(entry.split("/")[1]));
+        }
+        assertEquals(Job.SHARDS, covered.size());
+    }
+
+    @Test
+    public void rendezvousAssignmentIsBalancedAndStable() {
+        List<String> three = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            three.add("10.0.0." + i + ":8080");
+        }
+        List<String> four = new ArrayList<>(three);
+        four.add("10.0.0.3:8080");
+        int[] counts = new int[3];
+        int moved = 0;
+        int shards = 3000;
+        for (int i = 0; i < shards; i++) {
+            String shard = ClusterCoordinator.shardName("job", i);
+            String before = ClusterCoordinator.assign(shard, three);
+            counts[three.indexOf(before)]++;
+            String after = ClusterCoordinator.assign(shard, four);
+            if (!after.equals(before)) {
+                // 只会迁移到新节点
+                assertEquals("10.0.0.3:8080", after);
+                moved++;
+            }
+        }
+        for (int count : counts) {
+            assertTrue(count + "", Math.abs(count - shards / 3) < shards / 10);
+        }
+        assertTrue(moved + "", Math.abs(moved - shards / 4) < shards / 10);
+    }
+
+    @Test
+    public void renewalCost() {
+        ClusterCoordinator coordinator = node("node-0");
+        for (int i = 0; i < 100; i++) {
+            coordinator.lead("job-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            coordinator.heartbeat();
+        }
+        assertEquals(100, coordinator.getHeldLeases().size());
+        assertTrue("avg " + coordinator.getAverageRenewalNanos() + " ns", coordinator.getAverageRenewalNanos() < TimeUnit.MILLISECONDS.toNanos(1));
+        // 最慢的一次续期也在租约到期之前完成
+        assertTrue("max " + coordinator.getMaxRenewalNanos() + " ns", coordinator.getMaxRenewalNanos() < TimeUnit.MILLISECONDS.toNanos(LEASE_MILLIS));
+    }
+
+    @Test
+    public void runsIncomingRunnable() throws Exception {
+        ClusterCoordinator coordinator = node("node-0");
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        schedulers.add(scheduler);
+        AtomicInteger wrapped = new AtomicInteger();
+        Job job = new Job(new AtomicInteger(), new AtomicInteger());
+        ScheduledMethodRunnable task = new ScheduledMethodRunnable(job, Job.class.getMethod("tick")) {
+            @Override
+            public void run() {
+                wrapped.incrementAndGet();
+                super.run();
+            }
+        };
+        new ClusterTaskScheduler(scheduler, coordinator).scheduleAtFixedRate(task, PERIOD_MILLIS);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (wrapped.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.shutdown();
+        scheduler.getScheduledExecutor().awaitTermination(1, TimeUnit.SECONDS);
+        assertTrue(wrapped.get() >= 3);
+        // 每次执行都经过子类的run()
+        assertEquals(wrapped.get(), job.runs.get());
+    }
+
+    /**
+     * 模拟各节点上同一个@Scheduled Bean
+     */
+    public static class Job {
+        static final int SHARDS = 12;
+        private final AtomicInteger runs = new AtomicInteger();
+        private final AtomicInteger running;
+        private final AtomicInteger concurrent;
+        private final ConcurrentLinkedQueue<String> executed;
+        private final String node;
+
+        Job(AtomicInteger running, AtomicInteger concurrent) {
+            this.running = running;
+            this.concurrent = concurrent;
+            this.executed = null;
+            this.node = null;
+        }
+
+        Job(ConcurrentLinkedQueue<String> executed, String node) {
+            this.running = new AtomicInteger();
+            this.concurrent = new AtomicInteger();
+            this.executed = executed;
+            this.node = node;
+        }
+
+        public void tick() throws InterruptedException {
+            if (running.incrementAndGet() > 1) {
+                concurrent.incrementAndGet();
+            }
+            try {
+                Thread.sleep(1);
+                runs.incrementAndGet();
+            } finally {
+                // 宕机的节点停止时会中断正在执行的任务
+                running.decrementAndGet();
+            }
+        }
+
+        @Sharded(SHARDS)
+        public void sharded() {
+            ShardContext shard = ShardContext.current();
+            assertEquals(SHARDS, shard.getTotal());
+            executed.add(node + "/" + shard.getIndex());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.kiwi.timer.cluster;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 同一JVM中多个{@link ClusterCoordinator}共享的租约存储，语义与{@link JdbcLeaseStore}相同
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+class InMemoryLeaseStore implements LeaseStore {
+    private final Map<String, String> owners = new HashMap<>();
+    private final Map<String, Long> expiresAt = new HashMap<>();
+
+    @Override
+    public synchronized boolean tryAcquire(String name, String owner, long now, long leaseMillis) {
+        Long expires = expiresAt.get(name);
+        if (expires != null && expires > now && !owner.equals(owners.get(name))) {
+            return false;
+        }
+        owners.put(name, owner);
+        expiresAt.put(name, now + leaseMillis);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean renew(String name, String owner, long now, long leaseMillis) {
+        Long expires = expiresAt.get(name);
+        if (expires == null || expires <= now || !owner.equals(owners.get(name))) {
+            return false;
+        }
+        expiresAt.put(name, now + leaseMillis);
+        return true;
+    }
+
+    @Override
+    public synchronized void release(String name, String owner, long now) {
+        Long expires = expiresAt.get(name);
+        if (expires != null && expires > now && owner.equals(owners.get(name))) {
+            expiresAt.put(name, now);
+        }
+    }
+
+    @Override
+    public synchronized Map<String, String> owners(String prefix, long now) {
+        Map<String, String> result = new TreeMap<>();
+        owners.forEach((name, owner) -> {
+            if (name.startsWith(prefix) && expiresAt.get(name) > now) {
+                result.put(name, owner);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.kiwi.timer.cluster;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 在内存H2数据库上验证租约表的语义和续期耗时，需要h2依赖：mvn test -Ph2
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class JdbcLeaseStoreTests {
+    private JdbcLeaseStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        Class<?> type;
+        try {
+            type = Class.forName("org.h2.jdbcx.JdbcDataSource");
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException("H2 is not on the test classpath, run with -Ph2", e);
+            return;
+        }
+        DataSource dataSource = (DataSource) type.newInstance();
+        type.getMethod("setURL", String.class).invoke(dataSource, "jdbc:h2:mem:lease" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        store = new JdbcLeaseStore(dataSource);
+        store.createTableIfNotExists();
+        // 再次调用不重复创建
+        store.createTableIfNotExists();
+    }
+
+    @Test
+    public void leaseSemantics() {
+        assertTrue(store.tryAcquire("job", "a", 1000, 100));
+        assertFalse(store.tryAcquire("job", "b", 1050, 100));
+        // 持有者再次取得即续期
+        assertTrue(store.tryAcquire("job", "a", 1050, 100));
+        assertFalse(store.tryAcquire("job", "b", 1149, 100));
+        assertTrue(store.renew("job", "a", 1100, 100));
+        assertFalse(store.renew("job", "b", 1100, 100));
+        // 过期后其他节点取得，原持有者无法续期
+        assertTrue(store.tryAcquire("job", "b", 1200, 100));
+        assertFalse(store.renew("job", "a", 1210, 100));
+        assertEquals("b", store.owners("jo", 1210).get("job"));
+        store.release("job", "a", 1220);
+        assertEquals("b", store.owners("job", 1220).get("job"));
+        store.release("job", "b", 1220);
+        assertTrue(store.owners("job", 1220).isEmpty());
+        assertTrue(store.tryAcquire("job", "a", 1221, 100));
+    }
+
+    @Test
+    public void ownersByPrefix() {
+        store.tryAcquire(ClusterCoordinator.NODE_PREFIX + "a", "a", 1000, 100);
+        store.tryAcquire(ClusterCoordinator.NODE_PREFIX + "b", "b", 1000, 50);
+        store.tryAcquire("node_c", "c", 1000, 100);
+        assertEquals(2, store.owners(ClusterCoordinator.NODE_PREFIX, 1000).size());
+        assertEquals(1, store.owners(ClusterCoordinator.NODE_PREFIX, 1060).size());
+    }
+
+    @Test
+    public void coordinatorRenewalCost() {
+        ClusterCoordinator coordinator = new ClusterCoordinator(store, "node-0", 30000);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(coordinator.lead("job-" + i));
+        }
+        for (int i = 0; i < 500; i++) {
+            coordinator.heartbeat();
+        }
+        assertEquals(20, coordinator.getHeldLeases().size());
+        assertTrue("avg " + coordinator.getAverageRenewalNanos() + " ns", coordinator.getAverageRenewalNanos() < TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue("max " + coordinator.getMaxRenewalNanos() + " ns", coordinator.getMaxRenewalNanos() < TimeUnit.SECONDS.toNanos(3));
+    }
+}
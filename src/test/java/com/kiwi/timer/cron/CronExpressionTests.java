@@ -0,0 +1,204 @@
+package com.kiwi.timer.cron;
+
+import org.junit.Test;
+import org.springframework.scheduling.support.CronSequenceGenerator;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 与Spring的CronSequenceGenerator逐一对比
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class CronExpressionTests {
+    private static final String[] EXPRESSIONS = {
+            "0/5 * * * * ?",
+            "* * * * * *",
+            "0 0 * * * *",
+            "0 */15 * * * ?",
+            "0 30 2 * * ?",
+            "0 0 1,2,3 * * *",
+            "10-20/3 5,35 8-18 * * MON-FRI",
+            "0 0 0 1 * ?",
+            "0 0 0 L-1 * ?".replace("L-1", "31"),
+            "0 0 12 29 2 ?",
+            "0 0 0 13 * FRI",
+            "0 15 10 ? JAN,JUL *",
+            "59 59 23 31 DEC ?",
+            "0 0 9 * * 0",
+            "0 0 9 * * 7",
+            "0 0 0 * * SUN",
+            "0 0/20 0-3 * * *",
+            "30 2/7 * 5-25/4 3-11 2-5",
+    };
+    private static final String[] ZONES = {
+            "UTC", "Asia/Shanghai", "America/New_York", "Australia/Lord_Howe", "Europe/Moscow", "America/Sao_Paulo"
+    };
+
+    @Test
+    public void matchesCronSequenceGenerator() {
+        Random random = new Random(42);
+        long from = -10L * 365 * 24 * 3600 * 1000;
+        long span = 100L * 365 * 24 * 3600 * 1000;
+        for (String zoneId : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(zoneId);
+            for (String expression : EXPRESSIONS) {
+                CronSequenceGenerator generator = new CronSequenceGenerator(expression, zone);
+                CronExpression cron = CronExpression.parse(expression, zone);
+                for (int i = 0; i < 300; i++) {
+                    long time = from + (long) (random.nextDouble() * span);
+                    assertNext(zoneId + " " + expression + " after " + new Date(time), generator, cron, time);
+                }
+                // 连续取下次触发时间，走缓存窗口
+                long time = from + (long) (random.nextDouble() * span);
+                for (int i = 0; i < 500; i++) {
+                    time = assertNext(zoneId + " " + expression + " sequence", generator, cron, time);
+                }
+            }
+        }
+    }
+
+    /**
+     * 结果不同时只允许是CronSequenceGenerator跳过了更早的匹配：
+     * 结果更早、本身是一次触发(从前一秒开始计算得到它自己)、与time之间没有其他触发
+     */
+    private static long assertNext(String message, CronSequenceGenerator generator, CronExpression cron, long time) {
+        long actual = cron.next(time);
+        long expected;
+        try {
+            expected = generator.next(new Date(time)).getTime();
+        } catch (IllegalArgumentException ex) {
+            // CronSequenceGenerator最多向后找4年，如2100年不是闰年时的2月29日
+            assertTrue(message, actual > time);
+            return actual;
+        }
+        if (actual != expected) {
+            assertTrue(message, actual < expected);
+            assertEquals(message, actual, generator.next(new Date(actual - 1000)).getTime());
+            assertTrue(message, cron.previous(actual) <= time);
+        }
+        return actual;
+    }
+
+    @Test
+    public void skippedMatchIsFound() {
+        TimeZone zone = TimeZone.getTimeZone("UTC");
+        String expression = "10-20/3 5,35 8-18 * * MON-FRI";
+        // 2053-02-13 14:13:12，CronSequenceGenerator给出14:35:13
+        long time = 2623068792000L;
+        assertEquals(2623070113000L, new CronSequenceGenerator(expression, zone).next(new Date(time)).getTime());
+        assertEquals(2623070110000L, CronExpression.parse(expression, zone).next(time));
+    }
+
+    @Test
+    public void matchesAcrossDaylightSavingTransitions() {
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        for (String expression : new String[]{"0 */15 * * * ?", "0 30 2 * * ?", "0 0 1,2,3 * * *", "*/30 * 1-3 * * *"}) {
+            CronSequenceGenerator generator = new CronSequenceGenerator(expression, zone);
+            CronExpression cron = CronExpression.parse(expression, zone);
+            // 2020-03-08 和 2020-11-01 前后
+            for (long start : new long[]{1583643600000L, 1604203200000L}) {
+                for (long time = start; time < start + 6 * 3600 * 1000L; time += 7 * 60 * 1000L + 13) {
+                    assertEquals(expression + " after " + new Date(time),
+                            generator.next(new Date(time)).getTime(), cron.next(time));
+                    long previous = cron.previous(time);
+                    assertTrue(expression, previous < time);
+                    assertTrue(expression, cron.next(previous) >= time);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void previousIsInverseOfNext() {
+        Random random = new Random(7);
+        for (String zoneId : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(zoneId);
+            for (String expression : EXPRESSIONS) {
+                CronExpression cron = CronExpression.parse(expression, zone);
+                for (int i = 0; i < 200; i++) {
+                    long time = (long) (random.nextDouble() * 2_000_000_000_000L);
+                    long previous = cron.previous(time);
+                    assertTrue(expression, previous < time);
+                    assertTrue(expression, cron.next(previous) >= time);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void neverMatching() {
+        CronExpression cron = CronExpression.parse("0 0 0 30 2 ?");
+        assertEquals(CronExpression.NONE, cron.next(System.currentTimeMillis()));
+        assertEquals(CronExpression.NONE, cron.previous(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void rejectsWhatGeneratorRejects() {
+        String[] invalid = {"* * * * *", "60 * * * * *", "* * 24 * * *", "* * * 32 * *", "* * * * 13 *",
+                "* * * * * 8", "5-1 * * * * *", "*/0 * * * * *", "1/2/3 * * * * *", "1-2-3 * * * * *", "a * * * * *"};
+        for (String expression : invalid) {
+            try {
+                new CronSequenceGenerator(expression);
+                fail(expression);
+            } catch (IllegalArgumentException expected) {
+                // 与Spring一致
+            }
+            try {
+                CronExpression.parse(expression);
+                fail(expression);
+            } catch (IllegalArgumentException expected) {
+                // 期望
+            }
+        }
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        CronExpression.clearCache();
+        try {
+            assertBounded();
+        } finally {
+            // 不把填满的缓存留给同一JVM中的其它测试
+            CronExpression.clearCache();
+        }
+    }
+
+    private static void assertBounded() {
+        TimeZone zone = TimeZone.getTimeZone("UTC");
+        CronExpression shared = CronExpression.parse("0 0 12 * * ?", zone);
+        assertSame(shared, CronExpression.parse("0 0 12 * * ?", zone));
+        for (int i = 0; i < CronExpression.MAX_CACHED * 2; i++) {
+            CronExpression.parse((i % 60) + " " + (i / 60) + " 3 * * ?", zone);
+        }
+        assertEquals(CronExpression.MAX_CACHED, CronExpression.cachedCount());
+        assertSame(shared, CronExpression.parse("0 0 12 * * ?", zone));
+        CronExpression uncached = CronExpression.parse("1,2,3 4,5 6 7 8 ?", zone);
+        assertNotSame(uncached, CronExpression.parse("1,2,3 4,5 6 7 8 ?", zone));
+        assertEquals(uncached.next(0), CronExpression.parse("1,2,3 4,5 6 7 8 ?", zone).next(0));
+    }
+
+    @Test
+    public void triggerMatchesCronTrigger() {
+        CronTrigger cronTrigger = new CronTrigger("0/5 * * * * ?");
+        CompiledCronTrigger compiled = (CompiledCronTrigger) CronCompilingTaskScheduler.compile(cronTrigger);
+        assertEquals("0/5 * * * * ?", compiled.getExpression());
+        SimpleTriggerContext context = new SimpleTriggerContext();
+        for (int i = 0; i < 10; i++) {
+            Date next = compiled.nextExecutionTime(context);
+            assertEquals(cronTrigger.nextExecutionTime(context), next);
+            context.update(next, next, new Date(next.getTime() + 10));
+        }
+    }
+}
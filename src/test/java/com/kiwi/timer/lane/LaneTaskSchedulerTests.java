@@ -0,0 +1,97 @@
+package com.kiwi.timer.lane;
+
+import com.kiwi.timer.multi.HandoffTaskScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按@Priority分通道执行：低优先级通道占满时，高优先级任务仍按时执行
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class LaneTaskSchedulerTests {
+    private ThreadPoolTaskScheduler timer;
+    private PriorityLanes lanes;
+    private LaneTaskScheduler scheduler;
+    private final Job job = new Job();
+
+    @Before
+    public void setUp() {
+        timer = new ThreadPoolTaskScheduler();
+        timer.setPoolSize(1);
+        timer.initialize();
+        Map<JobPriority, Integer> parallelism = new EnumMap<>(JobPriority.class);
+        parallelism.put(JobPriority.HIGH, 1);
+        parallelism.put(JobPriority.NORMAL, 1);
+        parallelism.put(JobPriority.LOW, 2);
+        lanes = new PriorityLanes(parallelism, "lane-", 1);
+        Map<JobPriority, TaskScheduler> schedulers = new EnumMap<>(JobPriority.class);
+        for (JobPriority priority : JobPriority.values()) {
+            schedulers.put(priority, new HandoffTaskScheduler(timer, lanes.get(priority)));
+        }
+        scheduler = new LaneTaskScheduler(schedulers);
+    }
+
+    @After
+    public void tearDown() {
+        job.gate.countDown();
+        timer.shutdown();
+        lanes.shutdown();
+    }
+
+    private ScheduledMethodRunnable task(String method) throws NoSuchMethodException {
+        return new ScheduledMethodRunnable(job, Job.class.getMethod(method));
+    }
+
+    @Test
+    public void highPriorityUnaffectedBySaturatedLowLane() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            scheduler.schedule(task("cleanup"), new Date());
+        }
+        long start = System.nanoTime();
+        scheduler.schedule(task("critical"), new Date());
+        assertTrue(job.critical.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertTrue(job.criticalThread, job.criticalThread.startsWith("lane-high-"));
+        scheduler.schedule(task("plain"), new Date());
+        assertTrue(job.plain.await(1, TimeUnit.SECONDS));
+        assertTrue(job.plainThread, job.plainThread.startsWith("lane-normal-"));
+    }
+
+    public static class Job {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final CountDownLatch critical = new CountDownLatch(1);
+        final CountDownLatch plain = new CountDownLatch(1);
+        volatile String criticalThread;
+        volatile String plainThread;
+
+        @Priority(JobPriority.LOW)
+        public void cleanup() throws InterruptedException {
+            gate.await();
+        }
+
+        @Priority(JobPriority.HIGH)
+        public void critical() {
+            criticalThread = Thread.currentThread().getName();
+            critical.countDown();
+        }
+
+        public void plain() {
+            plainThread = Thread.currentThread().getName();
+            plain.countDown();
+        }
+    }
+}
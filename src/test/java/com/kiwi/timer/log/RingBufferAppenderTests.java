@@ -0,0 +1,172 @@
+package com.kiwi.timer.log;
+
+import com.kiwi.timer.util.CachedDateTime;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.util.Constants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 异步写出的顺序和内容，以及记录日志的线程不分配对象
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class RingBufferAppenderTests {
+    private LoggerContext context;
+    private CapturingAppender capture;
+    private RingBufferAppender ring;
+    private Logger logger;
+
+    @Before
+    public void setUp() {
+        Configuration config = new NullConfiguration();
+        capture = new CapturingAppender();
+        capture.start();
+        config.addAppender(capture);
+        ring = RingBufferAppender.createAppender("Ring", 64, true, true,
+                new AppenderRef[]{AppenderRef.createAppenderRef("Capture", null, null)}, null, config);
+        ring.start();
+        config.addAppender(ring);
+        LoggerConfig loggerConfig = LoggerConfig.createLogger(false, Level.INFO, "ring", "false",
+                new AppenderRef[0], null, config, null);
+        loggerConfig.addAppender(ring, null, null);
+        config.addLogger("ring", loggerConfig);
+        context = new LoggerContext("RingBufferAppenderTests");
+        context.start(config);
+        logger = context.getLogger("ring");
+    }
+
+    @After
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    public void deliversInOrderWithParametersAtCallTime() {
+        capture.keepMessages = true;
+        StringBuilder changing = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            changing.setLength(0);
+            changing.append(i);
+            logger.info("event {} of {}", changing, 1000);
+        }
+        logger.debug("disabled {}", 1);
+        ring.stop(10, TimeUnit.SECONDS);
+        assertEquals(1000, capture.messages.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("event " + i + " of 1000", capture.messages.get(i));
+        }
+        assertEquals(0, ring.getQueueSize());
+        assertEquals(0, ring.getDroppedCount());
+        assertTrue(capture.batches.get() >= 1 && capture.batches.get() <= 1000);
+    }
+
+    @Test
+    public void dropsWhenFullAndNotBlocking() throws Exception {
+        RingBufferAppender dropping = RingBufferAppender.createAppender("Dropping", 4, false, true,
+                new AppenderRef[]{AppenderRef.createAppenderRef("Capture", null, null)}, null, context.getConfiguration());
+        capture.delayMillis = 50;
+        dropping.start();
+        for (int i = 0; i < 20; i++) {
+            dropping.append(org.apache.logging.log4j.core.impl.Log4jLogEvent.newBuilder()
+                    .setLoggerName("ring").setLevel(Level.INFO)
+                    .setMessage(new org.apache.logging.log4j.message.SimpleMessage("m" + i)).build());
+        }
+        assertEquals(4, dropping.getBufferSize());
+        assertTrue(dropping.getDroppedCount() >= 20 - 4 - 1);
+        dropping.stop(10, TimeUnit.SECONDS);
+        assertEquals(20 - dropping.getDroppedCount(), capture.count.get());
+    }
+
+    @Test
+    public void appendAndStopBeforeStart() {
+        RingBufferAppender idle = RingBufferAppender.createAppender("Idle", 4, false, true,
+                new AppenderRef[]{AppenderRef.createAppenderRef("Capture", null, null)}, null, context.getConfiguration());
+        assertTrue(idle.stop(1, TimeUnit.SECONDS));
+
+        RingBufferAppender late = RingBufferAppender.createAppender("Late", 4, false, true,
+                new AppenderRef[]{AppenderRef.createAppenderRef("Capture", null, null)}, null, context.getConfiguration());
+        late.append(org.apache.logging.log4j.core.impl.Log4jLogEvent.newBuilder()
+                .setLoggerName("ring").setLevel(Level.INFO)
+                .setMessage(new org.apache.logging.log4j.message.SimpleMessage("early")).build());
+        assertEquals(1, late.getQueueSize());
+        late.start();
+        late.stop(10, TimeUnit.SECONDS);
+        assertEquals(1, capture.count.get());
+        assertEquals(0, late.getQueueSize());
+    }
+
+    @Test
+    public void loggingThreadDoesNotAllocate() {
+        assertTrue("log4j2.component.properties should enable thread locals", Constants.ENABLE_THREADLOCALS);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 200000; i++) {
+            logger.info("---- {} >>cron执行....", CachedDateTime.now());
+            logger.debug("disabled {}", logger);
+        }
+        int events = 200000;
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < events; i++) {
+            logger.info("---- {} >>cron执行....", CachedDateTime.now());
+            logger.debug("disabled {}", logger);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        // 只剩每秒一次的时间字符串，以及与后台线程争用锁或缓冲区满时等待的排队节点，平均每条不到1字节
+        assertTrue("allocated " + allocated + " bytes for " + events + " events", allocated < events);
+    }
+
+    /**
+     * 只计数或记录格式化后的消息
+     */
+    private static final class CapturingAppender extends AbstractAppender {
+        private final List<String> messages = new ArrayList<>();
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private volatile boolean keepMessages;
+        private volatile long delayMillis;
+
+        CapturingAppender() {
+            super("Capture", null, null, true);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            assertSame(Level.INFO, event.getLevel());
+            if (keepMessages) {
+                messages.add(event.getMessage().getFormattedMessage());
+            }
+            if (event.isEndOfBatch()) {
+                batches.incrementAndGet();
+            }
+            count.incrementAndGet();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
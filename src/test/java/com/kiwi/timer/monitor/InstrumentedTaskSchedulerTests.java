@@ -0,0 +1,192 @@
+package com.kiwi.timer.monitor;
+
+import com.kiwi.timer.cron.CompiledCronTrigger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 触发延迟、执行耗时、重叠和跳过的统计
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class InstrumentedTaskSchedulerTests {
+    private ThreadPoolTaskScheduler pool;
+    private TaskMetricsRegistry registry;
+    private InstrumentedTaskScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        pool = new ThreadPoolTaskScheduler();
+        pool.setPoolSize(2);
+        pool.initialize();
+        registry = new TaskMetricsRegistry();
+        scheduler = new InstrumentedTaskScheduler(pool, registry);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void oneShotLagAndDuration() throws Exception {
+        SlowTask task = new SlowTask(20);
+        scheduler.schedule(task, new Date(System.currentTimeMillis() + 50)).get(5, TimeUnit.SECONDS);
+        TaskMetrics metrics = registry.metrics(SlowTask.class.getName());
+        assertEquals(1, metrics.getRuns());
+        assertEquals(0, metrics.getRunning());
+        assertTrue(metrics.getDuration().getMaxMicros() >= 19000);
+        // 计划时间按毫秒给出，允许1毫秒的提前
+        assertTrue(metrics.getLag().getMaxMicros() < 50000);
+    }
+
+    @Test
+    public void fixedRateOverlapCounted() throws Exception {
+        SlowTask task = new SlowTask(30);
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(task, 10);
+        assertTrue(task.runs.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        TaskMetrics metrics = registry.metrics(SlowTask.class.getName());
+        assertTrue(metrics.getOverlapped() >= 3);
+        // 每次都晚于计划时间开始，延迟越来越大
+        assertTrue(metrics.getLag().getMaxMicros() >= 40000);
+    }
+
+    @Test
+    public void cronMissedCounted() throws Exception {
+        SlowTask task = new SlowTask(2100);
+        ScheduledFuture<?> future = scheduler.schedule(task, new CronTrigger("* * * * * *"));
+        Thread.sleep(4700);
+        future.cancel(false);
+        TaskMetrics metrics = registry.metrics(SlowTask.class.getName());
+        assertTrue(metrics.getRuns() >= 1);
+        assertTrue("missed " + metrics.getMissed(), metrics.getMissed() >= 2);
+        assertEquals(0, metrics.getOverlapped());
+    }
+
+    /**
+     * 上次执行从T持续到T+3分30秒，T+1、T+2、T+3三分钟的触发被跳过
+     */
+    @Test
+    public void cronMissedCountedFromContext() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        long minute = 60_000;
+        long start = 1792310400000L;
+        SimpleTriggerContext late = new SimpleTriggerContext(new Date(start), new Date(start), new Date(start + 3 * minute + 30_000));
+        SimpleTriggerContext early = new SimpleTriggerContext(new Date(start), new Date(start), new Date(start + 1000));
+
+        TaskMetrics compiled = missedAfter(new CompiledCronTrigger("0 * * * * ?", utc), "compiled", late);
+        assertEquals(3, compiled.getMissed());
+
+        CountingCronTrigger counting = new CountingCronTrigger("0 * * * * ?", utc);
+        Trigger trigger = capture(counting, "spring");
+        assertEquals(new Date(start + minute), trigger.nextExecutionTime(early));
+        // 提前完成时只多算一次下个触发时间
+        assertEquals(2, counting.calls);
+        assertEquals(new Date(start + 4 * minute), trigger.nextExecutionTime(late));
+        assertEquals(3, registry.metrics("spring").getMissed());
+    }
+
+    private TaskMetrics missedAfter(Trigger trigger, String name, TriggerContext context) {
+        capture(trigger, name).nextExecutionTime(context);
+        return registry.metrics(name);
+    }
+
+    /**
+     * 取得包装后交给内层调度器的Trigger
+     */
+    private Trigger capture(Trigger trigger, String name) {
+        Trigger[] captured = new Trigger[1];
+        TaskScheduler inner = (TaskScheduler) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{TaskScheduler.class},
+                (proxy, method, args) -> {
+                    captured[0] = (Trigger) args[1];
+                    return null;
+                });
+        new InstrumentedTaskScheduler(inner, registry).schedule(new NamedRunnable(name), trigger);
+        return captured[0];
+    }
+
+    @Test
+    public void failureCounted() throws Exception {
+        ScheduledFuture<?> future = scheduler.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, new Date());
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (Exception expected) {
+            // 一次性任务的异常抛给调用方
+        }
+        long failures = registry.all().values().stream().mapToLong(TaskMetrics::getFailures).sum();
+        assertEquals(1, failures);
+    }
+
+    private static final class NamedRunnable implements Runnable, NamedTask {
+        private final String name;
+
+        NamedRunnable(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getTaskName() {
+            return name;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+
+    private static final class CountingCronTrigger extends CronTrigger {
+        private int calls;
+
+        CountingCronTrigger(String expression, TimeZone timeZone) {
+            super(expression, timeZone);
+        }
+
+        @Override
+        public Date nextExecutionTime(TriggerContext triggerContext) {
+            calls++;
+            return super.nextExecutionTime(triggerContext);
+        }
+    }
+
+    private static final class SlowTask implements Runnable {
+        private final long millis;
+        private final CountDownLatch runs = new CountDownLatch(5);
+
+        SlowTask(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            runs.countDown();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.kiwi.timer.monitor;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 直方图的分桶精度和记录时不分配对象
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class LatencyHistogramTests {
+
+    @Test
+    public void bucketsCoverValueRange() {
+        for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1000, 123456789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(value + "", LatencyHistogram.highestValue(index) >= value);
+            assertTrue(value + "", index == 0 || LatencyHistogram.highestValue(index - 1) < value);
+        }
+    }
+
+    @Test
+    public void percentilesWithinRelativeError() {
+        Random random = new Random(3);
+        long[] values = new long[100000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // 1微秒到1秒之间的对数分布
+            values[i] = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        double[] quantiles = {0.5, 0.9, 0.99, 0.999, 1.0};
+        long[] percentiles = histogram.percentiles(quantiles);
+        for (int i = 0; i < quantiles.length; i++) {
+            long exact = values[(int) Math.ceil(quantiles[i] * values.length) - 1];
+            assertTrue(quantiles[i] + ": " + percentiles[i] + " vs " + exact,
+                    percentiles[i] >= exact && percentiles[i] <= exact + exact / 64 + 1);
+        }
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1] / 1000, histogram.snapshot().getMaxMicros());
+    }
+
+    @Test
+    public void recordDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100000; i++) {
+            histogram.record(i * 31L);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 1000000; i++) {
+            histogram.record(i * 31L);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue("allocated " + allocated, allocated < 1024);
+    }
+}
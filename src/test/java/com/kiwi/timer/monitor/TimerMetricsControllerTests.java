@@ -0,0 +1,50 @@
+package com.kiwi.timer.monitor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @Scheduled方法经过统计包装，/timers返回任务和线程池的统计
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TimerMetricsControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TaskMetricsRegistry registry;
+
+    @Test
+    public void scheduledMethodsReported() throws Exception {
+        // fixedRate任务启动后立即执行一次
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.metrics("SingleDemo.fixedRateJob").getRuns() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(registry.metrics("SingleDemo.fixedRateJob").getRuns() > 0);
+        mockMvc.perform(get("/timers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks['SingleDemo.fixedRateJob'].duration.count").value(1))
+                .andExpect(jsonPath("$.pools.scheduler.activeCount").exists());
+        mockMvc.perform(get("/timers/SingleDemo.fixedRateJob"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lag.p99Micros").exists())
+                .andExpect(jsonPath("$.overlapped").value(0));
+    }
+}
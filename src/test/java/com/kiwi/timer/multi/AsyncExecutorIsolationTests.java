@@ -0,0 +1,90 @@
+package com.kiwi.timer.multi;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 异步线程池打满时定时任务的触发延迟
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "timer.async.core-pool-size=2",
+        "timer.async.max-pool-size=2",
+        "timer.async.queue-capacity=16"
+})
+public class AsyncExecutorIsolationTests {
+    private static final int SAMPLES = 50;
+    private static final long PERIOD_MILLIS = 10;
+
+    @Autowired
+    private MultiDemo multiDemo;
+    @Autowired
+    private MeteredTaskExecutor asyncExecutor;
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Test
+    public void asyncExecutorIsNotTheScheduler() {
+        assertSame(asyncExecutor, multiDemo.getAsyncExecutor());
+        assertTrue(asyncExecutor.getThreadPoolExecutor() != taskScheduler.getScheduledExecutor());
+    }
+
+    @Test
+    public void schedulingLatencyUnderSaturatedAsyncLoad() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        PoolMetrics before = asyncExecutor.metrics();
+        int rejected = 0;
+        for (int i = 0; i < 100; i++) {
+            try {
+                asyncExecutor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (TaskRejectedException ex) {
+                rejected++;
+            }
+        }
+        try {
+            PoolMetrics saturated = asyncExecutor.metrics();
+            assertEquals(2, saturated.getActiveCount());
+            assertEquals(16, saturated.getQueueSize());
+            assertEquals(100 - 2 - 16, rejected);
+            assertEquals(before.getRejectedCount() + rejected, saturated.getRejectedCount());
+
+            CountDownLatch fired = new CountDownLatch(SAMPLES);
+            AtomicLong maxLateness = new AtomicLong();
+            long start = System.currentTimeMillis() + PERIOD_MILLIS;
+            for (int i = 0; i < SAMPLES; i++) {
+                long expected = start + i * PERIOD_MILLIS;
+                taskScheduler.schedule(() -> {
+                    maxLateness.accumulateAndGet(System.currentTimeMillis() - expected, Math::max);
+                    fired.countDown();
+                }, new Date(expected));
+            }
+            assertTrue(fired.await(10, TimeUnit.SECONDS));
+            assertTrue("max lateness " + maxLateness.get() + "ms", maxLateness.get() < 100);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kiwi.timer.multi;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HandoffTaskSchedulerTests {
+    private ThreadPoolTaskScheduler timer;
+
+    @Before
+    public void setUp() {
+        timer = new ThreadPoolTaskScheduler();
+        timer.setPoolSize(1);
+        timer.setThreadNamePrefix("timer-");
+        timer.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    private HandoffTaskScheduler scheduler() {
+        return new HandoffTaskScheduler(timer, new SimpleAsyncTaskExecutor("job-"));
+    }
+
+    @Test
+    public void oneShotRunsOffTimerThread() throws Exception {
+        String[] thread = new String[1];
+        ScheduledFuture<?> future = scheduler().schedule(() -> thread[0] = Thread.currentThread().getName(),
+                new Date(System.currentTimeMillis() + 50));
+        future.get(5, TimeUnit.SECONDS);
+        assertTrue(future.isDone());
+        assertTrue(thread[0], thread[0].startsWith("job-"));
+    }
+
+    @Test
+    public void oneShotFailureReported() throws Exception {
+        ScheduledFuture<?> future = scheduler().schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, new Date());
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void fixedRateNeverOverlaps() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch runs = new CountDownLatch(5);
+        ScheduledFuture<?> future = scheduler().scheduleAtFixedRate(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(30);
+            running.decrementAndGet();
+            runs.countDown();
+        }, 5);
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void fixedDelayFromCompletion() throws Exception {
+        long[] times = new long[3];
+        AtomicInteger index = new AtomicInteger();
+        CountDownLatch runs = new CountDownLatch(3);
+        ScheduledFuture<?> future = scheduler().scheduleWithFixedDelay(() -> {
+            int i = index.getAndIncrement();
+            if (i < times.length) {
+                times[i] = System.currentTimeMillis();
+                sleep(50);
+                runs.countDown();
+            }
+        }, 50);
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        assertTrue(times[1] - times[0] >= 99);
+        assertTrue(times[2] - times[1] >= 99);
+    }
+
+    @Test
+    public void cancelStopsRepeating() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler().schedule(runs::incrementAndGet, new CronTrigger("* * * * * ?"));
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+        assertFalse(future.cancel(false));
+        Thread.sleep(1200);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void thousandsOfBlockedJobsOnVirtualThreads() throws Exception {
+        Assume.assumeTrue(VirtualThreads.isSupported());
+        HandoffTaskScheduler scheduler = new HandoffTaskScheduler(timer,
+                new SimpleAsyncTaskExecutor(VirtualThreads.threadFactory("virtual-")));
+        int jobs = 5000;
+        CountDownLatch started = new CountDownLatch(jobs);
+        CountDownLatch release = new CountDownLatch(1);
+        Date now = new Date();
+        for (int i = 0; i < jobs; i++) {
+            scheduler.schedule(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }, now);
+        }
+        // 全部同时阻塞，一个计时线程即可
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
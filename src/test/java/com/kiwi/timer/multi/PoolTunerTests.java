@@ -0,0 +1,109 @@
+package com.kiwi.timer.multi;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 配置绑定和运行中调整线程数
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "timer.scheduler.pool-size=5",
+        "timer.async.core-pool-size=1",
+        "timer.async.max-pool-size=1",
+        "timer.async.queue-capacity=500"
+})
+@AutoConfigureMockMvc
+public class PoolTunerTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PoolTuner poolTuner;
+    @Autowired
+    private TimerPoolProperties properties;
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+    @Autowired
+    private MeteredTaskExecutor asyncExecutor;
+
+    @Test
+    public void propertiesBound() throws Exception {
+        assertEquals(5, taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize());
+        assertEquals(500, asyncExecutor.metrics().getQueueRemainingCapacity() + asyncExecutor.metrics().getQueueSize());
+        mockMvc.perform(get("/pools"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.async.queueSize").exists());
+    }
+
+    @Test
+    @DirtiesContext
+    public void resizeKeepsQueuedTasks() throws Exception {
+        int count = 200;
+        CountDownLatch scheduled = new CountDownLatch(count);
+        long start = System.currentTimeMillis() + 200;
+        for (int i = 0; i < count; i++) {
+            taskScheduler.schedule(scheduled::countDown, new Date(start + i));
+        }
+        CountDownLatch async = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            asyncExecutor.execute(() -> {
+                sleep(1);
+                async.countDown();
+            });
+        }
+
+        mockMvc.perform(put("/pools/scheduler").param("poolSize", "8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scheduler.corePoolSize").value(8));
+        mockMvc.perform(put("/pools/async").param("corePoolSize", "4").param("maxPoolSize", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.async.corePoolSize").value(4))
+                .andExpect(jsonPath("$.async.maxPoolSize").value(6));
+        assertEquals(8, properties.getScheduler().getPoolSize());
+        assertEquals(4, properties.getAsync().getCorePoolSize());
+
+        poolTuner.resizeScheduler(2);
+        poolTuner.resizeAsync(1, 2);
+        assertTrue(scheduled.await(10, TimeUnit.SECONDS));
+        assertTrue(async.await(10, TimeUnit.SECONDS));
+        assertEquals(2, taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize());
+        assertEquals(2, asyncExecutor.getThreadPoolExecutor().getMaximumPoolSize());
+    }
+
+    @Test
+    public void rejectsInvalidSizes() throws Exception {
+        mockMvc.perform(put("/pools/scheduler").param("poolSize", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/pools/async").param("corePoolSize", "10").param("maxPoolSize", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.kiwi.timer.overlap;
+
+import com.kiwi.timer.monitor.TaskMetrics;
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 执行被阻塞时，各策略下的执行数、并发数以及跳过、合并的计数
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class OverlapTaskSchedulerTests {
+    private static final long PERIOD_MILLIS = 5;
+
+    private final TaskMetricsRegistry registry = new TaskMetricsRegistry();
+    private ThreadPoolTaskScheduler scheduler;
+    private OverlapTaskScheduler overlap;
+    private final Job job = new Job();
+
+    @Before
+    public void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(8);
+        scheduler.initialize();
+        overlap = new OverlapTaskScheduler(scheduler, scheduler, registry);
+    }
+
+    @After
+    public void tearDown() {
+        job.gate.countDown();
+        scheduler.shutdown();
+    }
+
+    /**
+     * 执行被阻塞期间触发约40次，放行后再停止计划，等待执行结束
+     */
+    private TaskMetrics blockedRun(String method) throws Exception {
+        ScheduledFuture<?> future = overlap.scheduleAtFixedRate(new ScheduledMethodRunnable(job, Job.class.getMethod(method)), PERIOD_MILLIS);
+        Thread.sleep(40 * PERIOD_MILLIS);
+        future.cancel(false);
+        job.gate.countDown();
+        for (int i = 0; i < 100 && job.running.get() > 0; i++) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        return registry.metrics("Job." + method);
+    }
+
+    @Test
+    public void skipRunsOneAtATime() throws Exception {
+        TaskMetrics metrics = blockedRun("skip");
+        assertEquals(1, job.runs.get());
+        assertEquals(1, job.maxRunning.get());
+        assertTrue("skipped=" + metrics.getSkipped(), metrics.getSkipped() >= 20);
+        assertEquals(0, metrics.getCoalesced());
+    }
+
+    @Test
+    public void coalesceRunsOnceMore() throws Exception {
+        TaskMetrics metrics = blockedRun("coalesce");
+        assertEquals(2, job.runs.get());
+        assertEquals(1, job.maxRunning.get());
+        assertTrue("coalesced=" + metrics.getCoalesced(), metrics.getCoalesced() >= 20);
+        assertEquals(0, metrics.getSkipped());
+    }
+
+    @Test
+    public void queueKeepsAtMostLimit() throws Exception {
+        TaskMetrics metrics = blockedRun("queue");
+        assertEquals(1 + 3, job.runs.get());
+        assertEquals(1, job.maxRunning.get());
+        assertTrue("skipped=" + metrics.getSkipped(), metrics.getSkipped() >= 20);
+    }
+
+    @Test
+    public void concurrentUpToLimit() throws Exception {
+        TaskMetrics metrics = blockedRun("concurrent");
+        assertEquals(3, job.runs.get());
+        assertEquals(3, job.maxRunning.get());
+        assertTrue("skipped=" + metrics.getSkipped(), metrics.getSkipped() >= 20);
+    }
+
+    @Test
+    public void unannotatedTasksPassThrough() throws Exception {
+        ScheduledFuture<?> future = overlap.scheduleAtFixedRate(new ScheduledMethodRunnable(job, Job.class.getMethod("plain")), PERIOD_MILLIS);
+        Thread.sleep(10 * PERIOD_MILLIS);
+        future.cancel(false);
+        // 周期任务本身不会并发，阻塞期间的触发在放行后补执行
+        assertEquals(1, job.maxRunning.get());
+        assertEquals(0, registry.all().size());
+    }
+
+    @Test
+    public void failuresReleaseTheSlot() throws Exception {
+        job.gate.countDown();
+        ScheduledFuture<?> future = overlap.scheduleAtFixedRate(new ScheduledMethodRunnable(job, Job.class.getMethod("failing")), PERIOD_MILLIS);
+        Thread.sleep(20 * PERIOD_MILLIS);
+        future.cancel(false);
+        assertTrue("runs=" + job.runs.get(), job.runs.get() >= 5);
+    }
+
+    public static class Job {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final AtomicInteger runs = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        private void block() {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                runs.incrementAndGet();
+                running.decrementAndGet();
+            }
+        }
+
+        @Overlap(OverlapPolicy.SKIP)
+        public void skip() {
+            block();
+        }
+
+        @Overlap(OverlapPolicy.COALESCE)
+        public void coalesce() {
+            block();
+        }
+
+        @Overlap(value = OverlapPolicy.QUEUE, limit = 3)
+        public void queue() {
+            block();
+        }
+
+        @Overlap(value = OverlapPolicy.CONCURRENT, limit = 3)
+        public void concurrent() {
+            block();
+        }
+
+        public void plain() {
+            block();
+        }
+
+        @Overlap(OverlapPolicy.SKIP)
+        public void failing() {
+            runs.incrementAndGet();
+            throw new IllegalStateException("expected");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kiwi.timer.registry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 通过/jobs注册、修改、暂停和取消@Scheduled方法的动态任务
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JobControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void manageJobOverHttp() throws Exception {
+        mockMvc.perform(post("/jobs").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"report.hourly\",\"bean\":\"singleDemo\",\"method\":\"cronJob\",\"schedule\":{\"cron\":\"0 0 * * * ?\"}}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.target").value("SingleDemo.cronJob"))
+                .andExpect(jsonPath("$.schedule").value("cron=0 0 * * * ?"));
+        mockMvc.perform(post("/jobs").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"report.hourly\",\"bean\":\"singleDemo\",\"method\":\"cronJob\",\"schedule\":{\"fixedRate\":1000}}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/jobs/report.hourly/schedule").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fixedDelay\":3600000,\"initialDelay\":3600000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.schedule").value("fixedDelay=3600000"));
+        mockMvc.perform(post("/jobs/report.hourly/pause"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paused").value(true));
+        mockMvc.perform(get("/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.jobs[0].name").value("report.hourly"));
+        mockMvc.perform(delete("/jobs/report.hourly")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/jobs/report.hourly")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/jobs/report.hourly/resume")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,135 @@
+package com.kiwi.timer.registry;
+
+import com.kiwi.timer.monitor.TaskMetricsRegistry;
+import com.kiwi.timer.store.JobStore;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 开启持久化时，注册任务经过MultiDemo中完整的包装(统计、持久化、cron预编译、重叠控制)，按"job:名称"各自记录，取消后删除；
+ * 恢复、修改和重新注册后不补执行暂停或取消期间的触发
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "timer.store.enabled=true",
+        "timer.store.path=target/timer-store-${random.uuid}.log",
+        "timer.store.misfire-policy=fire-all"
+})
+public class JobRegistryStoreTests {
+    @Autowired
+    private JobRegistry registry;
+    @Autowired
+    private JobStore store;
+    @Autowired
+    private TaskMetricsRegistry metrics;
+    @Autowired
+    private Counter counter;
+
+    @After
+    public void tearDown() {
+        for (JobInfo job : registry.list(null, 100)) {
+            registry.cancel(job.getName());
+        }
+    }
+
+    private static JobDefinition definition(String name, long fixedRate) {
+        JobSchedule schedule = new JobSchedule();
+        schedule.setFixedRate(fixedRate);
+        JobDefinition definition = new JobDefinition();
+        definition.setName(name);
+        definition.setBean("counter");
+        definition.setMethod("tick");
+        definition.setSchedule(schedule);
+        return definition;
+    }
+
+    @Test
+    public void jobsOnSameMethodKeptApart() throws Exception {
+        registry.register(definition("a", 20));
+        registry.register(definition("b", 60_000));
+        Thread.sleep(200);
+        registry.pause("a");
+        Thread.sleep(50);
+
+        String a = JobRegistry.TASK_NAME_PREFIX + "a";
+        String b = JobRegistry.TASK_NAME_PREFIX + "b";
+        assertTrue(metrics.metrics(a).getRuns() > 3);
+        assertEquals(1, metrics.metrics(b).getRuns());
+        assertFalse(metrics.all().containsKey("Counter.tick"));
+        assertEquals(metrics.metrics(a).getRuns(), store.get(a).getRuns());
+        assertEquals(1, store.get(b).getRuns());
+
+        // 取消后不留下统计和状态
+        registry.cancel("a");
+        registry.cancel("b");
+        assertFalse(metrics.all().containsKey(a));
+        assertFalse(metrics.all().containsKey(b));
+        assertNull(store.get(a));
+        assertNull(store.get(b));
+        store.flush();
+        assertFalse(store.all().containsKey(a));
+    }
+
+    @Test
+    public void noReplayAfterPause() throws Exception {
+        registry.register(definition("m", 20));
+        Thread.sleep(100);
+        registry.pause("m");
+        Thread.sleep(300);
+        // fire-all时会补执行暂停期间的约15次触发
+        assertTrue(runsAfter(() -> registry.resume("m")) <= 3);
+
+        registry.pause("m");
+        Thread.sleep(300);
+        assertTrue(runsAfter(() -> registry.reschedule("m", definition("m", 20).getSchedule())) <= 3);
+
+        registry.cancel("m");
+        Thread.sleep(300);
+        assertTrue(runsAfter(() -> registry.register(definition("m", 20))) <= 3);
+        assertNotNull(store.get(JobRegistry.TASK_NAME_PREFIX + "m"));
+    }
+
+    /**
+     * 执行action后40ms内的执行次数
+     */
+    private int runsAfter(Runnable action) throws InterruptedException {
+        int before = counter.runs.get();
+        action.run();
+        Thread.sleep(40);
+        return counter.runs.get() - before;
+    }
+
+    public static class Counter {
+        final AtomicInteger runs = new AtomicInteger();
+
+        @DynamicJob
+        public void tick() {
+            runs.incrementAndGet();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        public Counter counter() {
+            return new Counter();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.kiwi.timer.registry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 动态任务的注册、暂停、恢复、修改和取消，以及大量任务时不影响其他任务触发
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class JobRegistryTests {
+    private final Job job = new Job();
+    private ThreadPoolTaskScheduler scheduler;
+    private JobRegistry registry;
+
+    @Before
+    public void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+        registrar.setTaskScheduler(scheduler);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("job", job);
+        registry = new JobRegistry(beanFactory);
+        registry.bind(registrar);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private static JobSchedule fixedRate(long period) {
+        JobSchedule schedule = new JobSchedule();
+        schedule.setFixedRate(period);
+        return schedule;
+    }
+
+    private static JobDefinition definition(String name, String method, JobSchedule schedule) {
+        JobDefinition definition = new JobDefinition();
+        definition.setName(name);
+        definition.setBean("job");
+        definition.setMethod(method);
+        definition.setSchedule(schedule);
+        return definition;
+    }
+
+    private int runsDuring(long millis) throws InterruptedException {
+        int before = job.runs.get();
+        Thread.sleep(millis);
+        return job.runs.get() - before;
+    }
+
+    @Test
+    public void lifecycle() throws Exception {
+        JobInfo info = registry.register(definition("tick", "tick", fixedRate(10)));
+        assertEquals("Job.tick", info.getTarget());
+        assertEquals("fixedRate=10", info.getSchedule());
+        assertTrue(runsDuring(200) > 5);
+
+        assertTrue(registry.pause("tick").isPaused());
+        Thread.sleep(50);
+        assertEquals(0, runsDuring(200));
+        assertEquals(0, scheduler.getScheduledThreadPoolExecutor().getQueue().size());
+
+        assertFalse(registry.resume("tick").isPaused());
+        assertTrue(runsDuring(200) > 5);
+
+        JobSchedule cron = new JobSchedule();
+        cron.setCron("0 0 0 1 1 ?");
+        assertEquals("cron=0 0 0 1 1 ?", registry.reschedule("tick", cron).getSchedule());
+        Thread.sleep(50);
+        assertEquals(0, runsDuring(200));
+
+        assertTrue(registry.cancel("tick"));
+        assertFalse(registry.cancel("tick"));
+        assertNull(registry.get("tick"));
+        assertNull(registry.pause("tick"));
+        assertEquals(0, scheduler.getScheduledThreadPoolExecutor().getQueue().size());
+    }
+
+    @Test
+    public void invalidDefinitionsRejected() {
+        registry.register(definition("tick", "tick", fixedRate(60_000)));
+        expectRejected(definition("tick", "tick", fixedRate(60_000)));
+        expectRejected(definition("other", "notAnnotated", fixedRate(60_000)));
+        expectRejected(definition("other", "missing", fixedRate(60_000)));
+        JobDefinition unknownBean = definition("other", "tick", fixedRate(60_000));
+        unknownBean.setBean("nope");
+        expectRejected(unknownBean);
+        JobSchedule both = fixedRate(1000);
+        both.setCron("0 * * * * ?");
+        expectRejected(definition("other", "tick", both));
+        JobSchedule badCron = new JobSchedule();
+        badCron.setCron("0 * * *");
+        expectRejected(definition("other", "tick", badCron));
+        expectRejected(definition("other", "tick", fixedRate(0)));
+        assertEquals(1, registry.size());
+    }
+
+    private void expectRejected(JobDefinition definition) {
+        try {
+            registry.register(definition);
+            fail("expected rejection of " + definition.getName());
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void manyJobsDoNotStallFiring() throws Exception {
+        registry.register(definition("tick", "tick", fixedRate(5)));
+        int count = 100_000;
+        JobSchedule hourly = fixedRate(TimeUnit.HOURS.toMillis(1));
+        hourly.setInitialDelay(TimeUnit.HOURS.toMillis(1));
+        AtomicInteger failures = new AtomicInteger();
+        Thread[] managers = new Thread[4];
+        for (int t = 0; t < managers.length; t++) {
+            int offset = t;
+            managers[t] = new Thread(() -> {
+                try {
+                    for (int i = offset; i < count; i += managers.length) {
+                        registry.register(definition("idle-" + i, "idle", hourly));
+                    }
+                    for (int i = offset; i < count; i += managers.length * 2) {
+                        registry.cancel("idle-" + i);
+                    }
+                } catch (RuntimeException ex) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        int before = job.runs.get();
+        long start = System.nanoTime();
+        for (Thread manager : managers) {
+            manager.start();
+        }
+        for (Thread manager : managers) {
+            manager.join();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(0, failures.get());
+        assertEquals(1 + count / 2, registry.size());
+        assertEquals(1 + count / 2, scheduler.getScheduledThreadPoolExecutor().getQueue().size());
+        // 管理期间5ms的任务仍按时触发
+        assertTrue("runs=" + (job.runs.get() - before) + " in " + elapsedMillis + "ms",
+                job.runs.get() - before >= elapsedMillis / 5 / 2);
+
+        List<JobInfo> page = registry.list("idle-1", 3);
+        assertEquals(3, page.size());
+        assertTrue(page.get(0).getName().compareTo("idle-1") > 0);
+        assertEquals(page.get(2).getName(), registry.list(page.get(1).getName(), 1).get(0).getName());
+    }
+
+    public static class Job {
+        final AtomicInteger runs = new AtomicInteger();
+
+        @DynamicJob
+        public void tick() {
+            runs.incrementAndGet();
+        }
+
+        @DynamicJob
+        public void idle() {
+        }
+
+        public void notAnnotated() {
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.kiwi.timer.store;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 重启后恢复最新状态、丢弃写了一半的记录、删除、压缩、写盘失败时flush报错，以及多线程记录时成组写盘
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class JobStoreTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static JobState state(String name, long runs) {
+        return new JobState(name, "fixedRate=1000", runs * 1000, runs * 1000 + 5, runs * 1000 + 1000, runs);
+    }
+
+    @Test
+    public void reopenRecoversLatestState() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("jobs.log");
+        try (JobStore store = new JobStore(file, 4096, 1)) {
+            for (int i = 1; i <= 10; i++) {
+                store.record(state("A.a", i));
+                store.record(state("B.b", i * 2));
+            }
+            store.record(new JobState("C.c", "cron=0 0 * * * ?", JobState.NONE, JobState.NONE, 42, 0));
+        }
+        try (JobStore store = new JobStore(file, 4096, 1)) {
+            assertEquals(3, store.all().size());
+            assertEquals(10, store.get("A.a").getRuns());
+            assertEquals(20000, store.get("B.b").getLastScheduled());
+            JobState c = store.get("C.c");
+            assertEquals("cron=0 0 * * * ?", c.getSchedule());
+            assertEquals(JobState.NONE, c.getLastCompleted());
+            assertEquals(42, c.getNextFire());
+        }
+    }
+
+    @Test
+    public void tornRecordIsDiscarded() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("jobs.log");
+        JobState first = state("A.a", 1);
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            store.record(first);
+        }
+        // 文件头 + 记录头 + 两个字符串 + 4个long
+        int end = 8 + 8 + 2 + first.getName().length() + 2 + first.getSchedule().length() + 32;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(20);
+            torn.putInt(60).putInt(0x12345678).putShort((short) 3).put("B.b".getBytes()).flip();
+            channel.write(torn, end);
+        }
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            assertEquals(1, store.all().size());
+            assertEquals(1, store.get("A.a").getRuns());
+            store.record(state("A.a", 2));
+        }
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            assertEquals(1, store.all().size());
+            assertEquals(2, store.get("A.a").getRuns());
+            assertNull(store.get("B.b"));
+        }
+    }
+
+    @Test
+    public void compactsWhenFull() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("jobs.log");
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            for (int i = 1; i <= 2000; i++) {
+                store.record(state("Job" + i % 5 + ".run", i));
+            }
+            store.flush();
+            assertTrue(store.getCompactionCount() > 0);
+        }
+        assertTrue(Files.size(file) <= 8192);
+        assertTrue(Files.notExists(file.resolveSibling("jobs.log.compact")));
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            assertEquals(5, store.all().size());
+            for (int i = 1996; i <= 2000; i++) {
+                assertEquals(i, store.get("Job" + i % 5 + ".run").getRuns());
+            }
+        }
+    }
+
+    @Test
+    public void removedStateIsNotRecovered() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("jobs.log");
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            store.record(state("A.a", 1));
+            store.record(state("B.b", 1));
+            store.remove("A.a");
+            store.remove("missing");
+            assertNull(store.get("A.a"));
+        }
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            assertEquals(1, store.all().size());
+            assertNull(store.get("A.a"));
+            // 注册/取消反复进行时，删除的任务在压缩后不占空间
+            for (int i = 0; i < 2000; i++) {
+                store.record(state("job:" + i, i));
+                store.remove("job:" + i);
+            }
+            store.flush();
+            assertTrue(store.getCompactionCount() > 0);
+            assertEquals(1, store.all().size());
+        }
+        assertTrue(Files.size(file) <= 8192);
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            assertEquals(1, store.all().size());
+            assertEquals(1, store.get("B.b").getRuns());
+        }
+    }
+
+    /**
+     * 压缩用的临时文件位置被目录占用，写满后压缩失败
+     */
+    @Test
+    public void flushReportsWriteFailure() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("jobs.log");
+        Path blocker = Files.createDirectory(file.resolveSibling("jobs.log.compact"));
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            for (int i = 1; i <= 200; i++) {
+                store.record(state("Job" + i + ".run", i));
+            }
+            try {
+                store.flush();
+                fail("expected write failure");
+            } catch (UncheckedIOException expected) {
+                // 失败一直保留到重写成功
+            }
+            try {
+                store.flush();
+                fail("expected sticky failure");
+            } catch (UncheckedIOException expected) {
+                // 同上
+            }
+            Files.delete(blocker);
+            store.record(state("Job1.run", 201));
+            store.flush();
+        }
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            assertEquals(200, store.all().size());
+            assertEquals(201, store.get("Job1.run").getRuns());
+            assertEquals(200, store.get("Job200.run").getRuns());
+        }
+    }
+
+    @Test
+    public void concurrentRecordsShareSyncs() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("jobs.log");
+        int threads = 8;
+        int perThread = 500;
+        try (JobStore store = new JobStore(file, 1 << 20, 2)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String name = "Job" + t + ".run";
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 1; i <= perThread; i++) {
+                        store.record(state(name, i));
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            store.flush();
+            long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+            long syncs = store.getSyncCount();
+            assertTrue("syncs=" + syncs, syncs > 0 && syncs < threads * perThread / 10);
+            assertTrue("elapsed=" + elapsedMillis, elapsedMillis < 5000);
+        }
+        try (JobStore store = new JobStore(file, 4096, 0)) {
+            assertEquals(threads, store.all().size());
+            store.all().values().forEach(s -> assertEquals(perThread, s.getRuns()));
+        }
+    }
+}
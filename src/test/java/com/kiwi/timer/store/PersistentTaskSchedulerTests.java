@@ -0,0 +1,223 @@
+package com.kiwi.timer.store;
+
+import com.kiwi.timer.util.FakeClock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按保存的状态补执行停机期间错过的触发，并在执行后记录新的状态
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class PersistentTaskSchedulerTests {
+    private static final long PERIOD = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JobStore store;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        store = new JobStore(folder.getRoot().toPath().resolve("jobs.log"), 4096, 0);
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+        store.close();
+    }
+
+    /**
+     * 模拟上次运行：按PERIOD执行，停机前计划的下次触发在missed个周期之前
+     */
+    private void stoppedAgo(String name, int missed) {
+        long nextFire = System.currentTimeMillis() - missed * PERIOD + PERIOD / 2;
+        store.record(new JobState(name, "fixedRate=" + PERIOD, nextFire - PERIOD, nextFire - PERIOD + 3, nextFire, 7));
+    }
+
+    private Job start(MisfirePolicy policy, String method) throws Exception {
+        Job job = new Job();
+        new PersistentTaskScheduler(scheduler, store, policy, 100)
+                .scheduleAtFixedRate(new ScheduledMethodRunnable(job, Job.class.getMethod(method)), new Date(System.currentTimeMillis() + PERIOD), PERIOD);
+        return job;
+    }
+
+    private static void awaitRuns(Job job, int runs) throws InterruptedException {
+        for (int i = 0; i < 100 && job.runs.get() < runs; i++) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+    }
+
+    @Test
+    public void fireAllCatchesUpEveryMissedRun() throws Exception {
+        stoppedAgo("Job.tick", 10);
+        Job job = start(MisfirePolicy.FIRE_ALL, "tick");
+        awaitRuns(job, 10);
+        assertEquals(10, job.runs.get());
+        store.flush();
+        JobState state = store.get("Job.tick");
+        assertEquals(17, state.getRuns());
+        assertEquals("fixedRate=" + PERIOD, state.getSchedule());
+        assertTrue(state.getNextFire() > System.currentTimeMillis());
+    }
+
+    @Test
+    public void fireOnceRunsSingleCatchUp() throws Exception {
+        stoppedAgo("Job.tick", 10);
+        Job job = start(MisfirePolicy.FIRE_ONCE, "tick");
+        awaitRuns(job, 1);
+        assertEquals(1, job.runs.get());
+        assertEquals(8, store.get("Job.tick").getRuns());
+    }
+
+    @Test
+    public void skipIgnoresMissedRuns() throws Exception {
+        stoppedAgo("Job.tick", 10);
+        Job job = start(MisfirePolicy.SKIP, "tick");
+        awaitRuns(job, 1);
+        assertEquals(0, job.runs.get());
+        assertEquals(7, store.get("Job.tick").getRuns());
+    }
+
+    @Test
+    public void annotationOverridesDefaultPolicy() throws Exception {
+        stoppedAgo("Job.skipped", 10);
+        Job job = start(MisfirePolicy.FIRE_ALL, "skipped");
+        awaitRuns(job, 1);
+        assertEquals(0, job.runs.get());
+    }
+
+    @Test
+    public void noCatchUpWithoutMisfire() throws Exception {
+        Job job = start(MisfirePolicy.FIRE_ALL, "tick");
+        awaitRuns(job, 1);
+        assertEquals(0, job.runs.get());
+        JobState state = store.get("Job.tick");
+        assertEquals(0, state.getRuns());
+        assertTrue(state.getNextFire() > System.currentTimeMillis());
+    }
+
+    @Test
+    public void cronCatchesUpMissedHours() throws Exception {
+        long hour = 3_600_000;
+        long lastHour = System.currentTimeMillis() / hour * hour;
+        store.record(new JobState("Job.tick", "cron=0 0 * * * ?", JobState.NONE, JobState.NONE, lastHour - 4 * hour, 0));
+        Job job = new Job();
+        new PersistentTaskScheduler(scheduler, store, MisfirePolicy.FIRE_ALL, 100)
+                .schedule(new ScheduledMethodRunnable(job, Job.class.getMethod("tick")), new CronTrigger("0 0 * * * ?"));
+        awaitRuns(job, 5);
+        assertEquals(5, job.runs.get());
+    }
+
+    @Test
+    public void fakeClockGivesExactCatchUp() throws Exception {
+        long now = 1792302330000L;
+        FakeClock clock = new FakeClock(now);
+        store.record(new JobState("Job.tick", "fixedRate=" + PERIOD, now - 4 * PERIOD, now - 4 * PERIOD + 3, now - 3 * PERIOD, 7));
+        Job job = new Job();
+        Stub stub = new Stub();
+        new PersistentTaskScheduler(stub, store, MisfirePolicy.FIRE_ALL, 100, clock)
+                .scheduleAtFixedRate(new ScheduledMethodRunnable(job, Job.class.getMethod("tick")), new Date(now + PERIOD), PERIOD);
+        // 先提交补执行，再提交正常的计划
+        assertEquals(2, stub.tasks.size());
+        assertEquals(now, stub.times.get(0).getTime());
+
+        clock.advance(5, TimeUnit.SECONDS);
+        stub.tasks.get(0).run();
+        assertEquals(4, job.runs.get());
+        JobState state = store.get("Job.tick");
+        assertEquals(11, state.getRuns());
+        assertEquals(now, state.getLastScheduled());
+        assertEquals(now + 5000, state.getLastCompleted());
+        assertEquals(now + PERIOD, state.getNextFire());
+
+        clock.set(now + PERIOD + 2);
+        stub.tasks.get(1).run();
+        state = store.get("Job.tick");
+        assertEquals(12, state.getRuns());
+        assertEquals(now + PERIOD, state.getLastScheduled());
+        assertEquals(now + 2 * PERIOD, state.getNextFire());
+    }
+
+    /**
+     * 只记录提交的任务和时间，由测试决定何时执行
+     */
+    private static class Stub implements TaskScheduler {
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<Date> times = new ArrayList<>();
+
+        private ScheduledFuture<?> add(Runnable task, Date time) {
+            tasks.add(task);
+            times.add(time);
+            return null;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+            return add(task, null);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+            return add(task, startTime);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+            return add(task, startTime);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+            return add(task, null);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+            return add(task, startTime);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+            return add(task, null);
+        }
+    }
+
+    public static class Job {
+        final AtomicInteger runs = new AtomicInteger();
+
+        public void tick() {
+            runs.incrementAndGet();
+        }
+
+        @Misfire(MisfirePolicy.SKIP)
+        public void skipped() {
+            runs.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.kiwi.timer.util;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 星期按天数计算与Calendar一致，中文日期与原实现一致，名称表按Locale注册
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class CalendarNamesTests {
+    private static final String[] WEEK = {"周日", "周一", "周二", "周三", "周四", "周五", "周六"};
+    /**
+     * 1000-01-01 至 2097-01-01，包含公历切换之前
+     */
+    private static final long FROM = -30610224000000L;
+    private static final long TO = 4007836800000L;
+
+    @Test
+    public void sameAsCalendar() {
+        Random random = new Random(20261018L);
+        Calendar calendar = Calendar.getInstance();
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        for (int i = 0; i < 50000; i++) {
+            Date date = new Date(FROM + (long) (random.nextDouble() * (TO - FROM)));
+            calendar.setTime(date);
+            int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK) - 1;
+            assertEquals(dayOfWeek, DateTimeUtil.getDayOfWeek(date));
+            assertEquals(WEEK[dayOfWeek], DateTimeUtil.getDateOfWeek(date));
+            assertEquals(legacyChinaDateStr(format.format(date)), DateTimeUtil.toChinaDateStr(date));
+        }
+    }
+
+    @Test
+    public void dayOfWeekFromEpochDay() {
+        assertEquals(4, CalendarNames.dayOfWeek(0));
+        assertEquals(3, CalendarNames.dayOfWeek(-1));
+        assertEquals(0, CalendarNames.dayOfWeek(3));
+        assertEquals(6, CalendarNames.dayOfWeek(-5));
+    }
+
+    @Test
+    public void namesAreShared() {
+        CalendarNames names = CalendarNames.of(Locale.SIMPLIFIED_CHINESE);
+        assertSame(CalendarNames.CHINESE, names);
+        assertSame(CalendarNames.CHINESE, CalendarNames.of(Locale.CHINESE));
+        assertSame(names.shortWeekday(1), CalendarNames.CHINESE.shortWeekday(1));
+        assertSame("周一", names.shortWeekday(1));
+        assertEquals("星期六", names.weekday(6));
+        assertEquals("十二月", names.month(12));
+        assertSame("10月", CalendarNames.chineseMonth(10));
+        assertSame("18日", CalendarNames.chineseDay(18));
+    }
+
+    @Test
+    public void otherLocalesFromSymbols() {
+        CalendarNames us = CalendarNames.of(Locale.US);
+        assertSame(us, CalendarNames.of(Locale.US));
+        assertEquals("Sun", us.shortWeekday(0));
+        assertEquals("Monday", us.weekday(1));
+        assertEquals("Jan", us.shortMonth(1));
+        assertEquals("December", us.month(12));
+        assertEquals("lundi", CalendarNames.of(Locale.FRANCE).weekday(1));
+    }
+
+    @Test
+    public void registerOverrides() {
+        Locale locale = new Locale("xx", "YY");
+        CalendarNames custom = CalendarNames.of(locale,
+                new String[]{"d0", "d1", "d2", "d3", "d4", "d5", "d6"},
+                new String[]{"D0", "D1", "D2", "D3", "D4", "D5", "D6"},
+                new String[]{"m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9", "m10", "m11", "m12"},
+                new String[]{"M1", "M2", "M3", "M4", "M5", "M6", "M7", "M8", "M9", "M10", "M11", "M12"});
+        CalendarNames.register(custom);
+        assertSame(custom, CalendarNames.of(locale));
+        assertEquals("d3", CalendarNames.of(locale).shortWeekday(3));
+        assertEquals("M10", CalendarNames.of(locale).month(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWrongLength() {
+        CalendarNames.of(Locale.ROOT, new String[6], new String[7], new String[12], new String[12]);
+    }
+
+    /**
+     * 原toChinaDateStr：按yyyy-MM-dd拆分后去掉月、日的前导零
+     */
+    private static String legacyChinaDateStr(String dateStr) {
+        String[] newStr = dateStr.split("-");
+        return newStr[0] + "年" + Integer.valueOf(newStr[1]) + "月" + Integer.valueOf(newStr[2]) + "日";
+    }
+}
@@ -0,0 +1,113 @@
+package com.kiwi.timer.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 按字节转换日期列，结果与逐行用DateTimeUtil转换一致
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class DateColumnNormalizerTests {
+    private static final String FROM = "yyyy-MM-dd HH:mm:ss";
+    private static final String TO = "yyyyMMdd'T'HHmmss'Z'";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sameAsLineByLine() throws IOException {
+        Random random = new Random(20261018L);
+        StringBuilder input = new StringBuilder("id,created,\"name, note\",updated\n");
+        StringBuilder expected = new StringBuilder(input);
+        DateFormatter formatter = DateFormatter.ofPattern(FROM);
+        int converted = 2;
+        int invalid = 0;
+        for (int i = 0; i < 20000; i++) {
+            String created = formatter.format(1500000000000L + (long) (random.nextDouble() * 400000000000L));
+            String updated = formatter.format(1500000000000L + (long) (random.nextDouble() * 400000000000L));
+            String name = i % 7 == 0 ? "\"x, y\"" : "n" + i;
+            String end = i % 5 == 0 ? "\r\n" : "\n";
+            if (i % 11 == 0) {
+                input.append(i).append(',').append('"').append(created).append('"').append(',').append(name).append(',').append(updated).append(end);
+                expected.append(i).append(',').append('"').append(DateTimeUtil.str2Str(created)).append('"').append(',').append(name).append(',')
+                        .append(updated.replace('-', '/')).append(end);
+                converted += 2;
+            } else if (i % 13 == 0) {
+                input.append(i).append(",not a date,").append(name).append(",").append(end);
+                expected.append(i).append(",,").append(name).append(",").append(end);
+                invalid++;
+            } else {
+                input.append(i).append(',').append(created).append(',').append(name).append(',').append(updated).append(end);
+                expected.append(i).append(',').append(DateTimeUtil.str2Str(created)).append(',').append(name).append(',')
+                        .append(updated.replace('-', '/')).append(end);
+                converted += 2;
+            }
+        }
+        // 最后一行没有换行符
+        input.append("last,2026-10-18 13:45:30,z,2026-10-18 13:45:31");
+        expected.append("last,20261018T134530Z,z,2026/10/18 13:45:31");
+
+        Path in = write("in.csv", input.toString());
+        Path out = folder.getRoot().toPath().resolve("out.csv");
+        DateColumnNormalizer normalizer = DateColumnNormalizer.builder()
+                .column(1, FROM, TO)
+                .column(3, FROM, "yyyy/MM/dd HH:mm:ss")
+                .header(true)
+                .chunkSize(4096)
+                .parallelism(3)
+                .build();
+        DateColumnNormalizer.Result result = normalizer.normalize(in, out);
+        assertEquals(expected.toString(), new String(Files.readAllBytes(out), StandardCharsets.UTF_8));
+        assertEquals(20002, result.getLines());
+        assertEquals(invalid, result.getInvalid());
+        assertEquals(converted, result.getConverted());
+        assertEquals(Files.size(in), result.getBytesRead());
+        assertEquals(Files.size(out), result.getBytesWritten());
+    }
+
+    @Test
+    public void inPlaceKeepsLength() throws IOException {
+        Path file = write("in.csv", "1;2026-10-18 13:45:30;a\n2;bad;b\n3;2026-1-8 3:5:7;c\n");
+        DateColumnNormalizer.Result result = DateColumnNormalizer.builder()
+                .column(1, FROM, "yyyy/MM/dd HH:mm:ss")
+                .delimiter(';')
+                .build()
+                .normalizeInPlace(file);
+        assertEquals("1;2026/10/18 13:45:30;a\n2;bad;b\n3;2026-1-8 3:5:7;c\n", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        assertEquals(1, result.getConverted());
+        assertEquals(1, result.getInvalid());
+        assertEquals(1, result.getUnchanged());
+    }
+
+    @Test
+    public void parseByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("x,2026-10-18 13:45:30,y".getBytes(StandardCharsets.US_ASCII));
+        DateParser parser = DateParser.ofPattern(FROM);
+        assertEquals(parser.parse("2026-10-18 13:45:30"), parser.parse(buffer, 2, 21));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSameFile() throws IOException {
+        Path file = write("in.csv", "2026-10-18 13:45:30\n");
+        DateColumnNormalizer.builder().column(0, FROM, TO).build().normalize(file, file);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path path = folder.getRoot().toPath().resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
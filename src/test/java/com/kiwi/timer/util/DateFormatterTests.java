@@ -0,0 +1,152 @@
+package com.kiwi.timer.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DateFormatterTests {
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss", "yyyyMMddHHmmss", "yyyy-MM-dd", "HH:mm:ss", "yyyyMMdd", "yyyyMM", "yyyy_MM",
+            "yyyy", "yy-M-d H:m:s.S", "yyyy-MM-dd'T'HH:mm:ss.SSS''", "yyyy年MM月dd日 EEE"
+    };
+
+    @Test
+    public void sameAsSimpleDateFormat() {
+        Random random = new Random(20180913L);
+        for (String pattern : PATTERNS) {
+            DateFormatter formatter = DateFormatter.ofPattern(pattern);
+            for (int i = 0; i < 20000; i++) {
+                // 1000-01-01 至 2200-01-01，覆盖公历切换前后
+                long millis = -30610224000000L + (long) (random.nextDouble() * 38000000000000L);
+                String expected = new SimpleDateFormat(pattern).format(new Date(millis));
+                assertEquals(pattern + " @" + millis, expected, formatter.format(millis));
+                StringBuilder sb = new StringBuilder("x");
+                assertEquals(pattern + " @" + millis, "x" + expected, formatter.formatTo(millis, sb).toString());
+            }
+        }
+    }
+
+    /**
+     * 字母含义不同的格式退回SimpleDateFormat，范围到12000年，包含java.time给年份加"+"的情况
+     */
+    @Test
+    public void sameAsSimpleDateFormatForAnyLetters() {
+        Random random = new Random(20261018L);
+        List<String> patterns = new ArrayList<>(Arrays.asList(
+                "yyyy-MM-dd", "uuuu-MM-dd", "yyyy-MM-dd u", "F E", "H:m:s.S", "ss.SS", "ss.SSSS", "yyyy-DD", "D DDD",
+                "YYYY-'W'ww-u", "W", "EEEEE MMMMM", "EEEE MMMM", "yyyy-MM-dd HH:mm:ssZZZZ", "HH:mmZ", "HH:mmX", "HH:mmXXX",
+                "[yyyy]", "'{'yyyy'}'", "'it''s' yyyy", "G yyyy", "LLL", "h:mm a", "K k", "z", "yyyyy", "yyy"));
+        String letters = "GyMdkHmsSEDFwWahKzZYuXL";
+        while (patterns.size() < 100) {
+            StringBuilder pattern = new StringBuilder();
+            for (int i = random.nextInt(4) + 1; i > 0; i--) {
+                char letter = letters.charAt(random.nextInt(letters.length()));
+                for (int n = random.nextInt(5) + 1; n > 0; n--) {
+                    pattern.append(letter);
+                }
+                pattern.append(' ');
+            }
+            try {
+                new SimpleDateFormat(pattern.toString());
+                patterns.add(pattern.toString());
+            } catch (IllegalArgumentException ex) {
+                // 如XXXX，SimpleDateFormat也不接受
+            }
+        }
+        for (String pattern : patterns) {
+            DateFormatter formatter = DateFormatter.ofPattern(pattern);
+            SimpleDateFormat expected = new SimpleDateFormat(pattern);
+            for (int i = 0; i < 2000; i++) {
+                // 1000-01-01 至 12000-01-01
+                long millis = -30610224000000L + (long) (random.nextDouble() * 347300000000000L);
+                assertEquals(pattern + " @" + millis, expected.format(new Date(millis)), formatter.format(millis));
+            }
+        }
+    }
+
+    @Test
+    public void javaTimeOnlyForSameLetters() {
+        assertTrue(DateFormatter.javaTimeCompatible("yyyy-MM-dd'T'HH:mm:ss.SSSZ"));
+        assertTrue(DateFormatter.javaTimeCompatible("EEEE, MMMM d, yyyy h:mm a"));
+        assertTrue(DateFormatter.javaTimeCompatible("'uFw[]' yyyy"));
+        assertFalse(DateFormatter.javaTimeCompatible("uuuu-MM-dd"));
+        assertFalse(DateFormatter.javaTimeCompatible("F"));
+        assertFalse(DateFormatter.javaTimeCompatible("ss.S"));
+        assertFalse(DateFormatter.javaTimeCompatible("EEEEE"));
+        assertFalse(DateFormatter.javaTimeCompatible("[yyyy]"));
+        assertFalse(DateFormatter.javaTimeCompatible("'yyyy"));
+    }
+
+    @Test
+    public void formatToBuffer() {
+        long millis = 1536809430123L;
+        char[] buf = new char[40];
+        int end = DateFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").formatTo(millis, buf, 2);
+        assertEquals(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(millis)), new String(buf, 2, end - 2));
+    }
+
+    @Test
+    public void formatBulk() throws IOException {
+        Random random = new Random(20181018L);
+        long[] millis = new long[DateFormatter.PARALLEL_THRESHOLD + 100];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = -30610224000000L + (long) (random.nextDouble() * 38000000000000L);
+        }
+        Date[] dates = new Date[millis.length];
+        for (int i = 1; i < dates.length; i++) {
+            dates[i] = new Date(millis[i]);
+        }
+        for (String pattern : PATTERNS) {
+            DateFormatter formatter = DateFormatter.ofPattern(pattern);
+            StringJoiner joiner = new StringJoiner(",");
+            String[] expected = new String[millis.length];
+            for (int i = 0; i < millis.length; i++) {
+                expected[i] = formatter.format(millis[i]);
+                joiner.add(expected[i]);
+            }
+            String joined = joiner.toString();
+            assertEquals(pattern, Arrays.asList(expected), Arrays.asList(formatter.formatAll(millis)));
+
+            char[] buf = new char[joined.length() + 2];
+            assertEquals(pattern, buf.length, formatter.formatTo(millis, 0, millis.length, buf, 2, ','));
+            assertEquals(pattern, joined, new String(buf, 2, joined.length()));
+
+            ByteBuffer bytes = ByteBuffer.allocate(joined.length() * 3);
+            formatter.formatTo(millis, 0, millis.length, bytes, ',');
+            assertEquals(pattern, joined, new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8));
+
+            assertEquals(pattern, joined, formatter.formatTo(millis, 0, millis.length, new StringBuilder(), ',').toString());
+            assertEquals(pattern, joined, formatter.formatTo(millis, 0, millis.length, new StringWriter(), ',').toString());
+
+            String withNull = joined.substring(expected[0].length());
+            expected[0] = "";
+            assertEquals(pattern, Arrays.asList(expected), Arrays.asList(formatter.formatAll(dates)));
+            assertEquals(pattern, withNull, formatter.formatTo(dates, new StringWriter(), ',').toString());
+            assertEquals(pattern, withNull, formatter.formatTo(Arrays.stream(dates), new StringBuilder(), ',').toString());
+        }
+    }
+
+    @Test
+    public void cachedByPattern() {
+        assertEquals(DateFormatter.ofPattern("yyyy-MM-dd"), DateFormatter.ofPattern("yyyy-MM-dd"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPattern() {
+        DateFormatter.ofPattern("yyyy-bb");
+    }
+}
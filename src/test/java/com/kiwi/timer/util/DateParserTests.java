@@ -0,0 +1,123 @@
+package com.kiwi.timer.util;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DateParserTests {
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss", "yyyyMMddHHmmss", "yyyy-MM-dd", "HH:mm:ss", "yyyyMMdd", "yyyyMM", "yyyy_MM",
+            "yy-M-d H:m:s.SSS", "yyyy/MM/dd'T'HH:mm"
+    };
+    private static final String NOISE = "0123456789 -:_/T.x";
+
+    @Test
+    public void sameAsSimpleDateFormat() {
+        Random random = new Random(20180913L);
+        for (String pattern : PATTERNS) {
+            for (int i = 0; i < 10000; i++) {
+                long millis = (long) (random.nextDouble() * 4102444800000L);
+                String text = new SimpleDateFormat(pattern).format(new Date(millis));
+                if (i % 2 == 1) {
+                    text = mutate(text, random);
+                }
+                assertEquals(pattern + " <" + text + ">", legacyParse(text, pattern, true), DateTimeUtil.strToDate(text, pattern));
+                assertEquals(pattern + " <" + text + ">", legacyParse(text, pattern, false) != null,
+                        DateTimeUtil.isDateStringCorrect(text, pattern));
+            }
+        }
+    }
+
+    private static String mutate(String text, Random random) {
+        StringBuilder sb = new StringBuilder(text);
+        switch (random.nextInt(4)) {
+            case 0:
+                sb.setCharAt(random.nextInt(sb.length()), NOISE.charAt(random.nextInt(NOISE.length())));
+                break;
+            case 1:
+                sb.insert(random.nextInt(sb.length() + 1), NOISE.charAt(random.nextInt(NOISE.length())));
+                break;
+            case 2:
+                sb.deleteCharAt(random.nextInt(sb.length()));
+                break;
+            default:
+                sb.append("abc");
+                break;
+        }
+        return sb.toString();
+    }
+
+    private static Date legacyParse(String text, String pattern, boolean lenient) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setLenient(lenient);
+        try {
+            return format.parse(text);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    @Test
+    public void parseRanges() throws ParseException {
+        long expected = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2018-09-13 10:30:00").getTime();
+        String line = "id=7,time=2018-09-13 10:30:00,ok";
+        DateParser parser = DateParser.ofPattern("yyyy-MM-dd HH:mm:ss");
+        assertEquals(expected, parser.parse(line, 10, 29));
+        assertEquals(expected, parser.parse(line.toCharArray(), 10, 29));
+        assertEquals(expected, parser.parse(line.getBytes(StandardCharsets.US_ASCII), 10, 29));
+        assertEquals(DateParser.INVALID, parser.parse(line, 0, 29));
+    }
+
+    @Test
+    public void parseBulk() {
+        DateParser parser = DateParser.ofPattern("yyyy-MM-dd HH:mm:ss");
+        String[] texts = new String[DateFormatter.PARALLEL_THRESHOLD + 100];
+        long[] expected = new long[texts.length];
+        Random random = new Random(20181018L);
+        for (int i = 0; i < texts.length; i++) {
+            expected[i] = (long) (random.nextDouble() * 4102444800L) * 1000;
+            texts[i] = DateFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").format(expected[i]);
+        }
+        texts[1] = "bad";
+        expected[1] = DateParser.INVALID;
+        texts[2] = null;
+        expected[2] = DateParser.INVALID;
+        assertArrayEquals(expected, parser.parseAll(texts));
+
+        String column = "2018-09-13 10:30:00|x|2018-09-14 00:00:00";
+        long[] dst = new long[4];
+        assertEquals(4, parser.parseAll(column, 0, column.length(), '|', dst, 1));
+        assertEquals(parser.parse("2018-09-13 10:30:00"), dst[1]);
+        assertEquals(DateParser.INVALID, dst[2]);
+        assertEquals(parser.parse("2018-09-14 00:00:00"), dst[3]);
+        long[] fromChars = new long[3];
+        assertEquals(3, parser.parseAll(column.toCharArray(), 0, column.length(), '|', fromChars, 0));
+        assertArrayEquals(Arrays.copyOfRange(dst, 1, 4), fromChars);
+        long[] fromBytes = new long[3];
+        assertEquals(3, parser.parseAll(column.getBytes(StandardCharsets.US_ASCII), 0, column.length(), (byte) '|', fromBytes, 0));
+        assertArrayEquals(fromChars, fromBytes);
+    }
+
+    @Test
+    public void strictAndLenient() {
+        assertTrue(DateParser.ofPattern("yyyy-MM-dd").isValid("2018-02-30"));
+        assertFalse(DateParser.ofPattern("yyyy-MM-dd", false).isValid("2018-02-30"));
+        assertTrue(DateParser.ofPattern("yyyy-MM-dd", false).isValid("2016-02-29"));
+        assertFalse(DateParser.ofPattern("HH:mm:ss", false).isValid("24:00:00"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedPattern() {
+        DateParser.ofPattern("yyyy-MMM-dd");
+    }
+}
@@ -0,0 +1,61 @@
+package com.kiwi.timer.util;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 多线程同时使用DateTimeUtil的共享格式化器，结果必须与单独的SimpleDateFormat一致
+ */
+public class DateTimeUtilConcurrencyTests {
+    private static final int CALLS_PER_THREAD = 5000;
+
+    @Test
+    public void concurrentFormatting() throws Exception {
+        for (int threads : new int[]{1, 4, 16, 64}) {
+            runConcurrently(threads);
+        }
+    }
+
+    private void runConcurrently(int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    SimpleDateFormat longFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+                    SimpleDateFormat shortFormat = new SimpleDateFormat("yyyy-MM-dd");
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    start.await();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        Date date = new Date(random.nextLong(0L, 4102444800000L));
+                        assertEquals(longFormat.format(date), DateTimeUtil.toDateTimeStr(date));
+                        String day = shortFormat.format(date);
+                        assertEquals(day + " 00:00:00", DateTimeUtil.getDateStart(day));
+                        assertEquals(day + " 23:59:59", DateTimeUtil.getDateEnd(day));
+                    }
+                    return CALLS_PER_THREAD;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(threads * CALLS_PER_THREAD, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
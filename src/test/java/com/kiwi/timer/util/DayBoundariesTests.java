@@ -0,0 +1,54 @@
+package com.kiwi.timer.util;
+
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DayBoundariesTests {
+    private static final String[] ZONES = {
+            "UTC", "Asia/Shanghai", "America/New_York", "Australia/Lord_Howe", "America/Sao_Paulo", "Asia/Beirut",
+            "America/Havana", "Pacific/Apia"
+    };
+    /**
+     * 1900-01-01 至 2100-01-01
+     */
+    private static final long FROM = -2208988800000L;
+    private static final long TO = 4102444800000L;
+
+    @Test
+    public void sameAsDirectCalculation() {
+        Random random = new Random(20181018L);
+        for (String id : ZONES) {
+            ZoneOffsets offsets = ZoneOffsets.of(ZoneId.of(id));
+            DayBoundaries boundaries = DayBoundaries.of(ZoneId.of(id));
+            for (int i = 0; i < 50000; i++) {
+                long millis = FROM + (long) (random.nextDouble() * (TO - FROM));
+                String message = id + " " + millis;
+                assertEquals(message, EpochMillis.startOfDayMillis(millis, offsets), boundaries.startOfDayMillis(millis));
+                assertEquals(message, EpochMillis.endOfDayMillis(millis, offsets), boundaries.endOfDayMillis(millis));
+            }
+        }
+    }
+
+    @Test
+    public void extendsOnDemand() {
+        DayBoundaries boundaries = DayBoundaries.of(ZoneId.of("Europe/Paris"));
+        long firstDay = boundaries.firstDay();
+        long lastDay = boundaries.lastDay();
+        assertEquals(2 * DayBoundaries.WINDOW_DAYS, lastDay - firstDay);
+
+        long before = (firstDay - 1000) * EpochMillis.MILLIS_PER_DAY + 12 * EpochMillis.MILLIS_PER_HOUR;
+        boundaries.startOfDayMillis(before);
+        assertEquals(firstDay - 1000 - DayBoundaries.WINDOW_DAYS, boundaries.firstDay());
+        assertEquals(lastDay, boundaries.lastDay());
+
+        long after = (lastDay + 10) * EpochMillis.MILLIS_PER_DAY + 12 * EpochMillis.MILLIS_PER_HOUR;
+        boundaries.endOfDayMillis(after);
+        assertEquals(lastDay + 10 + DayBoundaries.WINDOW_DAYS, boundaries.lastDay());
+        assertTrue(boundaries.startOfDayMillis(after) < after);
+    }
+}
@@ -0,0 +1,254 @@
+package com.kiwi.timer.util;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class EpochMillisTests {
+    private static final String[] ZONES = {
+            "UTC", "Asia/Shanghai", "America/New_York", "Europe/London", "Australia/Lord_Howe", "Europe/Moscow",
+            "America/Sao_Paulo", "Pacific/Apia"
+    };
+    /**
+     * 1903-01-01 至 2097-01-01，加减之后仍在1900年以后(之前java.time与TimeZone的地方平时不同)
+     */
+    private static final long FROM = -2114380800000L;
+    private static final long TO = 4007836800000L;
+
+    @Test
+    public void sameAsCalendar() {
+        Random random = new Random(20181018L);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneOffsets offsets = ZoneOffsets.of(ZoneId.of(id));
+            for (int i = 0; i < 20000; i++) {
+                long millis = FROM + (long) (random.nextDouble() * (TO - FROM));
+                if (i % 4 == 0) {
+                    // 落在切换时刻附近
+                    millis = nearTransition(zone, millis, random);
+                }
+                String message = id + " " + millis;
+                assertEquals(message, zone.getOffset(millis), offsets.offsetAt(millis));
+
+                Calendar calendar = calendar(zone, millis);
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                assertEquals(message, calendar.getTimeInMillis(), EpochMillis.startOfDayMillis(millis, offsets));
+
+                calendar = calendar(zone, millis);
+                calendar.set(Calendar.HOUR_OF_DAY, 23);
+                calendar.set(Calendar.MINUTE, 59);
+                calendar.set(Calendar.SECOND, 59);
+                calendar.set(Calendar.MILLISECOND, 999);
+                assertEquals(message, calendar.getTimeInMillis(), EpochMillis.endOfDayMillis(millis, offsets));
+
+                int days = random.nextInt(800) - 400;
+                calendar = calendar(zone, millis);
+                calendar.add(Calendar.DAY_OF_MONTH, days);
+                assertEquals(message + " +" + days, calendar.getTimeInMillis(), EpochMillis.plusDaysMillis(millis, days, offsets));
+
+                int months = random.nextInt(60) - 30;
+                calendar = calendar(zone, millis);
+                calendar.add(Calendar.MONTH, months);
+                assertEquals(message + " +" + months, calendar.getTimeInMillis(), EpochMillis.plusMonthsMillis(millis, months, offsets));
+
+                calendar = calendar(zone, millis);
+                calendar.set(Calendar.DAY_OF_MONTH, 1);
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                assertEquals(message, calendar.getTimeInMillis(), EpochMillis.firstDayOfMonthMillis(millis, offsets));
+
+                calendar = calendar(zone, millis);
+                calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) + 1);
+                calendar.set(Calendar.DAY_OF_MONTH, 0);
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                assertEquals(message, calendar.getTimeInMillis(), EpochMillis.lastDayOfMonthMillis(millis, offsets));
+
+                calendar = calendar(zone, millis);
+                calendar.set(Calendar.DAY_OF_YEAR, 1);
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                assertEquals(message, calendar.getTimeInMillis(), EpochMillis.firstDayOfYearMillis(millis, offsets));
+            }
+        }
+    }
+
+    private static Calendar calendar(TimeZone zone, long millis) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+
+    private static long nearTransition(TimeZone zone, long millis, Random random) {
+        int offset = zone.getOffset(millis);
+        for (long t = millis; t < millis + 366L * EpochMillis.MILLIS_PER_DAY; t += EpochMillis.MILLIS_PER_HOUR) {
+            if (zone.getOffset(t) != offset) {
+                return t + (random.nextInt(5) - 2) * EpochMillis.MILLIS_PER_HOUR + random.nextInt(3600000);
+            }
+        }
+        return millis;
+    }
+
+    @Test
+    public void dateTimeUtilDelegates() {
+        long millis = System.currentTimeMillis();
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        assertEquals(calendar.getTime(), DateTimeUtil.getZeroDate(new Date(millis)));
+        assertEquals(calendar.getTime(), DateTimeUtil.getStartTime(new Date(millis)));
+        calendar.add(Calendar.MONTH, 1);
+        assertEquals(calendar.getTime(), DateTimeUtil.getAddMonths(DateTimeUtil.getZeroDate(new Date(millis)), 1));
+    }
+
+    @Test
+    public void intervalsSameAsCalendar() {
+        Random random = new Random(20261018L);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            ZoneId zoneId = ZoneId.of(id);
+            ZoneOffsets offsets = ZoneOffsets.of(zoneId);
+            for (int i = 0; i < 20000; i++) {
+                long begin = FROM + (long) (random.nextDouble() * (TO - FROM) / 2);
+                if (i % 4 == 0) {
+                    begin = nearTransition(zone, begin, random);
+                }
+                long end;
+                switch (i % 3) {
+                    case 0:
+                        // 整天数附近，跨过切换时与毫秒数相除的结果不同
+                        end = begin + (random.nextInt(800) - 400) * EpochMillis.MILLIS_PER_DAY
+                                + (random.nextInt(5) - 2) * EpochMillis.MILLIS_PER_HOUR;
+                        break;
+                    case 1:
+                        // 本地日期相同、时间前后不同
+                        Calendar calendar = calendar(zone, begin);
+                        calendar.add(Calendar.MONTH, random.nextInt(60) - 30);
+                        end = calendar.getTimeInMillis() + random.nextInt(7200001) - 3600000;
+                        break;
+                    default:
+                        end = begin + (long) ((random.nextDouble() - 0.5) * 2000 * EpochMillis.MILLIS_PER_DAY);
+                        break;
+                }
+                String message = id + " " + begin + " -> " + end;
+                assertEquals(message, legacyMonthSpace(zone, begin, end), EpochMillis.monthSpace(begin, end, offsets));
+
+                int days = EpochMillis.daysBetween(begin, end, offsets);
+                LocalDateTime localBegin = LocalDateTime.ofInstant(Instant.ofEpochMilli(begin), zoneId);
+                LocalDateTime localEnd = LocalDateTime.ofInstant(Instant.ofEpochMilli(end), zoneId);
+                assertEquals(message, ChronoUnit.DAYS.between(localBegin, localEnd), days);
+                if (zone.getOffset(begin) == zone.getOffset(end)) {
+                    assertEquals(message, (int) ((end - begin) / EpochMillis.MILLIS_PER_DAY), days);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void daysBetweenAcrossDaylightSaving() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        long before = LocalDateTime.of(2026, 3, 7, 0, 0).atZone(zone).toInstant().toEpochMilli();
+        long after = LocalDateTime.of(2026, 3, 9, 0, 0).atZone(zone).toInstant().toEpochMilli();
+        // 只有47小时
+        assertEquals(1, (after - before) / EpochMillis.MILLIS_PER_DAY);
+        assertEquals(2, EpochMillis.daysBetween(before, after, zone));
+        assertEquals(-2, EpochMillis.daysBetween(after, before, zone));
+        assertEquals(1, EpochMillis.daysBetween(before, after - 1, zone));
+    }
+
+    @Test
+    public void dateTimeUtilIntervals() throws ParseException {
+        Random random = new Random(7L);
+        String[] patterns = {"yyyy-MM-dd", "yyyyMMdd HH:mm", "yyyy/MM/dd HH:mm:ss.SSS"};
+        for (int i = 0; i < 20000; i++) {
+            long begin = FROM + (long) (random.nextDouble() * (TO - FROM) / 2);
+            long end = begin + (long) ((random.nextDouble() - 0.5) * 2000 * EpochMillis.MILLIS_PER_DAY);
+            Date beginDate = new Date(begin);
+            Date endDate = new Date(end);
+            String message = begin + " -> " + end;
+            assertEquals(message, legacyMonthSpace(TimeZone.getDefault(), begin, end), DateTimeUtil.getMonthSpace(beginDate, endDate));
+            assertEquals(message, EpochMillis.daysBetween(begin, end), DateTimeUtil.getDaysInterval(beginDate, endDate));
+            assertEquals(message, legacyMonthOfDayNum(beginDate), DateTimeUtil.getMonthOfDayNum(beginDate));
+
+            SimpleDateFormat format = new SimpleDateFormat(patterns[i % patterns.length]);
+            String beginStr = format.format(beginDate);
+            String endStr = format.format(endDate);
+            int expected = EpochMillis.daysBetween(format.parse(beginStr).getTime(), format.parse(endStr).getTime());
+            assertEquals(message, expected, DateTimeUtil.getDaysInterval(beginStr, endStr, format));
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        assertEquals(0, DateTimeUtil.getDaysInterval("2026-10-18", "not a date", format));
+        assertEquals(31, DateTimeUtil.getDaysInterval("2026-10-01", "2026-11-01", format));
+        // 时区不是默认值时仍按调用方的SimpleDateFormat解析
+        format.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        assertEquals(2, DateTimeUtil.getDaysInterval("2026-03-07", "2026-03-09", format));
+    }
+
+    /**
+     * 原DateTimeUtil.getMonthSpace
+     */
+    private static int legacyMonthSpace(TimeZone zone, long begin, long end) {
+        Calendar c1 = calendar(zone, begin);
+        Calendar c2 = calendar(zone, end);
+        int result = (c2.get(Calendar.YEAR) - c1.get(Calendar.YEAR)) * 12 + (c2.get(Calendar.MONTH) - c1.get(Calendar.MONTH));
+        int dayMonths = c2.get(Calendar.DAY_OF_MONTH) - c1.get(Calendar.DAY_OF_MONTH);
+        if (dayMonths < 0) {
+            result--;
+        } else if (dayMonths > 0) {
+            result++;
+        } else {
+            int hourDays = c2.get(Calendar.HOUR_OF_DAY) - c1.get(Calendar.HOUR_OF_DAY);
+            if (hourDays > 0) {
+                result++;
+            } else if (hourDays == 0) {
+                int minHours = c2.get(Calendar.MINUTE) - c1.get(Calendar.MINUTE);
+                if (minHours > 0) {
+                    result++;
+                } else if (minHours == 0) {
+                    int secMins = c2.get(Calendar.SECOND) - c1.get(Calendar.SECOND);
+                    if (secMins > 0) {
+                        result++;
+                    } else if (secMins == 0 && c2.get(Calendar.MILLISECOND) - c1.get(Calendar.MILLISECOND) > 0) {
+                        result++;
+                    }
+                }
+            }
+        }
+        return result == 0 ? 1 : Math.abs(result);
+    }
+
+    /**
+     * 原DateTimeUtil.getMonthOfDayNum；原实现的Calendar带着当前日期，29日以后设置月份会进位到下个月，这里固定为1日
+     */
+    @SuppressWarnings("deprecation")
+    private static int legacyMonthOfDayNum(Date date) {
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.YEAR, date.getYear());
+        cal.set(Calendar.MONTH, date.getMonth() - 1);
+        return cal.getActualMaximum(Calendar.DATE);
+    }
+}
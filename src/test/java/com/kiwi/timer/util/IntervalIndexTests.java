@@ -0,0 +1,181 @@
+package com.kiwi.timer.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * IntervalIndex与两两比较的结果对照
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class IntervalIndexTests {
+
+    @Test
+    public void queriesMatchPairwiseComparison() {
+        Random random = new Random(20261018L);
+        // 覆盖n不是2的幂、只有一层和需要逐层下降的情况
+        for (int n : new int[]{1, 2, 3, 7, 16, 17, 100, 1000, 4097}) {
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            randomIntervals(random, starts, ends, n * 10L);
+            IntervalIndex index = IntervalIndex.of(starts, ends);
+            assertEquals(n, index.size());
+            for (int q = 0; q < 500; q++) {
+                long from = random.nextInt(n * 12) - n;
+                long to = from + 1 + random.nextInt(50);
+                assertArrayEquals(n + " [" + from + ", " + to + ")",
+                        bruteForce(starts, ends, from, to), sorted(index.overlapping(from, to)));
+                assertEquals(bruteForce(starts, ends, from, to).length > 0, index.overlapsAny(from, to));
+                assertArrayEquals(n + " @" + from, bruteForce(starts, ends, from, from + 1), sorted(index.stab(from)));
+            }
+            for (int i = 0; i < n; i++) {
+                assertEquals(starts[i], index.start(i));
+                assertEquals(ends[i], index.end(i));
+            }
+        }
+    }
+
+    @Test
+    public void sameAsTimePeriodCoincide() {
+        Random random = new Random(7L);
+        int n = 300;
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        randomIntervals(random, starts, ends, 2000);
+        IntervalIndex index = IntervalIndex.of(starts, ends);
+
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (DateTimeUtil.timePeriodCoincide(new Date(starts[i]), new Date(ends[i]), new Date(starts[j]), new Date(ends[j]))) {
+                    expected.add(pair(i, j));
+                }
+            }
+        }
+        Set<Long> actual = new HashSet<>();
+        long count = index.overlappingPairs((first, second) -> {
+            assertTrue(index.start(first) <= index.start(second));
+            assertTrue("duplicate " + first + "," + second, actual.add(pair(first, second)));
+        });
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), index.countOverlappingPairs());
+    }
+
+    @Test
+    public void mergeCoversSameTime() {
+        Random random = new Random(42L);
+        int n = 500;
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        randomIntervals(random, starts, ends, 20000);
+        IntervalIndex index = IntervalIndex.of(starts, ends);
+        IntervalIndex merged = index.merge();
+
+        for (int i = 1; i < merged.size(); i++) {
+            // 互不重叠也不相接
+            assertTrue(merged.end(i - 1) < merged.start(i));
+        }
+        for (long t = -10; t < 20100; t++) {
+            assertEquals("@" + t, index.stab(t).length > 0, merged.stab(t).length == 1);
+        }
+    }
+
+    @Test
+    public void touchingIntervals() {
+        IntervalIndex.Builder builder = IntervalIndex.builder();
+        assertEquals(0, builder.add(0, 10));
+        assertEquals(1, builder.add(10, 20));
+        IntervalIndex index = builder.build();
+
+        // 首尾相接不算重叠
+        assertEquals(0, index.countOverlappingPairs());
+        assertArrayEquals(new int[]{1}, index.stab(10));
+        assertFalse(index.overlapsAny(20, 30));
+        assertFalse(index.overlapsAny(5, 5));
+        assertTrue(index.overlapsAny(9, 10));
+        assertEquals(0, index.stab(Long.MAX_VALUE).length);
+
+        IntervalIndex merged = index.merge();
+        assertEquals(1, merged.size());
+        assertEquals(0, merged.start(0));
+        assertEquals(20, merged.end(0));
+
+        assertEquals(0, IntervalIndex.builder().build().merge().size());
+    }
+
+    @Test
+    public void negativeAndExtremeStarts() {
+        long[] starts = {Long.MIN_VALUE, -5, 3, -1L << 40, 1L << 50};
+        long[] ends = {Long.MIN_VALUE + 10, 4, 7, 0, Long.MAX_VALUE};
+        IntervalIndex index = IntervalIndex.of(starts, ends);
+        assertArrayEquals(new int[]{1, 3}, sorted(index.stab(-1)));
+        assertArrayEquals(new int[]{0}, index.stab(Long.MIN_VALUE));
+        assertArrayEquals(new int[]{4}, index.stab(Long.MAX_VALUE - 1));
+        assertEquals(2, index.countOverlappingPairs());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyInterval() {
+        IntervalIndex.builder().add(10, 10);
+    }
+
+    @Test
+    public void millionIntervals() {
+        Random random = new Random(1L);
+        int n = 1_000_000;
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        randomIntervals(random, starts, ends, n * 100L);
+        IntervalIndex index = IntervalIndex.of(starts, ends);
+        for (int q = 0; q < 50; q++) {
+            long time = (long) (random.nextDouble() * n * 100);
+            assertArrayEquals(bruteForce(starts, ends, time, time + 1), sorted(index.stab(time)));
+        }
+        long[] pairs = new long[1];
+        assertEquals(index.overlappingPairs((first, second) -> pairs[0]++), index.countOverlappingPairs());
+        assertEquals(pairs[0], index.countOverlappingPairs());
+    }
+
+    /**
+     * 长度1到300，包含大量相同的start
+     */
+    private static void randomIntervals(Random random, long[] starts, long[] ends, long span) {
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = random.nextInt(10) == 0 ? span / 2 : (long) (random.nextDouble() * span);
+            ends[i] = starts[i] + 1 + random.nextInt(300);
+        }
+    }
+
+    private static int[] bruteForce(long[] starts, long[] ends, long from, long to) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            if (IntervalIndex.overlaps(starts[i], ends[i], from, to)) {
+                result.add(i);
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] sorted(int[] ids) {
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static long pair(int a, int b) {
+        return (long) Math.min(a, b) << 32 | Math.max(a, b);
+    }
+}
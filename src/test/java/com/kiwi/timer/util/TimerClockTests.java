@@ -0,0 +1,119 @@
+package com.kiwi.timer.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 快照字段与Calendar一致，DateTimeUtil取当前时间的方法走默认时钟
+ *
+ * @author wangjunfeng
+ * @date 2026-10-18
+ */
+public class TimerClockTests {
+    /**
+     * 默认时区的2026-10-18 13:45:30.123
+     */
+    private static final long MILLIS = LocalDateTime.of(2026, 10, 18, 13, 45, 30, 123_000_000)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    /**
+     * 1903-01-01 至 2097-01-01
+     */
+    private static final long FROM = -2114380800000L;
+    private static final long TO = 4007836800000L;
+
+    @After
+    public void tearDown() {
+        TimerClock.setDefault(null);
+    }
+
+    @Test
+    public void snapshotSameAsCalendar() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        Random random = new Random(20261018L);
+        FakeClock clock = new FakeClock(MILLIS);
+        for (int i = 0; i < 20000; i++) {
+            // 先按秒前进，偶尔跨天或回拨
+            long millis = i % 100 == 0 ? FROM + (long) (random.nextDouble() * (TO - FROM)) : clock.millis() + random.nextInt(5000);
+            clock.set(millis);
+            ClockSnapshot snapshot = clock.snapshot();
+            Calendar calendar = new GregorianCalendar();
+            calendar.setTimeInMillis(millis);
+            assertEquals(calendar.get(Calendar.YEAR), snapshot.getYear());
+            assertEquals(calendar.get(Calendar.MONTH) + 1, snapshot.getMonth());
+            assertEquals(calendar.get(Calendar.DAY_OF_MONTH), snapshot.getDayOfMonth());
+            assertEquals(calendar.get(Calendar.HOUR_OF_DAY), snapshot.getHour());
+            assertEquals(calendar.get(Calendar.MINUTE), snapshot.getMinute());
+            assertEquals(calendar.get(Calendar.SECOND), snapshot.getSecond());
+            assertEquals(format.format(calendar.getTime()), snapshot.getDateTimeText());
+            assertEquals(EpochMillis.startOfDayMillis(millis), snapshot.getStartOfDayMillis());
+            assertEquals(EpochMillis.endOfDayMillis(millis), snapshot.getEndOfDayMillis());
+        }
+    }
+
+    @Test
+    public void snapshotReusedWithinSecond() {
+        FakeClock clock = new FakeClock(MILLIS);
+        ClockSnapshot first = clock.snapshot();
+        clock.advance(800, TimeUnit.MILLISECONDS);
+        assertSame(first, clock.snapshot());
+        clock.advance(100, TimeUnit.MILLISECONDS);
+        ClockSnapshot next = clock.snapshot();
+        assertNotSame(first, next);
+        assertEquals(31, next.getSecond());
+        assertSame(first.getDateText(), next.getDateText());
+        clock.advance(-1, TimeUnit.DAYS);
+        assertEquals("2026-10-17 13:45:31", clock.snapshot().getDateTimeText());
+    }
+
+    @Test
+    public void dateTimeUtilUsesDefaultClock() {
+        TimerClock.setDefault(new FakeClock(MILLIS));
+        assertEquals(MILLIS, DateTimeUtil.getCurrentDate().getTime());
+        assertEquals(2026, DateTimeUtil.getCurrentYear());
+        assertEquals("2026", DateTimeUtil.getYear());
+        assertEquals("10", DateTimeUtil.getMonth());
+        assertEquals("18", DateTimeUtil.getDay());
+        assertEquals(13, DateTimeUtil.getCurrentHour());
+        assertEquals(45, DateTimeUtil.getCurrentMinutes());
+        assertEquals("2026-10-18 00:00:00", DateTimeUtil.getTodayStart());
+        assertEquals("2026-10-18 23:59:59", DateTimeUtil.getTodayEnd());
+        assertEquals("2026-10-18 00:00:00", DateTimeUtil.toDateTimeStr(DateTimeUtil.getCurrentZeroDate()));
+        assertEquals("20270118", DateTimeUtil.getAfterMonth(3));
+        assertEquals("2026-10-18 13:45:30", CachedDateTime.now());
+    }
+
+    @Test
+    public void cachedClockTicks() throws InterruptedException {
+        try (CachedClock clock = new CachedClock(5)) {
+            TimerClock.setDefault(clock);
+            long first = clock.millis();
+            assertTrue(Math.abs(System.currentTimeMillis() - first) < 1000);
+            long deadline = System.currentTimeMillis() + 2000;
+            while (clock.millis() == first && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            long millis = clock.millis();
+            assertTrue(millis > first);
+            assertTrue(clock.snapshot().getEpochSecond() >= millis / 1000);
+        }
+        assertSame(TimerClock.system(), TimerClock.getDefault());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveResolution() {
+        new CachedClock(0);
+    }
+}
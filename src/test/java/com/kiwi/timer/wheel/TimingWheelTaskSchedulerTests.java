@@ -0,0 +1,191 @@
+package com.kiwi.timer.wheel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TimingWheelTaskSchedulerTests {
+    private TimingWheelTaskScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new TimingWheelTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void oneShotNotEarly() throws Exception {
+        long start = System.currentTimeMillis();
+        long[] ranAt = new long[1];
+        ScheduledFuture<?> future = scheduler.schedule(() -> ranAt[0] = System.currentTimeMillis(), new Date(start + 150));
+        future.get(5, TimeUnit.SECONDS);
+        assertTrue(future.isDone());
+        assertTrue(ranAt[0] - start >= 149);
+    }
+
+    @Test
+    public void manyTasksAllFire() throws Exception {
+        int count = 10000;
+        CountDownLatch latch = new CountDownLatch(count);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            scheduler.schedule(latch::countDown, new Date(now + (i * 7919L) % 1500));
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void cancelledNeverRuns() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.schedule(runs::incrementAndGet, new Date(System.currentTimeMillis() + 100));
+        assertTrue(future.cancel(false));
+        assertFalse(future.cancel(false));
+        assertTrue(future.isCancelled());
+        Thread.sleep(300);
+        assertEquals(0, runs.get());
+    }
+
+    @Test(timeout = 5000)
+    public void periodicCancelledWhenShutdownWhileRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, 20);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scheduler.shutdown();
+        release.countDown();
+        try {
+            future.get();
+            fail("expected cancellation");
+        } catch (CancellationException expected) {
+            assertTrue(future.isCancelled());
+        }
+    }
+
+    @Test
+    public void fixedRateAndDelay() throws Exception {
+        CountDownLatch rate = new CountDownLatch(5);
+        CountDownLatch delay = new CountDownLatch(5);
+        ScheduledFuture<?> rateFuture = scheduler.scheduleAtFixedRate(rate::countDown, 20);
+        ScheduledFuture<?> delayFuture = scheduler.scheduleWithFixedDelay(delay::countDown, 20);
+        assertTrue(rate.await(5, TimeUnit.SECONDS));
+        assertTrue(delay.await(5, TimeUnit.SECONDS));
+        rateFuture.cancel(false);
+        delayFuture.cancel(false);
+        assertTrue(rateFuture.isDone());
+    }
+
+    @Test
+    public void triggers() throws Exception {
+        CountDownLatch periodic = new CountDownLatch(3);
+        scheduler.schedule(periodic::countDown, new PeriodicTrigger(30));
+        assertTrue(periodic.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch cron = new CountDownLatch(1);
+        scheduler.schedule(cron::countDown, new CronTrigger("* * * * * ?"));
+        assertTrue(cron.await(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void oneShotErrorPropagates() throws Exception {
+        ScheduledFuture<?> future = scheduler.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, new Date());
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void repeatingErrorSuppressed() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        scheduler.scheduleAtFixedRate(() -> {
+            latch.countDown();
+            throw new IllegalStateException("boom");
+        }, 10);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void sleepsUntilNextDeadline() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(latch::countDown, new Date(System.currentTimeMillis() + 500));
+        long before = scheduler.stats().getWakeups();
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // 原来每个tick唤醒一次，约500次
+        assertTrue("wakeups=" + (scheduler.stats().getWakeups() - before), scheduler.stats().getWakeups() - before < 20);
+    }
+
+    @Test
+    public void coScheduledTasksShareHandoffs() throws Exception {
+        int count = 200;
+        CountDownLatch latch = new CountDownLatch(count);
+        Date at = new Date(System.currentTimeMillis() + 100);
+        for (int i = 0; i < count; i++) {
+            scheduler.schedule(latch::countDown, at);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        WheelStats stats = scheduler.stats();
+        assertEquals(count, stats.getFired());
+        // 同一tick到期的任务最多转交poolSize次
+        assertTrue("handoffs=" + stats.getHandoffs(), stats.getHandoffs() <= 3 * 4);
+    }
+
+    @Test
+    public void batchWindowAndSlackTradeLagForWakeups() throws Exception {
+        TimingWheelTaskScheduler exact = new TimingWheelTaskScheduler();
+        TimingWheelTaskScheduler batched = new TimingWheelTaskScheduler();
+        batched.setBatchWindowMillis(20);
+        batched.setTimerSlackMillis(20);
+        try {
+            exact.afterPropertiesSet();
+            batched.afterPropertiesSet();
+            // 40个周期为50ms、相位各不相同的任务
+            for (int i = 0; i < 40; i++) {
+                Date start = new Date(System.currentTimeMillis() + i * 7 % 50);
+                exact.scheduleAtFixedRate(() -> { }, start, 50);
+                batched.scheduleAtFixedRate(() -> { }, start, 50);
+            }
+            Thread.sleep(1000);
+            WheelStats exactStats = exact.stats();
+            WheelStats batchedStats = batched.stats();
+            assertTrue(exactStats + " vs " + batchedStats, batchedStats.getWakeups() * 2 < exactStats.getWakeups());
+            assertTrue(batchedStats.toString(), batchedStats.getFireLag().getP99Micros() < 45_000);
+            assertTrue(batchedStats.getFired() > 600);
+        } finally {
+            exact.shutdown();
+            batched.shutdown();
+        }
+    }
+}
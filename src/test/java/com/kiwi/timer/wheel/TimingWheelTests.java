@@ -0,0 +1,130 @@
+package com.kiwi.timer.wheel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTests {
+
+    @Test
+    public void expiresExactlyAtDeadline() {
+        Random random = new Random(20181018L);
+        long start = 123456789L;
+        TimingWheel wheel = new TimingWheel(start);
+        List<WheelTask> tasks = new ArrayList<>();
+        Map<WheelTask, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // 覆盖前几层以及跨层进位
+            long delay = 1 + (long) Math.pow(2, random.nextDouble() * 20);
+            WheelTask task = task(start + delay);
+            indexes.put(task, tasks.size());
+            tasks.add(task);
+            wheel.add(task);
+        }
+        for (int i = 0; i < 200; i++) {
+            wheel.remove(tasks.get(i));
+        }
+        assertEquals(tasks.size() - 200, wheel.size());
+        long[] fired = new long[tasks.size()];
+        while (wheel.size() > 0) {
+            wheel.advance(task -> fired[indexes.get(task)] = wheel.currentTick());
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(i < 200 ? 0 : tasks.get(i).deadlineTick, fired[i]);
+        }
+    }
+
+    @Test
+    public void addedDuringRun() {
+        TimingWheel wheel = new TimingWheel(-5);
+        assertFalse(wheel.add(task(-5)));
+        for (int i = 0; i < 5000; i++) {
+            wheel.advance(task -> {
+                throw new AssertionError();
+            });
+        }
+        WheelTask task = task(wheel.currentTick() + 70000);
+        wheel.add(task);
+        long[] fired = {0};
+        while (wheel.size() > 0) {
+            wheel.advance(t -> fired[0] = wheel.currentTick());
+        }
+        assertEquals(task.deadlineTick, fired[0]);
+    }
+
+    @Test
+    public void advanceToSkipsIdleTicks() {
+        Random random = new Random(20261018L);
+        long start = 987654321L;
+        TimingWheel wheel = new TimingWheel(start);
+        List<WheelTask> tasks = new ArrayList<>();
+        Map<WheelTask, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long delay = 1 + (long) Math.pow(2, random.nextDouble() * 30);
+            WheelTask task = task(start + delay);
+            indexes.put(task, tasks.size());
+            tasks.add(task);
+            wheel.add(task);
+        }
+        long[] fired = new long[tasks.size()];
+        int advances = 0;
+        long target = start;
+        while (wheel.size() > 0) {
+            long next = wheel.nextExpiryTick();
+            assertTrue(next > wheel.currentTick());
+            // 随机步长推进，含越过多个到期点的情况
+            target = Math.max(target + 1 + random.nextInt(3), Math.min(next, target + 1 + random.nextInt(1 << 20)));
+            long now = target;
+            wheel.advanceTo(target, task -> fired[indexes.get(task)] = now);
+            assertEquals(target, wheel.currentTick());
+            advances++;
+        }
+        assertEquals(Long.MAX_VALUE, wheel.nextExpiryTick());
+        assertTrue(advances < 20000);
+        for (int i = 0; i < tasks.size(); i++) {
+            WheelTask task = tasks.get(i);
+            assertTrue(fired[i] >= task.deadlineTick);
+        }
+    }
+
+    @Test
+    public void nextExpiryMatchesStepping() {
+        Random random = new Random(7L);
+        TimingWheel stepped = new TimingWheel(0);
+        TimingWheel skipped = new TimingWheel(0);
+        for (int i = 0; i < 300; i++) {
+            long deadline = 1 + (long) Math.pow(2, random.nextDouble() * 16);
+            stepped.add(task(deadline));
+            skipped.add(task(deadline));
+        }
+        while (stepped.size() > 0) {
+            List<Long> expected = new ArrayList<>();
+            while (expected.isEmpty()) {
+                stepped.advance(task -> expected.add(task.deadlineTick));
+            }
+            long next = skipped.nextExpiryTick();
+            List<Long> actual = new ArrayList<>();
+            while (actual.isEmpty()) {
+                skipped.advanceTo(next, task -> actual.add(task.deadlineTick));
+                next = skipped.nextExpiryTick();
+            }
+            assertEquals(stepped.currentTick(), skipped.currentTick());
+            assertEquals(expected.size(), actual.size());
+        }
+    }
+
+    private static WheelTask task(long deadlineTick) {
+        WheelTask task = new WheelTask(null, () -> {
+        }, 0, 0);
+        task.deadlineTick = deadlineTick;
+        return task;
+    }
+}